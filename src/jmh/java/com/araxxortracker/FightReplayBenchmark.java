@@ -0,0 +1,63 @@
+package com.araxxortracker;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the fight event handlers: one synthetic fight replayed through
+ * {@link FightReplay} per operation, cycling through a fixed set of generated fights.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FightReplayBenchmark
+{
+	private static final int FIGHTS = 1024;
+
+	private int[][] fights;
+	private FightReplay replay;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void generate()
+	{
+		Random random = new Random(42);
+		fights = new int[FIGHTS][];
+		for (int i = 0; i < FIGHTS; i++)
+		{
+			fights[i] = SyntheticFight.generate(AraxxorEggType.values()[i % 3], random).toRows();
+		}
+	}
+
+	/**
+	 * A fresh plugin per iteration, so the kills it keeps do not pile up across the run
+	 */
+	@Setup(Level.Iteration)
+	public void newReplay()
+	{
+		replay = new FightReplay();
+		next = 0;
+	}
+
+	@Benchmark
+	public int replayFight()
+	{
+		replay.play(fights[next]);
+		next = (next + 1) % FIGHTS;
+		return replay.getPlugin().getKillCount();
+	}
+}
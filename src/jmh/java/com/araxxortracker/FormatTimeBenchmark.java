@@ -0,0 +1,83 @@
+package com.araxxortracker;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * {@link TimeFormatter}, run over every kill time in a history the way the panel and overlays
+ * format one row at a time. Kill times are under an hour, so these hit the shared strings;
+ * {@link #clockPastAnHour} covers the buffer path for longer durations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatTimeBenchmark
+{
+	private static final long HOUR_MS = TimeFormatter.TABLE_SECONDS * 1000L;
+
+	@Param({"1000", "10000", "100000"})
+	public int kills;
+
+	private long[] killTimes;
+
+	@Setup
+	public void setUp()
+	{
+		KillHistory history = SyntheticHistory.generate(kills, 42).getKills();
+		killTimes = new long[history.size()];
+		for (int row = 0; row < killTimes.length; row++)
+		{
+			killTimes[row] = history.getKillTime(row);
+		}
+	}
+
+	@Benchmark
+	public void clock(Blackhole blackhole)
+	{
+		for (long time : killTimes)
+		{
+			blackhole.consume(TimeFormatter.clock(time));
+		}
+	}
+
+	@Benchmark
+	public void compact(Blackhole blackhole)
+	{
+		for (long time : killTimes)
+		{
+			blackhole.consume(TimeFormatter.compact(time));
+		}
+	}
+
+	@Benchmark
+	public void enrage(Blackhole blackhole)
+	{
+		for (long time : killTimes)
+		{
+			blackhole.consume(TimeFormatter.enrage(time));
+		}
+	}
+
+	@Benchmark
+	public void clockPastAnHour(Blackhole blackhole)
+	{
+		for (long time : killTimes)
+		{
+			blackhole.consume(TimeFormatter.clock(time + HOUR_MS));
+		}
+	}
+}
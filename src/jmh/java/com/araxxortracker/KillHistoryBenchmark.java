@@ -0,0 +1,136 @@
+package com.araxxortracker;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Loading and summarising a whole kill history, as the plugin does on startup and the panel
+ * does on every rebuild.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KillHistoryBenchmark
+{
+	@Param({"1000", "10000", "100000"})
+	public int kills;
+
+	private final AraxxorPlugin plugin = new AraxxorPlugin();
+	private KillHistory history;
+	private int[] sessions;
+	private String[] legacyValues;
+	private String[] blocks;
+	private ByteBuffer journal;
+
+	@Setup
+	public void setUp()
+	{
+		SyntheticHistory generated = SyntheticHistory.generate(kills, 42);
+		history = generated.getKills();
+		sessions = plugin.groupKillsIntoSessions(history);
+		legacyValues = generated.toLegacyValues();
+
+		blocks = new String[(kills + ConfigKillStore.BLOCK_SIZE - 1) / ConfigKillStore.BLOCK_SIZE];
+		for (int i = 0; i < blocks.length; i++)
+		{
+			int from = i * ConfigKillStore.BLOCK_SIZE;
+			blocks[i] = KillBlockCodec.encodeBlock(history, from, Math.min(from + ConfigKillStore.BLOCK_SIZE, kills));
+		}
+
+		// Length-prefixed records, as a KillJournal page file holds them
+		int bytes = 0;
+		for (int row = 0; row < kills; row++)
+		{
+			bytes += Integer.BYTES + KillRecordCodec.payloadLength(history.lootEnd(row) - history.lootStart(row));
+		}
+		journal = ByteBuffer.allocate(bytes);
+		for (int row = 0; row < kills; row++)
+		{
+			journal.putInt(KillRecordCodec.payloadLength(history.lootEnd(row) - history.lootStart(row)));
+			KillRecordCodec.encode(history, row, journal);
+		}
+		journal.flip();
+	}
+
+	@Benchmark
+	public KillHistory parseLegacyValues()
+	{
+		KillRecordCodec codec = new KillRecordCodec();
+		KillHistory into = new KillHistory();
+		for (String value : legacyValues)
+		{
+			codec.decodeLegacy(value, into);
+		}
+		return into;
+	}
+
+	@Benchmark
+	public void decodeConfigBlocks(Blackhole blackhole)
+	{
+		for (String block : blocks)
+		{
+			blackhole.consume(KillBlockCodec.decodeBlock(block));
+		}
+	}
+
+	@Benchmark
+	public KillHistory decodeJournal()
+	{
+		KillRecordCodec codec = new KillRecordCodec();
+		KillHistory into = new KillHistory();
+		ByteBuffer in = journal.duplicate();
+		while (in.remaining() >= Integer.BYTES)
+		{
+			int length = in.getInt();
+			codec.decode(in, length, 0, into);
+		}
+		return into;
+	}
+
+	@Benchmark
+	public int[] groupKillsIntoSessions()
+	{
+		return plugin.groupKillsIntoSessions(history);
+	}
+
+	@Benchmark
+	public void calculateSessionSummaries(Blackhole blackhole)
+	{
+		for (int i = 0; i + 1 < sessions.length; i++)
+		{
+			blackhole.consume(plugin.calculateSessionSummary(history, sessions[i], sessions[i + 1]));
+		}
+	}
+
+	@Benchmark
+	public Map<Integer, Long> aggregateAllLoot()
+	{
+		return AraxxorLootBox.aggregateLoot(history, 0, history.size(), new HashMap<>());
+	}
+
+	@Benchmark
+	public void aggregateSessionLoot(Blackhole blackhole)
+	{
+		for (int i = 0; i + 1 < sessions.length; i++)
+		{
+			blackhole.consume(AraxxorLootBox.aggregateLoot(history, sessions[i], sessions[i + 1]));
+		}
+	}
+}
@@ -0,0 +1,214 @@
+package com.araxxortracker;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * {@link KillRecordCodec#decodeLegacy} against the String.split based parsing the plugin used
+ * for legacy kill_ config values, over values with a sprinkling of malformed records.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KillRecordCodecBenchmark
+{
+	private static final int[] LOOT_ITEM_IDS = {
+		995, 29790, 29792, 29794, 29799, 29788, 29786, 29781, 29836, 29838,
+		560, 565, 1392, 5300, 5304, 12934, 21820, 2364, 1514, 3025
+	};
+
+	@Param({"10000", "100000"})
+	public int records;
+
+	private String[] values;
+
+	@Setup
+	public void setUp()
+	{
+		values = generate(records, new Random(42));
+	}
+
+	@Benchmark
+	public KillHistory codec()
+	{
+		KillRecordCodec codec = new KillRecordCodec();
+		KillHistory history = new KillHistory();
+		for (String value : values)
+		{
+			codec.decodeLegacy(value, history);
+		}
+		return history;
+	}
+
+	@Benchmark
+	public void split(Blackhole blackhole)
+	{
+		for (String value : values)
+		{
+			blackhole.consume(parseWithSplit(value));
+		}
+	}
+
+	/**
+	 * Valid kills with a sprinkling of malformed values, roughly matching real config contents
+	 */
+	private static String[] generate(int records, Random random)
+	{
+		AraxxorEggType[] rotations = AraxxorEggType.values();
+		long timestamp = System.currentTimeMillis() - records * 180_000L;
+		String[] values = new String[records];
+		StringBuilder sb = new StringBuilder(256);
+
+		for (int i = 0; i < records; i++)
+		{
+			timestamp += 120_000 + random.nextInt(120_000);
+			sb.setLength(0);
+
+			if (random.nextInt(100) == 0)
+			{
+				sb.append(timestamp).append("|abc|WHITE|0");
+				values[i] = sb.toString();
+				continue;
+			}
+
+			sb.append(timestamp).append('|')
+				.append(80_000 + random.nextInt(60_000)).append('|')
+				.append(rotations[random.nextInt(rotations.length)].name()).append('|')
+				.append(random.nextInt(2_000_000)).append('|')
+				.append(20 + random.nextInt(40)).append('|')
+				.append(800 + random.nextInt(400)).append('|')
+				.append(random.nextInt(200)).append('|');
+
+			// Legacy values were written from a loot map, so item ids are distinct within a kill
+			int lootCount = 2 + random.nextInt(5);
+			int first = random.nextInt(LOOT_ITEM_IDS.length);
+			for (int j = 0; j < lootCount; j++)
+			{
+				if (j > 0)
+				{
+					sb.append(',');
+				}
+				sb.append(LOOT_ITEM_IDS[(first + j) % LOOT_ITEM_IDS.length]).append(':')
+					.append(1 + random.nextInt(5000));
+			}
+			values[i] = sb.toString();
+		}
+		return values;
+	}
+
+	/**
+	 * The parsing previously done in AraxxorPlugin.loadKillsFromConfig, kept as the baseline
+	 */
+	private static AraxxorKillRecord parseWithSplit(String value)
+	{
+		if (value == null || value.length() > 10000)
+		{
+			return null;
+		}
+
+		try
+		{
+			String[] valueParts = value.split("\\|", 8);
+			if (valueParts.length < 7)
+			{
+				return null;
+			}
+
+			long timestamp = Long.parseLong(valueParts[0]);
+			if (timestamp < 0 || timestamp > System.currentTimeMillis() + 86400000L)
+			{
+				return null;
+			}
+
+			AraxxorKillRecord kill = new AraxxorKillRecord();
+			kill.setTimestamp(timestamp);
+
+			long killTime = Long.parseLong(valueParts[1]);
+			if (killTime < 0 || killTime > 3600000L)
+			{
+				return null;
+			}
+			kill.setKillTime(killTime);
+
+			try
+			{
+				kill.setRotation(AraxxorEggType.valueOf(valueParts[2]));
+			}
+			catch (IllegalArgumentException e)
+			{
+				kill.setRotation(null);
+			}
+
+			long lootValue = Long.parseLong(valueParts[3]);
+			if (lootValue < 0 || lootValue > Long.MAX_VALUE / 2)
+			{
+				return null;
+			}
+			kill.setLootValue(lootValue);
+
+			int hits = Integer.parseInt(valueParts[4]);
+			int damageDealt = Integer.parseInt(valueParts[5]);
+			int damageTaken = Integer.parseInt(valueParts[6]);
+			if (hits < 0 || hits > 10000 || damageDealt < 0 || damageDealt > 1000000 ||
+				damageTaken < 0 || damageTaken > 1000000)
+			{
+				return null;
+			}
+			kill.setHits(hits);
+			kill.setDamageDealt(damageDealt);
+			kill.setDamageTaken(damageTaken);
+
+			if (valueParts.length >= 8 && !valueParts[7].isEmpty())
+			{
+				if (valueParts[7].length() > 5000)
+				{
+					return null;
+				}
+
+				String[] lootItems = valueParts[7].split(",", 100);
+				for (String lootItem : lootItems)
+				{
+					if (lootItem.length() > 50)
+					{
+						continue;
+					}
+
+					String[] itemParts = lootItem.split(":", 2);
+					if (itemParts.length == 2)
+					{
+						int itemId = Integer.parseInt(itemParts[0]);
+						long quantity = Long.parseLong(itemParts[1]);
+
+						if (itemId < 0 || quantity < 0 || quantity > 1000000L)
+						{
+							continue;
+						}
+
+						kill.getLoot().put(itemId, quantity);
+					}
+				}
+			}
+
+			return kill;
+		}
+		catch (NumberFormatException e)
+		{
+			return null;
+		}
+	}
+}
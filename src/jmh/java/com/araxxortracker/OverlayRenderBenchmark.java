@@ -0,0 +1,111 @@
+package com.araxxortracker;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.runelite.client.ui.FontManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One frame of the fight overlay drawn to an offscreen image.
+ * <p>
+ * The overlay only reads the per-tick fight snapshot, whose cost does not depend on how many
+ * kills are stored, so unlike the history benchmarks this one is parameterised by overlay
+ * mode and by whether the frame is mid-fight or after the kill. A few earlier fights are
+ * replayed first so the live splits have personal bests to compare against.
+ * <p>
+ * {@link #render} is the usual frame, which reuses the lines built earlier; {@link #rebuild}
+ * publishes a fight state change first, as a hitsplat or phase change would, so every frame
+ * builds the lines again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class OverlayRenderBenchmark
+{
+	private static final int PREVIOUS_KILLS = 50;
+
+	@Param({"MAIN", "MINIMAL"})
+	public OverlayMode overlayMode;
+
+	@Param({"true", "false"})
+	public boolean midFight;
+
+	private BufferedImage image;
+	private Graphics2D graphics;
+	private AraxxorOverlay overlay;
+	private AraxxorPlugin plugin;
+	private Method publishFightSnapshot;
+
+	@Setup
+	public void setUp() throws ReflectiveOperationException
+	{
+		Map<String, Object> config = new HashMap<>();
+		config.put("overlayMode", overlayMode);
+		config.put("showLiveSplits", true);
+		FightReplay replay = new FightReplay(config, new HashMap<>());
+
+		Random random = new Random(42);
+		for (int i = 0; i < PREVIOUS_KILLS; i++)
+		{
+			replay.play(SyntheticFight.generate(AraxxorEggType.values()[i % 3], random).toRows());
+		}
+
+		int[] rows = SyntheticFight.generate(AraxxorEggType.RED, random).toRows();
+		if (midFight)
+		{
+			// Stop part way into the enrage phase
+			int end = rows.length * 9 / 10 / FightRecorder.ROW * FightRecorder.ROW;
+			int[] partial = new int[end];
+			System.arraycopy(rows, 0, partial, 0, end);
+			rows = partial;
+		}
+		replay.play(rows);
+
+		plugin = replay.getPlugin();
+		overlay = FightReplay.construct(AraxxorOverlay.class, plugin);
+		publishFightSnapshot = AraxxorPlugin.class.getDeclaredMethod("publishFightSnapshot");
+		publishFightSnapshot.setAccessible(true);
+		image = new BufferedImage(400, 400, BufferedImage.TYPE_INT_ARGB);
+		graphics = image.createGraphics();
+		graphics.setFont(FontManager.getRunescapeFont());
+	}
+
+	@TearDown
+	public void tearDown()
+	{
+		graphics.dispose();
+	}
+
+	@Benchmark
+	public Dimension render()
+	{
+		return overlay.render(graphics);
+	}
+
+	@Benchmark
+	public Dimension rebuild() throws ReflectiveOperationException
+	{
+		publishFightSnapshot.invoke(plugin);
+		return overlay.render(graphics);
+	}
+}
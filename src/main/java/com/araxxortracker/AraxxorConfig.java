@@ -4,6 +4,7 @@ import net.runelite.client.config.Config;
 import net.runelite.client.config.ConfigGroup;
 import net.runelite.client.config.ConfigItem;
 import net.runelite.client.config.ConfigSection;
+import net.runelite.client.config.Range;
 
 @ConfigGroup("arraxxor")
 public interface AraxxorConfig extends Config
@@ -125,6 +126,46 @@ public interface AraxxorConfig extends Config
 		return false;
 	}
 
+	@Range(
+		min = 7,
+		max = 3650
+	)
+	@ConfigItem(
+		keyName = "historyCompactionDays",
+		name = "Detailed History (Days)",
+		description = "Kills older than this are compacted into daily totals; lifetime totals are kept",
+		position = 2,
+		section = statsSection
+	)
+	default int historyCompactionDays()
+	{
+		return 365;
+	}
+
+	@ConfigItem(
+		keyName = "killStorageMode",
+		name = "Kill History Storage",
+		description = "Where kill history is kept. Profile storage syncs between computers. Existing history is copied over when the plugin next starts.",
+		position = 3,
+		section = statsSection
+	)
+	default KillStorageMode killStorageMode()
+	{
+		return KillStorageMode.LOCAL;
+	}
+
+	@ConfigItem(
+		keyName = "recordFights",
+		name = "Record Fight Events",
+		description = "Save a compact log of each fight's events to the araxxor-tracker/recordings folder, to help diagnose rotation detection",
+		position = 4,
+		section = statsSection
+	)
+	default boolean recordFights()
+	{
+		return false;
+	}
+
 	@ConfigItem(
 		keyName = "showKillTiles",
 		name = "Kill Box Animation",
@@ -137,5 +178,16 @@ public interface AraxxorConfig extends Config
 		return true;
 	}
 
-}
+	@ConfigItem(
+		keyName = "showRenderTimes",
+		name = "Render Timings",
+		description = "Show how long each overlay takes to draw, to help diagnose stutter",
+		position = 4,
+		section = overlaySection
+	)
+	default boolean showRenderTimes()
+	{
+		return false;
+	}
 
+}
@@ -10,7 +10,6 @@ import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import javax.swing.Box;
@@ -398,6 +397,7 @@ public class AraxxorConfigPanel extends PluginPanel
 		
 		clearItemCaches();
 		sectionExpandStates.clear();
+		lootHistory = null;
 	}
 	
 	/**
@@ -655,7 +655,7 @@ public class AraxxorConfigPanel extends PluginPanel
 		long avgTime = plugin.getAverageKillTime();
 		if (avgTime > 0)
 		{
-			JLabel avgTimeLabel = new JLabel(htmlLabel("Avg Time: ", formatTime(avgTime) + " (last 5)"));
+			JLabel avgTimeLabel = new JLabel(htmlLabel("Avg Time: ", TimeFormatter.compact(avgTime) + " (last 5)"));
 			avgTimeLabel.setFont(FontManager.getRunescapeSmallFont());
 			avgTimeLabel.setForeground(Color.WHITE);
 			sectionContents.add(avgTimeLabel);
@@ -708,7 +708,7 @@ public class AraxxorConfigPanel extends PluginPanel
 
 	private JPanel createRotationLabel(AraxxorEggType eggType, long time)
 	{
-		String timeStr = time > 0 ? formatTime(time) : "-";
+		String timeStr = time > 0 ? TimeFormatter.compact(time) : "-";
 		Color color = time > 0 ? eggType.getColor() : ColorScheme.LIGHT_GRAY_COLOR;
 
 		JPanel containerPanel = new JPanel();
@@ -767,26 +767,6 @@ public class AraxxorConfigPanel extends PluginPanel
 		return "<html><body style='color:#a5a5a5'>" + key + "<span style='color:white'>" + value + "</span></body></html>";
 	}
 
-	private static String formatTime(long timeMs)
-	{
-		if (timeMs < 0)
-		{
-			return "N/A";
-		}
-		long totalSeconds = timeMs / 1000;
-		long minutes = totalSeconds / 60;
-		long seconds = totalSeconds % 60;
-
-		if (minutes > 0)
-		{
-			return minutes + ":" + String.format("%02d", seconds);
-		}
-		else
-		{
-			return String.valueOf(seconds) + "s";
-		}
-	}
-
 	/**
 	 * Convert seconds to MM:SS format
 	 */
@@ -923,9 +903,7 @@ public class AraxxorConfigPanel extends PluginPanel
 		{
 			return "";
 		}
-		int minutes = totalSeconds / 60;
-		int seconds = totalSeconds % 60;
-		return minutes + ":" + String.format("%02d", seconds);
+		return TimeFormatter.clock(totalSeconds * 1000L);
 	}
 
 	private JPanel createStatisticsHeader()
@@ -1292,6 +1270,7 @@ public class AraxxorConfigPanel extends PluginPanel
 					min = range.min();
 					max = range.max();
 				}
+				value = Math.max(min, Math.min(max, value));
 
 				SpinnerModel model = new SpinnerNumberModel(value, min, max, 1);
 				JSpinner spinner = new JSpinner(model);
@@ -1397,6 +1376,11 @@ public class AraxxorConfigPanel extends PluginPanel
 	
 	private ViewMode currentViewMode = ViewMode.BY_SESSION;
 	
+	// Snapshot the loot tracker was last built from; refetched only when the plugin's history version or the view changes
+	private KillHistory lootHistory;
+	private ViewMode lootHistoryMode;
+	private int lootHistoryVersion;
+	
 	private static final ImageIcon ALL_VIEW_ICON;
 	private static final ImageIcon ALL_VIEW_ICON_FADED;
 	private static final ImageIcon ALL_VIEW_ICON_HOVER;
@@ -1638,99 +1622,47 @@ public class AraxxorConfigPanel extends PluginPanel
 		return section;
 	}
 	
-	/**
-	 * Get all historical kills from config (for BY_SESSION view)
-	 */
-	private List<AraxxorKillRecord> getAllKillsFromConfig()
+	private static final int MAX_KILLS = 100;
+	private static final int MAX_SESSIONS = 50;
+	
+	private void rebuildLootTracker()
 	{
-		List<AraxxorKillRecord> allKills = new ArrayList<>();
+		net.runelite.client.util.SwingUtil.fastRemoveAll(lootContainer);
+		lootBoxes.clear();
 		
-		if (configManager == null)
+		if (!plugin.isHistoryLoaded())
 		{
-			return allKills;
+			collapseAllBtn.setVisible(false);
+			JLabel loadingLabel = new JLabel("Loading kill history...");
+			loadingLabel.setFont(FontManager.getRunescapeSmallFont());
+			loadingLabel.setForeground(ColorScheme.LIGHT_GRAY_COLOR);
+			loadingLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+			lootContainer.add(loadingLabel);
+			lootContainer.revalidate();
+			lootContainer.repaint();
+			return;
 		}
 		
-		java.time.Instant cutoff = java.time.Instant.now().minus(java.time.Duration.ofDays(365L));
-		List<String> fullKeys = configManager.getConfigurationKeys("arraxxor.kill_");
-		
-		for (String fullKey : fullKeys)
+		// Read before fetching, so a kill appended during the fetch means one more fetch rather than a missed kill
+		int historyVersion = plugin.getHistoryVersion();
+		if (lootHistory == null || lootHistoryMode != currentViewMode || lootHistoryVersion != historyVersion)
 		{
-			String[] parts = fullKey.split("\\.", 2);
-			if (parts.length != 2)
-			{
-				continue;
-			}
-			String key = parts[1];
-			
-			String value = configManager.getConfiguration("arraxxor", key, String.class);
-			if (value == null)
+			switch (currentViewMode)
 			{
-				continue;
-			}
-			
-			try
-			{
-				String[] valueParts = value.split("\\|");
-				if (valueParts.length >= 7)
-				{
-					long timestamp = Long.parseLong(valueParts[0]);
-					
-					if (java.time.Instant.ofEpochMilli(timestamp).isBefore(cutoff))
-					{
-						continue;
-					}
-					
-					AraxxorKillRecord kill = new AraxxorKillRecord();
-					kill.setTimestamp(timestamp);
-					kill.setKillTime(Long.parseLong(valueParts[1]));
-					try
-					{
-						kill.setRotation(AraxxorEggType.valueOf(valueParts[2]));
-					}
-					catch (IllegalArgumentException e)
-					{
-						kill.setRotation(null);
-					}
-					kill.setLootValue(Long.parseLong(valueParts[3]));
-					kill.setHits(Integer.parseInt(valueParts[4]));
-					kill.setDamageDealt(Integer.parseInt(valueParts[5]));
-					kill.setDamageTaken(Integer.parseInt(valueParts[6]));
-					
-					if (valueParts.length >= 8 && !valueParts[7].isEmpty())
-					{
-						String[] lootItems = valueParts[7].split(",");
-						for (String lootItem : lootItems)
-						{
-							String[] itemParts = lootItem.split(":");
-							if (itemParts.length == 2)
-							{
-								int itemId = Integer.parseInt(itemParts[0]);
-								long quantity = Long.parseLong(itemParts[1]);
-								kill.getLoot().put(itemId, quantity);
-							}
-						}
-					}
-					
-					allKills.add(kill);
-				}
-			}
-			catch (Exception e)
-			{
-				continue;
+				case BY_SESSION:
+					lootHistory = plugin.readRecentSessions(MAX_SESSIONS);
+					break;
+				case BY_KILL:
+					lootHistory = plugin.readRecentKills(MAX_KILLS);
+					break;
+				default:
+					lootHistory = plugin.readKillHistory();
+					break;
 			}
+			lootHistoryMode = currentViewMode;
+			lootHistoryVersion = historyVersion;
 		}
-		
-		return allKills;
-	}
-	
-	private void rebuildLootTracker()
-	{
-		net.runelite.client.util.SwingUtil.fastRemoveAll(lootContainer);
-		lootBoxes.clear();
-		
-		List<AraxxorKillRecord> kills = (currentViewMode == ViewMode.BY_SESSION) 
-			? getAllKillsFromConfig() 
-			: plugin.getSessionKills();
+		KillHistory kills = lootHistory;
 		
 		if (kills.isEmpty())
 		{
@@ -1746,15 +1678,9 @@ public class AraxxorConfigPanel extends PluginPanel
 		}
 		
 		java.util.Set<Integer> uniqueItemIds = new java.util.HashSet<>();
-		for (AraxxorKillRecord kill : kills)
+		for (int j = 0, end = kills.lootEnd(kills.size() - 1); j < end; j++)
 		{
-			if (kill.getLoot() != null)
-			{
-				for (int itemId : kill.getLoot().keySet())
-				{
-					uniqueItemIds.add(itemId);
-				}
-			}
+			uniqueItemIds.add(kills.getLootItemId(j));
 		}
 		
 		boolean cachedSync = false;
@@ -1818,46 +1744,62 @@ public class AraxxorConfigPanel extends PluginPanel
 		collapseAllBtn.setSelected(!allCollapsed);
 	}
 	
-	private void buildAllView(List<AraxxorKillRecord> allKills)
+	private void buildAllView(KillHistory allKills)
 	{
-		Map<Integer, Long> aggregatedLoot = new java.util.HashMap<>();
+		Map<Integer, Long> aggregatedLoot = AraxxorLootBox.aggregateLoot(allKills, 0, allKills.size());
+		int totalKills = allKills.size();
 		long bestTime = Long.MAX_VALUE;
 		AraxxorEggType bestRotation = null;
 		
-		for (AraxxorKillRecord kill : allKills)
+		// Kills past the compaction horizon only survive as daily totals
+		for (DailyRollup rollup : plugin.getRollups())
 		{
-			if (kill.getLoot() != null)
+			totalKills += rollup.getKillCount();
+			for (Map.Entry<Integer, Long> entry : rollup.getLoot().entrySet())
+			{
+				aggregatedLoot.merge(entry.getKey(), entry.getValue(), Long::sum);
+			}
+			for (AraxxorEggType rotation : AraxxorEggType.values())
 			{
-				for (Map.Entry<Integer, Long> entry : kill.getLoot().entrySet())
+				long minKillTime = rollup.getMinKillTime(rotation);
+				if (minKillTime >= 0 && minKillTime < bestTime)
 				{
-					aggregatedLoot.merge(entry.getKey(), entry.getValue(), Long::sum);
+					bestTime = minKillTime;
+					bestRotation = rotation;
 				}
 			}
-			
-			if (kill.getKillTime() < bestTime)
+			long unknownMin = rollup.getMinKillTime(null);
+			if (unknownMin >= 0 && unknownMin < bestTime)
+			{
+				bestTime = unknownMin;
+				bestRotation = null;
+			}
+		}
+		
+		KillHistory.Cursor kill = allKills.cursor();
+		while (kill.next())
+		{
+			if (kill.killTime() < bestTime)
 			{
-				bestTime = kill.getKillTime();
-				bestRotation = kill.getRotation();
+				bestTime = kill.killTime();
+				bestRotation = kill.rotation();
 			}
 		}
 		
 		AraxxorLootBox allBox = new AraxxorLootBox(itemManager);
-		allBox.buildAllView(aggregatedLoot, allKills.size(), bestTime, bestRotation, this);
+		allBox.buildAllView(aggregatedLoot, totalKills, bestTime, bestRotation, this);
 		lootBoxes.add(allBox);
 		lootContainer.add(allBox);
 	}
 	
-	private void buildByKillView(List<AraxxorKillRecord> allKills)
+	private void buildByKillView(KillHistory allKills)
 	{
-		List<AraxxorKillRecord> sortedKills = new ArrayList<>(allKills);
-		sortedKills.sort(Comparator.comparingLong(AraxxorKillRecord::getTimestamp).reversed());
-		
-		final int MAX_KILLS = 100;
-		int killCount = Math.min(MAX_KILLS, sortedKills.size());
+		int killCount = Math.min(MAX_KILLS, allKills.size());
 		
+		// History is timestamp ordered, so walk it backwards for newest first
 		for (int i = 0; i < killCount; i++)
 		{
-			AraxxorKillRecord kill = sortedKills.get(i);
+			AraxxorKillRecord kill = allKills.toRecord(allKills.size() - 1 - i);
 			int killNumber = i + 1;
 			
 			AraxxorLootBox killBox = new AraxxorLootBox(itemManager);
@@ -1867,24 +1809,23 @@ public class AraxxorConfigPanel extends PluginPanel
 		}
 	}
 	
-	private void buildBySessionView(List<AraxxorKillRecord> allKills)
+	private void buildBySessionView(KillHistory allKills)
 	{
-		List<List<AraxxorKillRecord>> sessions = plugin.groupKillsIntoSessions(allKills);
+		int[] bounds = plugin.groupKillsIntoSessions(allKills);
+		int sessions = bounds.length - 1;
 		
-		if (sessions.isEmpty())
+		if (sessions <= 0)
 		{
 			return;
 		}
 		
 		// Group sessions by day
 		Map<String, List<SessionWithIndex>> sessionsByDay = new java.util.LinkedHashMap<>();
-		// Show up to 100 sessions (performance should be fine since we're just rendering UI)
-		int sessionCount = Math.min(50, sessions.size());
+		int sessionCount = Math.min(MAX_SESSIONS, sessions);
 		
-		for (int i = sessions.size() - 1; i >= sessions.size() - sessionCount; i--)
+		for (int i = sessions - 1; i >= sessions - sessionCount; i--)
 		{
-			List<AraxxorKillRecord> sessionKills = sessions.get(i);
-			AraxxorPlugin.SessionSummary summary = plugin.calculateSessionSummary(sessionKills);
+			AraxxorPlugin.SessionSummary summary = plugin.calculateSessionSummary(allKills, bounds[i], bounds[i + 1]);
 			if (summary == null)
 			{
 				continue;
@@ -1893,7 +1834,7 @@ public class AraxxorConfigPanel extends PluginPanel
 			// Get day key (MM/dd format)
 			String dayKey = formatDayKey(summary.getSessionStartTime());
 			sessionsByDay.computeIfAbsent(dayKey, k -> new ArrayList<>())
-				.add(new SessionWithIndex(sessionKills, summary, sessions.size() - i, i == sessions.size() - 1));
+				.add(new SessionWithIndex(allKills, bounds[i], bounds[i + 1], summary, sessions - i, i == sessions - 1));
 		}
 		
 		// Create day accordions with nested sessions
@@ -1907,7 +1848,7 @@ public class AraxxorConfigPanel extends PluginPanel
 				// Single session on this day - display directly without nesting
 				SessionWithIndex sessionData = daySessions.get(0);
 				AraxxorLootBox sessionBox = new AraxxorLootBox(itemManager);
-				sessionBox.buildSession(sessionData.sessionKills, sessionData.summary, sessionData.sessionNumber, this);
+				sessionBox.buildSession(sessionData.kills, sessionData.from, sessionData.to, sessionData.summary, sessionData.sessionNumber, this);
 				
 				if (!sessionData.isCurrentSession)
 				{
@@ -1928,15 +1869,19 @@ public class AraxxorConfigPanel extends PluginPanel
 	
 	private static class SessionWithIndex
 	{
-		final List<AraxxorKillRecord> sessionKills;
+		final KillHistory kills;
+		final int from;
+		final int to;
 		final AraxxorPlugin.SessionSummary summary;
 		final int sessionNumber;
 		final boolean isCurrentSession;
 		
-		SessionWithIndex(List<AraxxorKillRecord> sessionKills, AraxxorPlugin.SessionSummary summary, 
+		SessionWithIndex(KillHistory kills, int from, int to, AraxxorPlugin.SessionSummary summary, 
 			int sessionNumber, boolean isCurrentSession)
 		{
-			this.sessionKills = sessionKills;
+			this.kills = kills;
+			this.from = from;
+			this.to = to;
 			this.summary = summary;
 			this.sessionNumber = sessionNumber;
 			this.isCurrentSession = isCurrentSession;
@@ -1971,7 +1916,7 @@ public class AraxxorConfigPanel extends PluginPanel
 		));
 		
 		// Calculate day totals
-		int totalKills = daySessions.stream().mapToInt(s -> s.sessionKills.size()).sum();
+		int totalKills = daySessions.stream().mapToInt(s -> s.to - s.from).sum();
 		long bestTime = daySessions.stream()
 			.mapToLong(s -> s.summary.getBestTime())
 			.min()
@@ -1986,16 +1931,7 @@ public class AraxxorConfigPanel extends PluginPanel
 		Map<Integer, Long> dayAggregatedLoot = new java.util.HashMap<>();
 		for (SessionWithIndex sessionData : daySessions)
 		{
-			for (AraxxorKillRecord kill : sessionData.sessionKills)
-			{
-				if (kill.getLoot() != null)
-				{
-					for (Map.Entry<Integer, Long> entry : kill.getLoot().entrySet())
-					{
-						dayAggregatedLoot.merge(entry.getKey(), entry.getValue(), Long::sum);
-					}
-				}
-			}
+			AraxxorLootBox.aggregateLoot(sessionData.kills, sessionData.from, sessionData.to, dayAggregatedLoot);
 		}
 		
 		String cacheKey = "day_" + dayKey + "_" + totalKills;
@@ -2025,20 +1961,7 @@ public class AraxxorConfigPanel extends PluginPanel
 		dayHeader.add(dayToggle, BorderLayout.WEST);
 		
 		// Check if any session in this day contains unique drops
-		boolean hasUnique = daySessions.stream().anyMatch(sessionData -> {
-			Map<Integer, Long> aggregatedLoot = new java.util.HashMap<>();
-			for (AraxxorKillRecord kill : sessionData.sessionKills)
-			{
-				if (kill.getLoot() != null)
-				{
-					for (Map.Entry<Integer, Long> entry : kill.getLoot().entrySet())
-					{
-						aggregatedLoot.merge(entry.getKey(), entry.getValue(), Long::sum);
-					}
-				}
-			}
-			return aggregatedLoot.keySet().stream().anyMatch(AraxxorLootBox::isUniqueDrop);
-		});
+		boolean hasUnique = dayAggregatedLoot.keySet().stream().anyMatch(AraxxorLootBox::isUniqueDrop);
 		
 		// Day label with stats
 		JPanel dayLabelPanel = new JPanel();
@@ -2110,7 +2033,7 @@ public class AraxxorConfigPanel extends PluginPanel
 		for (SessionWithIndex sessionData : daySessions)
 		{
 			AraxxorLootBox sessionBox = new AraxxorLootBox(itemManager);
-			sessionBox.buildSessionNested(sessionData.sessionKills, sessionData.summary, sessionData.sessionNumber, this);
+			sessionBox.buildSessionNested(sessionData.kills, sessionData.from, sessionData.to, sessionData.summary, sessionData.sessionNumber, this);
 			
 			// Only expand the current session, collapse others
 			if (!sessionData.isCurrentSession)
@@ -0,0 +1,91 @@
+package com.araxxortracker;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import javax.inject.Inject;
+import net.runelite.client.ui.overlay.OverlayPanel;
+import net.runelite.client.ui.overlay.OverlayPosition;
+import net.runelite.client.ui.overlay.components.LineComponent;
+
+/**
+ * Render timings for the plugin's overlays, for diagnosing stutter. Shows each overlay's
+ * p50/p99/max frame time over the last window, and how many lines (cards, for the kill cards)
+ * it built per frame.
+ * <p>
+ * Area checks and getter calls are not counted: the overlays read a {@link FightSnapshot}
+ * captured once per tick on the client thread, so a frame makes no area check and its reads
+ * are final field loads. Rebuilds and lines are the per-frame work that varies.
+ */
+class AraxxorDebugOverlay extends OverlayPanel
+{
+	private static final Color COLOR_HEADER = new Color(255, 215, 0);
+	private static final Color COLOR_DETAIL = new Color(170, 170, 170);
+	private static final Dimension PANEL_SIZE = new Dimension(200, 0);
+
+	private final AraxxorPlugin plugin;
+
+	/** Sum of the timers' window counts when the lines were built */
+	private int builtWindows = -1;
+
+	@Inject
+	private AraxxorDebugOverlay(AraxxorPlugin plugin)
+	{
+		super(plugin);
+		this.plugin = plugin;
+		setPosition(OverlayPosition.TOP_LEFT);
+		// The figures only change once per window, so the lines are kept until then
+		setClearChildren(false);
+	}
+
+	@Override
+	public Dimension render(Graphics2D graphics)
+	{
+		RenderTimer overlayTimer = plugin.getOverlayTimer();
+		RenderTimer worldOverlayTimer = plugin.getWorldOverlayTimer();
+		RenderTimer statsOverlayTimer = plugin.getStatsOverlayTimer();
+
+		int windows = overlayTimer.getWindow() + worldOverlayTimer.getWindow() + statsOverlayTimer.getWindow();
+		if (windows != builtWindows)
+		{
+			panelComponent.getChildren().clear();
+			panelComponent.setPreferredSize(PANEL_SIZE);
+			panelComponent.getChildren().add(LineComponent.builder()
+				.left("Render µs")
+				.leftColor(COLOR_HEADER)
+				.right("p50 / p99 / max")
+				.rightColor(COLOR_HEADER)
+				.build());
+			addTimer("Timer", overlayTimer);
+			addTimer("Kill cards", worldOverlayTimer);
+			addTimer("Stats", statsOverlayTimer);
+			builtWindows = windows;
+		}
+
+		return super.render(graphics);
+	}
+
+	private void addTimer(String name, RenderTimer timer)
+	{
+		if (timer.getWindow() == 0)
+		{
+			panelComponent.getChildren().add(LineComponent.builder()
+				.left(name)
+				.right("-")
+				.build());
+			return;
+		}
+
+		panelComponent.getChildren().add(LineComponent.builder()
+			.left(name)
+			.right(String.format("%d / %d / %d",
+				timer.getP50Nanos() / 1000, timer.getP99Nanos() / 1000, timer.getWindowMaxNanos() / 1000))
+			.build());
+		panelComponent.getChildren().add(LineComponent.builder()
+			.left(String.format("  %d frames", timer.getWindowFrames()))
+			.leftColor(COLOR_DETAIL)
+			.right(String.format("%.2f built, %.1f lines", timer.getRebuildsPerFrame(), timer.getLinesPerFrame()))
+			.rightColor(COLOR_DETAIL)
+			.build());
+	}
+}
@@ -25,8 +25,6 @@
 package com.araxxortracker;
 
 import java.awt.Color;
-import java.util.HashMap;
-import java.util.Map;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
@@ -47,20 +45,8 @@ public enum AraxxorEggType
 	private final Color color;
 	private final String icon;
 
-	// Static maps for O(1) lookup
-	private static final Map<Integer, AraxxorEggType> EGG_ID_MAP = new HashMap<>();
-	private static final Map<Integer, AraxxorEggType> MINION_ID_MAP = new HashMap<>();
 	private static final AraxxorEggType[] VALUES_CACHE = values();
 
-	static
-	{
-		for (AraxxorEggType type : VALUES_CACHE)
-		{
-			EGG_ID_MAP.put(type.eggNpcId, type);
-			MINION_ID_MAP.put(type.minionNpcId, type);
-		}
-	}
-
 	/**
 	 * Get the next egg type in the rotation
 	 */
@@ -74,7 +60,8 @@ public enum AraxxorEggType
 	 */
 	public static AraxxorEggType fromEggId(int npcId)
 	{
-		return EGG_ID_MAP.get(npcId);
+		AraxxorNpcRole role = AraxxorNpcRole.of(npcId);
+		return role.isEgg() ? role.getEggType() : null;
 	}
 
 	/**
@@ -82,7 +69,8 @@ public enum AraxxorEggType
 	 */
 	public static AraxxorEggType fromMinionId(int npcId)
 	{
-		return MINION_ID_MAP.get(npcId);
+		AraxxorNpcRole role = AraxxorNpcRole.of(npcId);
+		return role.isMinion() ? role.getEggType() : null;
 	}
 
 	/**
@@ -90,7 +78,7 @@ public enum AraxxorEggType
 	 */
 	public static boolean isEgg(int npcId)
 	{
-		return fromEggId(npcId) != null;
+		return AraxxorNpcRole.of(npcId).isEgg();
 	}
 
 	/**
@@ -98,7 +86,7 @@ public enum AraxxorEggType
 	 */
 	public static boolean isMinion(int npcId)
 	{
-		return fromMinionId(npcId) != null;
+		return AraxxorNpcRole.of(npcId).isMinion();
 	}
 }
 
@@ -0,0 +1,63 @@
+package com.araxxortracker;
+
+import lombok.RequiredArgsConstructor;
+import net.runelite.api.events.ActorDeath;
+import net.runelite.api.events.AnimationChanged;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.HitsplatApplied;
+import net.runelite.api.events.NpcDespawned;
+import net.runelite.api.events.NpcSpawned;
+import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.events.ServerNpcLoot;
+
+/**
+ * Subscribes the plugin's fight handlers to the event bus. The plugin only registers this
+ * while the player is in Araxxor's lair, so the rest of the game pays nothing for them.
+ */
+@RequiredArgsConstructor
+class AraxxorFightListener
+{
+	private final AraxxorPlugin plugin;
+
+	@Subscribe
+	public void onAnimationChanged(AnimationChanged event)
+	{
+		plugin.onAnimationChanged(event);
+	}
+
+	@Subscribe
+	public void onHitsplatApplied(HitsplatApplied event)
+	{
+		plugin.onHitsplatApplied(event);
+	}
+
+	@Subscribe
+	public void onActorDeath(ActorDeath event)
+	{
+		plugin.onActorDeath(event);
+	}
+
+	@Subscribe
+	public void onNpcSpawned(NpcSpawned event)
+	{
+		plugin.onNpcSpawned(event);
+	}
+
+	@Subscribe
+	public void onNpcDespawned(NpcDespawned event)
+	{
+		plugin.onNpcDespawned(event);
+	}
+
+	@Subscribe
+	public void onChatMessage(ChatMessage event)
+	{
+		plugin.onChatMessage(event);
+	}
+
+	@Subscribe
+	public void onServerNpcLoot(ServerNpcLoot event)
+	{
+		plugin.onServerNpcLoot(event);
+	}
+}
@@ -45,7 +45,7 @@ class AraxxorLootBox extends JPanel
 		}
 	};
 	
-	private static final java.util.Set<Integer> UNIQUE_DROP_IDS = java.util.Collections.unmodifiableSet(
+	static final java.util.Set<Integer> UNIQUE_DROP_IDS = java.util.Collections.unmodifiableSet(
 		java.util.stream.Stream.of(
 			29790, 29792, 29794, 29799, 29788, 29786, 29781, 29836, 29838
 		).collect(java.util.stream.Collectors.toSet())
@@ -355,18 +355,18 @@ class AraxxorLootBox extends JPanel
 	 * Build session box with aggregated loot
 	 * Format: "11/12  - 1KC | besttime | GP"
 	 */
-	void buildSession(List<AraxxorKillRecord> sessionKills, AraxxorPlugin.SessionSummary summary, int sessionNumber, AraxxorConfigPanel configPanel)
+	void buildSession(KillHistory kills, int from, int to, AraxxorPlugin.SessionSummary summary, int sessionNumber, AraxxorConfigPanel configPanel)
 	{
 		// Format: MM/dd  - KC | besttime | GP
 		String dateStr = formatSessionDate(summary.getSessionStartTime());
-		int killCount = sessionKills.size();
+		int killCount = to - from;
 		long bestTime = summary.getBestTime();
 		AraxxorEggType bestRotation = summary.getBestRotation();
 		
 		// Replace title label - add elements directly to titleBar for proper layout
 		titleBar.removeAll();
 		
-		Map<Integer, Long> aggregatedLoot = aggregateLoot(sessionKills);
+		Map<Integer, Long> aggregatedLoot = aggregateLoot(kills, from, to);
 		boolean hasUnique = hasUniqueDrops(aggregatedLoot);
 		
 		String cacheKey = "session_" + summary.getSessionStartTime();
@@ -387,7 +387,7 @@ class AraxxorLootBox extends JPanel
 		
 		// Best time label with rotation color
 		Color rotationColor = bestRotation != null ? bestRotation.getColor() : Color.WHITE;
-		String bestTimeStr = formatTime(bestTime);
+		String bestTimeStr = TimeFormatter.clock(bestTime);
 		JLabel timeLabel = new JLabel(bestTimeStr);
 		timeLabel.setFont(FontManager.getRunescapeSmallFont());
 		timeLabel.setForeground(rotationColor);
@@ -421,18 +421,18 @@ class AraxxorLootBox extends JPanel
 	 * Build nested session box (for sessions grouped by day)
 	 * Format: "HH:mm  - KC | besttime | GP" (session time as primary identifier)
 	 */
-	void buildSessionNested(List<AraxxorKillRecord> sessionKills, AraxxorPlugin.SessionSummary summary, int sessionNumber, AraxxorConfigPanel configPanel)
+	void buildSessionNested(KillHistory kills, int from, int to, AraxxorPlugin.SessionSummary summary, int sessionNumber, AraxxorConfigPanel configPanel)
 	{
 		// Format: HH:mm  - KC | besttime | GP (session time as primary)
 		String sessionTimeStr = formatSessionTime(summary.getSessionStartTime());
-		int killCount = sessionKills.size();
+		int killCount = to - from;
 		long bestTime = summary.getBestTime();
 		AraxxorEggType bestRotation = summary.getBestRotation();
 		
 		// Replace title label - add elements directly to titleBar for proper layout
 		titleBar.removeAll();
 		
-		Map<Integer, Long> aggregatedLoot = aggregateLoot(sessionKills);
+		Map<Integer, Long> aggregatedLoot = aggregateLoot(kills, from, to);
 		boolean hasUnique = hasUniqueDrops(aggregatedLoot);
 		
 		String cacheKey = "session_nested_" + summary.getSessionStartTime();
@@ -453,7 +453,7 @@ class AraxxorLootBox extends JPanel
 		
 		// Best time label with rotation color
 		Color rotationColor = bestRotation != null ? bestRotation.getColor() : Color.WHITE;
-		String bestTimeStr = formatTime(bestTime);
+		String bestTimeStr = TimeFormatter.clock(bestTime);
 		JLabel timeLabel = new JLabel(bestTimeStr);
 		timeLabel.setFont(FontManager.getRunescapeSmallFont());
 		timeLabel.setForeground(rotationColor);
@@ -482,14 +482,6 @@ class AraxxorLootBox extends JPanel
 		}
 	}
 	
-	private String formatTime(long timeMs)
-	{
-		long seconds = timeMs / 1000;
-		long minutes = seconds / 60;
-		seconds = seconds % 60;
-		return String.format("%d:%02d", minutes, seconds);
-	}
-	
 	/**
 	 * Format session date as MM/dd (no year) for compact display (e.g., "11/12")
 	 */
@@ -511,22 +503,29 @@ class AraxxorLootBox extends JPanel
 	}
 	
 	/**
-	 * Aggregate loot from multiple kills into a single map
+	 * Aggregate loot from a range of kills into a single map
+	 */
+	static Map<Integer, Long> aggregateLoot(KillHistory kills, int from, int to)
+	{
+		return aggregateLoot(kills, from, to, new java.util.HashMap<>());
+	}
+	
+	/**
+	 * Aggregate loot from a range of kills into an existing map
 	 */
-	private Map<Integer, Long> aggregateLoot(List<AraxxorKillRecord> kills)
+	static Map<Integer, Long> aggregateLoot(KillHistory kills, int from, int to, Map<Integer, Long> into)
 	{
-		Map<Integer, Long> aggregated = new java.util.HashMap<>();
-		for (AraxxorKillRecord kill : kills)
+		if (from >= to)
 		{
-			if (kill.getLoot() != null)
-			{
-				for (Map.Entry<Integer, Long> entry : kill.getLoot().entrySet())
-				{
-					aggregated.merge(entry.getKey(), entry.getValue(), Long::sum);
-				}
-			}
+			return into;
+		}
+		
+		// Kill loot is packed contiguously, so a range of kills is a single range of loot entries
+		for (int j = kills.lootStart(from), end = kills.lootEnd(to - 1); j < end; j++)
+		{
+			into.merge(kills.getLootItemId(j), (long) kills.getLootQuantity(j), Long::sum);
 		}
-		return aggregated;
+		return into;
 	}
 	
 	/**
@@ -720,7 +719,7 @@ class AraxxorLootBox extends JPanel
 	 */
 	void buildKill(AraxxorKillRecord kill, int killNumber, AraxxorConfigPanel configPanel)
 	{
-		String timeStr = formatTime(kill.getKillTime());
+		String timeStr = TimeFormatter.clock(kill.getKillTime());
 		AraxxorEggType rotation = kill.getRotation();
 		Color rotationColor = rotation != null ? rotation.getColor() : Color.WHITE;
 		
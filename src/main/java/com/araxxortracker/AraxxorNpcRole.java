@@ -0,0 +1,98 @@
+package com.araxxortracker;
+
+import java.util.Arrays;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import net.runelite.api.gameval.NpcID;
+
+/**
+ * What an NPC id means to the plugin, looked up once per NPC event.
+ * <p>
+ * All the ids of interest sit in a narrow band, so the lookup is a single unsigned range
+ * check followed by an index into a small dense table; any other NPC in the game fails the
+ * range check and is {@link #OTHER} without touching the table.
+ */
+@Getter
+@RequiredArgsConstructor
+enum AraxxorNpcRole
+{
+	OTHER(null),
+	BOSS(null),
+	BOSS_DEAD(null),
+	WHITE_EGG(AraxxorEggType.WHITE),
+	RED_EGG(AraxxorEggType.RED),
+	GREEN_EGG(AraxxorEggType.GREEN),
+	WHITE_MINION(AraxxorEggType.WHITE),
+	RED_MINION(AraxxorEggType.RED),
+	GREEN_MINION(AraxxorEggType.GREEN);
+
+	/** The egg colour for egg and minion roles, otherwise null */
+	private final AraxxorEggType eggType;
+
+	private static final int MIN_ID;
+	private static final AraxxorNpcRole[] BY_ID;
+
+	static
+	{
+		AraxxorNpcRole[] roles = values();
+		int[] ids = new int[roles.length];
+		ids[BOSS.ordinal()] = NpcID.ARAXXOR;
+		ids[BOSS_DEAD.ordinal()] = NpcID.ARAXXOR_DEAD;
+		for (AraxxorNpcRole role : roles)
+		{
+			if (role.isEgg())
+			{
+				ids[role.ordinal()] = role.eggType.getEggNpcId();
+			}
+			else if (role.isMinion())
+			{
+				ids[role.ordinal()] = role.eggType.getMinionNpcId();
+			}
+		}
+
+		int min = Integer.MAX_VALUE;
+		int max = Integer.MIN_VALUE;
+		for (int i = 1; i < roles.length; i++)
+		{
+			min = Math.min(min, ids[i]);
+			max = Math.max(max, ids[i]);
+		}
+
+		MIN_ID = min;
+		BY_ID = new AraxxorNpcRole[max - min + 1];
+		Arrays.fill(BY_ID, OTHER);
+		for (int i = 1; i < roles.length; i++)
+		{
+			BY_ID[ids[i] - min] = roles[i];
+		}
+	}
+
+	static AraxxorNpcRole of(int npcId)
+	{
+		int index = npcId - MIN_ID;
+		// Unsigned, so ids below the band wrap around and fail the same check as ids above it
+		if (Integer.compareUnsigned(index, BY_ID.length) >= 0)
+		{
+			return OTHER;
+		}
+		return BY_ID[index];
+	}
+
+	/**
+	 * Araxxor itself, alive or dead
+	 */
+	boolean isAraxxor()
+	{
+		return this == BOSS || this == BOSS_DEAD;
+	}
+
+	boolean isEgg()
+	{
+		return this == WHITE_EGG || this == RED_EGG || this == GREEN_EGG;
+	}
+
+	boolean isMinion()
+	{
+		return this == WHITE_MINION || this == RED_MINION || this == GREEN_MINION;
+	}
+}
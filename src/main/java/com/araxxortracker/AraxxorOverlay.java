@@ -60,15 +60,22 @@ class AraxxorOverlay extends OverlayPanel
 	private static final String LABEL_LOST_HP = "Lost:";
 	
 	private final AraxxorPlugin plugin;
-	private final AraxxorConfig config;
 	
-	private long cachedFormattedTimeSimpleMs = -1;
-	private String cachedFormattedTimeSimple = null;
-	private long cachedFormattedTimeCompactMs = -1;
-	private String cachedFormattedTimeCompact = null;
-	private boolean cachedInBossArea = false;
-	private long lastAreaCheckTime = 0;
-	private static final long AREA_CHECK_THROTTLE_MS = 500;
+	/** Snapshot and settings the panel's lines were built from; only touched on the render thread */
+	private FightSnapshot fight;
+	private AraxxorSettings settings;
+	
+	/**
+	 * Inputs the current lines were built from, compared each frame to decide on a rebuild. A new
+	 * snapshot is published every tick, so it is its fight state version that is compared.
+	 */
+	private int builtVersion = -1;
+	private long builtSecond;
+	private long builtEnrageSecond;
+	
+	/** Outcome of the last rebuild: whether to draw, and where the start rotation circle goes */
+	private boolean visible;
+	private StartRotationInfo startRotationInfo;
 	
 	private static class SplitResult {
 		final String text;
@@ -99,55 +106,100 @@ class AraxxorOverlay extends OverlayPanel
 	}
 
 	@Inject
-	private AraxxorOverlay(AraxxorPlugin plugin, AraxxorConfig config)
+	private AraxxorOverlay(AraxxorPlugin plugin)
 	{
 		super(plugin);
 		this.plugin = plugin;
-		this.config = config;
+		// The lines are kept between frames and only rebuilt when their content changes
+		setClearChildren(false);
 	}
 
 	@Override
 	public Dimension render(Graphics2D graphics)
 	{
-		panelComponent.getChildren().clear();
+		long start = System.nanoTime();
+		try
+		{
+			return renderFrame(graphics);
+		}
+		finally
+		{
+			plugin.getOverlayTimer().stop(start);
+		}
+	}
+	
+	private Dimension renderFrame(Graphics2D graphics)
+	{
+		FightSnapshot snapshot = plugin.getFightSnapshot();
+		if (snapshot == null)
+		{
+			builtVersion = -1;
+			return null;
+		}
 		
-		boolean hasFightStarted = plugin.getFightStartTime() != -1;
-			
-			long currentTime = System.currentTimeMillis();
-			boolean isInBossArea;
-			boolean didAreaCheck = false;
-			if (currentTime - lastAreaCheckTime > AREA_CHECK_THROTTLE_MS)
-			{
-				isInBossArea = plugin.isInAraxxorArea();
-				cachedInBossArea = isInBossArea;
-				lastAreaCheckTime = currentTime;
-				didAreaCheck = true;
-			}
-			else
-			{
-				isInBossArea = cachedInBossArea;
-			}
+		long elapsedTime = snapshot.getElapsedTime();
+		long currentTimeInEnrage = snapshot.getCurrentTimeInEnrage();
+		AraxxorSettings currentSettings = plugin.getSettings();
+		
+		// Every line is derived from these, and a config change replaces the settings; while none
+		// change, the previous frame's lines stand
+		if (snapshot.getVersion() != builtVersion
+			|| elapsedTime / 1000 != builtSecond
+			|| currentTimeInEnrage / 1000 != builtEnrageSecond
+			|| currentSettings != settings)
+		{
+			fight = snapshot;
+			settings = currentSettings;
+			panelComponent.getChildren().clear();
+			startRotationInfo = null;
+			visible = buildPanel(elapsedTime, currentTimeInEnrage);
+			plugin.getOverlayTimer().rebuilt(panelComponent.getChildren().size());
 			
-			if (didAreaCheck)
-			{
-				plugin.resetPhaseIfNotInArea();
-			}
+			builtVersion = snapshot.getVersion();
+			builtSecond = elapsedTime / 1000;
+			builtEnrageSecond = currentTimeInEnrage / 1000;
+		}
+		
+		if (!visible)
+		{
+			return null;
+		}
+		
+		Dimension mainDimension = super.render(graphics);
+
+		// Show colored circle for rotation (both during and after fight)
+		if (mainDimension != null && startRotationInfo != null)
+		{
+			renderStartCircle(graphics, mainDimension, startRotationInfo);
+		}
+		
+		return mainDimension;
+	}
+	
+	/**
+	 * Rebuild the panel's lines from {@link #fight}
+	 * @return whether the overlay should be shown at all
+	 */
+	private boolean buildPanel(long elapsedTime, long currentTimeInEnrage)
+	{
+		boolean hasFightStarted = fight.hasFightStarted();
+			boolean isInBossArea = fight.isInAraxxorArea();
 			
-			OverlayMode overlayMode = config.overlayMode();
-			boolean isFightActive = plugin.isFightActive();
-			boolean bossReached0Hp = plugin.isAraxxorReachedZeroHp();
+			OverlayMode overlayMode = settings.getOverlayMode();
+			boolean isFightActive = fight.isFightActive();
+			boolean bossReached0Hp = fight.isAraxxorReachedZeroHp();
 			boolean showAsFightEnded = !isFightActive || bossReached0Hp;
 			
 		if (overlayMode == OverlayMode.MINIMAL)
 		{
-			if (!isInBossArea && !config.showWhenInactive())
+			if (!isInBossArea && !settings.isShowWhenInactive())
 			{
-				return null;
+				return false;
 			}
 			
-			if (!hasFightStarted && !config.showWhenInactive())
+			if (!hasFightStarted && !settings.isShowWhenInactive())
 			{
-				return null;
+				return false;
 			}
 			
 			setupPanelStyling(true);
@@ -155,15 +207,14 @@ class AraxxorOverlay extends OverlayPanel
 			if (!hasFightStarted)
 			{
 				renderWaitingSection();
-				return super.render(graphics);
+				return true;
 			}
 			
-			long elapsedTime = plugin.getElapsedTime();
-			AraxxorEggType currentRotationStart = plugin.getCurrentRotationStart();
-			boolean showLiveSplits = config.showLiveSplits();
-			SplitComparisonMode comparisonMode = config.splitComparisonMode();
+			AraxxorEggType currentRotationStart = fight.getCurrentRotationStart();
+			boolean showLiveSplits = settings.isShowLiveSplits();
+			SplitComparisonMode comparisonMode = settings.getSplitComparisonMode();
 			long rotationBestTime = currentRotationStart != null ? getRotationBestTime(currentRotationStart) : -1;
-			long overallBestKillTime = plugin.getBestKillTime();
+			long overallBestKillTime = fight.getBestKillTime();
 			
 			long totalTime = elapsedTime;
 			SplitResult totalSplit = showLiveSplits ? calculateTotalTimeSplit(totalTime, comparisonMode, currentRotationStart, rotationBestTime, overallBestKillTime) : SplitResult.none();
@@ -185,7 +236,7 @@ class AraxxorOverlay extends OverlayPanel
 				}
 			}
 			
-			String totalTimeText = formatTimeSimple(totalTime);
+			String totalTimeText = TimeFormatter.clock(totalTime);
 			String rightText = totalTimeText;
 			
 			if (showLiveSplits && !totalSplit.text.isEmpty())
@@ -195,65 +246,62 @@ class AraxxorOverlay extends OverlayPanel
 			
 			addLine(LABEL_TIME, rightText, COLOR_WHITE);
 			
-			return super.render(graphics);
+			return true;
 		}
 		
-		boolean showAlways = config.showWhenInactive();
+		boolean showAlways = settings.isShowWhenInactive();
 		if (!showAlways)
 		{
 			// When "Show When Inactive" is disabled, hide overlay entirely when not fighting
 			if (!isInBossArea)
 			{
-				return null;
+				return false;
 			}
 			
 			if (!hasFightStarted)
 			{
-				return null;
+				return false;
 			}
 		}
 		else
 		{
 			// When "Show When Inactive" is enabled, show pre-fight stats if configured
-			if (!isInBossArea && config.showPreFightStats())
+			if (!isInBossArea && settings.isShowPreFightStats())
 			{
 				setupPanelStyling();
 				renderWaitingSection();
-				return super.render(graphics);
+				return true;
 			}
 			
-			if (!hasFightStarted && config.showPreFightStats())
+			if (!hasFightStarted && settings.isShowPreFightStats())
 			{
 				setupPanelStyling();
 				renderWaitingSection();
-				return super.render(graphics);
+				return true;
 			}
 		}
 			
-		long elapsedTime = plugin.getElapsedTime();
-		long currentTimeToEnrage = plugin.getCurrentTimeToEnrage();
-		long currentTimeInEnrage = plugin.getCurrentTimeInEnrage();
-		long enrageStartTime = plugin.getEnrageStartTime();
-		AraxxorEggType currentRotationStart = plugin.getCurrentRotationStart();
-		int currentFightHits = plugin.getCurrentFightHits();
-		int currentFightDamageTaken = plugin.getCurrentFightDamageTaken();
-		double averageHit = plugin.getAverageHit();
-		double dps = plugin.getDPS();
-		
-		boolean showLiveSplits = config.showLiveSplits();
-		SplitComparisonMode comparisonMode = config.splitComparisonMode();
+		long currentTimeToEnrage = fight.getCurrentTimeToEnrage();
+		boolean hasEnraged = fight.hasEnraged();
+		AraxxorEggType currentRotationStart = fight.getCurrentRotationStart();
+		int currentFightHits = fight.getCurrentFightHits();
+		int currentFightDamageTaken = fight.getCurrentFightDamageTaken();
+		double averageHit = fight.getAverageHit();
+		double dps = fight.getDPS();
+		
+		boolean showLiveSplits = settings.isShowLiveSplits();
+		SplitComparisonMode comparisonMode = settings.getSplitComparisonMode();
 		
 		long rotationBestTime = currentRotationStart != null ? getRotationBestTime(currentRotationStart) : -1;
 		int rotationBestHits = currentRotationStart != null ? getRotationBestHits(currentRotationStart) : -1;
 		int rotationBestDamage = currentRotationStart != null ? getRotationBestDamage(currentRotationStart) : -1;
 		
-		long overallBestKillTime = plugin.getBestKillTime();
-		long overallBestTimeToEnrage = plugin.getBestTimeToEnrage();
-		long overallBestTimeInEnrage = plugin.getBestTimeInEnrage();
+		long overallBestKillTime = fight.getBestKillTime();
+		long overallBestTimeToEnrage = fight.getBestTimeToEnrage();
+		long overallBestTimeInEnrage = fight.getBestTimeInEnrage();
 
 		setupPanelStyling();
 
-		StartRotationInfo startRotationInfo = null;
 		if (!hasFightStarted)
 		{
 			renderWaitingSection();
@@ -264,36 +312,28 @@ class AraxxorOverlay extends OverlayPanel
 			if (!showAsFightEnded)
 			{
 				addSeparator();
-				renderInFightTiming(enrageStartTime, elapsedTime, currentTimeInEnrage, currentTimeToEnrage, showLiveSplits, comparisonMode, currentRotationStart, rotationBestTime, overallBestTimeToEnrage, overallBestTimeInEnrage);
+				renderInFightTiming(hasEnraged, elapsedTime, currentTimeInEnrage, currentTimeToEnrage, showLiveSplits, comparisonMode, currentRotationStart, rotationBestTime, overallBestTimeToEnrage, overallBestTimeInEnrage);
 			}
 			else
 			{
-				int lastFightHits = plugin.getLastFightHits();
-				int lastFightDamageTaken = plugin.getLastFightDamageTaken();
-				int bestHitCount = plugin.getBestHitCount();
-				int bestDamageTaken = plugin.getBestDamageTaken();
+				int lastFightHits = fight.getLastFightHits();
+				int lastFightDamageTaken = fight.getLastFightDamageTaken();
+				int bestHitCount = fight.getBestHitCount();
+				int bestDamageTaken = fight.getBestDamageTaken();
 				startRotationInfo = renderPostFightOverlay(elapsedTime, currentTimeToEnrage, currentTimeInEnrage, currentRotationStart, showLiveSplits, comparisonMode, rotationBestHits, rotationBestDamage, rotationBestTime, overallBestKillTime, lastFightHits, lastFightDamageTaken, bestHitCount, bestDamageTaken);
 			}
 		}
 		
 		if (hasFightStarted && !showAsFightEnded)
 		{
-			int lastFightHits = plugin.getLastFightHits();
-			int lastFightDamageTaken = plugin.getLastFightDamageTaken();
-			int bestHitCount = plugin.getBestHitCount();
-			int bestDamageTaken = plugin.getBestDamageTaken();
+			int lastFightHits = fight.getLastFightHits();
+			int lastFightDamageTaken = fight.getLastFightDamageTaken();
+			int bestHitCount = fight.getBestHitCount();
+			int bestDamageTaken = fight.getBestDamageTaken();
 			renderInFightPerformance(currentFightHits, averageHit, dps, currentFightDamageTaken, showLiveSplits, comparisonMode, currentRotationStart, rotationBestHits, rotationBestDamage, bossReached0Hp, lastFightHits, lastFightDamageTaken, bestHitCount, bestDamageTaken);
 		}
-
-		Dimension mainDimension = super.render(graphics);
-
-		// Show colored circle for rotation (both during and after fight)
-		if (hasFightStarted && mainDimension != null && startRotationInfo != null)
-		{
-			renderStartCircle(graphics, mainDimension, startRotationInfo);
-		}
 		
-		return mainDimension;
+		return true;
 	}
 	
 	private void setupPanelStyling()
@@ -314,7 +354,7 @@ class AraxxorOverlay extends OverlayPanel
 	 */
 	private StartRotationInfo renderStartRotationInFight()
 	{
-		AraxxorEggType startRotation = plugin.getCurrentRotationStart();
+		AraxxorEggType startRotation = fight.getCurrentRotationStart();
 		if (startRotation == null)
 		{
 			return null;
@@ -334,7 +374,7 @@ class AraxxorOverlay extends OverlayPanel
 	 */
 	private StartRotationInfo renderStartRotation()
 	{
-		AraxxorEggType startRotation = plugin.getCurrentRotationStart();
+		AraxxorEggType startRotation = fight.getCurrentRotationStart();
 		if (startRotation == null)
 		{
 			return null;
@@ -357,12 +397,12 @@ class AraxxorOverlay extends OverlayPanel
 			.build());
 	}
 	
-	private void renderInFightTiming(long enrageStartTime, long elapsedTime, long currentTimeInEnrage, long currentTimeToEnrage, boolean showLiveSplits, SplitComparisonMode comparisonMode, AraxxorEggType currentRotationStart, long rotationBestTime, long overallBestTimeToEnrage, long overallBestTimeInEnrage)
+	private void renderInFightTiming(boolean hasEnraged, long elapsedTime, long currentTimeInEnrage, long currentTimeToEnrage, boolean showLiveSplits, SplitComparisonMode comparisonMode, AraxxorEggType currentRotationStart, long rotationBestTime, long overallBestTimeToEnrage, long overallBestTimeInEnrage)
 	{
-		long normalTime = (enrageStartTime > 0 && currentTimeToEnrage > 0) ? currentTimeToEnrage : elapsedTime;
+		long normalTime = (hasEnraged && currentTimeToEnrage > 0) ? currentTimeToEnrage : elapsedTime;
 		normalTime += 1000;
 
-		String normalTimeText = formatTimeSimple(normalTime);
+		String normalTimeText = TimeFormatter.clock(normalTime);
 		
 		if (showLiveSplits)
 		{
@@ -378,10 +418,10 @@ class AraxxorOverlay extends OverlayPanel
 			addLine(LABEL_NORMAL, normalTimeText, COLOR_WHITE);
 		}
 
-		if (enrageStartTime > 0)
+		if (hasEnraged)
 		{
 			long enrageTime = currentTimeInEnrage;
-			String enrageTimeText = formatTimeSimple(enrageTime);
+			String enrageTimeText = TimeFormatter.clock(enrageTime);
 			
 			if (showLiveSplits)
 			{
@@ -405,7 +445,7 @@ class AraxxorOverlay extends OverlayPanel
 	 */
 	private StartRotationInfo renderPostFightOverlay(long elapsedTime, long currentTimeToEnrage, long currentTimeInEnrage, AraxxorEggType currentRotationStart, boolean showLiveSplits, SplitComparisonMode comparisonMode, int rotationBestHits, int rotationBestDamage, long rotationBestTime, long overallBestKillTime, int lastFightHits, int lastFightDamageTaken, int bestHitCount, int bestDamageTaken)
 	{
-		if (!plugin.isAraxxorReachedZeroHp())
+		if (!fight.isAraxxorReachedZeroHp())
 		{
 			renderAbortedFight();
 			return null;
@@ -415,7 +455,7 @@ class AraxxorOverlay extends OverlayPanel
 		addSeparator();
 		
 		long totalTime = elapsedTime;
-		String totalTimeText = formatTimeCompact(totalTime);
+		String totalTimeText = TimeFormatter.compact(totalTime);
 		
 		if (showLiveSplits)
 		{
@@ -435,13 +475,13 @@ class AraxxorOverlay extends OverlayPanel
 		long timeToEnrage = currentTimeToEnrage;
 		long timeInEnrage = currentTimeInEnrage;
 		
-		long overallBestTimeToEnrage = plugin.getBestTimeToEnrage();
-		long overallBestTimeInEnrage = plugin.getBestTimeInEnrage();
+		long overallBestTimeToEnrage = fight.getBestTimeToEnrage();
+		long overallBestTimeInEnrage = fight.getBestTimeInEnrage();
 		
 		if (timeToEnrage > 0)
 		{
 			long normalTime = timeToEnrage + 1000;
-			String normalTimeText = formatTimeSimple(normalTime);
+			String normalTimeText = TimeFormatter.clock(normalTime);
 			
 			if (showLiveSplits)
 			{
@@ -459,7 +499,7 @@ class AraxxorOverlay extends OverlayPanel
 
 		if (timeInEnrage > 0)
 		{
-			String enrageTimeText = formatTimeSimple(timeInEnrage);
+			String enrageTimeText = TimeFormatter.clock(timeInEnrage);
 			
 			if (showLiveSplits)
 			{
@@ -491,9 +531,9 @@ class AraxxorOverlay extends OverlayPanel
 	
 	private void renderPostFightPerformance(boolean showLiveSplits, SplitComparisonMode comparisonMode, AraxxorEggType currentRotationStart, int rotationBestHits, int rotationBestDamage, int lastFightHits, int lastFightDamageTaken, int bestHitCount, int bestDamageTaken, long elapsedTime)
 	{
-		int currentHits = plugin.getCurrentFightHits();
-		int currentDamageTaken = plugin.getCurrentFightDamageTaken();
-		int currentDamageDealt = plugin.getCurrentFightDamageDealt();
+		int currentHits = fight.getCurrentFightHits();
+		int currentDamageTaken = fight.getCurrentFightDamageTaken();
+		int currentDamageDealt = fight.getCurrentFightDamageDealt();
 		
 		int displayHits = currentHits > 0 ? currentHits : lastFightHits;
 		int displayDamageTaken = currentDamageTaken > 0 ? currentDamageTaken : lastFightDamageTaken;
@@ -687,7 +727,7 @@ class AraxxorOverlay extends OverlayPanel
 		}
 		else if (diff < 0)
 		{
-			long bestTime = isNormalPhase ? plugin.getBestTimeToEnrage() : plugin.getBestTimeInEnrage();
+			long bestTime = isNormalPhase ? fight.getBestTimeToEnrage() : fight.getBestTimeInEnrage();
 			long rotationBest = isNormalPhase && currentRotationStart != null ? rotationBestTime : -1;
 			if (isPB(currentTime, isNormalPhase, currentRotationStart, rotationBest, bestTime))
 			{
@@ -715,7 +755,7 @@ class AraxxorOverlay extends OverlayPanel
 		
 		if (mode == SplitComparisonMode.TARGET)
 		{
-			int targetSeconds = config.targetTotalTime();
+			int targetSeconds = settings.getTargetTotalTime();
 			if (targetSeconds > 0)
 			{
 				compareTime = targetSeconds * 1000L;
@@ -730,8 +770,8 @@ class AraxxorOverlay extends OverlayPanel
 		}
 		else if (mode == SplitComparisonMode.LAST_KILL)
 		{
-			long lastNormal = plugin.getLastFightNormalTime();
-			long lastEnrage = plugin.getLastFightEnrageTime();
+			long lastNormal = fight.getLastFightNormalTime();
+			long lastEnrage = fight.getLastFightEnrageTime();
 			if (lastNormal > 0)
 			{
 				compareTime = lastNormal + (lastEnrage > 0 ? lastEnrage : 0);
@@ -814,7 +854,7 @@ class AraxxorOverlay extends OverlayPanel
 		{
 			return -1;
 		}
-		return plugin.getRotationBestTime(rotation);
+		return fight.getRotationBestTime(rotation);
 	}
 	
 	private int getRotationBestHits(AraxxorEggType rotation)
@@ -823,7 +863,7 @@ class AraxxorOverlay extends OverlayPanel
 		{
 			return -1;
 		}
-		return plugin.getRotationBestHits(rotation);
+		return fight.getRotationBestHits(rotation);
 	}
 	
 	private int getRotationBestDamage(AraxxorEggType rotation)
@@ -832,7 +872,7 @@ class AraxxorOverlay extends OverlayPanel
 		{
 			return -1;
 		}
-		return plugin.getRotationBestDamage(rotation);
+		return fight.getRotationBestDamage(rotation);
 	}
 	
 	private void addSeparator()
@@ -851,75 +891,12 @@ class AraxxorOverlay extends OverlayPanel
 			.rightColor(rightColor)
 			.build());
 	}
-	private String formatTimeSimple(long milliseconds)
-	{
-		if (milliseconds < 0)
-		{
-			return "0:00";
-		}
-		
-		long roundedMs = (milliseconds / 1000) * 1000;
-		if (cachedFormattedTimeSimpleMs == roundedMs && cachedFormattedTimeSimple != null)
-		{
-			return cachedFormattedTimeSimple;
-		}
-		
-		long totalSeconds = milliseconds / 1000;
-		long minutes = totalSeconds / 60;
-		long seconds = totalSeconds % 60;
-		
-		StringBuilder sb = new StringBuilder(8);
-		sb.append(minutes).append(':');
-		if (seconds < 10) {
-			sb.append('0');
-		}
-		sb.append(seconds);
-		
-		cachedFormattedTimeSimple = sb.toString();
-		cachedFormattedTimeSimpleMs = roundedMs;
-		return cachedFormattedTimeSimple;
-	}
-
-	private String formatTimeCompact(long milliseconds) {
-		if (milliseconds < 0) {
-			return "0s";
-		}
-		
-		long roundedMs = (milliseconds / 1000) * 1000;
-		if (cachedFormattedTimeCompactMs == roundedMs && cachedFormattedTimeCompact != null)
-		{
-			return cachedFormattedTimeCompact;
-		}
-		
-		long totalSeconds = milliseconds / 1000;
-		String result;
-		if (totalSeconds < 60) {
-			StringBuilder sb = new StringBuilder(8);
-			sb.append(totalSeconds).append('s');
-			result = sb.toString();
-		} else {
-			long minutes = totalSeconds / 60;
-			long seconds = totalSeconds % 60;
-			StringBuilder sb = new StringBuilder(8);
-			sb.append(minutes).append(':');
-			if (seconds < 10) {
-				sb.append('0');
-			}
-			sb.append(seconds);
-			result = sb.toString();
-		}
-		
-		cachedFormattedTimeCompact = result;
-		cachedFormattedTimeCompactMs = roundedMs;
-		return cachedFormattedTimeCompact;
-	}
-
 	private long calculateDiff(long currentTime, boolean isNormalPhase, SplitComparisonMode mode, AraxxorEggType currentRotationStart, long rotationBestTime, long overallBestTime) {
 		long compareTime = -1;
 
 		if (mode == SplitComparisonMode.TARGET) {
 			// Use total time target for all comparisons (simplified to just total time)
-			int targetSeconds = config.targetTotalTime();
+			int targetSeconds = settings.getTargetTotalTime();
 			if (targetSeconds > 0) {
 				compareTime = targetSeconds * 1000L;
 			}
@@ -927,8 +904,8 @@ class AraxxorOverlay extends OverlayPanel
 				compareTime = overallBestTime;
 			}
 		} else if (mode == SplitComparisonMode.LAST_KILL) {
-			long lastNormal = plugin.getLastFightNormalTime();
-			long lastEnrage = plugin.getLastFightEnrageTime();
+			long lastNormal = fight.getLastFightNormalTime();
+			long lastEnrage = fight.getLastFightEnrageTime();
 			compareTime = isNormalPhase ? lastNormal : lastEnrage;
 			
 			if (compareTime <= 0) {
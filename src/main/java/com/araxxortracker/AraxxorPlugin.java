@@ -2,18 +2,28 @@ package com.araxxortracker;
 
 import com.google.inject.Provides;
 import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.time.ZoneId;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.Map;
 import java.util.regex.Pattern;
 import javax.inject.Inject;
 import lombok.Getter;
 import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Actor;
 import net.runelite.api.Client;
 import net.runelite.api.GameState;
 import net.runelite.api.NPC;
 import net.runelite.api.Player;
 import net.runelite.api.ChatMessageType;
+import net.runelite.api.coords.LocalPoint;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.api.events.ActorDeath;
 import net.runelite.api.events.AnimationChanged;
@@ -25,15 +35,14 @@ import net.runelite.api.events.HitsplatApplied;
 import net.runelite.api.events.NpcDespawned;
 import net.runelite.api.events.NpcSpawned;
 import net.runelite.api.gameval.ItemID;
-import net.runelite.api.gameval.NpcID;
+import net.runelite.client.RuneLite;
 import net.runelite.client.config.ConfigManager;
+import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.events.ServerNpcLoot;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.game.ItemStack;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
 import java.time.Duration;
 import java.time.Instant;
 import net.runelite.client.plugins.Plugin;
@@ -45,6 +54,7 @@ import net.runelite.client.util.AsyncBufferedImage;
 import net.runelite.client.util.ImageUtil;
 import net.runelite.client.callback.ClientThread;
 
+@Slf4j
 @PluginDescriptor(
 	name = "Araxxor Tracker",
 	description = "Araxxor boss fight tracker with kill times, splits, and loot tracking",
@@ -53,14 +63,10 @@ import net.runelite.client.callback.ClientThread;
 )
 public class AraxxorPlugin extends Plugin
 {
-	private static final int ARAXXOR_NPC_ID = NpcID.ARAXXOR;
-	private static final int ARAXXOR_DEAD_ID = NpcID.ARAXXOR_DEAD;
 	
 	private static final int EARLY_DESPAWN_THRESHOLD = 10;
-	private static final int MAX_NPC_ITERATION_CHECK = 50;
-	private static final int MAX_AREA_DISTANCE = 50;
+	private static final int LAIR_REGION_ID = 14489;
 	private static final double ENRAGE_HP_THRESHOLD = 0.25;
-	private static final long GAME_TIMER_OFFSET_MS = 1800;
 	
 	private static final int ANIM_SPECIAL_1 = 11476;
 	private static final int ANIM_SPECIAL_2 = 11488;
@@ -91,6 +97,9 @@ public class AraxxorPlugin extends Plugin
 	@Inject
 	private AraxxorStatsOverlay statsOverlay;
 
+	@Inject
+	private AraxxorDebugOverlay debugOverlay;
+
 	@Inject
 	private ClientToolbar clientToolbar;
 
@@ -100,29 +109,53 @@ public class AraxxorPlugin extends Plugin
 	@Inject
 	private ClientThread clientThread;
 
+	@Inject
+	private EventBus eventBus;
+
 	private AraxxorConfigPanel configPanel;
 	private NavigationButton navButton;
-
+	private ConfigKeys configKeys;
+	private KillStore killStore;
+	private KillStorageMode killStorageMode;
+	private HistoryCompactor compactor;
+	private KillHistoryCache killHistory;
+	private volatile CompletableFuture<KillHistory> historyLoad = new CompletableFuture<>();
+	private Thread historyLoader;
+	private PersistenceQueue persistenceQueue;
+	private FightRecorder fightRecorder;
+
+	private final FightTimer fightTimer = new FightTimer();
+	private final AraxxorFightListener fightListener = new AraxxorFightListener(this);
+
+	/** Render times for each overlay, shown by the debug overlay */
 	@Getter
-	private long fightStartTime = -1;
-
+	private final RenderTimer overlayTimer = new RenderTimer();
 	@Getter
-	private long fightEndTime = -1;
+	private final RenderTimer worldOverlayTimer = new RenderTimer();
+	@Getter
+	private final RenderTimer statsOverlayTimer = new RenderTimer();
 	
-	private long deathTime = -1;
+	/** Whether the fight handlers and overlays are registered, i.e. the player was in the lair last tick */
+	private boolean inLair = false;
 
 	@Getter
 	private boolean isFightActive = false;
 
-	@Getter
-	private int killCount = 0;
-
 	@Getter
 	private NPC araxxorNpc = null;
 	
-	private boolean cachedInAraxxorArea = false;
-	private long lastAreaCheckTime = -1;
-	private static final long AREA_CHECK_CACHE_MS = 2000;
+	/** Written only on the client thread; overlays read it once per frame */
+	@Getter
+	private volatile FightSnapshot fightSnapshot;
+	/**
+	 * Bumped by the event handlers whenever something the snapshot shows changes, other than
+	 * the running timer; client thread only
+	 */
+	private int fightStateVersion;
+	
+	/** Rebuilt whenever the config changes; overlays read it once per frame */
+	@Getter
+	private volatile AraxxorSettings settings;
 	
 	@Getter
 	private boolean araxxorReachedZeroHp = false;
@@ -176,9 +209,6 @@ public class AraxxorPlugin extends Plugin
 	@Getter
 	private Map<AraxxorEggType, Integer> activeMinions = new java.util.concurrent.ConcurrentHashMap<>();
 	
-	@Getter
-	private long enrageStartTime = -1;
-	
 	@Getter
 	private int currentFightHits = 0;
 	
@@ -188,111 +218,72 @@ public class AraxxorPlugin extends Plugin
 	@Getter
 	private int currentFightDamageTaken = 0;
 	
-	@Getter
-	private int lastFightHits = 0;
-	@Getter
-	private int lastFightDamageDealt = 0;
-	@Getter
-	private int lastFightDamageTaken = 0;
-	
-	@Getter
-	private long lastFightNormalTime = -1;
-	@Getter
-	private long lastFightEnrageTime = -1;
-	
-	private long bestKillTime = -1;
-	private long bestTimeToEnrage = -1;
-	private long bestTimeInEnrage = -1;
-
-	private long bestWhiteStartTime = -1;
-	private long bestRedStartTime = -1;
-	private long bestGreenStartTime = -1;
+	private final StatRegistry stats = new StatRegistry();
 	private AraxxorEggType currentRotationStart = null;
-	private int bestHitCount = -1;
-	private int bestDamageTaken = -1;
-	
-	private int bestWhiteStartHits = -1;
-	private int bestRedStartHits = -1;
-	private int bestGreenStartHits = -1;
-	
-	private int bestWhiteStartDamage = -1;
-	private int bestRedStartDamage = -1;
-	private int bestGreenStartDamage = -1;
 	
 	private final long[] recentKillTimes = new long[5];
 	private int recentKillTimesIndex = 0;
 	private int recentKillTimesCount = 0;
+	private boolean recentKillTimesDirty = false;
 	
-	private long lastKillTimestamp = -1;
 	private double cachedKillsPerHour = 0.0;
 	private long cachedKillsPerHourTimestamp = -1;
 	
-	private long cachedTimeInEnrage = -1;
-	private long cachedTimeInEnrageCalculationTime = -1;
-
-	@Getter
-	private int currentGameTick = 0;
 	
 	private static final int MAX_SESSION_KILLS = 1024;
-	private static final Duration MAX_AGE = Duration.ofDays(365L);
+	private static final String DATA_DIRECTORY = "araxxor-tracker";
+	/** Storage mode whose store holds the full history, set once adopting the other store's history has finished */
+	private static final String ACTIVE_KILL_STORE_KEY = "activeKillStore";
 	
 	@Getter
-	private List<AraxxorKillRecord> sessionKills = new ArrayList<>();
+	private final KillHistory sessionKills = new KillHistory();
 	@Getter
-	private List<AraxxorKillRecord> tripKills = new ArrayList<>();
+	private final KillHistory tripKills = new KillHistory();
 	
 	private static final int MAX_TRIP_KILLS = 1024;
 	
 	private long cachedSessionTotalValue = 0;
 	
-	private static final long SESSION_TIMEOUT_MS = 45 * 60 * 1000L;
+	static final long SESSION_TIMEOUT_MS = 45 * 60 * 1000L;
 	
-	public List<List<AraxxorKillRecord>> groupKillsIntoSessions(List<AraxxorKillRecord> allKills)
+	/**
+	 * Split a timestamp-ordered history into sessions separated by gaps longer than SESSION_TIMEOUT_MS.
+	 * @return session boundaries: session k spans rows [bounds[k], bounds[k + 1])
+	 */
+	public int[] groupKillsIntoSessions(KillHistory allKills)
 	{
-		if (allKills.isEmpty())
+		int size = allKills.size();
+		if (size == 0)
 		{
-			return new ArrayList<>();
+			return new int[0];
 		}
 		
-		List<AraxxorKillRecord> sorted = new ArrayList<>(allKills);
-		sorted.sort(Comparator.comparingLong(AraxxorKillRecord::getTimestamp));
-		
-		List<List<AraxxorKillRecord>> sessions = new ArrayList<>();
-		List<AraxxorKillRecord> currentSession = new ArrayList<>();
-		
-		for (int i = 0; i < sorted.size(); i++)
+		int sessionCount = 1;
+		for (int i = 1; i < size; i++)
 		{
-			AraxxorKillRecord kill = sorted.get(i);
-			
-			if (currentSession.isEmpty())
-			{
-				currentSession.add(kill);
-			}
-			else
+			if (allKills.getTimestamp(i) - allKills.getTimestamp(i - 1) > SESSION_TIMEOUT_MS)
 			{
-				AraxxorKillRecord lastKill = currentSession.get(currentSession.size() - 1);
-				long gap = kill.getTimestamp() - lastKill.getTimestamp();
-				
-				if (gap > SESSION_TIMEOUT_MS)
-				{
-					sessions.add(currentSession);
-					currentSession = new ArrayList<>();
-				}
-				currentSession.add(kill);
+				sessionCount++;
 			}
 		}
 		
-		if (!currentSession.isEmpty())
+		int[] bounds = new int[sessionCount + 1];
+		int session = 1;
+		for (int i = 1; i < size; i++)
 		{
-			sessions.add(currentSession);
+			if (allKills.getTimestamp(i) - allKills.getTimestamp(i - 1) > SESSION_TIMEOUT_MS)
+			{
+				bounds[session++] = i;
+			}
 		}
+		bounds[sessionCount] = size;
 		
-		return sessions;
+		return bounds;
 	}
 	
-	public SessionSummary calculateSessionSummary(List<AraxxorKillRecord> sessionKills)
+	public SessionSummary calculateSessionSummary(KillHistory kills, int from, int to)
 	{
-		if (sessionKills.isEmpty())
+		if (from >= to)
 		{
 			return null;
 		}
@@ -303,23 +294,24 @@ public class AraxxorPlugin extends Plugin
 		AraxxorEggType bestRotation = null;
 		long sessionStartTime = Long.MAX_VALUE;
 		
-		for (AraxxorKillRecord kill : sessionKills)
+		KillHistory.Cursor kill = kills.cursor(from, to);
+		while (kill.next())
 		{
-			totalGP += kill.getLootValue();
-			if (kill.getLoot() != null)
+			totalGP += kill.lootValue();
+			for (int j = kill.lootStart(), end = kill.lootEnd(); j < end; j++)
 			{
-				totalItems += kill.getLoot().values().stream().mapToLong(Long::longValue).sum();
+				totalItems += kill.lootQuantity(j);
 			}
 			
-			if (kill.getKillTime() < bestTime)
+			if (kill.killTime() < bestTime)
 			{
-				bestTime = kill.getKillTime();
-				bestRotation = kill.getRotation();
+				bestTime = kill.killTime();
+				bestRotation = kill.rotation();
 			}
 			
-			if (kill.getTimestamp() < sessionStartTime)
+			if (kill.timestamp() < sessionStartTime)
 			{
-				sessionStartTime = kill.getTimestamp();
+				sessionStartTime = kill.timestamp();
 			}
 		}
 		
@@ -345,16 +337,26 @@ public class AraxxorPlugin extends Plugin
 	@Override
 	protected void startUp() throws Exception
 	{
-		// Add overlays immediately
-		if (overlayManager != null)
-		{
-			overlayManager.add(overlay);
-			overlayManager.add(worldOverlay);
-			overlayManager.add(statsOverlay);
-		}
+		settings = AraxxorSettings.from(config);
+		// Fight handlers and the fight overlays are added on entering the lair
+		updateOverlays();
 		
 		resetFight();
 		
+		File dataDirectory = new File(RuneLite.RUNELITE_DIR, DATA_DIRECTORY);
+		configKeys = ConfigKeys.of(configManager);
+		killStorageMode = config.killStorageMode();
+		killStore = createKillStore(killStorageMode);
+		persistenceQueue = new PersistenceQueue(configKeys, killStore);
+		compactor = createCompactor(killStorageMode, killStore);
+		fightRecorder = new FightRecorder(new File(dataDirectory, FightRecorder.DIRECTORY_NAME));
+		killHistory = new KillHistoryCache(killStore, this::groupKillsIntoSessions);
+		historyLoad = new CompletableFuture<>();
+		
+		// Stats are a handful of config keys, so overlays can render from them straight away
+		loadStats();
+		publishFightSnapshot();
+		
 		// Create config panel with minimal initialization
 		configPanel = new AraxxorConfigPanel(configManager, config, this, itemManager, clientThread, client);
 
@@ -370,35 +372,46 @@ public class AraxxorPlugin extends Plugin
 		clientToolbar.addNavigation(navButton);
 		loadIconAsync();
 		
-		// Load heavy data in background thread to avoid blocking client
-		new Thread(() -> {
-			try
+		// Load kill history in background thread to avoid blocking client
+		CompletableFuture<KillHistory> load = CompletableFuture.supplyAsync(this::loadKills, task -> {
+			historyLoader = new Thread(task, "AraxxorDataLoader");
+			historyLoader.start();
+		});
+		historyLoad = load;
+		load.thenAccept(session -> clientThread.invokeLater(() -> {
+			// Dropped if the plugin was stopped, or restarted, since this load began
+			if (historyLoad == load)
 			{
-				loadStats();
-				loadKillsFromConfig();
-				// Update UI on Swing EDT after data is loaded
-				if (configPanel != null)
-				{
-					javax.swing.SwingUtilities.invokeLater(() -> {
-						configPanel.refreshStats();
-					});
-				}
+				resumeSession(session);
 			}
-			catch (Exception e)
+		}));
+		load.whenComplete((result, error) -> {
+			// Update UI once loaded, or failed, so the panel leaves its loading state either way
+			AraxxorConfigPanel panelRef = configPanel;
+			if (panelRef != null)
 			{
-				// Silently handle loading errors
+				javax.swing.SwingUtilities.invokeLater(panelRef::refreshStats);
 			}
-		}, "AraxxorDataLoader").start();
+		});
+	}
+	
+	/**
+	 * Whether the background kill history load has finished; the panel shows a loading state until then
+	 */
+	public boolean isHistoryLoaded()
+	{
+		return historyLoad.isDone();
 	}
 
 	@Override
 	protected void shutDown() throws Exception
 	{
+		setInLair(false);
+		stopHistoryLoad();
 		if (overlayManager != null)
 		{
 			overlayManager.remove(overlay);
-			overlayManager.remove(worldOverlay);
-			overlayManager.remove(statsOverlay);
+			overlayManager.remove(debugOverlay);
 		}
 		if (navButton != null)
 		{
@@ -407,6 +420,23 @@ public class AraxxorPlugin extends Plugin
 		resetFight();
 		saveStats();
 		
+		if (persistenceQueue != null)
+		{
+			persistenceQueue.shutdown();
+			persistenceQueue = null;
+		}
+		
+		if (fightRecorder != null)
+		{
+			fightRecorder.shutdown();
+			fightRecorder = null;
+		}
+		
+		if (killHistory != null)
+		{
+			killHistory.reset();
+		}
+		
 		if (configPanel != null)
 		{
 			configPanel.cleanup();
@@ -416,15 +446,206 @@ public class AraxxorPlugin extends Plugin
 		navButton = null;
 	}
 
+	/**
+	 * Keep a history load still in progress from applying its result, and give it a moment
+	 * to finish with the stores before they are flushed and reset
+	 */
+	private void stopHistoryLoad()
+	{
+		historyLoad.cancel(false);
+		historyLoad = new CompletableFuture<>();
+		
+		Thread loader = historyLoader;
+		historyLoader = null;
+		if (loader != null)
+		{
+			try
+			{
+				loader.join(5000);
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
 	@Subscribe
 	public void onGameTick(GameTick event)
+	{
+		fightTimer.tick(System.nanoTime());
+		
+		boolean playerInLair = isPlayerInLair();
+		if (playerInLair != inLair)
 		{
-			if (!isFightActive)
+			setInLair(playerInLair);
+		}
+		if (!inLair)
+		{
+			return;
+		}
+		
+		refreshFightSnapshot();
+	}
+	
+	/**
+	 * Whether the local player stands in Araxxor's lair, by map region; inside an instance
+	 * the region is taken from the template the instance was copied from
+	 */
+	private boolean isPlayerInLair()
+	{
+		Player localPlayer = client != null ? client.getLocalPlayer() : null;
+		if (localPlayer == null)
+		{
+			return false;
+		}
+		
+		WorldPoint location = localPlayer.getWorldLocation();
+		var worldView = client.getTopLevelWorldView();
+		if (worldView != null && worldView.isInstance())
+		{
+			LocalPoint localLocation = localPlayer.getLocalLocation();
+			location = localLocation != null ? WorldPoint.fromLocalInstance(client, localLocation) : null;
+		}
+		return location != null && location.getRegionID() == LAIR_REGION_ID;
+	}
+	
+	/**
+	 * Register the fight handlers and overlays on entering the lair, and drop them on leaving.
+	 * Entering picks up an Araxxor that spawned before the handlers were registered; leaving
+	 * clears any fight or trip in progress, since no more fight events will arrive.
+	 */
+	private void setInLair(boolean inLair)
+	{
+		if (this.inLair == inLair)
+		{
+			return;
+		}
+		this.inLair = inLair;
+		
+		if (inLair)
+		{
+			if (eventBus != null)
 			{
-				return;
+				eventBus.register(fightListener);
+			}
+			if (araxxorNpc == null)
+			{
+				NPC spawned = findAraxxor();
+				if (spawned != null)
+				{
+					onNpcSpawned(new NpcSpawned(spawned));
+				}
+			}
+		}
+		else
+		{
+			if (eventBus != null)
+			{
+				eventBus.unregister(fightListener);
 			}
+			resetOnLeavingArea();
+			publishFightSnapshot();
+		}
+		updateOverlays();
+	}
+	
+	/**
+	 * Add or remove the overlays for the current lair state; the main overlay stays up
+	 * outside the lair when it is configured to always show, and the render timings anywhere
+	 */
+	private void updateOverlays()
+	{
+		if (overlayManager == null)
+		{
+			return;
+		}
+		
+		if (inLair || settings.isShowWhenInactive())
+		{
+			overlayManager.add(overlay);
+		}
+		else
+		{
+			overlayManager.remove(overlay);
+		}
+		
+		if (inLair)
+		{
+			overlayManager.add(worldOverlay);
+			overlayManager.add(statsOverlay);
+		}
+		else
+		{
+			overlayManager.remove(worldOverlay);
+			overlayManager.remove(statsOverlay);
+		}
+		
+		if (settings.isShowRenderTimes())
+		{
+			overlayManager.add(debugOverlay);
+		}
+		else
+		{
+			overlayManager.remove(debugOverlay);
+		}
+	}
+	
+	/**
+	 * Replace the snapshot the overlays render from; call on the client thread after any fight state change
+	 */
+	private void publishFightSnapshot()
+	{
+		fightStateVersion++;
+		refreshFightSnapshot();
+	}
+	
+	/**
+	 * Replace the snapshot with a fresh copy of the timer and boss location, keeping the fight
+	 * state version; the per-tick refresh, so the overlays only rebuild on real changes
+	 */
+	private void refreshFightSnapshot()
+	{
+		WorldPoint araxxorLocation = araxxorNpc != null ? araxxorNpc.getWorldLocation() : null;
+		fightSnapshot = new FightSnapshot(this, fightStateVersion, new FightTimer(fightTimer), inLair, araxxorLocation);
+	}
+	
+	/**
+	 * Add an event to the fight recording, if one is running
+	 */
+	private void recordEvent(int type, int a, int b, int c)
+	{
+		if (fightRecorder != null && fightRecorder.isRecording())
+		{
+			fightRecorder.record(fightTimer.getFightTick(), type, a, b, c);
+		}
+	}
+	
+	private void recordNpcEvent(int type, NPC npc)
+	{
+		WorldPoint location = npc.getWorldLocation();
+		recordEvent(type, npc.getId(), location != null ? location.getX() : -1, location != null ? location.getY() : -1);
+	}
 
-			currentGameTick++;
+	@Subscribe
+	public void onConfigChanged(ConfigChanged event)
+	{
+		if (!"arraxxor".equals(event.getGroup()))
+		{
+			return;
+		}
+		
+		// Stats, kills and migration write to this group too; keep the instance unless a setting
+		// actually changed, as the overlays rebuild whenever it is replaced
+		AraxxorSettings updated = AraxxorSettings.from(config);
+		if (!updated.equals(settings))
+		{
+			settings = updated;
+		}
+		if ("showWhenInactive".equals(event.getKey()) || "showRenderTimes".equals(event.getKey()))
+		{
+			updateOverlays();
+		}
 	}
 
 	@Subscribe
@@ -437,7 +658,6 @@ public class AraxxorPlugin extends Plugin
 		}
 	}
 	
-	@Subscribe
 	public void onAnimationChanged(AnimationChanged event)
 		{
 			if (!isFightActive)
@@ -454,11 +674,11 @@ public class AraxxorPlugin extends Plugin
 
 			if (actor instanceof NPC && isAraxxor((NPC) actor))
 			{
+				recordEvent(FightRecorder.ANIMATION, ((NPC) actor).getId(), actor.getAnimation(), 0);
 				handleAraxxorAnimation((NPC) actor);
 		}
 	}
 	
-	@Subscribe
 	public void onHitsplatApplied(HitsplatApplied event)
 		{
 			if (!isFightActive)
@@ -469,24 +689,28 @@ public class AraxxorPlugin extends Plugin
 			if (event.getActor() instanceof NPC && isAraxxor((NPC) event.getActor()))
 			{
 				Hitsplat hitsplat = event.getHitsplat();
+				recordEvent(FightRecorder.HITSPLAT, ((NPC) event.getActor()).getId(), hitsplat.getAmount(),
+					hitsplat.getHitsplatType() << 1 | (hitsplat.isMine() ? 1 : 0));
 				if (hitsplat.isMine() && hitsplat.getAmount() > 0)
 				{
 					currentFightHits++;
 					currentFightDamageDealt += hitsplat.getAmount();
+					fightStateVersion++;
 				}
 			}
 
 			if (event.getActor() == client.getLocalPlayer())
 			{
 				int damage = event.getHitsplat().getAmount();
+				recordEvent(FightRecorder.HITSPLAT, FightRecorder.TARGET_PLAYER, damage, event.getHitsplat().getHitsplatType() << 1);
 				if (damage > 0)
 				{
 					currentFightDamageTaken += damage;
+					fightStateVersion++;
 			}
 		}
 	}
 	
-	@Subscribe
 	public void onActorDeath(ActorDeath event)
 	{
 		if (!isFightActive)
@@ -497,12 +721,13 @@ public class AraxxorPlugin extends Plugin
 		if (event.getActor() instanceof NPC && isAraxxor((NPC) event.getActor()))
 		{
 			araxxorReachedZeroHp = true;
-			deathTime = System.currentTimeMillis();
+			fightTimer.markDeath();
+			recordEvent(FightRecorder.ACTOR_DEATH, ((NPC) event.getActor()).getId(), 0, 0);
 			bossDeathLocation = ((NPC) event.getActor()).getWorldLocation();
+			publishFightSnapshot();
 		}
 	}
 
-	@Subscribe
 	public void onNpcSpawned(NpcSpawned event)
 		{
 			NPC npc = event.getNpc();
@@ -511,35 +736,41 @@ public class AraxxorPlugin extends Plugin
 				return;
 			}
 			
-			int npcId = npc.getId();
+			AraxxorNpcRole role = AraxxorNpcRole.of(npc.getId());
+			if (role == AraxxorNpcRole.OTHER)
+			{
+				return;
+			}
 
-			if (npcId == ARAXXOR_NPC_ID)
+			if (role == AraxxorNpcRole.BOSS)
 			{
 				araxxorNpc = npc;
 				startFight();
+				recordNpcEvent(FightRecorder.NPC_SPAWNED, npc);
 				return;
 			}
 
-			if (!isFightActive)
+			if (!isFightActive || role == AraxxorNpcRole.BOSS_DEAD)
 			{
 				return;
 			}
 
-			if (AraxxorEggType.isEgg(npcId))
+			recordNpcEvent(FightRecorder.NPC_SPAWNED, npc);
+
+			if (role.isEgg())
 			{
 				WorldPoint position = npc.getWorldLocation();
 				if (position != null)
 				{
-					handleEggSpawned(npcId, position);
+					handleEggSpawned(role.getEggType(), position);
 				}
 			}
-			else if (AraxxorEggType.isMinion(npcId))
+			else
 			{
-				handleMinionSpawned(npcId);
+				handleMinionSpawned(role.getEggType());
 		}
 	}
 
-	@Subscribe
 	public void onNpcDespawned(NpcDespawned event)
 		{
 			NPC npc = event.getNpc();
@@ -548,14 +779,17 @@ public class AraxxorPlugin extends Plugin
 				return;
 			}
 			
-			int npcId = npc.getId();
+			AraxxorNpcRole role = AraxxorNpcRole.of(npc.getId());
+			if (role == AraxxorNpcRole.OTHER)
+			{
+				return;
+			}
 
-			if (npcId == ARAXXOR_NPC_ID || npcId == ARAXXOR_DEAD_ID)
+			if (role.isAraxxor())
 			{
+				recordNpcEvent(FightRecorder.NPC_DESPAWNED, npc);
 				stopFight();
 				araxxorNpc = null;
-				cachedInAraxxorArea = false;
-				lastAreaCheckTime = -1;
 				return;
 			}
 
@@ -564,21 +798,21 @@ public class AraxxorPlugin extends Plugin
 				return;
 			}
 
-			if (AraxxorEggType.isEgg(npcId) && !araxxorReachedZeroHp)
+			recordNpcEvent(FightRecorder.NPC_DESPAWNED, npc);
+
+			if (role.isEgg())
 			{
-				if (currentGameTick > EARLY_DESPAWN_THRESHOLD)
+				if (!araxxorReachedZeroHp && fightTimer.getFightTick() > EARLY_DESPAWN_THRESHOLD)
 				{
-					handleEggDespawned(npcId);
+					handleEggDespawned(role.getEggType());
 				}
 			}
-
-			if (AraxxorEggType.isMinion(npcId))
+			else
 			{
-				handleMinionDespawned(npcId);
+				handleMinionDespawned(role.getEggType());
 		}
 	}
 	
-	@Subscribe
 	public void onChatMessage(ChatMessage event)
 		{
 			if (event.getType() != ChatMessageType.GAMEMESSAGE && event.getType() != ChatMessageType.SPAM)
@@ -586,7 +820,7 @@ public class AraxxorPlugin extends Plugin
 				return;
 			}
 			
-			if (!araxxorReachedZeroHp || fightEndTime != -1)
+			if (!araxxorReachedZeroHp || fightTimer.isEnded())
 			{
 				return;
 			}
@@ -601,8 +835,10 @@ public class AraxxorPlugin extends Plugin
 
 				if (killTimeMs > 0)
 				{
-					fightEndTime = fightStartTime + killTimeMs;
+					recordEvent(FightRecorder.KILL_TIME, (int) killTimeMs, 0, 0);
+					fightTimer.endAfter(killTimeMs);
 					updateStats();
+					publishFightSnapshot();
 			}
 		}
 	}
@@ -657,21 +893,19 @@ public class AraxxorPlugin extends Plugin
 
 	private void startFight()
 	{
-		fightStartTime = System.currentTimeMillis();
-		fightEndTime = -1;
-		deathTime = -1;
+		fightTimer.start();
+		if (fightRecorder != null && settings.isRecordFights())
+		{
+			fightRecorder.begin(System.currentTimeMillis());
+		}
 		isFightActive = true;
 		araxxorReachedZeroHp = false;
 		currentPhase = AraxxorPhase.NORMAL;
 		lastAraxxorAnimation = -1;
-		enrageStartTime = -1;
 		currentFightHits = 0;
 		currentFightDamageDealt = 0;
 		currentFightDamageTaken = 0;
-		currentGameTick = 0;
 		lastMinionSpawnTime = -1;
-		cachedInAraxxorArea = false;
-		lastAreaCheckTime = -1;
 		
 		for (int i = 0; i < eggTimingsCount; i++)
 		{
@@ -689,6 +923,7 @@ public class AraxxorPlugin extends Plugin
 		firstEggPosition = null;
 		
 		activeMinions.clear();
+		publishFightSnapshot();
 	}
 	
 	public void resetTrip()
@@ -703,29 +938,21 @@ public class AraxxorPlugin extends Plugin
 			return;
 		}
 		
-		if (fightEndTime == -1)
-		{
-			fightEndTime = System.currentTimeMillis();
-		}
+		fightTimer.end();
 		
 		isFightActive = false;
+		if (fightRecorder != null)
+		{
+			fightRecorder.finish();
+		}
 		
 		if (araxxorReachedZeroHp)
 		{
-			lastFightHits = currentFightHits;
-			lastFightDamageDealt = currentFightDamageDealt;
-			lastFightDamageTaken = currentFightDamageTaken;
-			if (enrageStartTime > 0)
-			{
-				lastFightNormalTime = enrageStartTime - fightStartTime;
-				lastFightEnrageTime = (fightEndTime != -1 ? fightEndTime : System.currentTimeMillis()) - enrageStartTime;
-			}
-			else
-			{
-				long totalTime = (fightEndTime != -1 ? fightEndTime : System.currentTimeMillis()) - fightStartTime;
-				lastFightNormalTime = totalTime;
-				lastFightEnrageTime = -1;
-			}
+			stats.set(AraxxorStat.LAST_FIGHT_HITS, currentFightHits);
+			stats.set(AraxxorStat.LAST_FIGHT_DAMAGE_DEALT, currentFightDamageDealt);
+			stats.set(AraxxorStat.LAST_FIGHT_DAMAGE_TAKEN, currentFightDamageTaken);
+			stats.set(AraxxorStat.LAST_FIGHT_NORMAL_TIME, fightTimer.getNormalPhaseTime());
+			stats.set(AraxxorStat.LAST_FIGHT_ENRAGE_TIME, fightTimer.getEnragePhaseTime());
 			
 			saveStats();
 		}
@@ -735,26 +962,25 @@ public class AraxxorPlugin extends Plugin
 			currentFightDamageDealt = 0;
 			currentFightDamageTaken = 0;
 		}
+		publishFightSnapshot();
 	}
 
 	private void resetFight()
 	{
-		fightStartTime = -1;
-		fightEndTime = -1;
+		fightTimer.reset();
 		isFightActive = false;
+		if (fightRecorder != null)
+		{
+			fightRecorder.finish();
+		}
 		araxxorNpc = null;
 		araxxorReachedZeroHp = false;
 		currentPhase = AraxxorPhase.NORMAL;
 		lastAraxxorAnimation = -1;
-		enrageStartTime = -1;
 		currentFightHits = 0;
 		currentFightDamageDealt = 0;
 		currentFightDamageTaken = 0;
 		lastMinionSpawnTime = -1;
-		cachedTimeInEnrage = -1;
-		cachedTimeInEnrageCalculationTime = -1;
-		cachedInAraxxorArea = false;
-		lastAreaCheckTime = -1;
 
 		eggHistoryCount = 0;
 		eggHistoryIndex.clear();
@@ -772,26 +998,12 @@ public class AraxxorPlugin extends Plugin
 		eggTimingsCount = 0;
 
 		activeMinions.clear();
+		publishFightSnapshot();
 	}
 
 	public long getElapsedTime()
 	{
-		if (fightStartTime == -1)
-		{
-			return -1;
-		}
-		
-		if (fightEndTime != -1)
-		{
-			return fightEndTime - fightStartTime;
-		}
-		
-		if (deathTime != -1)
-		{
-			return (deathTime - fightStartTime) + GAME_TIMER_OFFSET_MS;
-		}
-		
-		return (System.currentTimeMillis() - fightStartTime) + GAME_TIMER_OFFSET_MS;
+		return fightTimer.getElapsedTime(System.nanoTime());
 	}
 
 	public double getAverageHit()
@@ -822,13 +1034,13 @@ public class AraxxorPlugin extends Plugin
 		int animationId = npc.getAnimation();
 		
 		if (animationId == -1 || animationId == 0 || 
-			(animationId == lastAraxxorAnimation && currentGameTick == lastAraxxorAnimationTick))
+			(animationId == lastAraxxorAnimation && fightTimer.getFightTick() == lastAraxxorAnimationTick))
 		{
 			return;
 		}
 
 		lastAraxxorAnimation = animationId;
-		lastAraxxorAnimationTick = currentGameTick;
+		lastAraxxorAnimationTick = fightTimer.getFightTick();
 
 		boolean isSpecialAttack = (animationId == ANIM_SPECIAL_1 || 
 									animationId == ANIM_SPECIAL_2 || 
@@ -846,9 +1058,10 @@ public class AraxxorPlugin extends Plugin
 			boolean isLowHp = araxxorNpc != null && araxxorNpc.getHealthScale() > 0 
 				&& araxxorNpc.getHealthRatio() <= (araxxorNpc.getHealthScale() * ENRAGE_HP_THRESHOLD);
 			
-			if (isLowHp && enrageStartTime == -1 && fightStartTime != -1)
+			if (isLowHp && !fightTimer.isEnraged() && fightTimer.isStarted())
 			{
-				enrageStartTime = System.currentTimeMillis();
+				fightTimer.markEnrage();
+				publishFightSnapshot();
 			}
 			
 			currentPhase = isLowHp ? AraxxorPhase.ENRAGED : AraxxorPhase.NORMAL;
@@ -857,8 +1070,7 @@ public class AraxxorPlugin extends Plugin
 
 	private boolean isAraxxor(NPC npc)
 	{
-		int id = npc.getId();
-		return id == ARAXXOR_NPC_ID || id == ARAXXOR_DEAD_ID;
+		return AraxxorNpcRole.of(npc.getId()).isAraxxor();
 	}
 	
 	private static double calculateSouthEastScore(WorldPoint position)
@@ -870,11 +1082,9 @@ public class AraxxorPlugin extends Plugin
 		return position.getX() - position.getY();
 	}
 
-	private void handleEggSpawned(int eggId, WorldPoint position)
+	private void handleEggSpawned(AraxxorEggType eggType, WorldPoint position)
 	{
-		AraxxorEggType eggType = AraxxorEggType.fromEggId(eggId);
-		
-		if (eggType == null || position == null)
+		if (position == null)
 		{
 			return;
 		}
@@ -914,6 +1124,7 @@ public class AraxxorPlugin extends Plugin
 			{
 				firstEggType = firstEgg.type;
 				currentRotationStart = firstEgg.type;
+				fightStateVersion++;
 				firstEggPosition = firstEgg.position;
 
 				eggHistory[0] = firstEgg.type;
@@ -930,15 +1141,8 @@ public class AraxxorPlugin extends Plugin
 		}
 	}
 
-	private void handleEggDespawned(int eggId)
+	private void handleEggDespawned(AraxxorEggType eggType)
 	{
-		AraxxorEggType eggType = AraxxorEggType.fromEggId(eggId);
-		
-		if (eggType == null)
-		{
-			return;
-		}
-		
 		EggTiming despawnedEgg = null;
 		double maxSouthEastScore = Double.NEGATIVE_INFINITY;
 		
@@ -958,7 +1162,7 @@ public class AraxxorPlugin extends Plugin
 		
 		if (despawnedEgg != null && despawnedEgg.position != null)
 		{
-			despawnedEgg.despawnTick = currentGameTick;
+			despawnedEgg.despawnTick = fightTimer.getFightTick();
 		}
 		else
 		{
@@ -976,65 +1180,61 @@ public class AraxxorPlugin extends Plugin
 		EggTiming virtual = new EggTiming(eggType, new WorldPoint(0, 0, 0));
 		if (isDespawn)
 		{
-			virtual.despawnTick = currentGameTick;
+			virtual.despawnTick = fightTimer.getFightTick();
 		}
 		else
 		{
-			virtual.hatchTick = currentGameTick;
+			virtual.hatchTick = fightTimer.getFightTick();
 		}
 		
 		eggTimings[eggTimingsCount] = virtual;
 		eggTimingsCount++;
 	}
 
-	private void handleMinionSpawned(int minionId)
+	private void handleMinionSpawned(AraxxorEggType minionType)
 	{
-		AraxxorEggType minionType = AraxxorEggType.fromMinionId(minionId);
+		activeMinions.merge(minionType, 1, Integer::sum);
+		lastMinionSpawnTime = System.currentTimeMillis();
 		
-		if (minionType != null)
-		{
-			activeMinions.merge(minionType, 1, Integer::sum);
-			lastMinionSpawnTime = System.currentTimeMillis();
-			
-			EggTiming matchingEgg = null;
-			double maxSouthEastScore = Double.NEGATIVE_INFINITY;
-			int hatchedCount = 0;
-			
-			for (int i = 0; i < eggTimingsCount; i++) {
-				EggTiming timing = eggTimings[i];
-				if (timing == null) continue;
-				
-				if (timing.hatchTick > 0)
-				{
-					hatchedCount++;
-				}
-				
-				if (!timing.hadEvent() && timing.type == minionType && timing.position != null) {
-					double southEastScore = calculateSouthEastScore(timing.position);
-					if (southEastScore > maxSouthEastScore) {
-						maxSouthEastScore = southEastScore;
-						matchingEgg = timing;
-					}
-				}
-			}
+		EggTiming matchingEgg = null;
+		double maxSouthEastScore = Double.NEGATIVE_INFINITY;
+		int hatchedCount = 0;
+		
+		for (int i = 0; i < eggTimingsCount; i++) {
+			EggTiming timing = eggTimings[i];
+			if (timing == null) continue;
 			
-			if (matchingEgg != null && matchingEgg.position != null) {
-				matchingEgg.hatchTick = currentGameTick;
-				hatchedCount++;
-			}
-			else
+			if (timing.hatchTick > 0)
 			{
-				createVirtualEggEvent(minionType, false);
 				hatchedCount++;
 			}
 			
-		boolean isAfterDeath = araxxorReachedZeroHp;
+			if (!timing.hadEvent() && timing.type == minionType && timing.position != null) {
+				double southEastScore = calculateSouthEastScore(timing.position);
+				if (southEastScore > maxSouthEastScore) {
+					maxSouthEastScore = southEastScore;
+					matchingEgg = timing;
+				}
+			}
+		}
+		
+		if (matchingEgg != null && matchingEgg.position != null) {
+			matchingEgg.hatchTick = fightTimer.getFightTick();
+			hatchedCount++;
+		}
+		else
+		{
+			createVirtualEggEvent(minionType, false);
+			hatchedCount++;
+		}
+		
+		boolean isAfterDeath = araxxorReachedZeroHp;
 		
 		if (!isAfterDeath)
 		{
 			int historySize = eggHistoryCount;
 			boolean wasFirstMinion = (hatchedCount <= 1);
-			
+		
 			if (historySize == 0)
 			{
 				eggHistory[0] = minionType;
@@ -1045,124 +1245,66 @@ public class AraxxorPlugin extends Plugin
 				cachedEggHistoryListVersion = eggHistoryCount;
 				firstEggType = minionType;
 				currentRotationStart = minionType;
+				fightStateVersion++;
 			}
 		}
-		}
 	}
 
-	private void handleMinionDespawned(int minionId)
+	private void handleMinionDespawned(AraxxorEggType minionType)
 	{
-		AraxxorEggType minionType = AraxxorEggType.fromMinionId(minionId);
-		
-		if (minionType != null)
-		{
-			activeMinions.computeIfPresent(minionType, (k, v) -> v > 1 ? v - 1 : null);
-		}
+		activeMinions.computeIfPresent(minionType, (k, v) -> v > 1 ? v - 1 : null);
 	}
 
+	/**
+	 * Whether the player is in Araxxor's lair, as of the last game tick
+	 */
 	public boolean isInAraxxorArea()
 	{
-		Player localPlayer = client != null ? client.getLocalPlayer() : null;
-		if (localPlayer == null)
-		{
-			cachedInAraxxorArea = false;
-			return false;
-		}
-		
-		long currentTime = System.currentTimeMillis();
-		WorldPoint playerLocation = localPlayer.getWorldLocation();
-		
-		if (araxxorNpc != null && lastAreaCheckTime >= 0 && 
-			(currentTime - lastAreaCheckTime) < AREA_CHECK_CACHE_MS)
-		{
-			WorldPoint npcLocation = araxxorNpc.getWorldLocation();
-			if (npcLocation != null)
-			{
-				int distance = playerLocation.distanceTo2D(npcLocation);
-				if (distance <= MAX_AREA_DISTANCE)
-				{
-					return cachedInAraxxorArea;
-				}
-			}
-			araxxorNpc = null;
-		}
-		
-		if (araxxorNpc != null)
+		return inLair;
+	}
+	
+	/**
+	 * A live Araxxor in the scene, found by one pass over the NPCs
+	 */
+	private NPC findAraxxor()
+	{
+		var worldView = client.getTopLevelWorldView();
+		if (worldView == null)
 		{
-			WorldPoint npcLocation = araxxorNpc.getWorldLocation();
-			if (npcLocation != null)
-			{
-				int distance = playerLocation.distanceTo2D(npcLocation);
-				if (distance <= MAX_AREA_DISTANCE)
-				{
-					cachedInAraxxorArea = true;
-					lastAreaCheckTime = currentTime;
-					return true;
-				}
-			}
-			araxxorNpc = null;
-			cachedInAraxxorArea = false;
+			return null;
 		}
 		
-		if (client != null)
+		for (NPC npc : worldView.npcs())
 		{
-			var worldView = client.getTopLevelWorldView();
-			if (worldView != null)
+			if (npc != null && AraxxorNpcRole.of(npc.getId()) == AraxxorNpcRole.BOSS)
 			{
-				int checked = 0;
-				for (NPC npc : worldView.npcs())
-				{
-					if (checked++ > MAX_NPC_ITERATION_CHECK)
-					{
-						break;
-					}
-					if (npc != null && isAraxxor(npc))
-					{
-						WorldPoint npcLocation = npc.getWorldLocation();
-						if (npcLocation != null)
-						{
-							int distance = playerLocation.distanceTo2D(npcLocation);
-							if (distance <= MAX_AREA_DISTANCE)
-							{
-								araxxorNpc = npc;
-								cachedInAraxxorArea = true;
-								lastAreaCheckTime = currentTime;
-								return true;
-							}
-						}
-					}
-				}
+				return npc;
 			}
 		}
-		
-		cachedInAraxxorArea = false;
-		lastAreaCheckTime = currentTime;
-		return false;
+		return null;
 	}
 	
 	/**
-	 * Reset phase and fight state if player is not actually in the Araxxor area
+	 * Reset phase and fight state once the player has left the Araxxor area
 	 * This fixes the issue where overlay stays visible after teleporting out
 	 */
-	public void resetPhaseIfNotInArea()
+	private void resetOnLeavingArea()
 	{
-		boolean isInArea = isInAraxxorArea();
-		
-		if (!isInArea && (isFightActive || fightStartTime != -1))
+		if (isFightActive || fightTimer.isStarted())
 		{
 			resetFight();
 			return;
 		}
 		
-		if (!isInArea && !tripKills.isEmpty())
+		if (!tripKills.isEmpty())
 		{
 			resetTrip();
 		}
 		
-		if (!isInArea && currentPhase == AraxxorPhase.ENRAGED)
+		if (currentPhase == AraxxorPhase.ENRAGED)
 		{
 			currentPhase = AraxxorPhase.NORMAL;
-			enrageStartTime = -1;
+			fightTimer.clearEnrage();
 		}
 	}
 	
@@ -1176,24 +1318,9 @@ public class AraxxorPlugin extends Plugin
 		// Update best time (lower is better) - also update hits/damage from this PB kill
 		if (bestTime == -1 || killTime < bestTime)
 		{
-			switch (rotation)
-			{
-				case WHITE: 
-					bestWhiteStartTime = killTime;
-					bestWhiteStartHits = hits;
-					bestWhiteStartDamage = damageTaken;
-					break;
-				case RED: 
-					bestRedStartTime = killTime;
-					bestRedStartHits = hits;
-					bestRedStartDamage = damageTaken;
-					break;
-				case GREEN: 
-					bestGreenStartTime = killTime;
-					bestGreenStartHits = hits;
-					bestGreenStartDamage = damageTaken;
-					break;
-			}
+			stats.set(AraxxorStat.bestStartTime(rotation), killTime);
+			stats.set(AraxxorStat.bestStartHits(rotation), hits);
+			stats.set(AraxxorStat.bestStartDamage(rotation), damageTaken);
 		}
 	}
 	
@@ -1202,54 +1329,14 @@ public class AraxxorPlugin extends Plugin
 	 */
 	private void loadStats()
 	{
-		if (configManager == null)
+		if (configKeys == null)
 		{
 			return;
 		}
 
-		Long bestKillTimeObj = configManager.getConfiguration("arraxxor", "bestKillTime", Long.class);
-		bestKillTime = (bestKillTimeObj != null) ? bestKillTimeObj : -1L;
-		
-		Long bestTimeToEnrageObj = configManager.getConfiguration("arraxxor", "bestTimeToEnrage", Long.class);
-		bestTimeToEnrage = (bestTimeToEnrageObj != null) ? bestTimeToEnrageObj : -1L;
-		
-		Long bestTimeInEnrageObj = configManager.getConfiguration("arraxxor", "bestTimeInEnrage", Long.class);
-		bestTimeInEnrage = (bestTimeInEnrageObj != null) ? bestTimeInEnrageObj : -1L;
-
-		Long bestWhiteStartTimeObj = configManager.getConfiguration("arraxxor", "bestWhiteStartTime", Long.class);
-		bestWhiteStartTime = (bestWhiteStartTimeObj != null) ? bestWhiteStartTimeObj : -1L;
-
-		Long bestRedStartTimeObj = configManager.getConfiguration("arraxxor", "bestRedStartTime", Long.class);
-		bestRedStartTime = (bestRedStartTimeObj != null) ? bestRedStartTimeObj : -1L;
-
-		Long bestGreenStartTimeObj = configManager.getConfiguration("arraxxor", "bestGreenStartTime", Long.class);
-		bestGreenStartTime = (bestGreenStartTimeObj != null) ? bestGreenStartTimeObj : -1L;
-
-		Integer bestHitCountObj = configManager.getConfiguration("arraxxor", "bestHitCount", Integer.class);
-		bestHitCount = (bestHitCountObj != null) ? bestHitCountObj : -1;
+		stats.load(configKeys);
 		
-		Integer bestDamageTakenObj = configManager.getConfiguration("arraxxor", "bestDamageTaken", Integer.class);
-		bestDamageTaken = (bestDamageTakenObj != null) ? bestDamageTakenObj : -1;
-		
-		Integer bestWhiteStartHitsObj = configManager.getConfiguration("arraxxor", "bestWhiteStartHits", Integer.class);
-		bestWhiteStartHits = (bestWhiteStartHitsObj != null) ? bestWhiteStartHitsObj : -1;
-		
-		Integer bestRedStartHitsObj = configManager.getConfiguration("arraxxor", "bestRedStartHits", Integer.class);
-		bestRedStartHits = (bestRedStartHitsObj != null) ? bestRedStartHitsObj : -1;
-		
-		Integer bestGreenStartHitsObj = configManager.getConfiguration("arraxxor", "bestGreenStartHits", Integer.class);
-		bestGreenStartHits = (bestGreenStartHitsObj != null) ? bestGreenStartHitsObj : -1;
-		
-		Integer bestWhiteStartDamageObj = configManager.getConfiguration("arraxxor", "bestWhiteStartDamage", Integer.class);
-		bestWhiteStartDamage = (bestWhiteStartDamageObj != null) ? bestWhiteStartDamageObj : -1;
-		
-		Integer bestRedStartDamageObj = configManager.getConfiguration("arraxxor", "bestRedStartDamage", Integer.class);
-		bestRedStartDamage = (bestRedStartDamageObj != null) ? bestRedStartDamageObj : -1;
-		
-		Integer bestGreenStartDamageObj = configManager.getConfiguration("arraxxor", "bestGreenStartDamage", Integer.class);
-		bestGreenStartDamage = (bestGreenStartDamageObj != null) ? bestGreenStartDamageObj : -1;
-		
-		String recentKillsStr = configManager.getConfiguration("arraxxor", "recentKillTimes", String.class);
+		String recentKillsStr = configKeys.get("recentKillTimes");
 		recentKillTimesCount = 0;
 		recentKillTimesIndex = 0;
 		if (recentKillsStr != null && !recentKillsStr.isEmpty())
@@ -1271,68 +1358,31 @@ public class AraxxorPlugin extends Plugin
 			}
 			recentKillTimesIndex = recentKillTimesCount % 5;
 		}
-		
-		Integer killCountObj = configManager.getConfiguration("arraxxor", "killCount", Integer.class);
-		killCount = (killCountObj != null) ? killCountObj : 0;
-		
-		Long lastKillTimestampObj = configManager.getConfiguration("arraxxor", "lastKillTimestamp", Long.class);
-		lastKillTimestamp = (lastKillTimestampObj != null) ? lastKillTimestampObj : -1L;
-		
-		Long lastFightNormalTimeObj = configManager.getConfiguration("arraxxor", "lastFightNormalTime", Long.class);
-		lastFightNormalTime = (lastFightNormalTimeObj != null) ? lastFightNormalTimeObj : -1L;
-		
-		Long lastFightEnrageTimeObj = configManager.getConfiguration("arraxxor", "lastFightEnrageTime", Long.class);
-		lastFightEnrageTime = (lastFightEnrageTimeObj != null) ? lastFightEnrageTimeObj : -1L;
-		
-		Integer lastFightHitsObj = configManager.getConfiguration("arraxxor", "lastFightHits", Integer.class);
-		lastFightHits = (lastFightHitsObj != null) ? lastFightHitsObj : 0;
-		
-		Integer lastFightDamageDealtObj = configManager.getConfiguration("arraxxor", "lastFightDamageDealt", Integer.class);
-		lastFightDamageDealt = (lastFightDamageDealtObj != null) ? lastFightDamageDealtObj : 0;
-		
-		Integer lastFightDamageTakenObj = configManager.getConfiguration("arraxxor", "lastFightDamageTaken", Integer.class);
-		lastFightDamageTaken = (lastFightDamageTakenObj != null) ? lastFightDamageTakenObj : 0;
+		recentKillTimesDirty = false;
 	}
 	
 	/**
-	 * Save statistics to config
+	 * Queue changed statistics for the background config write
 	 */
 	private void saveStats()
 	{
-		if (configManager == null)
+		if (persistenceQueue == null)
 		{
 			return;
 		}
 
-		configManager.setConfiguration("arraxxor", "bestKillTime", bestKillTime);
-		configManager.setConfiguration("arraxxor", "bestTimeToEnrage", bestTimeToEnrage);
-		configManager.setConfiguration("arraxxor", "bestTimeInEnrage", bestTimeInEnrage);
-		configManager.setConfiguration("arraxxor", "bestWhiteStartTime", bestWhiteStartTime);
-		configManager.setConfiguration("arraxxor", "bestRedStartTime", bestRedStartTime);
-		configManager.setConfiguration("arraxxor", "bestGreenStartTime", bestGreenStartTime);
-		configManager.setConfiguration("arraxxor", "bestHitCount", bestHitCount);
-		configManager.setConfiguration("arraxxor", "bestDamageTaken", bestDamageTaken);
-		configManager.setConfiguration("arraxxor", "bestWhiteStartHits", bestWhiteStartHits);
-		configManager.setConfiguration("arraxxor", "bestRedStartHits", bestRedStartHits);
-		configManager.setConfiguration("arraxxor", "bestGreenStartHits", bestGreenStartHits);
-		configManager.setConfiguration("arraxxor", "bestWhiteStartDamage", bestWhiteStartDamage);
-		configManager.setConfiguration("arraxxor", "bestRedStartDamage", bestRedStartDamage);
-		configManager.setConfiguration("arraxxor", "bestGreenStartDamage", bestGreenStartDamage);
-		
-		String[] killTimeStrings = new String[recentKillTimesCount];
-		for (int i = 0; i < recentKillTimesCount; i++)
+		stats.flushDirty(persistenceQueue);
+		
+		if (recentKillTimesDirty)
 		{
-			killTimeStrings[i] = String.valueOf(recentKillTimes[i]);
+			recentKillTimesDirty = false;
+			String[] killTimeStrings = new String[recentKillTimesCount];
+			for (int i = 0; i < recentKillTimesCount; i++)
+			{
+				killTimeStrings[i] = String.valueOf(recentKillTimes[i]);
+			}
+			persistenceQueue.setStat("recentKillTimes", String.join(",", killTimeStrings));
 		}
-		configManager.setConfiguration("arraxxor", "recentKillTimes", String.join(",", killTimeStrings));
-		
-		configManager.setConfiguration("arraxxor", "killCount", killCount);
-		configManager.setConfiguration("arraxxor", "lastKillTimestamp", lastKillTimestamp);
-		configManager.setConfiguration("arraxxor", "lastFightNormalTime", lastFightNormalTime);
-		configManager.setConfiguration("arraxxor", "lastFightEnrageTime", lastFightEnrageTime);
-		configManager.setConfiguration("arraxxor", "lastFightHits", lastFightHits);
-		configManager.setConfiguration("arraxxor", "lastFightDamageDealt", lastFightDamageDealt);
-		configManager.setConfiguration("arraxxor", "lastFightDamageTaken", lastFightDamageTaken);
 	}
 	
 	/**
@@ -1348,26 +1398,27 @@ public class AraxxorPlugin extends Plugin
 		
 		if (araxxorReachedZeroHp)
 		{
-			killCount++;
+			stats.increment(AraxxorStat.KILL_COUNT);
 		}
 		
-		lastFightHits = currentFightHits;
-		lastFightDamageDealt = currentFightDamageDealt;
-		lastFightDamageTaken = currentFightDamageTaken;
+		stats.set(AraxxorStat.LAST_FIGHT_HITS, currentFightHits);
+		stats.set(AraxxorStat.LAST_FIGHT_DAMAGE_DEALT, currentFightDamageDealt);
+		stats.set(AraxxorStat.LAST_FIGHT_DAMAGE_TAKEN, currentFightDamageTaken);
 		
 		// Update best time and ALL associated stats from this PB kill
 		// (hits, damage, normal time, enrage time all come from the same kill)
+		long bestKillTime = stats.get(AraxxorStat.BEST_KILL_TIME);
 		if (bestKillTime == -1 || killTime < bestKillTime)
 		{
-			bestKillTime = killTime;
-			bestHitCount = currentFightHits;
-			bestDamageTaken = currentFightDamageTaken;
+			stats.set(AraxxorStat.BEST_KILL_TIME, killTime);
+			stats.set(AraxxorStat.BEST_HIT_COUNT, currentFightHits);
+			stats.set(AraxxorStat.BEST_DAMAGE_TAKEN, currentFightDamageTaken);
 		
 			// Save normal/enrage times from this same PB kill
-		if (enrageStartTime > 0)
-		{
-				bestTimeToEnrage = enrageStartTime - fightStartTime;
-				bestTimeInEnrage = fightEndTime - enrageStartTime;
+			if (fightTimer.isEnraged())
+			{
+				stats.set(AraxxorStat.BEST_TIME_TO_ENRAGE, fightTimer.getNormalPhaseTime());
+				stats.set(AraxxorStat.BEST_TIME_IN_ENRAGE, fightTimer.getEnragePhaseTime());
 			}
 		}
 
@@ -1382,9 +1433,10 @@ public class AraxxorPlugin extends Plugin
 		{
 			recentKillTimesCount++;
 		}
+		recentKillTimesDirty = true;
 		
 		// Update last kill timestamp for kills/hour decay calculation
-		lastKillTimestamp = System.currentTimeMillis();
+		stats.set(AraxxorStat.LAST_KILL_TIMESTAMP, System.currentTimeMillis());
 		cachedKillsPerHourTimestamp = -1;
 		
 		// Save to config
@@ -1402,21 +1454,7 @@ public class AraxxorPlugin extends Plugin
 	 */
 	public void resetStats()
 	{
-		bestKillTime = -1;
-		bestTimeToEnrage = -1;
-		bestTimeInEnrage = -1;
-		bestWhiteStartTime = -1;
-		bestRedStartTime = -1;
-		bestGreenStartTime = -1;
-		bestHitCount = -1;
-		bestDamageTaken = -1;
-		bestWhiteStartHits = -1;
-		bestRedStartHits = -1;
-		bestGreenStartHits = -1;
-		bestWhiteStartDamage = -1;
-		bestRedStartDamage = -1;
-		bestGreenStartDamage = -1;
-		killCount = 0;
+		stats.reset();
 		
 		for (int i = 0; i < recentKillTimes.length; i++)
 		{
@@ -1424,11 +1462,12 @@ public class AraxxorPlugin extends Plugin
 		}
 		recentKillTimesCount = 0;
 		recentKillTimesIndex = 0;
+		recentKillTimesDirty = true;
 		
-		lastKillTimestamp = -1;
 		cachedKillsPerHour = 0.0;
 		
 		saveStats();
+		clientThread.invokeLater(this::publishFightSnapshot);
 		
 		// Update config panel stats
 		if (configPanel != null)
@@ -1439,34 +1478,64 @@ public class AraxxorPlugin extends Plugin
 	
 	// Getters for statistics
 
+	public int getKillCount()
+	{
+		return stats.getInt(AraxxorStat.KILL_COUNT);
+	}
+	
+	public int getLastFightHits()
+	{
+		return stats.getInt(AraxxorStat.LAST_FIGHT_HITS);
+	}
+	
+	public int getLastFightDamageDealt()
+	{
+		return stats.getInt(AraxxorStat.LAST_FIGHT_DAMAGE_DEALT);
+	}
+	
+	public int getLastFightDamageTaken()
+	{
+		return stats.getInt(AraxxorStat.LAST_FIGHT_DAMAGE_TAKEN);
+	}
+	
+	public long getLastFightNormalTime()
+	{
+		return stats.get(AraxxorStat.LAST_FIGHT_NORMAL_TIME);
+	}
+	
+	public long getLastFightEnrageTime()
+	{
+		return stats.get(AraxxorStat.LAST_FIGHT_ENRAGE_TIME);
+	}
+
 	public long getBestKillTime()
 	{
-		return bestKillTime;
+		return stats.get(AraxxorStat.BEST_KILL_TIME);
 	}
 	
 	public long getBestTimeToEnrage()
 	{
-		return bestTimeToEnrage;
+		return stats.get(AraxxorStat.BEST_TIME_TO_ENRAGE);
 	}
 	
 	public long getBestTimeInEnrage()
 	{
-		return bestTimeInEnrage;
+		return stats.get(AraxxorStat.BEST_TIME_IN_ENRAGE);
 	}
 
 	public long getBestWhiteStartTime()
 	{
-		return bestWhiteStartTime;
+		return stats.get(AraxxorStat.BEST_WHITE_START_TIME);
 	}
 
 	public long getBestRedStartTime()
 	{
-		return bestRedStartTime;
+		return stats.get(AraxxorStat.BEST_RED_START_TIME);
 	}
 
 	public long getBestGreenStartTime()
 	{
-		return bestGreenStartTime;
+		return stats.get(AraxxorStat.BEST_GREEN_START_TIME);
 	}
 
 	public AraxxorEggType getCurrentRotationStart()
@@ -1476,42 +1545,42 @@ public class AraxxorPlugin extends Plugin
 
 	public int getBestHitCount()
 	{
-		return bestHitCount;
+		return stats.getInt(AraxxorStat.BEST_HIT_COUNT);
 	}
 	
 	public int getBestDamageTaken()
 	{
-		return bestDamageTaken;
+		return stats.getInt(AraxxorStat.BEST_DAMAGE_TAKEN);
 	}
 	
 	public int getBestWhiteStartHits()
 	{
-		return bestWhiteStartHits;
+		return stats.getInt(AraxxorStat.BEST_WHITE_START_HITS);
 	}
 	
 	public int getBestRedStartHits()
 	{
-		return bestRedStartHits;
+		return stats.getInt(AraxxorStat.BEST_RED_START_HITS);
 	}
 	
 	public int getBestGreenStartHits()
 	{
-		return bestGreenStartHits;
+		return stats.getInt(AraxxorStat.BEST_GREEN_START_HITS);
 	}
 	
 	public int getBestWhiteStartDamage()
 	{
-		return bestWhiteStartDamage;
+		return stats.getInt(AraxxorStat.BEST_WHITE_START_DAMAGE);
 	}
 	
 	public int getBestRedStartDamage()
 	{
-		return bestRedStartDamage;
+		return stats.getInt(AraxxorStat.BEST_RED_START_DAMAGE);
 	}
 	
 	public int getBestGreenStartDamage()
 	{
-		return bestGreenStartDamage;
+		return stats.getInt(AraxxorStat.BEST_GREEN_START_DAMAGE);
 	}
 	
 	/**
@@ -1523,17 +1592,7 @@ public class AraxxorPlugin extends Plugin
 		{
 			return -1;
 		}
-		switch (rotation)
-		{
-			case WHITE:
-				return bestWhiteStartTime;
-			case RED:
-				return bestRedStartTime;
-			case GREEN:
-				return bestGreenStartTime;
-			default:
-				return -1;
-		}
+		return stats.get(AraxxorStat.bestStartTime(rotation));
 	}
 	
 	/**
@@ -1545,17 +1604,7 @@ public class AraxxorPlugin extends Plugin
 		{
 			return -1;
 		}
-		switch (rotation)
-		{
-			case WHITE:
-				return bestWhiteStartHits;
-			case RED:
-				return bestRedStartHits;
-			case GREEN:
-				return bestGreenStartHits;
-			default:
-				return -1;
-		}
+		return stats.getInt(AraxxorStat.bestStartHits(rotation));
 	}
 	
 	/**
@@ -1567,27 +1616,12 @@ public class AraxxorPlugin extends Plugin
 		{
 			return -1;
 		}
-		switch (rotation)
-		{
-			case WHITE:
-				return bestWhiteStartDamage;
-			case RED:
-				return bestRedStartDamage;
-			case GREEN:
-				return bestGreenStartDamage;
-			default:
-				return -1;
-		}
+		return stats.getInt(AraxxorStat.bestStartDamage(rotation));
 	}
 	
 	public long getCurrentTimeToEnrage()
 	{
-		if (enrageStartTime > 0)
-		{
-			// Add offset to match game timer (measured from fight start)
-			return (enrageStartTime - fightStartTime) + GAME_TIMER_OFFSET_MS;
-		}
-		return -1;
+		return fightTimer.getTimeToEnrage();
 	}
 	
 	/**
@@ -1636,6 +1670,7 @@ public class AraxxorPlugin extends Plugin
 		double baseKillsPerHour = 3600000.0 / avgKillTime;
 		
 		// If no last kill timestamp, return base rate
+		long lastKillTimestamp = stats.get(AraxxorStat.LAST_KILL_TIMESTAMP);
 		if (lastKillTimestamp <= 0)
 		{
 			cachedKillsPerHour = baseKillsPerHour;
@@ -1692,38 +1727,16 @@ public class AraxxorPlugin extends Plugin
 	
 	public long getCurrentTimeInEnrage()
 	{
-		if (enrageStartTime <= 0)
-		{
-			return -1;
-		}
-		
-		if (fightEndTime != -1 || deathTime != -1)
-		{
-			if (cachedTimeInEnrage >= 0 && cachedTimeInEnrageCalculationTime == enrageStartTime)
-			{
-				return cachedTimeInEnrage;
-			}
-			
-			long currentTime = (fightEndTime != -1) ? fightEndTime : deathTime;
-			cachedTimeInEnrage = (currentTime - enrageStartTime) + 1000;
-			cachedTimeInEnrageCalculationTime = enrageStartTime;
-			return cachedTimeInEnrage;
-		}
-		
-		long currentTime = System.currentTimeMillis();
-		return (currentTime - enrageStartTime) + 1000;
+		return fightTimer.getTimeInEnrage(System.nanoTime());
 	}
 
 	/**
 	 * Handle loot received from Araxxor kill
 	 */
-	@Subscribe
 	public void onServerNpcLoot(final ServerNpcLoot event)
 		{
 			final net.runelite.api.NPCComposition npc = event.getComposition();
-			int npcId = npc.getId();
-			
-			if (npcId != ARAXXOR_NPC_ID && npcId != ARAXXOR_DEAD_ID)
+			if (!AraxxorNpcRole.of(npc.getId()).isAraxxor())
 			{
 				return;
 			}
@@ -1745,33 +1758,16 @@ public class AraxxorPlugin extends Plugin
 			for (ItemStack item : event.getItems())
 			{
 				int itemId = item.getId();
+				recordEvent(FightRecorder.LOOT, itemId, item.getQuantity(), 0);
 				kill.getLoot().merge(itemId, (long)item.getQuantity(), Long::sum);
 				
-				int price;
-				if (configPanel != null)
-				{
-					configPanel.cacheItemPrice(itemId);
-					price = configPanel.getCachedItemPrice(itemId);
-					if (price <= 0)
-					{
-						price = itemManager.getItemPrice(itemId);
-					}
-				}
-				else
-				{
-					price = itemManager.getItemPrice(itemId);
-				}
-				
+				int price = getLootItemPrice(itemId);
 				totalValue += (long)price * item.getQuantity();
-				
-				if (configPanel != null)
-				{
-					configPanel.cacheItemName(itemId);
-				}
 			}
 			kill.setLootValue(totalValue);
 			
 			long currentTime = System.currentTimeMillis();
+			long lastKillTimestamp = stats.get(AraxxorStat.LAST_KILL_TIMESTAMP);
 			boolean isNewSession = (lastKillTimestamp != -1 && (currentTime - lastKillTimestamp) > SESSION_TIMEOUT_MS);
 			
 			if (isNewSession)
@@ -1785,28 +1781,24 @@ public class AraxxorPlugin extends Plugin
 				}
 			}
 			
-			lastKillTimestamp = currentTime;
+			stats.set(AraxxorStat.LAST_KILL_TIMESTAMP, currentTime);
 			
 			if (tripKills.size() >= MAX_TRIP_KILLS)
 			{
-				tripKills.remove(0);
+				tripKills.removeFirst(1);
 			}
-			tripKills.add(kill);
+			tripKills.append(kill);
 			
 			if (sessionKills.size() >= MAX_SESSION_KILLS)
 			{
-				AraxxorKillRecord oldest = sessionKills.remove(0);
-				cachedSessionTotalValue -= oldest.getLootValue();
-				if (configManager != null)
-				{
-					configManager.unsetConfiguration("arraxxor", "kill_" + oldest.getTimestamp());
-				}
+				cachedSessionTotalValue -= sessionKills.getLootValue(0);
+				sessionKills.removeFirst(1);
 			}
-			sessionKills.add(kill);
+			sessionKills.append(kill);
 			
 			cachedSessionTotalValue += totalValue;
 			
-			saveKillToConfig(kill);
+			saveKillToJournal(kill);
 			
 			if (configPanel != null)
 			{
@@ -1815,213 +1807,336 @@ public class AraxxorPlugin extends Plugin
 	}
 	
 	/**
-	 * Save kill record to config (with storage limits)
+	 * Price a loot item, preferring the panel's cache (custom prices) over the item manager
 	 */
-	private void saveKillToConfig(AraxxorKillRecord kill)
+	int getLootItemPrice(int itemId)
 	{
-		if (configManager == null)
+		if (configPanel == null)
 		{
-			return;
+			return itemManager.getItemPrice(itemId);
 		}
 		
-		String key = "kill_" + kill.getTimestamp();
+		configPanel.cacheItemPrice(itemId);
+		configPanel.cacheItemName(itemId);
+		int price = configPanel.getCachedItemPrice(itemId);
+		return price > 0 ? price : itemManager.getItemPrice(itemId);
+	}
+	
+	/**
+	 * Add kill record to the in-memory history and queue it for the kill journal
+	 */
+	private void saveKillToJournal(AraxxorKillRecord kill)
+	{
+		if (killHistory != null)
+		{
+			killHistory.append(kill);
+		}
+		if (persistenceQueue != null)
+		{
+			persistenceQueue.addKill(kill);
+		}
+	}
+	
+	private KillStore createKillStore(KillStorageMode mode)
+	{
+		if (mode == KillStorageMode.PROFILE)
+		{
+			return new ConfigKillStore(configKeys);
+		}
+		return new PagedKillStore(new File(RuneLite.RUNELITE_DIR, DATA_DIRECTORY));
+	}
+	
+	/**
+	 * A compactor whose rollups are kept alongside the given store's kills
+	 */
+	private HistoryCompactor createCompactor(KillStorageMode mode, KillStore store)
+	{
+		if (mode == KillStorageMode.PROFILE)
+		{
+			return new HistoryCompactor(store, HistoryCompactor.configStorage(configKeys));
+		}
+		File file = new File(new File(RuneLite.RUNELITE_DIR, DATA_DIRECTORY), HistoryCompactor.FILE_NAME);
+		return new HistoryCompactor(store, HistoryCompactor.fileStorage(file));
+	}
+	
+	/**
+	 * Bring in history recorded in the other storage location since this one was last in use,
+	 * i.e. after switching storage; the source is left untouched. The selected mode is only
+	 * recorded as active once the copy has completed, so a failed copy is retried.
+	 */
+	private void adoptOtherKillStore()
+	{
+		String mode = killStorageMode.name();
+		if (configKeys == null || mode.equals(configKeys.get(ACTIVE_KILL_STORE_KEY)))
+		{
+			return;
+		}
 		
-		StringBuilder lootItemsStr = new StringBuilder();
-		if (kill.getLoot() != null && !kill.getLoot().isEmpty())
+		KillStorageMode otherMode = killStorageMode == KillStorageMode.PROFILE ? KillStorageMode.LOCAL : KillStorageMode.PROFILE;
+		KillStore source = createKillStore(otherMode);
+		HistoryCompactor sourceCompactor = createCompactor(otherMode, source);
+		try
 		{
-			boolean first = true;
-			for (Map.Entry<Integer, Long> entry : kill.getLoot().entrySet())
+			source.open();
+			sourceCompactor.load();
+			compactor.load();
+			int copied = compactor.adopt(source, sourceCompactor.getRollups(), ZoneId.systemDefault());
+			if (copied > 0)
 			{
-				if (!first)
-				{
-					lootItemsStr.append(",");
-				}
-				lootItemsStr.append(entry.getKey()).append(":").append(entry.getValue());
-				first = false;
+				log.debug("Copied {} kills from {} storage", copied, otherMode);
 			}
+			configKeys.set(ACTIVE_KILL_STORE_KEY, mode);
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to copy kill history from {} storage, will retry on next startup", otherMode, e);
+		}
+	}
+	
+	/**
+	 * Migrate legacy kill_ config keys into the kill store once
+	 */
+	private void migrateLegacyKills()
+	{
+		if (configKeys == null || killStore == null)
+		{
+			return;
+		}
+		
+		LegacyKillMigrator migrator = new LegacyKillMigrator(configKeys, killStore);
+		if (migrator.isMigrated())
+		{
+			return;
 		}
 		
-		String value = String.join("|",
-			String.valueOf(kill.getTimestamp()),
-			String.valueOf(kill.getKillTime()),
-			kill.getRotation() != null ? kill.getRotation().name() : "UNKNOWN",
-			String.valueOf(kill.getLootValue()),
-			String.valueOf(kill.getHits()),
-			String.valueOf(kill.getDamageDealt()),
-			String.valueOf(kill.getDamageTaken()),
-			lootItemsStr.toString()
-		);
 		try
 		{
-			configManager.setConfiguration("arraxxor", key, value);
+			int malformed = migrator.migrate();
+			if (malformed > 0)
+			{
+				log.warn("{} legacy kill records could not be read; kept under {} keys", malformed,
+					LegacyKillMigrator.MALFORMED_KEY_PREFIX);
+			}
 		}
-		catch (Exception e)
+		catch (IOException e)
 		{
+			log.warn("Unable to migrate legacy kills, will retry on next startup", e);
 		}
 	}
 	
 	/**
-	 * Load kills from config on startup
+	 * Roll pages older than the configured horizon into daily totals
 	 */
-	private void loadKillsFromConfig()
+	private void compactHistory()
 	{
-		if (configManager == null)
+		if (compactor == null)
 		{
 			return;
 		}
 		
-		sessionKills.clear();
-		cachedSessionTotalValue = 0;
+		long cutoff = Instant.now().minus(Duration.ofDays(config.historyCompactionDays())).toEpochMilli();
+		try
+		{
+			compactor.load();
+			compactor.compact(cutoff, ZoneId.systemDefault());
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to compact kill history", e);
+		}
+	}
+	
+	/**
+	 * Daily totals for kills that have been compacted out of the detailed history, oldest first
+	 */
+	public List<DailyRollup> getRollups()
+	{
+		return compactor != null ? compactor.getRollups() : Collections.emptyList();
+	}
+	
+	/**
+	 * Version of the in-memory kill history; it changes on every load, append and reset
+	 */
+	public int getHistoryVersion()
+	{
+		return killHistory != null ? killHistory.getVersion() : 0;
+	}
+	
+	/**
+	 * Snapshot of all detailed kill history still held in pages; older kills live in {@link #getRollups()}
+	 */
+	public KillHistory readKillHistory()
+	{
+		if (killHistory == null)
+		{
+			return new KillHistory();
+		}
+		
+		try
+		{
+			return killHistory.all();
+		}
+		catch (IOException e)
+		{
+			return new KillHistory();
+		}
+	}
+	
+	/**
+	 * Snapshot of at least the newest {@code minKills} kills, loading only as many pages as needed
+	 */
+	public KillHistory readRecentKills(int minKills)
+	{
+		if (killHistory == null)
+		{
+			return new KillHistory();
+		}
 		
-		Instant cutoff = Instant.now().minus(MAX_AGE);
-		List<String> fullKeys = configManager.getConfigurationKeys("arraxxor.kill_");
+		try
+		{
+			return killHistory.recentKills(minKills);
+		}
+		catch (IOException e)
+		{
+			return new KillHistory();
+		}
+	}
+	
+	/**
+	 * Snapshot of at least the newest {@code minSessions} complete sessions, loading older pages only
+	 * until the oldest of them is known to start inside the loaded range
+	 */
+	public KillHistory readRecentSessions(int minSessions)
+	{
+		if (killHistory == null)
+		{
+			return new KillHistory();
+		}
 		
-		for (String fullKey : fullKeys)
+		try
 		{
-			String[] parts = fullKey.split("\\.", 2);
-			if (parts.length != 2)
-			{
-				continue;
-			}
-			String key = parts[1];
-			
-			String value = configManager.getConfiguration("arraxxor", key, String.class);
-			if (value == null)
+			return killHistory.recentSessions(minSessions);
+		}
+		catch (IOException e)
+		{
+			return new KillHistory();
+		}
+	}
+	
+	/**
+	 * Open the kill store and read the newest session from it on startup; runs on the loader
+	 * thread, so it only touches the stores and leaves plugin state to {@link #resumeSession}
+	 * @return kills of the most recent session, empty if there is none
+	 */
+	private KillHistory loadKills()
+	{
+		KillHistory session = new KillHistory();
+		if (killStore == null)
+		{
+			return session;
+		}
+		
+		try
+		{
+			killStore.open();
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to open the kill store", e);
+			return session;
+		}
+		
+		adoptOtherKillStore();
+		migrateLegacyKills();
+		compactHistory();
+		
+		try
+		{
+			killHistory.load();
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to load kill history", e);
+			return session;
+		}
+		
+		KillHistory recent = readRecentSessions(1);
+		int[] sessions = groupKillsIntoSessions(recent);
+		if (sessions.length > 1)
+		{
+			for (int row = sessions[sessions.length - 2]; row < recent.size(); row++)
 			{
-				continue;
+				session.appendRow(recent, row);
 			}
-			
-			try
+		}
+		return session;
+	}
+	
+	/**
+	 * Put the loaded session in front of any kills recorded while the history was loading;
+	 * runs on the client thread, like {@link #onServerNpcLoot}
+	 */
+	private void resumeSession(KillHistory loaded)
+	{
+		if (loaded.isEmpty())
+		{
+			return;
+		}
+		
+		// The next loot drop starts a fresh session if this one has already timed out
+		long lastLoaded = loaded.getTimestamp(loaded.size() - 1);
+		if (lastLoaded > stats.get(AraxxorStat.LAST_KILL_TIMESTAMP))
+		{
+			stats.set(AraxxorStat.LAST_KILL_TIMESTAMP, lastLoaded);
+		}
+		
+		long firstRecorded = sessionKills.isEmpty() ? Long.MAX_VALUE : sessionKills.getTimestamp(0);
+		if (firstRecorded != Long.MAX_VALUE && firstRecorded - lastLoaded > SESSION_TIMEOUT_MS)
+		{
+			// A kill since startup already began a new session
+			return;
+		}
+		
+		KillHistory session = new KillHistory();
+		for (int row = 0; row < loaded.size(); row++)
+		{
+			if (loaded.getTimestamp(row) < firstRecorded)
 			{
-				if (value.length() > 10000)
-				{
-					continue;
-				}
-				
-				String[] valueParts = value.split("\\|", 8);
-				if (valueParts.length >= 7)
-				{
-					long timestamp = Long.parseLong(valueParts[0]);
-					
-					if (timestamp < 0 || timestamp > System.currentTimeMillis() + 86400000L)
-					{
-						continue;
-					}
-					
-					if (Instant.ofEpochMilli(timestamp).isBefore(cutoff))
-					{
-						configManager.unsetConfiguration("arraxxor", key);
-						continue;
-					}
-					
-					AraxxorKillRecord kill = new AraxxorKillRecord();
-					kill.setTimestamp(timestamp);
-					
-					long killTime = Long.parseLong(valueParts[1]);
-					if (killTime < 0 || killTime > 3600000L)
-					{
-						continue;
-					}
-					kill.setKillTime(killTime);
-					
-					try
-					{
-						kill.setRotation(AraxxorEggType.valueOf(valueParts[2]));
-					}
-					catch (IllegalArgumentException e)
-					{
-						kill.setRotation(null);
-					}
-					
-					long lootValue = Long.parseLong(valueParts[3]);
-					if (lootValue < 0 || lootValue > Long.MAX_VALUE / 2)
-					{
-						continue;
-					}
-					kill.setLootValue(lootValue);
-					
-					int hits = Integer.parseInt(valueParts[4]);
-					int damageDealt = Integer.parseInt(valueParts[5]);
-					int damageTaken = Integer.parseInt(valueParts[6]);
-					if (hits < 0 || hits > 10000 || damageDealt < 0 || damageDealt > 1000000 || 
-						damageTaken < 0 || damageTaken > 1000000)
-					{
-						continue;
-					}
-					kill.setHits(hits);
-					kill.setDamageDealt(damageDealt);
-					kill.setDamageTaken(damageTaken);
-					
-					if (valueParts.length >= 8 && !valueParts[7].isEmpty())
-					{
-						if (valueParts[7].length() > 5000)
-						{
-							continue;
-						}
-						
-						String[] lootItems = valueParts[7].split(",", 100);
-						for (String lootItem : lootItems)
-						{
-							if (lootItem.length() > 50)
-							{
-								continue;
-							}
-							
-							String[] itemParts = lootItem.split(":", 2);
-							if (itemParts.length == 2)
-							{
-								int itemId = Integer.parseInt(itemParts[0]);
-								long quantity = Long.parseLong(itemParts[1]);
-								
-								if (itemId < 0 || itemId > Integer.MAX_VALUE || quantity < 0 || quantity > 1000000L)
-								{
-									continue;
-								}
-								
-								kill.getLoot().put(itemId, quantity);
-							}
-						}
-					}
-					
-					
-					sessionKills.add(kill);
-					cachedSessionTotalValue += kill.getLootValue();
-				}
+				session.appendRow(loaded, row);
 			}
-		catch (Exception e)
+		}
+		for (int row = 0; row < sessionKills.size(); row++)
 		{
+			session.appendRow(sessionKills, row);
 		}
+		if (session.size() > MAX_SESSION_KILLS)
+		{
+			session.removeFirst(session.size() - MAX_SESSION_KILLS);
 		}
 		
-		if (!sessionKills.isEmpty())
+		sessionKills.clear();
+		cachedSessionTotalValue = 0;
+		for (int row = 0; row < session.size(); row++)
 		{
-			sessionKills.sort(Comparator.comparingLong(AraxxorKillRecord::getTimestamp));
-			AraxxorKillRecord mostRecent = sessionKills.get(sessionKills.size() - 1);
-			lastKillTimestamp = mostRecent.getTimestamp();
+			sessionKills.appendRow(session, row);
+			cachedSessionTotalValue += session.getLootValue(row);
 		}
 		
-		if (!sessionKills.isEmpty() && configPanel != null && clientThread != null)
+		AraxxorConfigPanel panelRef = configPanel;
+		if (panelRef != null)
 		{
-			AraxxorConfigPanel panelRef = configPanel;
-			clientThread.invokeLater(() -> {
-				if (panelRef == null)
-				{
-					return;
-				}
-				
-				for (AraxxorKillRecord kill : sessionKills)
-				{
-					if (kill.getLoot() != null)
-					{
-						for (int itemId : kill.getLoot().keySet())
-						{
-							panelRef.cacheItemName(itemId);
-							panelRef.cacheItemPrice(itemId);
-						}
-					}
-				}
-				panelRef.refreshStats();
-			});
+			// Warm item metadata once per distinct item rather than once per drop
+			Set<Integer> itemIds = new HashSet<>();
+			for (int j = 0, end = sessionKills.lootEnd(sessionKills.size() - 1); j < end; j++)
+			{
+				itemIds.add(sessionKills.getLootItemId(j));
+			}
+			for (int itemId : itemIds)
+			{
+				panelRef.cacheItemName(itemId);
+				panelRef.cacheItemPrice(itemId);
+			}
+			panelRef.refreshStats();
 		}
 	}
 	
@@ -0,0 +1,38 @@
+package com.araxxortracker;
+
+import lombok.Value;
+
+/**
+ * The config values read while drawing and during a fight, copied out of the config proxy
+ * whenever the plugin's config changes. Reading the proxy means a config manager lookup and,
+ * for enums, parsing, so the overlays read this instead; a render sees one consistent set.
+ */
+@Value
+class AraxxorSettings
+{
+	OverlayMode overlayMode;
+	boolean showWhenInactive;
+	boolean showPreFightStats;
+	boolean showLiveSplits;
+	SplitComparisonMode splitComparisonMode;
+	int targetTotalTime;
+	boolean showKillTiles;
+	boolean showStatsOverlay;
+	boolean showRenderTimes;
+	boolean recordFights;
+
+	static AraxxorSettings from(AraxxorConfig config)
+	{
+		return new AraxxorSettings(
+			config.overlayMode(),
+			config.showWhenInactive(),
+			config.showPreFightStats(),
+			config.showLiveSplits(),
+			config.splitComparisonMode(),
+			config.targetTotalTime(),
+			config.showKillTiles(),
+			config.showStatsOverlay(),
+			config.showRenderTimes(),
+			config.recordFights());
+	}
+}
@@ -0,0 +1,87 @@
+package com.araxxortracker;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Persisted statistics, each mapped to its config key, stored type and default value
+ */
+@Getter
+@RequiredArgsConstructor
+enum AraxxorStat
+{
+	BEST_KILL_TIME("bestKillTime", false, -1),
+	BEST_TIME_TO_ENRAGE("bestTimeToEnrage", false, -1),
+	BEST_TIME_IN_ENRAGE("bestTimeInEnrage", false, -1),
+	BEST_WHITE_START_TIME("bestWhiteStartTime", false, -1),
+	BEST_RED_START_TIME("bestRedStartTime", false, -1),
+	BEST_GREEN_START_TIME("bestGreenStartTime", false, -1),
+	BEST_HIT_COUNT("bestHitCount", true, -1),
+	BEST_DAMAGE_TAKEN("bestDamageTaken", true, -1),
+	BEST_WHITE_START_HITS("bestWhiteStartHits", true, -1),
+	BEST_RED_START_HITS("bestRedStartHits", true, -1),
+	BEST_GREEN_START_HITS("bestGreenStartHits", true, -1),
+	BEST_WHITE_START_DAMAGE("bestWhiteStartDamage", true, -1),
+	BEST_RED_START_DAMAGE("bestRedStartDamage", true, -1),
+	BEST_GREEN_START_DAMAGE("bestGreenStartDamage", true, -1),
+	KILL_COUNT("killCount", true, 0),
+	LAST_KILL_TIMESTAMP("lastKillTimestamp", false, -1),
+	LAST_FIGHT_NORMAL_TIME("lastFightNormalTime", false, -1),
+	LAST_FIGHT_ENRAGE_TIME("lastFightEnrageTime", false, -1),
+	LAST_FIGHT_HITS("lastFightHits", true, 0),
+	LAST_FIGHT_DAMAGE_DEALT("lastFightDamageDealt", true, 0),
+	LAST_FIGHT_DAMAGE_TAKEN("lastFightDamageTaken", true, 0);
+
+	private final String key;
+	/** Stored as Integer in config rather than Long */
+	private final boolean intValued;
+	private final long defaultValue;
+
+	/**
+	 * Best kill time stat for a starting rotation
+	 */
+	static AraxxorStat bestStartTime(AraxxorEggType rotation)
+	{
+		switch (rotation)
+		{
+			case WHITE:
+				return BEST_WHITE_START_TIME;
+			case RED:
+				return BEST_RED_START_TIME;
+			default:
+				return BEST_GREEN_START_TIME;
+		}
+	}
+
+	/**
+	 * Hit count of the best kill for a starting rotation
+	 */
+	static AraxxorStat bestStartHits(AraxxorEggType rotation)
+	{
+		switch (rotation)
+		{
+			case WHITE:
+				return BEST_WHITE_START_HITS;
+			case RED:
+				return BEST_RED_START_HITS;
+			default:
+				return BEST_GREEN_START_HITS;
+		}
+	}
+
+	/**
+	 * Damage taken in the best kill for a starting rotation
+	 */
+	static AraxxorStat bestStartDamage(AraxxorEggType rotation)
+	{
+		switch (rotation)
+		{
+			case WHITE:
+				return BEST_WHITE_START_DAMAGE;
+			case RED:
+				return BEST_RED_START_DAMAGE;
+			default:
+				return BEST_GREEN_START_DAMAGE;
+		}
+	}
+}
@@ -15,7 +15,6 @@ import net.runelite.client.ui.overlay.components.LineComponent;
 public class AraxxorStatsOverlay extends OverlayPanel
 {
 	private final AraxxorPlugin plugin;
-	private final AraxxorConfig config;
 
 	private static final Color COLOR_GRAY_NO_TIME = new Color(100, 100, 100);
 	private static final Color COLOR_YELLOW_TITLE = new Color(255, 255, 0);
@@ -31,35 +30,53 @@ public class AraxxorStatsOverlay extends OverlayPanel
 	private String targetTimeText = null;
 	private Color targetTimeColor = null;
 	private int rotationTimesLineIndex = -1; // Track line index for rotation times placeholder
+	
+	/** Snapshot and settings for the frame being rendered; only touched on the render thread */
+	private FightSnapshot fight;
+	private AraxxorSettings settings;
 
 	@Inject
-	private AraxxorStatsOverlay(AraxxorPlugin plugin, AraxxorConfig config)
+	private AraxxorStatsOverlay(AraxxorPlugin plugin)
 	{
 		super(plugin);
 		this.plugin = plugin;
-		this.config = config;
 		setLayer(OverlayLayer.ABOVE_WIDGETS);
 	}
 
 	@Override
-	public Dimension render(java.awt.Graphics2D graphics)
+	public Dimension render(Graphics2D graphics)
 	{
-		if (!config.showStatsOverlay())
+		long start = System.nanoTime();
+		try
+		{
+			return renderFrame(graphics);
+		}
+		finally
+		{
+			plugin.getStatsOverlayTimer().stop(start);
+		}
+	}
+
+	private Dimension renderFrame(Graphics2D graphics)
+	{
+		settings = plugin.getSettings();
+		if (!settings.isShowStatsOverlay())
 		{
 			return null;
 		}
 
-		if (!plugin.isInAraxxorArea())
+		fight = plugin.getFightSnapshot();
+		if (fight == null || !fight.isInAraxxorArea())
 		{
 			return null;
 		}
 
-		if (!plugin.isAraxxorReachedZeroHp())
+		if (!fight.isAraxxorReachedZeroHp())
 		{
 			return null;
 		}
 
-		if (plugin.getFightEndTime() == -1)
+		if (!fight.hasFightEnded())
 		{
 			return null;
 		}
@@ -70,7 +87,7 @@ public class AraxxorStatsOverlay extends OverlayPanel
 
 		getPanelComponent().getChildren().clear();
 
-		SplitComparisonMode comparisonMode = config.splitComparisonMode();
+		SplitComparisonMode comparisonMode = settings.getSplitComparisonMode();
 		
 		if (comparisonMode == SplitComparisonMode.LAST_KILL)
 		{
@@ -84,6 +101,7 @@ public class AraxxorStatsOverlay extends OverlayPanel
 		{
 			renderTargetMode();
 		}
+		plugin.getStatsOverlayTimer().rebuilt(getPanelComponent().getChildren().size());
 
 		Dimension panelSize = super.render(graphics);
 		if (panelSize == null)
@@ -148,17 +166,17 @@ public class AraxxorStatsOverlay extends OverlayPanel
 		addSeparator();
 		
 		// Get last kill data
-		long lastNormal = plugin.getLastFightNormalTime();
-		long lastEnrage = plugin.getLastFightEnrageTime();
+		long lastNormal = fight.getLastFightNormalTime();
+		long lastEnrage = fight.getLastFightEnrageTime();
 		long lastTotal = -1;
 		if (lastNormal > 0)
 		{
 			lastTotal = lastNormal + (lastEnrage > 0 ? lastEnrage : 0);
 		}
 		
-		int lastHits = plugin.getLastFightHits();
-		int lastDamageDealt = plugin.getLastFightDamageDealt();
-		int lastDamageTaken = plugin.getLastFightDamageTaken();
+		int lastHits = fight.getLastFightHits();
+		int lastDamageDealt = fight.getLastFightDamageDealt();
+		int lastDamageTaken = fight.getLastFightDamageTaken();
 		
 		if (lastTotal <= 0 && lastHits <= 0)
 		{
@@ -172,7 +190,7 @@ public class AraxxorStatsOverlay extends OverlayPanel
 		if (lastTotal > 0)
 		{
 			StringBuilder timeLine = new StringBuilder();
-			timeLine.append("Time: ").append(formatTimeCompact(lastTotal));
+			timeLine.append("Time: ").append(TimeFormatter.compact(lastTotal));
 			
 			// Add normal and enrage times in parentheses
 			if (lastNormal > 0 || lastEnrage > 0)
@@ -181,7 +199,7 @@ public class AraxxorStatsOverlay extends OverlayPanel
 				if (lastNormal > 0)
 				{
 					long normalTime = lastNormal + 1000; // Add 1s offset like main overlay
-					timeLine.append(formatTimeSimple(normalTime));
+					timeLine.append(TimeFormatter.compact(normalTime));
 				}
 				if (lastEnrage > 0)
 				{
@@ -189,7 +207,7 @@ public class AraxxorStatsOverlay extends OverlayPanel
 					{
 						timeLine.append(" | ");
 					}
-					timeLine.append(formatEnrageTime(lastEnrage));
+					timeLine.append(TimeFormatter.enrage(lastEnrage));
 				}
 				timeLine.append(")");
 			}
@@ -285,11 +303,11 @@ public class AraxxorStatsOverlay extends OverlayPanel
 	private void renderBestTimeMode()
 	{
 		// Get overall best stats
-		int bestHits = plugin.getBestHitCount();
-		int bestDamageTaken = plugin.getBestDamageTaken();
-		long bestKillTime = plugin.getBestKillTime();
-		long bestTimeToEnrage = plugin.getBestTimeToEnrage();
-		long bestTimeInEnrage = plugin.getBestTimeInEnrage();
+		int bestHits = fight.getBestHitCount();
+		int bestDamageTaken = fight.getBestDamageTaken();
+		long bestKillTime = fight.getBestKillTime();
+		long bestTimeToEnrage = fight.getBestTimeToEnrage();
+		long bestTimeInEnrage = fight.getBestTimeInEnrage();
 		
 		// Add separator below title
 		addSeparator();
@@ -297,7 +315,7 @@ public class AraxxorStatsOverlay extends OverlayPanel
 		// Total time
 		if (bestKillTime > 0)
 		{
-			addLineLeft("Time:", formatTimeCompact(bestKillTime), Color.WHITE);
+			addLineLeft("Time:", TimeFormatter.compact(bestKillTime), Color.WHITE);
 		}
 		
 		// Normal and Enrage combined on one line
@@ -307,7 +325,7 @@ public class AraxxorStatsOverlay extends OverlayPanel
 			if (bestTimeToEnrage > 0)
 			{
 				long normalTime = bestTimeToEnrage + 1000; // Add 1s offset
-				timingLine.append("Normal: ").append(formatTimeSimple(normalTime));
+				timingLine.append("Normal: ").append(TimeFormatter.compact(normalTime));
 			}
 			if (bestTimeInEnrage > 0)
 			{
@@ -315,7 +333,7 @@ public class AraxxorStatsOverlay extends OverlayPanel
 				{
 					timingLine.append(" | ");
 				}
-				timingLine.append("Enrage: ").append(formatTimeSimple(bestTimeInEnrage));
+				timingLine.append("Enrage: ").append(TimeFormatter.compact(bestTimeInEnrage));
 			}
 			addLineLeft("", timingLine.toString(), Color.WHITE);
 		}
@@ -361,13 +379,13 @@ public class AraxxorStatsOverlay extends OverlayPanel
 		addSeparator();
 		
 		// Get target time
-		int targetSeconds = config.targetTotalTime();
+		int targetSeconds = settings.getTargetTotalTime();
 		long targetTime = targetSeconds > 0 ? targetSeconds * 1000L : -1;
 		
 		// Store target time text and color for centered rendering after panel render
 		if (targetTime > 0)
 		{
-			targetTimeText = formatTimeCompact(targetTime);
+			targetTimeText = TimeFormatter.compact(targetTime);
 			targetTimeColor = Color.WHITE;
 		}
 		else
@@ -385,9 +403,9 @@ public class AraxxorStatsOverlay extends OverlayPanel
 	private void renderRotationTimes(Graphics2D graphics, Dimension panelSize, FontMetrics fm, int padding)
 	{
 		// Get best times for each rotation
-		long whiteTime = plugin.getBestWhiteStartTime();
-		long redTime = plugin.getBestRedStartTime();
-		long greenTime = plugin.getBestGreenStartTime();
+		long whiteTime = fight.getRotationBestTime(AraxxorEggType.WHITE);
+		long redTime = fight.getRotationBestTime(AraxxorEggType.RED);
+		long greenTime = fight.getRotationBestTime(AraxxorEggType.GREEN);
 		
 		rotationTimesList.clear();
 		rotationTimesList.add(new RotationTime(AraxxorEggType.WHITE, whiteTime));
@@ -411,7 +429,7 @@ public class AraxxorStatsOverlay extends OverlayPanel
 		
 		for (int i = 0; i < rotationTimesList.size(); i++) {
 			RotationTime rt = rotationTimesList.get(i);
-			timeStrings[i] = rt.getTime() > 0 ? formatTimeCompact(rt.getTime()) : "-";
+			timeStrings[i] = rt.getTime() > 0 ? TimeFormatter.compact(rt.getTime()) : "-";
 			
 			if (rt.getTime() <= 0) {
 				dotColors[i] = COLOR_GRAY_NO_TIME;
@@ -488,7 +506,7 @@ public class AraxxorStatsOverlay extends OverlayPanel
 		}
 		
 		// Get the rotation for the last kill
-		AraxxorEggType rotation = plugin.getCurrentRotationStart();
+		AraxxorEggType rotation = fight.getCurrentRotationStart();
 		if (rotation == null)
 		{
 			return;
@@ -513,81 +531,6 @@ public class AraxxorStatsOverlay extends OverlayPanel
 		g2d.dispose();
 	}
 
-	private String formatTimeCompact(long timeMs)
-	{
-		if (timeMs < 0)
-		{
-			return "N/A";
-		}
-		long totalSeconds = timeMs / 1000;
-		long minutes = totalSeconds / 60;
-		long seconds = totalSeconds % 60;
-
-		if (minutes > 0)
-		{
-			StringBuilder sb = new StringBuilder(8);
-			sb.append(minutes).append(':');
-			if (seconds < 10) sb.append('0');
-			sb.append(seconds);
-			return sb.toString();
-		}
-		else
-		{
-			return seconds + "s";
-		}
-	}
-	
-	private String formatTimeSimple(long timeMs)
-	{
-		if (timeMs < 0)
-		{
-			return "-";
-		}
-		long totalSeconds = timeMs / 1000;
-		long minutes = totalSeconds / 60;
-		long seconds = totalSeconds % 60;
-		
-		if (minutes > 0)
-		{
-			StringBuilder sb = new StringBuilder(8);
-			sb.append(minutes).append(':');
-			if (seconds < 10) sb.append('0');
-			sb.append(seconds);
-			return sb.toString();
-		}
-		else
-		{
-			return seconds + "s";
-		}
-	}
-	
-	private String formatEnrageTime(long timeMs)
-	{
-		if (timeMs < 0)
-		{
-			return "-";
-		}
-		long totalSeconds = timeMs / 1000;
-		long minutes = totalSeconds / 60;
-		long seconds = totalSeconds % 60;
-		
-		// Format as :30 when under a minute, or 1:30 when over a minute
-		StringBuilder sb = new StringBuilder(8);
-		if (minutes > 0)
-		{
-			sb.append(minutes).append(':');
-			if (seconds < 10) sb.append('0');
-			sb.append(seconds);
-		}
-		else
-		{
-			sb.append(':');
-			if (seconds < 10) sb.append('0');
-			sb.append(seconds);
-		}
-		return sb.toString();
-	}
-	
 
 	private static class RotationTime
 	{
@@ -1,11 +1,14 @@
 package com.araxxortracker;
 
+import java.awt.AlphaComposite;
 import java.awt.Color;
+import java.awt.Composite;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.List;
 import javax.inject.Inject;
@@ -126,19 +129,28 @@ class AraxxorWorldOverlay extends Overlay
 	
 	private final Client client;
 	private final AraxxorPlugin plugin;
-	private final AraxxorConfig config;
 	
 	private final Font statFont;
 	
 	private float cachedOpacity = -1.0f;
 	private long cachedOpacityTime = -1L;
+	private AlphaComposite cachedComposite;
+	
+	/** Cards for the last finished fight and the inputs they were drawn from; render thread only */
+	private BufferedImage cardImage;
+	private int cardEndTick = -1;
+	private AraxxorSettings cardSettings;
+	
+	/** Snapshot, settings and time since the kill for the frame being rendered; only touched on the render thread */
+	private FightSnapshot fight;
+	private AraxxorSettings settings;
+	private long timeSinceDeath;
 	
 	@Inject
-	private AraxxorWorldOverlay(Client client, AraxxorPlugin plugin, AraxxorConfig config)
+	private AraxxorWorldOverlay(Client client, AraxxorPlugin plugin)
 	{
 		this.client = client;
 		this.plugin = plugin;
-		this.config = config;
 		this.statFont = FontManager.getRunescapeFont().deriveFont(Font.PLAIN, 13.0f);
 		setPosition(OverlayPosition.DYNAMIC);
 		setLayer(OverlayLayer.ABOVE_SCENE);
@@ -147,8 +159,30 @@ class AraxxorWorldOverlay extends Overlay
 	@Override
 	public Dimension render(Graphics2D graphics)
 	{
-		if (!config.showKillTiles() || !shouldShowStats())
+		long start = System.nanoTime();
+		try
+		{
+			return renderFrame(graphics);
+		}
+		finally
+		{
+			plugin.getWorldOverlayTimer().stop(start);
+		}
+	}
+	
+	private Dimension renderFrame(Graphics2D graphics)
+	{
+		settings = plugin.getSettings();
+		if (!settings.isShowKillTiles())
+		{
+			return null;
+		}
+		
+		fight = plugin.getFightSnapshot();
+		if (fight == null || !shouldShowStats())
 		{
+			// The kill is no longer on screen, so its cards won't be drawn again
+			cardImage = null;
 			return null;
 		}
 		
@@ -164,39 +198,104 @@ class AraxxorWorldOverlay extends Overlay
 			return null;
 		}
 		
-		graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-		graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		BufferedImage image = getCardImage();
 		
-		Font originalFont = graphics.getFont();
-		graphics.setFont(statFont);
+		LocalPoint localPoint = LocalPoint.fromWorld(client, deathLocation);
+		if (localPoint == null)
+		{
+			return null;
+		}
+		
+		Point basePoint = Perspective.getCanvasTextLocation(client, graphics, localPoint, "", 100);
+		if (basePoint == null)
+		{
+			return null;
+		}
+		
+		int x = basePoint.getX() - image.getWidth() / 2;
+		int y = basePoint.getY() - image.getHeight() - 40;
+		
+		Composite originalComposite = graphics.getComposite();
+		if (opacity < 1.0f)
+		{
+			graphics.setComposite(cachedComposite);
+		}
+		graphics.drawImage(image, x, y, null);
+		graphics.setComposite(originalComposite);
+		
+		return null;
+	}
+	
+	/**
+	 * The cards for the fight that just ended, drawn once at full opacity. A finished fight's
+	 * stats no longer change, so the image is only redrawn for a new kill or a config change.
+	 */
+	private BufferedImage getCardImage()
+	{
+		if (cardImage != null && fight.getEndTick() == cardEndTick && settings == cardSettings)
+		{
+			return cardImage;
+		}
 		
-		SplitComparisonMode comparisonMode = config.splitComparisonMode();
-		AraxxorEggType currentRotation = plugin.getCurrentRotationStart();
-		long overallBestKillTime = plugin.getBestKillTime();
+		SplitComparisonMode comparisonMode = settings.getSplitComparisonMode();
+		
+		AraxxorEggType currentRotation = fight.getCurrentRotationStart();
+		long overallBestKillTime = fight.getBestKillTime();
 		int rotationBestHits = getRotationBestHits(currentRotation);
 		int rotationBestDamage = getRotationBestDamage(currentRotation);
-		long rotationBestTime = currentRotation != null ? plugin.getRotationBestTime(currentRotation) : -1;
-		int overallBestHits = rotationBestHits >= 0 ? rotationBestHits : plugin.getBestHitCount();
-		int overallBestDamage = rotationBestDamage >= 0 ? rotationBestDamage : plugin.getBestDamageTaken();
-		long overallBestTimeToEnrage = plugin.getBestTimeToEnrage();
-		long overallBestTimeInEnrage = plugin.getBestTimeInEnrage();
-		int lastFightHits = plugin.getLastFightHits();
-		int lastFightDamageTaken = plugin.getLastFightDamageTaken();
-		long lastFightNormalTime = plugin.getLastFightNormalTime();
-		long lastFightEnrageTime = plugin.getLastFightEnrageTime();
+		long rotationBestTime = currentRotation != null ? fight.getRotationBestTime(currentRotation) : -1;
+		int overallBestHits = rotationBestHits >= 0 ? rotationBestHits : fight.getBestHitCount();
+		int overallBestDamage = rotationBestDamage >= 0 ? rotationBestDamage : fight.getBestDamageTaken();
+		long overallBestTimeToEnrage = fight.getBestTimeToEnrage();
+		long overallBestTimeInEnrage = fight.getBestTimeInEnrage();
+		int lastFightHits = fight.getLastFightHits();
+		int lastFightDamageTaken = fight.getLastFightDamageTaken();
+		long lastFightNormalTime = fight.getLastFightNormalTime();
+		long lastFightEnrageTime = fight.getLastFightEnrageTime();
 		
 		FightStats stats = gatherFightStats();
 		
-		List<StatCard> cards = buildCards(graphics, stats, comparisonMode, currentRotation, 
+		// Measure on a scratch image so the cards are laid out with the font they are drawn in
+		Graphics2D measure = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+		setupCardGraphics(measure);
+		List<StatCard> cards = buildCards(measure, stats, comparisonMode, currentRotation, 
 			overallBestKillTime, rotationBestHits, rotationBestDamage, rotationBestTime, overallBestHits, overallBestDamage,
 			overallBestTimeToEnrage, overallBestTimeInEnrage, lastFightHits, lastFightDamageTaken,
 			lastFightNormalTime, lastFightEnrageTime);
+		measure.dispose();
+		plugin.getWorldOverlayTimer().rebuilt(cards.size());
 		
-		renderCards(graphics, cards, deathLocation, opacity);
+		int totalWidth = 0;
+		int maxHeight = 0;
+		for (StatCard card : cards)
+		{
+			totalWidth += card.width;
+			maxHeight = Math.max(maxHeight, card.height);
+		}
+		totalWidth += CARD_SPACING * (cards.size() - 1);
 		
-		graphics.setFont(originalFont);
+		BufferedImage image = new BufferedImage(totalWidth, maxHeight, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D imageGraphics = image.createGraphics();
+		setupCardGraphics(imageGraphics);
+		int currentX = 0;
+		for (StatCard card : cards)
+		{
+			renderCard(imageGraphics, card, currentX, 0);
+			currentX += card.width + CARD_SPACING;
+		}
+		imageGraphics.dispose();
 		
-		return null;
+		cardImage = image;
+		cardEndTick = fight.getEndTick();
+		cardSettings = settings;
+		return image;
+	}
+	
+	private void setupCardGraphics(Graphics2D graphics)
+	{
+		graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+		graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		graphics.setFont(statFont);
 	}
 	
 	private List<StatCard> buildCards(Graphics2D graphics, FightStats stats, SplitComparisonMode comparisonMode,
@@ -205,7 +304,7 @@ class AraxxorWorldOverlay extends Overlay
 		int lastFightHits, int lastFightDamageTaken, long lastFightNormalTime, long lastFightEnrageTime)
 	{
 		FontMetrics fm = graphics.getFontMetrics();
-		boolean showSplits = config.showLiveSplits();
+		boolean showSplits = settings.isShowLiveSplits();
 		
 		List<StatCard> cards = new ArrayList<>();
 		
@@ -240,13 +339,13 @@ class AraxxorWorldOverlay extends Overlay
 		
 		List<MetricLine> timeLines = new ArrayList<>();
 		
-		String timeText = formatTimeCompact(stats.killTime);
+		String timeText = TimeFormatter.compact(stats.killTime);
 		Color timeColor = getTimeColor(stats.killTime, stats.bestKillTime);
 		ComparisonResult timeComp = showSplits ? calculateTimeComparison(stats.killTime, comparisonMode, overallBestKillTime,
 			currentRotation, rotationBestTime, lastFightNormalTime, lastFightEnrageTime) : ComparisonResult.none();
 		timeLines.add(new MetricLine("Time:", timeText, timeColor, timeComp.text, timeComp.color));
 		
-		String bestText = stats.bestKillTime > 0 ? formatTimeCompact(stats.bestKillTime) : "-";
+		String bestText = stats.bestKillTime > 0 ? TimeFormatter.compact(stats.bestKillTime) : "-";
 		timeLines.add(new MetricLine("Best:", bestText, COLOR_TIME_BEST));
 		
 		boolean hasEnrageData = stats.timeToEnrage > 0 || stats.timeInEnrage > 0;
@@ -254,14 +353,14 @@ class AraxxorWorldOverlay extends Overlay
 		{
 			if (stats.timeToEnrage > 0)
 			{
-				String toEnrageText = formatTimeCompact(stats.timeToEnrage + 1000);
+				String toEnrageText = TimeFormatter.compact(stats.timeToEnrage + 1000);
 				ComparisonResult toEnrageComp = showSplits ? calculatePhaseComparison(stats.timeToEnrage + 1000, true, comparisonMode,
 					overallBestTimeToEnrage, lastFightNormalTime) : ComparisonResult.none();
 				timeLines.add(new MetricLine("To Enrage:", toEnrageText, COLOR_VALUE, toEnrageComp.text, toEnrageComp.color));
 			}
 			if (stats.timeInEnrage > 0)
 			{
-				String inEnrageText = formatTimeCompact(stats.timeInEnrage);
+				String inEnrageText = TimeFormatter.compact(stats.timeInEnrage);
 				ComparisonResult inEnrageComp = showSplits ? calculatePhaseComparison(stats.timeInEnrage, false, comparisonMode,
 					overallBestTimeInEnrage, lastFightEnrageTime) : ComparisonResult.none();
 				timeLines.add(new MetricLine("In Enrage:", inEnrageText, COLOR_VALUE, inEnrageComp.text, inEnrageComp.color));
@@ -304,58 +403,18 @@ class AraxxorWorldOverlay extends Overlay
 		return new StatCard(title, lines, cardWidth, cardHeight);
 	}
 	
-	private void renderCards(Graphics2D graphics, List<StatCard> cards, WorldPoint deathLocation, float opacity)
-	{
-		LocalPoint localPoint = LocalPoint.fromWorld(client, deathLocation);
-		if (localPoint == null)
-		{
-			return;
-		}
-		
-		Point basePoint = Perspective.getCanvasTextLocation(client, graphics, localPoint, "", 100);
-		if (basePoint == null)
-		{
-			return;
-		}
-		
-		int totalWidth = 0;
-		int maxHeight = 0;
-		for (StatCard card : cards)
-		{
-			totalWidth += card.width;
-			if (cards.indexOf(card) < cards.size() - 1)
-			{
-				totalWidth += CARD_SPACING;
-			}
-			maxHeight = Math.max(maxHeight, card.height);
-		}
-		
-		int startX = basePoint.getX() - totalWidth / 2;
-		int startY = basePoint.getY() - maxHeight - 40;
-		
-		int currentX = startX;
-		for (StatCard card : cards)
-		{
-			renderCard(graphics, card, currentX, startY, opacity);
-			currentX += card.width + CARD_SPACING;
-		}
-	}
-	
-	private void renderCard(Graphics2D graphics, StatCard card, int x, int y, float opacity)
+	private void renderCard(Graphics2D graphics, StatCard card, int x, int y)
 	{
 		FontMetrics fm = graphics.getFontMetrics();
 		
-		Color bgColor = applyOpacity(COLOR_BACKGROUND, opacity);
-		graphics.setColor(bgColor);
+		graphics.setColor(COLOR_BACKGROUND);
 		graphics.fillRect(x, y, card.width, card.height);
 		
-		Color borderColor = applyOpacity(COLOR_BORDER, opacity);
-		graphics.setColor(borderColor);
+		graphics.setColor(COLOR_BORDER);
 		graphics.drawRect(x, y, card.width - 1, card.height - 1);
 		
 		int titleY = y + CARD_PADDING + fm.getAscent();
-		Color titleColor = applyOpacity(COLOR_LABEL, opacity);
-		graphics.setColor(titleColor);
+		graphics.setColor(COLOR_LABEL);
 		graphics.drawString(card.title, x + CARD_PADDING, titleY);
 		
 		int underlineY = titleY + 4;
@@ -364,20 +423,17 @@ class AraxxorWorldOverlay extends Overlay
 		int lineY = titleY + fm.getHeight() + LINE_SPACING + 4;
 		for (MetricLine line : card.lines)
 		{
-			Color labelColor = applyOpacity(COLOR_LABEL, opacity);
-			graphics.setColor(labelColor);
+			graphics.setColor(COLOR_LABEL);
 			graphics.drawString(line.label, x + CARD_PADDING, lineY);
 			
 			int valueX = x + CARD_PADDING + fm.stringWidth(line.label) + 4;
-			Color valueColor = applyOpacity(line.valueColor, opacity);
-			graphics.setColor(valueColor);
+			graphics.setColor(line.valueColor);
 			graphics.drawString(line.value, valueX, lineY);
 			
 			if (!line.comparison.isEmpty() && line.comparisonColor != null)
 			{
 				int compX = valueX + fm.stringWidth(line.value) + 4;
-				Color compColor = applyOpacity(line.comparisonColor, opacity);
-				graphics.setColor(compColor);
+				graphics.setColor(line.comparisonColor);
 				graphics.drawString(line.comparison, compX, lineY);
 			}
 			
@@ -385,78 +441,46 @@ class AraxxorWorldOverlay extends Overlay
 		}
 	}
 	
+	/**
+	 * Card opacity for the fade in and out, recomputed at most every 50ms along with its composite
+	 */
 	private float calculateOpacity()
 	{
-		long currentTime = System.currentTimeMillis();
-		long fightEndTime = plugin.getFightEndTime();
-		
-		if (fightEndTime == -1)
+		if (cachedOpacityTime != -1 && timeSinceDeath >= cachedOpacityTime && (timeSinceDeath - cachedOpacityTime) < 50)
 		{
-			return 0.0f;
+			return cachedOpacity;
 		}
 		
-		long timeSinceDeath = currentTime - fightEndTime;
-		
-		if (cachedOpacityTime != -1 && (currentTime - cachedOpacityTime) < 50 && timeSinceDeath >= 0)
+		cachedOpacityTime = timeSinceDeath;
+		cachedOpacity = fadeOpacity();
+		if (cachedOpacity > 0.0f && cachedOpacity < 1.0f)
 		{
-			return cachedOpacity;
+			cachedComposite = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, cachedOpacity);
 		}
-		
-		cachedOpacityTime = currentTime;
-		
+		return cachedOpacity;
+	}
+	
+	private float fadeOpacity()
+	{
 		if (timeSinceDeath < 0 || timeSinceDeath >= DISPLAY_DURATION_MS)
 		{
-			cachedOpacity = 0.0f;
-			return cachedOpacity;
+			return 0.0f;
 		}
 		
 		if (timeSinceDeath < FADE_IN_DURATION_MS)
 		{
-			cachedOpacity = (float) timeSinceDeath / FADE_IN_DURATION_MS;
-			return cachedOpacity;
+			return (float) timeSinceDeath / FADE_IN_DURATION_MS;
 		}
 		
 		if (timeSinceDeath < FADE_OUT_START_MS)
 		{
-			cachedOpacity = 1.0f;
-			return cachedOpacity;
+			return 1.0f;
 		}
 		
 		long fadeOutElapsed = timeSinceDeath - FADE_OUT_START_MS;
 		long fadeOutDuration = DISPLAY_DURATION_MS - FADE_OUT_START_MS;
 		float fadeOutProgress = (float) fadeOutElapsed / fadeOutDuration;
-		cachedOpacity = 1.0f - (fadeOutProgress * (1.0f - MIN_OPACITY));
-		return cachedOpacity;
-	}
-	
-	private Color applyOpacity(Color color, float opacity)
-	{
-		if (opacity >= 1.0f)
-		{
-			return color;
-		}
-		int alpha = (int) (color.getAlpha() * opacity);
-		return new Color(color.getRed(), color.getGreen(), color.getBlue(), alpha);
-	}
-	
-	private String formatTimeCompact(long milliseconds)
-	{
-		if (milliseconds < 0)
-		{
-			return "0s";
-		}
-		
-		long totalSeconds = milliseconds / 1000;
-		if (totalSeconds < 60)
-		{
-			return totalSeconds + "s";
-		}
-		else
-		{
-			long minutes = totalSeconds / 60;
-			long seconds = totalSeconds % 60;
-			return String.format("%d:%02d", minutes, seconds);
-		}
+		return 1.0f - (fadeOutProgress * (1.0f - MIN_OPACITY));
 	}
 	
 	private String formatHitsText(int currentHits, int bestHits)
@@ -734,7 +758,7 @@ class AraxxorWorldOverlay extends Overlay
 	{
 		if (mode == SplitComparisonMode.TARGET)
 		{
-			int targetSeconds = config.targetTotalTime();
+			int targetSeconds = settings.getTargetTotalTime();
 			if (targetSeconds > 0)
 			{
 				return targetSeconds * 1000L;
@@ -760,7 +784,7 @@ class AraxxorWorldOverlay extends Overlay
 		if (mode == SplitComparisonMode.TARGET)
 		{
 			// Use total time target for all comparisons (simplified to just total time)
-			int targetSeconds = config.targetTotalTime();
+			int targetSeconds = settings.getTargetTotalTime();
 			if (targetSeconds > 0)
 			{
 				return targetSeconds * 1000L;
@@ -783,22 +807,22 @@ class AraxxorWorldOverlay extends Overlay
 	
 	private FightStats gatherFightStats()
 	{
-		int lastHits = plugin.getLastFightHits();
-		int lastDamageTaken = plugin.getLastFightDamageTaken();
-		int lastDamageDealt = plugin.getLastFightDamageDealt();
-		long killTime = plugin.getElapsedTime();
-		double dps = plugin.getDPS();
-		double avgHit = plugin.getAverageHit();
+		int lastHits = fight.getLastFightHits();
+		int lastDamageTaken = fight.getLastFightDamageTaken();
+		int lastDamageDealt = fight.getLastFightDamageDealt();
+		long killTime = fight.getElapsedTime();
+		double dps = fight.getDPS();
+		double avgHit = fight.getAverageHit();
 		
-		AraxxorEggType rotation = plugin.getCurrentRotationStart();
-		long timeToEnrage = plugin.getCurrentTimeToEnrage();
-		long timeInEnrage = plugin.getCurrentTimeInEnrage();
+		AraxxorEggType rotation = fight.getCurrentRotationStart();
+		long timeToEnrage = fight.getCurrentTimeToEnrage();
+		long timeInEnrage = fight.getCurrentTimeInEnrage();
 		
 		int rotationBestHits = getRotationBestHits(rotation);
 		int rotationBestDamage = getRotationBestDamage(rotation);
-		int bestHits = rotationBestHits >= 0 ? rotationBestHits : plugin.getBestHitCount();
-		int bestDamage = rotationBestDamage >= 0 ? rotationBestDamage : plugin.getBestDamageTaken();
-		long bestKillTime = plugin.getBestKillTime();
+		int bestHits = rotationBestHits >= 0 ? rotationBestHits : fight.getBestHitCount();
+		int bestDamage = rotationBestDamage >= 0 ? rotationBestDamage : fight.getBestDamageTaken();
+		long bestKillTime = fight.getBestKillTime();
 		
 		return new FightStats(
 			lastHits, lastDamageTaken, lastDamageDealt,
@@ -814,7 +838,7 @@ class AraxxorWorldOverlay extends Overlay
 		{
 			return -1;
 		}
-		return plugin.getRotationBestHits(rotation);
+		return fight.getRotationBestHits(rotation);
 	}
 	
 	private int getRotationBestDamage(AraxxorEggType rotation)
@@ -823,41 +847,27 @@ class AraxxorWorldOverlay extends Overlay
 		{
 			return -1;
 		}
-		return plugin.getRotationBestDamage(rotation);
+		return fight.getRotationBestDamage(rotation);
 	}
 	
 	private boolean shouldShowStats()
 	{
-		if (plugin.getFightEndTime() == -1 || plugin.getFightStartTime() == -1)
+		if (!fight.hasFightStarted() || !fight.hasFightEnded())
 		{
 			return false;
 		}
 		
-		if (plugin.isFightActive() && plugin.getFightStartTime() > plugin.getFightEndTime())
-		{
-			return false;
-		}
-		
-		long timeSinceDeath = System.currentTimeMillis() - plugin.getFightEndTime();
+		timeSinceDeath = fight.getTimeSinceEnd();
 		return timeSinceDeath > 0 && timeSinceDeath < DISPLAY_DURATION_MS;
 	}
 	
 	private WorldPoint getBossDeathLocation()
 	{
-		if (plugin.getBossDeathLocation() != null)
+		if (fight.getBossDeathLocation() != null)
 		{
-			return plugin.getBossDeathLocation();
+			return fight.getBossDeathLocation();
 		}
 		
-		if (plugin.getAraxxorNpc() != null)
-		{
-			WorldPoint location = plugin.getAraxxorNpc().getWorldLocation();
-			if (location != null)
-			{
-				return location;
-			}
-		}
-		
-		return null;
+		return fight.getAraxxorLocation();
 	}
 }
@@ -0,0 +1,68 @@
+package com.araxxortracker;
+
+import java.util.ArrayList;
+import java.util.List;
+import net.runelite.client.config.ConfigManager;
+
+/**
+ * Plain string values in the plugin's config group: the part of {@link ConfigManager} that
+ * kill storage, stats and migration use, so tests can stand in a map for the client's config
+ */
+interface ConfigKeys
+{
+	String GROUP = "arraxxor";
+
+	/**
+	 * @return the value, or null if the key is unset
+	 */
+	String get(String key);
+
+	void set(String key, String value);
+
+	void unset(String key);
+
+	/**
+	 * Keys in the group starting with {@code prefix}, without the group name
+	 */
+	List<String> keys(String prefix);
+
+	static ConfigKeys of(ConfigManager configManager)
+	{
+		return new ConfigKeys()
+		{
+			@Override
+			public String get(String key)
+			{
+				return configManager.getConfiguration(GROUP, key);
+			}
+
+			@Override
+			public void set(String key, String value)
+			{
+				configManager.setConfiguration(GROUP, key, value);
+			}
+
+			@Override
+			public void unset(String key)
+			{
+				configManager.unsetConfiguration(GROUP, key);
+			}
+
+			@Override
+			public List<String> keys(String prefix)
+			{
+				List<String> fullKeys = configManager.getConfigurationKeys(GROUP + "." + prefix);
+				List<String> keys = new ArrayList<>(fullKeys.size());
+				for (String fullKey : fullKeys)
+				{
+					int dot = fullKey.indexOf('.');
+					if (dot >= 0)
+					{
+						keys.add(fullKey.substring(dot + 1));
+					}
+				}
+				return keys;
+			}
+		};
+	}
+}
@@ -0,0 +1,280 @@
+package com.araxxortracker;
+
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link KillStore} kept in the RuneLite profile so it syncs between machines.
+ * <p>
+ * Kills are packed {@link #BLOCK_SIZE} to a config key with {@link KillBlockCodec}. Only the
+ * newest (active) block is ever rewritten; once full it is sealed and never touched again
+ * except to be removed whole by compaction. A small index key holds each block's time range,
+ * kill count and loot value, so startup reads the index and the active block rather than
+ * every block.
+ */
+class ConfigKillStore implements KillStore
+{
+	static final int BLOCK_SIZE = 256;
+
+	private static final String INDEX_KEY = "killBlockIndex";
+	private static final String BLOCK_KEY_PREFIX = "killBlock_";
+
+	private final ConfigKeys config;
+	private final List<PageInfo> pages = new ArrayList<>();
+	private final List<SoftReference<KillHistory>> cache = new ArrayList<>();
+	private boolean opened;
+
+	ConfigKillStore(ConfigKeys config)
+	{
+		this.config = config;
+	}
+
+	/**
+	 * Read the index key, rebuilding it from the block keys if it is missing or damaged
+	 */
+	@Override
+	public synchronized void open()
+	{
+		if (opened)
+		{
+			return;
+		}
+		opened = true;
+
+		List<PageInfo> index = KillBlockCodec.decodeIndex(config.get(INDEX_KEY));
+		if (index == null)
+		{
+			rebuildIndex();
+			return;
+		}
+
+		for (PageInfo page : index)
+		{
+			pages.add(page);
+			cache.add(new SoftReference<>(null));
+		}
+		reconcileActiveBlock();
+	}
+
+	@Override
+	public synchronized List<PageInfo> getPages()
+	{
+		return Collections.unmodifiableList(new ArrayList<>(pages));
+	}
+
+	@Override
+	public synchronized int getPageCount()
+	{
+		return pages.size();
+	}
+
+	@Override
+	public synchronized int getTotalKills()
+	{
+		int total = 0;
+		for (PageInfo page : pages)
+		{
+			total += page.getKillCount();
+		}
+		return total;
+	}
+
+	/**
+	 * Decode one block, from the soft cache when it is still resident; a damaged block reads as empty
+	 */
+	@Override
+	public synchronized KillHistory getPage(int index)
+	{
+		KillHistory block = cache.get(index).get();
+		if (block == null)
+		{
+			block = readBlock(pages.get(index).getPageNumber());
+			cache.set(index, new SoftReference<>(block));
+		}
+		return block;
+	}
+
+	@Override
+	public synchronized KillHistory readTail(int fromPage, long cutoffTimestamp)
+	{
+		KillHistory tail = new KillHistory();
+		for (int i = Math.max(fromPage, 0); i < pages.size(); i++)
+		{
+			KillHistory block = getPage(i);
+			for (int row = 0; row < block.size(); row++)
+			{
+				if (block.getTimestamp(row) >= cutoffTimestamp)
+				{
+					tail.appendRow(block, row);
+				}
+			}
+		}
+		tail.sortByTimestamp();
+		return tail;
+	}
+
+	@Override
+	public synchronized void append(KillHistory kills) throws IOException
+	{
+		int row = 0;
+		try
+		{
+			while (row < kills.size())
+			{
+				if (pages.isEmpty() || pages.get(pages.size() - 1).getKillCount() >= BLOCK_SIZE)
+				{
+					int blockNumber = pages.isEmpty() ? 0 : pages.get(pages.size() - 1).getPageNumber() + 1;
+					pages.add(new PageInfo(blockNumber, Long.MAX_VALUE, Long.MIN_VALUE, 0, 0));
+					cache.add(new SoftReference<>(new KillHistory()));
+				}
+
+				int active = pages.size() - 1;
+				PageInfo info = pages.get(active);
+				int count = Math.min(BLOCK_SIZE - info.getKillCount(), kills.size() - row);
+
+				// Cached blocks may be held by readers, so the rewritten active block is a new copy
+				KillHistory block = getPage(active).copy();
+				long start = info.getStartTimestamp();
+				long end = info.getEndTimestamp();
+				long value = info.getLootValue();
+				for (int i = row; i < row + count; i++)
+				{
+					block.appendRow(kills, i);
+					start = Math.min(start, kills.getTimestamp(i));
+					end = Math.max(end, kills.getTimestamp(i));
+					value += kills.getLootValue(i);
+				}
+
+				config.set(blockKey(info.getPageNumber()), KillBlockCodec.encodeBlock(block, 0, block.size()));
+				pages.set(active, new PageInfo(info.getPageNumber(), start, end, block.size(), value));
+				cache.set(active, new SoftReference<>(block));
+
+				row += count;
+			}
+
+			writeIndex();
+		}
+		catch (RuntimeException e)
+		{
+			// Blocks set so far stay counted, so report how many kills made it in like the file store does
+			throw row > 0 ? new PartialAppendException(row, e) : new IOException("Unable to write kill blocks", e);
+		}
+	}
+
+	@Override
+	public synchronized void removeOldestPages(int count)
+	{
+		count = Math.min(count, pages.size() - 1);
+		if (count <= 0)
+		{
+			return;
+		}
+
+		List<PageInfo> removed = new ArrayList<>(pages.subList(0, count));
+		pages.subList(0, count).clear();
+		cache.subList(0, count).clear();
+		writeIndex();
+
+		for (PageInfo page : removed)
+		{
+			config.unset(blockKey(page.getPageNumber()));
+		}
+	}
+
+	private static String blockKey(int blockNumber)
+	{
+		return BLOCK_KEY_PREFIX + blockNumber;
+	}
+
+	private KillHistory readBlock(int blockNumber)
+	{
+		KillHistory block = KillBlockCodec.decodeBlock(config.get(blockKey(blockNumber)));
+		return block != null ? block : new KillHistory();
+	}
+
+	/**
+	 * The index is written after the active block, so an interrupted append can leave the
+	 * block ahead of its index entry; recount it
+	 */
+	private void reconcileActiveBlock()
+	{
+		if (pages.isEmpty())
+		{
+			return;
+		}
+
+		int active = pages.size() - 1;
+		PageInfo info = pages.get(active);
+		KillHistory block = getPage(active);
+		if (block.size() == info.getKillCount())
+		{
+			return;
+		}
+
+		pages.set(active, describe(info.getPageNumber(), block));
+		writeIndex();
+	}
+
+	/**
+	 * Recreate the index by decoding every block key; only needed when the index is lost
+	 */
+	private void rebuildIndex()
+	{
+		pages.clear();
+		cache.clear();
+
+		List<Integer> blockNumbers = new ArrayList<>();
+		for (String key : config.keys(BLOCK_KEY_PREFIX))
+		{
+			try
+			{
+				blockNumbers.add(Integer.parseInt(key.substring(BLOCK_KEY_PREFIX.length())));
+			}
+			catch (NumberFormatException e)
+			{
+				// Not one of ours
+			}
+		}
+		if (blockNumbers.isEmpty())
+		{
+			return;
+		}
+		Collections.sort(blockNumbers);
+
+		for (int blockNumber : blockNumbers)
+		{
+			KillHistory block = readBlock(blockNumber);
+			if (block.isEmpty())
+			{
+				continue;
+			}
+			pages.add(describe(blockNumber, block));
+			cache.add(new SoftReference<>(block));
+		}
+
+		writeIndex();
+	}
+
+	private static PageInfo describe(int blockNumber, KillHistory block)
+	{
+		if (block.isEmpty())
+		{
+			return new PageInfo(blockNumber, Long.MAX_VALUE, Long.MIN_VALUE, 0, 0);
+		}
+
+		long value = 0;
+		for (int row = 0; row < block.size(); row++)
+		{
+			value += block.getLootValue(row);
+		}
+		return new PageInfo(blockNumber, block.getTimestamp(0), block.getTimestamp(block.size() - 1), block.size(), value);
+	}
+
+	private void writeIndex()
+	{
+		config.set(INDEX_KEY, KillBlockCodec.encodeIndex(pages));
+	}
+}
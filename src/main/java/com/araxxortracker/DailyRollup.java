@@ -0,0 +1,208 @@
+package com.araxxortracker;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import lombok.Getter;
+
+/**
+ * Aggregate of every kill on one local calendar day, kept once the individual kills are compacted away
+ */
+class DailyRollup
+{
+	/** Rotation slots are egg type ordinals, plus one for kills with no recorded rotation */
+	static final int ROTATION_SLOTS = AraxxorEggType.values().length + 1;
+	private static final int UNKNOWN_ROTATION_SLOT = ROTATION_SLOTS - 1;
+
+	@Getter
+	private final long epochDay;
+	@Getter
+	private int killCount;
+	@Getter
+	private long lootValue;
+
+	private final int[] rotationKills = new int[ROTATION_SLOTS];
+	private final long[] rotationMinKillTime = new long[ROTATION_SLOTS];
+	private final long[] rotationTotalKillTime = new long[ROTATION_SLOTS];
+
+	/** Summed quantity per item id */
+	@Getter
+	private final Map<Integer, Long> loot = new HashMap<>();
+	/** Number of kills that dropped each unique item */
+	@Getter
+	private final Map<Integer, Integer> uniqueDrops = new HashMap<>();
+	/**
+	 * Timestamps of the kills folded in, so history copied from another store can tell which
+	 * kills a day already holds; empty for rollups written before they were kept
+	 */
+	@Getter
+	private final Set<Long> timestamps = new TreeSet<>();
+
+	DailyRollup(long epochDay)
+	{
+		this.epochDay = epochDay;
+		for (int i = 0; i < ROTATION_SLOTS; i++)
+		{
+			rotationMinKillTime[i] = Long.MAX_VALUE;
+		}
+	}
+
+	/**
+	 * Fold one kill from a history into this day
+	 */
+	void add(KillHistory kills, int row)
+	{
+		killCount++;
+		timestamps.add(kills.getTimestamp(row));
+		lootValue += kills.getLootValue(row);
+
+		AraxxorEggType rotation = kills.getRotation(row);
+		int slot = rotation != null ? rotation.ordinal() : UNKNOWN_ROTATION_SLOT;
+		long killTime = kills.getKillTime(row);
+		rotationKills[slot]++;
+		rotationTotalKillTime[slot] += killTime;
+		rotationMinKillTime[slot] = Math.min(rotationMinKillTime[slot], killTime);
+
+		for (int j = kills.lootStart(row), end = kills.lootEnd(row); j < end; j++)
+		{
+			int itemId = kills.getLootItemId(j);
+			loot.merge(itemId, (long) kills.getLootQuantity(j), Long::sum);
+			if (AraxxorLootBox.isUniqueDrop(itemId))
+			{
+				uniqueDrops.merge(itemId, 1, Integer::sum);
+			}
+		}
+	}
+
+	/**
+	 * Fold another rollup of the same day into this one
+	 */
+	void merge(DailyRollup other)
+	{
+		killCount += other.killCount;
+		lootValue += other.lootValue;
+		for (int i = 0; i < ROTATION_SLOTS; i++)
+		{
+			rotationKills[i] += other.rotationKills[i];
+			rotationTotalKillTime[i] += other.rotationTotalKillTime[i];
+			rotationMinKillTime[i] = Math.min(rotationMinKillTime[i], other.rotationMinKillTime[i]);
+		}
+		for (Map.Entry<Integer, Long> entry : other.loot.entrySet())
+		{
+			loot.merge(entry.getKey(), entry.getValue(), Long::sum);
+		}
+		for (Map.Entry<Integer, Integer> entry : other.uniqueDrops.entrySet())
+		{
+			uniqueDrops.merge(entry.getKey(), entry.getValue(), Integer::sum);
+		}
+		timestamps.addAll(other.timestamps);
+	}
+
+	/**
+	 * Whether the timestamp of every kill folded in is known
+	 */
+	boolean isTimestamped()
+	{
+		return timestamps.size() == killCount;
+	}
+
+	/**
+	 * Number of kills for a rotation; null means kills with no recorded rotation
+	 */
+	int getKillCount(AraxxorEggType rotation)
+	{
+		return rotationKills[slot(rotation)];
+	}
+
+	/**
+	 * Fastest kill for a rotation, or -1 if there were none
+	 */
+	long getMinKillTime(AraxxorEggType rotation)
+	{
+		int slot = slot(rotation);
+		return rotationKills[slot] > 0 ? rotationMinKillTime[slot] : -1;
+	}
+
+	/**
+	 * Mean kill time for a rotation, or -1 if there were none
+	 */
+	long getAverageKillTime(AraxxorEggType rotation)
+	{
+		int slot = slot(rotation);
+		return rotationKills[slot] > 0 ? rotationTotalKillTime[slot] / rotationKills[slot] : -1;
+	}
+
+	private static int slot(AraxxorEggType rotation)
+	{
+		return rotation != null ? rotation.ordinal() : UNKNOWN_ROTATION_SLOT;
+	}
+
+	void write(DataOutput out) throws IOException
+	{
+		out.writeLong(epochDay);
+		out.writeInt(killCount);
+		out.writeLong(lootValue);
+		for (int i = 0; i < ROTATION_SLOTS; i++)
+		{
+			out.writeInt(rotationKills[i]);
+			out.writeLong(rotationMinKillTime[i]);
+			out.writeLong(rotationTotalKillTime[i]);
+		}
+		out.writeInt(loot.size());
+		for (Map.Entry<Integer, Long> entry : loot.entrySet())
+		{
+			out.writeInt(entry.getKey());
+			out.writeLong(entry.getValue());
+		}
+		out.writeInt(uniqueDrops.size());
+		for (Map.Entry<Integer, Integer> entry : uniqueDrops.entrySet())
+		{
+			out.writeInt(entry.getKey());
+			out.writeInt(entry.getValue());
+		}
+		out.writeInt(timestamps.size());
+		for (long timestamp : timestamps)
+		{
+			out.writeLong(timestamp);
+		}
+	}
+
+	/**
+	 * @param withTimestamps whether the kill timestamps follow, as they do from rollup version 3
+	 */
+	static DailyRollup read(DataInput in, boolean withTimestamps) throws IOException
+	{
+		DailyRollup rollup = new DailyRollup(in.readLong());
+		rollup.killCount = in.readInt();
+		rollup.lootValue = in.readLong();
+		for (int i = 0; i < ROTATION_SLOTS; i++)
+		{
+			rollup.rotationKills[i] = in.readInt();
+			rollup.rotationMinKillTime[i] = in.readLong();
+			rollup.rotationTotalKillTime[i] = in.readLong();
+		}
+		int lootCount = in.readInt();
+		for (int i = 0; i < lootCount; i++)
+		{
+			rollup.loot.put(in.readInt(), in.readLong());
+		}
+		int uniqueCount = in.readInt();
+		for (int i = 0; i < uniqueCount; i++)
+		{
+			rollup.uniqueDrops.put(in.readInt(), in.readInt());
+		}
+		if (withTimestamps)
+		{
+			int timestampCount = in.readInt();
+			for (int i = 0; i < timestampCount; i++)
+			{
+				rollup.timestamps.add(in.readLong());
+			}
+		}
+		return rollup;
+	}
+}
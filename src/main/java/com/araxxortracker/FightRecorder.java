@@ -0,0 +1,337 @@
+package com.araxxortracker;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opt-in recorder of the raw events the plugin sees during a fight, for diagnosing
+ * mis-detected rotations after the fact.
+ * <p>
+ * While a fight runs, each event is written as a fixed-width row into a preallocated int ring
+ * buffer, so recording costs a few array stores on the client thread and nothing is logged.
+ * When the fight ends the rows are copied out and a background thread encodes them into a
+ * small binary file: a header, then per event a type byte, the tick delta since the previous
+ * event and the payload, all as varints. If a fight overruns the ring the oldest events are
+ * dropped and the count is kept in the header.
+ */
+class FightRecorder
+{
+	static final String DIRECTORY_NAME = "recordings";
+	static final int MAGIC = 0x41524652; // "ARFR"
+	static final byte VERSION = 1;
+
+	static final int NPC_SPAWNED = 1;
+	static final int NPC_DESPAWNED = 2;
+	static final int HITSPLAT = 3;
+	static final int ANIMATION = 4;
+	static final int ACTOR_DEATH = 5;
+	static final int KILL_TIME = 6;
+	static final int LOOT = 7;
+
+	/** Hitsplat target recorded for the local player instead of an NPC id */
+	static final int TARGET_PLAYER = -1;
+
+	private static final int CAPACITY = 4096;
+	/** Ints per event row: tick, type and three payload values */
+	static final int ROW = 5;
+	private static final int MAX_RECORDINGS = 100;
+
+	private final File directory;
+	private final ExecutorService executor;
+
+	private final int[] ring = new int[CAPACITY * ROW];
+	private int head;
+	private int size;
+	private int dropped;
+	private boolean recording;
+	private long startTimestamp;
+
+	FightRecorder(File directory)
+	{
+		this.directory = directory;
+		// One write queued behind the running one at most; further fights are simply not saved
+		this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(1), r -> {
+			Thread thread = new Thread(r, "AraxxorFightRecorder");
+			thread.setDaemon(true);
+			return thread;
+		}, new ThreadPoolExecutor.DiscardPolicy());
+	}
+
+	boolean isRecording()
+	{
+		return recording;
+	}
+
+	/**
+	 * Start a new recording, discarding anything not yet finished
+	 */
+	void begin(long timestamp)
+	{
+		head = 0;
+		size = 0;
+		dropped = 0;
+		startTimestamp = timestamp;
+		recording = true;
+	}
+
+	/**
+	 * Record one event; a no-op unless a recording is running
+	 */
+	void record(int tick, int type, int a, int b, int c)
+	{
+		if (!recording)
+		{
+			return;
+		}
+
+		int slot = (head + size) % CAPACITY;
+		if (size == CAPACITY)
+		{
+			head = (head + 1) % CAPACITY;
+			dropped++;
+		}
+		else
+		{
+			size++;
+		}
+
+		int offset = slot * ROW;
+		ring[offset] = tick;
+		ring[offset + 1] = type;
+		ring[offset + 2] = a;
+		ring[offset + 3] = b;
+		ring[offset + 4] = c;
+	}
+
+	/**
+	 * Stop recording and hand the events to the background thread for writing
+	 */
+	void finish()
+	{
+		if (!recording)
+		{
+			return;
+		}
+		recording = false;
+
+		if (size == 0)
+		{
+			return;
+		}
+
+		int[] rows = new int[size * ROW];
+		int first = head * ROW;
+		int firstLength = Math.min(size, CAPACITY - head) * ROW;
+		System.arraycopy(ring, first, rows, 0, firstLength);
+		System.arraycopy(ring, 0, rows, firstLength, rows.length - firstLength);
+
+		long timestamp = startTimestamp;
+		int droppedRows = dropped;
+		executor.execute(() -> write(timestamp, droppedRows, rows));
+	}
+
+	/**
+	 * Drop any running recording and wait briefly for a pending write
+	 */
+	void shutdown()
+	{
+		recording = false;
+		executor.shutdown();
+		try
+		{
+			executor.awaitTermination(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void write(long timestamp, int droppedRows, int[] rows)
+	{
+		try
+		{
+			if (!directory.isDirectory() && !directory.mkdirs())
+			{
+				return;
+			}
+
+			File file = new File(directory, "fight-" + timestamp + ".bin");
+			File temp = new File(directory, file.getName() + ".tmp");
+			try (OutputStream out = new FileOutputStream(temp))
+			{
+				out.write(encode(timestamp, droppedRows, rows));
+			}
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+			pruneOldRecordings();
+		}
+		catch (IOException e)
+		{
+			// Recordings are diagnostics only
+		}
+	}
+
+	static byte[] encode(long timestamp, int droppedRows, int[] rows) throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 + rows.length * 2);
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(MAGIC);
+		out.writeByte(VERSION);
+		out.writeLong(timestamp);
+		writeVarInt(out, droppedRows);
+		writeVarInt(out, rows.length / ROW);
+
+		int previousTick = 0;
+		for (int offset = 0; offset < rows.length; offset += ROW)
+		{
+			int tick = rows[offset];
+			int type = rows[offset + 1];
+			out.writeByte(type);
+			writeZigZag(out, tick - previousTick);
+			previousTick = tick;
+
+			switch (type)
+			{
+				case NPC_SPAWNED:
+				case NPC_DESPAWNED:
+				case HITSPLAT:
+					writeZigZag(out, rows[offset + 2]);
+					writeZigZag(out, rows[offset + 3]);
+					writeZigZag(out, rows[offset + 4]);
+					break;
+				case ANIMATION:
+				case LOOT:
+					writeZigZag(out, rows[offset + 2]);
+					writeZigZag(out, rows[offset + 3]);
+					break;
+				default:
+					writeZigZag(out, rows[offset + 2]);
+					break;
+			}
+		}
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Decode a recording back into {@link #ROW}-int rows of tick, type and payload
+	 *
+	 * @return the rows, or null if the data is not a readable recording
+	 */
+	static int[] decode(byte[] data)
+	{
+		ByteBuffer in = ByteBuffer.wrap(data);
+		try
+		{
+			if (in.getInt() != MAGIC || in.get() != VERSION)
+			{
+				return null;
+			}
+			in.getLong();
+			readVarInt(in);
+
+			int count = readVarInt(in);
+			if (count < 0 || count > in.remaining())
+			{
+				return null;
+			}
+
+			int[] rows = new int[count * ROW];
+			int tick = 0;
+			for (int offset = 0; offset < rows.length; offset += ROW)
+			{
+				int type = in.get() & 0xFF;
+				tick += readZigZag(in);
+				rows[offset] = tick;
+				rows[offset + 1] = type;
+				rows[offset + 2] = readZigZag(in);
+				switch (type)
+				{
+					case NPC_SPAWNED:
+					case NPC_DESPAWNED:
+					case HITSPLAT:
+						rows[offset + 3] = readZigZag(in);
+						rows[offset + 4] = readZigZag(in);
+						break;
+					case ANIMATION:
+					case LOOT:
+						rows[offset + 3] = readZigZag(in);
+						break;
+					default:
+						break;
+				}
+			}
+			return rows;
+		}
+		catch (BufferUnderflowException e)
+		{
+			return null;
+		}
+	}
+
+	private void pruneOldRecordings()
+	{
+		File[] files = directory.listFiles((dir, name) -> name.startsWith("fight-") && name.endsWith(".bin"));
+		if (files == null || files.length <= MAX_RECORDINGS)
+		{
+			return;
+		}
+
+		// Names carry the start timestamp, so name order is age order
+		Arrays.sort(files);
+		for (int i = 0; i < files.length - MAX_RECORDINGS; i++)
+		{
+			files[i].delete();
+		}
+	}
+
+	private static void writeVarInt(DataOutputStream out, int value) throws IOException
+	{
+		while ((value & ~0x7F) != 0)
+		{
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	private static void writeZigZag(DataOutputStream out, int value) throws IOException
+	{
+		writeVarInt(out, (value << 1) ^ (value >> 31));
+	}
+
+	private static int readVarInt(ByteBuffer in)
+	{
+		int value = 0;
+		for (int shift = 0; shift < 35; shift += 7)
+		{
+			int b = in.get();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+			{
+				return value;
+			}
+		}
+		throw new BufferUnderflowException();
+	}
+
+	private static int readZigZag(ByteBuffer in)
+	{
+		int value = readVarInt(in);
+		return (value >>> 1) ^ -(value & 1);
+	}
+}
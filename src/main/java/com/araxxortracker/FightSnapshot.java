@@ -0,0 +1,186 @@
+package com.araxxortracker;
+
+import lombok.Getter;
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * Immutable copy of the fight state and personal bests that the overlays draw from.
+ * <p>
+ * Built on the client thread every game tick and on fight transitions, then published through
+ * one volatile reference, so each frame reads a single consistent state instead of calling
+ * plugin getters while the client thread mutates them. Times come from a frozen copy of the
+ * {@link FightTimer}, which only reads the clock to interpolate a live timer between ticks.
+ */
+final class FightSnapshot
+{
+	/** Plugin's fight state version when captured; equal versions differ only in the timer copy */
+	@Getter
+	private final int version;
+	private final FightTimer timer;
+	@Getter
+	private final boolean fightActive;
+	@Getter
+	private final boolean araxxorReachedZeroHp;
+	@Getter
+	private final boolean inAraxxorArea;
+	@Getter
+	private final AraxxorEggType currentRotationStart;
+	@Getter
+	private final WorldPoint bossDeathLocation;
+	@Getter
+	private final WorldPoint araxxorLocation;
+
+	@Getter
+	private final int currentFightHits;
+	@Getter
+	private final int currentFightDamageDealt;
+	@Getter
+	private final int currentFightDamageTaken;
+
+	@Getter
+	private final int lastFightHits;
+	@Getter
+	private final int lastFightDamageDealt;
+	@Getter
+	private final int lastFightDamageTaken;
+	@Getter
+	private final long lastFightNormalTime;
+	@Getter
+	private final long lastFightEnrageTime;
+
+	@Getter
+	private final long bestKillTime;
+	@Getter
+	private final long bestTimeToEnrage;
+	@Getter
+	private final long bestTimeInEnrage;
+	@Getter
+	private final int bestHitCount;
+	@Getter
+	private final int bestDamageTaken;
+
+	private final long[] rotationBestTimes = new long[AraxxorEggType.values().length];
+	private final int[] rotationBestHits = new int[AraxxorEggType.values().length];
+	private final int[] rotationBestDamage = new int[AraxxorEggType.values().length];
+
+	/**
+	 * Capture the plugin's current state; must be called on the client thread
+	 */
+	FightSnapshot(AraxxorPlugin plugin, int version, FightTimer timer, boolean inAraxxorArea, WorldPoint araxxorLocation)
+	{
+		this.version = version;
+		this.timer = timer;
+		this.fightActive = plugin.isFightActive();
+		this.araxxorReachedZeroHp = plugin.isAraxxorReachedZeroHp();
+		this.inAraxxorArea = inAraxxorArea;
+		this.currentRotationStart = plugin.getCurrentRotationStart();
+		this.bossDeathLocation = plugin.getBossDeathLocation();
+		this.araxxorLocation = araxxorLocation;
+
+		this.currentFightHits = plugin.getCurrentFightHits();
+		this.currentFightDamageDealt = plugin.getCurrentFightDamageDealt();
+		this.currentFightDamageTaken = plugin.getCurrentFightDamageTaken();
+
+		this.lastFightHits = plugin.getLastFightHits();
+		this.lastFightDamageDealt = plugin.getLastFightDamageDealt();
+		this.lastFightDamageTaken = plugin.getLastFightDamageTaken();
+		this.lastFightNormalTime = plugin.getLastFightNormalTime();
+		this.lastFightEnrageTime = plugin.getLastFightEnrageTime();
+
+		this.bestKillTime = plugin.getBestKillTime();
+		this.bestTimeToEnrage = plugin.getBestTimeToEnrage();
+		this.bestTimeInEnrage = plugin.getBestTimeInEnrage();
+		this.bestHitCount = plugin.getBestHitCount();
+		this.bestDamageTaken = plugin.getBestDamageTaken();
+
+		for (AraxxorEggType rotation : AraxxorEggType.values())
+		{
+			rotationBestTimes[rotation.ordinal()] = plugin.getRotationBestTime(rotation);
+			rotationBestHits[rotation.ordinal()] = plugin.getRotationBestHits(rotation);
+			rotationBestDamage[rotation.ordinal()] = plugin.getRotationBestDamage(rotation);
+		}
+	}
+
+	boolean hasFightStarted()
+	{
+		return timer.isStarted();
+	}
+
+	boolean hasFightEnded()
+	{
+		return timer.isEnded();
+	}
+
+	boolean hasEnraged()
+	{
+		return timer.isEnraged();
+	}
+
+	/**
+	 * Tick the fight ended on, or -1 while it is still running; tells one finished fight from the next
+	 */
+	int getEndTick()
+	{
+		return timer.getEndTick();
+	}
+
+	/**
+	 * Fight duration as shown by the game timer, interpolated between ticks while the boss is alive
+	 */
+	long getElapsedTime()
+	{
+		return timer.getElapsedTime(System.nanoTime());
+	}
+
+	long getCurrentTimeToEnrage()
+	{
+		return timer.getTimeToEnrage();
+	}
+
+	long getCurrentTimeInEnrage()
+	{
+		return timer.getTimeInEnrage(System.nanoTime());
+	}
+
+	/**
+	 * Time since the fight ended, or -1 while it is still running
+	 */
+	long getTimeSinceEnd()
+	{
+		return timer.getTimeSinceEnd(System.nanoTime());
+	}
+
+	double getAverageHit()
+	{
+		if (currentFightHits == 0)
+		{
+			return 0.0;
+		}
+		return (double) currentFightDamageDealt / currentFightHits;
+	}
+
+	double getDPS()
+	{
+		long elapsedTime = getElapsedTime();
+		if (elapsedTime <= 0 || currentFightDamageDealt == 0)
+		{
+			return 0.0;
+		}
+		return currentFightDamageDealt / (elapsedTime / 1000.0);
+	}
+
+	long getRotationBestTime(AraxxorEggType rotation)
+	{
+		return rotation != null ? rotationBestTimes[rotation.ordinal()] : -1;
+	}
+
+	int getRotationBestHits(AraxxorEggType rotation)
+	{
+		return rotation != null ? rotationBestHits[rotation.ordinal()] : -1;
+	}
+
+	int getRotationBestDamage(AraxxorEggType rotation)
+	{
+		return rotation != null ? rotationBestDamage[rotation.ordinal()] : -1;
+	}
+}
@@ -0,0 +1,235 @@
+package com.araxxortracker;
+
+/**
+ * Tick-based fight timing.
+ * <p>
+ * Every fight boundary (start, boss death, enrage, end) is recorded as a game tick index and
+ * every split is derived as a whole number of ticks times {@link #TICK_MS}, so splits are
+ * deterministic and match the in-game timer. The clock is only read to interpolate a live
+ * timer between ticks, and that offset is capped below one tick.
+ */
+final class FightTimer
+{
+	static final long TICK_MS = 600;
+
+	/** The game's timer starts this many ticks before the plugin sees the fight begin */
+	static final int GAME_TIMER_OFFSET_TICKS = 3;
+
+	/** Time in enrage is shown one second ahead to line up with the game's phase message */
+	private static final long ENRAGE_DISPLAY_OFFSET_MS = 1000;
+
+	private static final long NANOS_PER_MS = 1_000_000L;
+
+	private int tick;
+	private long tickNanos;
+	private int startTick = -1;
+	private int deathTick = -1;
+	private int enrageTick = -1;
+	private int endTick = -1;
+
+	FightTimer()
+	{
+	}
+
+	/**
+	 * Frozen copy for publishing to other threads
+	 */
+	FightTimer(FightTimer other)
+	{
+		this.tick = other.tick;
+		this.tickNanos = other.tickNanos;
+		this.startTick = other.startTick;
+		this.deathTick = other.deathTick;
+		this.enrageTick = other.enrageTick;
+		this.endTick = other.endTick;
+	}
+
+	/**
+	 * Advance one game tick; {@code nanos} is {@link System#nanoTime()} at the tick
+	 */
+	void tick(long nanos)
+	{
+		tick++;
+		tickNanos = nanos;
+	}
+
+	void start()
+	{
+		startTick = tick;
+		deathTick = -1;
+		enrageTick = -1;
+		endTick = -1;
+	}
+
+	void reset()
+	{
+		startTick = -1;
+		deathTick = -1;
+		enrageTick = -1;
+		endTick = -1;
+	}
+
+	void markDeath()
+	{
+		deathTick = tick;
+	}
+
+	void markEnrage()
+	{
+		enrageTick = tick;
+	}
+
+	void clearEnrage()
+	{
+		enrageTick = -1;
+	}
+
+	/**
+	 * End the fight on the current tick, unless the official kill time already ended it
+	 */
+	void end()
+	{
+		if (endTick == -1)
+		{
+			endTick = tick;
+		}
+	}
+
+	/**
+	 * End the fight at the official kill time from the game's chat message
+	 */
+	void endAfter(long killTimeMs)
+	{
+		endTick = startTick + toTicks(killTimeMs);
+	}
+
+	boolean isStarted()
+	{
+		return startTick != -1;
+	}
+
+	boolean isEnded()
+	{
+		return endTick != -1;
+	}
+
+	boolean isEnraged()
+	{
+		return enrageTick != -1;
+	}
+
+	/**
+	 * Ticks since the fight started, or 0 outside a fight
+	 */
+	int getFightTick()
+	{
+		return startTick != -1 ? tick - startTick : 0;
+	}
+
+	/**
+	 * Tick the fight ended on, or -1 while it is still running
+	 */
+	int getEndTick()
+	{
+		return endTick;
+	}
+
+	/**
+	 * Fight duration as shown by the game timer, live while the boss is alive
+	 */
+	long getElapsedTime(long nowNanos)
+	{
+		if (startTick == -1)
+		{
+			return -1;
+		}
+
+		if (endTick != -1)
+		{
+			return toMs(endTick - startTick);
+		}
+
+		if (deathTick != -1)
+		{
+			return toMs(deathTick - startTick + GAME_TIMER_OFFSET_TICKS);
+		}
+
+		return toMs(tick - startTick + GAME_TIMER_OFFSET_TICKS) + sinceTick(nowNanos);
+	}
+
+	long getTimeToEnrage()
+	{
+		if (startTick == -1 || enrageTick == -1)
+		{
+			return -1;
+		}
+		return toMs(enrageTick - startTick + GAME_TIMER_OFFSET_TICKS);
+	}
+
+	long getTimeInEnrage(long nowNanos)
+	{
+		if (enrageTick == -1)
+		{
+			return -1;
+		}
+
+		if (endTick != -1 || deathTick != -1)
+		{
+			return toMs((endTick != -1 ? endTick : deathTick) - enrageTick) + ENRAGE_DISPLAY_OFFSET_MS;
+		}
+
+		return toMs(tick - enrageTick) + sinceTick(nowNanos) + ENRAGE_DISPLAY_OFFSET_MS;
+	}
+
+	/**
+	 * Normal-phase time as stored with the kill: start to enrage, or start to end without an enrage
+	 */
+	long getNormalPhaseTime()
+	{
+		if (startTick == -1 || endTick == -1 && enrageTick == -1)
+		{
+			return -1;
+		}
+		return toMs((enrageTick != -1 ? enrageTick : endTick) - startTick);
+	}
+
+	/**
+	 * Enrage-phase time as stored with the kill: enrage to end
+	 */
+	long getEnragePhaseTime()
+	{
+		if (enrageTick == -1 || endTick == -1)
+		{
+			return -1;
+		}
+		return toMs(endTick - enrageTick);
+	}
+
+	/**
+	 * Time since the fight ended, or -1 while it is still running
+	 */
+	long getTimeSinceEnd(long nowNanos)
+	{
+		if (endTick == -1)
+		{
+			return -1;
+		}
+		return toMs(tick - endTick) + sinceTick(nowNanos);
+	}
+
+	private long sinceTick(long nowNanos)
+	{
+		long ms = (nowNanos - tickNanos) / NANOS_PER_MS;
+		return Math.max(0, Math.min(ms, TICK_MS - 1));
+	}
+
+	static long toMs(int ticks)
+	{
+		return ticks * TICK_MS;
+	}
+
+	static int toTicks(long ms)
+	{
+		return (int) ((ms + TICK_MS / 2) / TICK_MS);
+	}
+}
@@ -0,0 +1,366 @@
+package com.araxxortracker;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rolls whole history pages older than the retention horizon into per-day aggregates.
+ * <p>
+ * Each kill store has its own compactor, kept next to it: in a local file for the local store
+ * and in a config key for the profile store, so the rollups sync with the kills they replace.
+ * Rollups are written before the pages are deleted and record the newest kill they absorbed,
+ * so an interrupted compaction never counts a kill twice: leftover pages ending at or before
+ * that kill are deleted on the next run without being rolled up again.
+ */
+@Slf4j
+class HistoryCompactor
+{
+	static final String FILE_NAME = "kills.rollup";
+	static final String CONFIG_KEY = "killRollups";
+
+	private static final int ROLLUP_MAGIC = 0x41524452;
+	/**
+	 * Version 2 replaced the page number cursor, which was not comparable across stores, with a
+	 * timestamp; version 3 keeps the timestamps of the kills in each rollup
+	 */
+	private static final int ROLLUP_VERSION = 3;
+
+	/**
+	 * Where a compactor keeps its rollups
+	 */
+	interface Storage
+	{
+		/**
+		 * @return the stored bytes, or null if nothing has been stored
+		 */
+		byte[] read() throws IOException;
+
+		void write(byte[] data) throws IOException;
+	}
+
+	private final KillStore killStore;
+	private final Storage storage;
+	private final TreeMap<Long, DailyRollup> rollups = new TreeMap<>();
+	/** Timestamp of the newest kill rolled up so far */
+	private long compactedThrough = Long.MIN_VALUE;
+
+	HistoryCompactor(KillStore killStore, Storage storage)
+	{
+		this.killStore = killStore;
+		this.storage = storage;
+	}
+
+	/**
+	 * Rollups in a local file, written to a temporary file and moved into place
+	 */
+	static Storage fileStorage(File file)
+	{
+		return new Storage()
+		{
+			@Override
+			public byte[] read() throws IOException
+			{
+				return file.isFile() ? Files.readAllBytes(file.toPath()) : null;
+			}
+
+			@Override
+			public void write(byte[] data) throws IOException
+			{
+				File directory = file.getParentFile();
+				if (directory != null && !directory.isDirectory() && !directory.mkdirs())
+				{
+					throw new IOException("Unable to create " + directory);
+				}
+
+				File tempFile = new File(file.getPath() + ".tmp");
+				Files.write(tempFile.toPath(), data);
+				Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+		};
+	}
+
+	/**
+	 * Rollups base64 encoded in a single config key
+	 */
+	static Storage configStorage(ConfigKeys config)
+	{
+		return new Storage()
+		{
+			@Override
+			public byte[] read() throws IOException
+			{
+				String value = config.get(CONFIG_KEY);
+				if (value == null || value.isEmpty())
+				{
+					return null;
+				}
+				try
+				{
+					return Base64.getDecoder().decode(value);
+				}
+				catch (IllegalArgumentException e)
+				{
+					throw new IOException("Unreadable rollups in " + CONFIG_KEY, e);
+				}
+			}
+
+			@Override
+			public void write(byte[] data)
+			{
+				config.set(CONFIG_KEY, Base64.getEncoder().encodeToString(data));
+			}
+		};
+	}
+
+	/**
+	 * Rollups ordered by day, oldest first
+	 */
+	synchronized List<DailyRollup> getRollups()
+	{
+		return Collections.unmodifiableList(new ArrayList<>(rollups.values()));
+	}
+
+	synchronized long getCompactedThrough()
+	{
+		return compactedThrough;
+	}
+
+	synchronized void load() throws IOException
+	{
+		rollups.clear();
+		compactedThrough = Long.MIN_VALUE;
+		byte[] data = storage.read();
+		if (data == null)
+		{
+			return;
+		}
+
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data)))
+		{
+			if (in.readInt() != ROLLUP_MAGIC)
+			{
+				throw new IOException("Unrecognised rollups");
+			}
+
+			int version = in.readInt();
+			if (version == 1)
+			{
+				// A page number, possibly from the other store; only safe to forget
+				in.readInt();
+			}
+			else if (version == 2 || version == ROLLUP_VERSION)
+			{
+				compactedThrough = in.readLong();
+			}
+			else
+			{
+				throw new IOException("Unrecognised rollup version " + version);
+			}
+
+			int count = in.readInt();
+			for (int i = 0; i < count; i++)
+			{
+				DailyRollup rollup = DailyRollup.read(in, version == ROLLUP_VERSION);
+				rollups.put(rollup.getEpochDay(), rollup);
+			}
+		}
+	}
+
+	/**
+	 * Compact every leading page whose newest kill is older than the cutoff
+	 * @return number of pages compacted
+	 */
+	synchronized int compact(long cutoffTimestamp, ZoneId zone) throws IOException
+	{
+		List<KillStore.PageInfo> pages = killStore.getPages();
+
+		int stale = 0;
+		while (stale < pages.size() && pages.get(stale).getKillCount() > 0
+			&& pages.get(stale).getEndTimestamp() <= compactedThrough)
+		{
+			stale++;
+		}
+
+		int expired = stale;
+		while (expired < pages.size() - 1 && pages.get(expired).getEndTimestamp() < cutoffTimestamp)
+		{
+			expired++;
+		}
+
+		if (expired > stale)
+		{
+			long through = compactedThrough;
+			for (int i = stale; i < expired; i++)
+			{
+				KillHistory page = killStore.getPage(i);
+				for (int row = 0; row < page.size(); row++)
+				{
+					long timestamp = page.getTimestamp(row);
+					if (timestamp <= compactedThrough)
+					{
+						continue;
+					}
+					long epochDay = epochDay(timestamp, zone);
+					rollups.computeIfAbsent(epochDay, DailyRollup::new).add(page, row);
+					through = Math.max(through, timestamp);
+				}
+			}
+
+			compactedThrough = through;
+			write();
+		}
+
+		if (expired > 0)
+		{
+			killStore.removeOldestPages(expired);
+		}
+		return expired - stale;
+	}
+
+	/**
+	 * Bring in history kept by another store, e.g. after switching storage. Its rollups are merged
+	 * into this store's days and its kills are copied, skipping anything this store already holds
+	 * as a kill or in a rollup, so it is safe to repeat after a partial run. Kills at or before
+	 * this store's compaction cursor go straight into rollups, as compaction has moved past them.
+	 * A rollup that overlaps only part of what is held here cannot be split, so it is left out.
+	 * @return number of kills copied
+	 */
+	synchronized int adopt(KillStore source, List<DailyRollup> sourceRollups, ZoneId zone) throws IOException
+	{
+		KillHistory own = killStore.readTail(0, 0);
+		Set<Long> ownTimestamps = new HashSet<>();
+		Set<Long> ownDays = new HashSet<>();
+		for (int row = 0; row < own.size(); row++)
+		{
+			long timestamp = own.getTimestamp(row);
+			ownTimestamps.add(timestamp);
+			ownDays.add(epochDay(timestamp, zone));
+		}
+
+		int copied = 0;
+		int skippedRollups = 0;
+		int skippedKills = 0;
+		for (DailyRollup theirs : sourceRollups)
+		{
+			long epochDay = theirs.getEpochDay();
+			DailyRollup mine = rollups.get(epochDay);
+			int held = 0;
+			if (theirs.isTimestamped())
+			{
+				for (long timestamp : theirs.getTimestamps())
+				{
+					if (holds(mine, ownTimestamps, timestamp))
+					{
+						held++;
+					}
+				}
+			}
+			else if (mine != null || ownDays.contains(epochDay))
+			{
+				// Which kills it holds is unknown, so it only comes in for a day with nothing here
+				held = -1;
+			}
+
+			if (held == 0)
+			{
+				rollups.computeIfAbsent(epochDay, DailyRollup::new).merge(theirs);
+				copied += theirs.getKillCount();
+			}
+			else if (held != theirs.getKillCount())
+			{
+				skippedRollups++;
+				skippedKills += theirs.getKillCount() - Math.max(held, 0);
+			}
+		}
+
+		KillHistory theirs = source.readTail(0, 0);
+		KillHistory missing = new KillHistory();
+		for (int row = 0; row < theirs.size(); row++)
+		{
+			long timestamp = theirs.getTimestamp(row);
+			long epochDay = epochDay(timestamp, zone);
+			if (holds(rollups.get(epochDay), ownTimestamps, timestamp))
+			{
+				continue;
+			}
+
+			if (timestamp > compactedThrough)
+			{
+				missing.appendRow(theirs, row);
+			}
+			else
+			{
+				rollups.computeIfAbsent(epochDay, DailyRollup::new).add(theirs, row);
+			}
+			copied++;
+		}
+
+		if (copied > missing.size())
+		{
+			write();
+		}
+		killStore.append(missing);
+
+		if (skippedRollups > 0)
+		{
+			log.warn("Left out {} daily rollups from other storage that overlap history already here; up to {} of their kills are not counted",
+				skippedRollups, skippedKills);
+		}
+		return copied;
+	}
+
+	/**
+	 * Whether this store holds a kill, as a kill or in the rollup for its day. Rollups written
+	 * before their kill timestamps were kept are taken to hold every kill up to the cursor.
+	 */
+	private boolean holds(DailyRollup day, Set<Long> ownTimestamps, long timestamp)
+	{
+		if (ownTimestamps.contains(timestamp))
+		{
+			return true;
+		}
+		if (day == null)
+		{
+			return false;
+		}
+		return day.isTimestamped() ? day.getTimestamps().contains(timestamp) : timestamp <= compactedThrough;
+	}
+
+	private static long epochDay(long timestamp, ZoneId zone)
+	{
+		return Instant.ofEpochMilli(timestamp).atZone(zone).toLocalDate().toEpochDay();
+	}
+
+	private void write() throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes))
+		{
+			out.writeInt(ROLLUP_MAGIC);
+			out.writeInt(ROLLUP_VERSION);
+			out.writeLong(compactedThrough);
+			out.writeInt(rollups.size());
+			for (DailyRollup rollup : rollups.values())
+			{
+				rollup.write(out);
+			}
+		}
+		storage.write(bytes.toByteArray());
+	}
+}
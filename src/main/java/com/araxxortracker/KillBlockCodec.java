@@ -0,0 +1,256 @@
+package com.araxxortracker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Compact text encoding for blocks of kills stored as single config values.
+ * <p>
+ * A block is a version byte, a kill count and then each kill as varints: the timestamp as a
+ * zig-zag delta from the previous kill, the stats, and the loot as (item id, quantity) pairs.
+ * The bytes are base64 encoded so they survive as a plain config string. A typical kill takes
+ * around 20 bytes instead of the ~100 characters of the legacy text format.
+ */
+final class KillBlockCodec
+{
+	static final byte BLOCK_VERSION = 1;
+	static final byte INDEX_VERSION = 1;
+
+	private static final AraxxorEggType[] ROTATIONS = AraxxorEggType.values();
+
+	private KillBlockCodec()
+	{
+	}
+
+	/**
+	 * Encode rows {@code [from, to)} of a history
+	 */
+	static String encodeBlock(KillHistory kills, int from, int to)
+	{
+		Writer out = new Writer(16 + (to - from) * 24);
+		out.writeByte(BLOCK_VERSION);
+		out.writeVarLong(to - from);
+
+		long previous = 0;
+		for (int row = from; row < to; row++)
+		{
+			long timestamp = kills.getTimestamp(row);
+			out.writeZigZag(timestamp - previous);
+			previous = timestamp;
+
+			AraxxorEggType rotation = kills.getRotation(row);
+			out.writeVarLong(kills.getKillTime(row));
+			out.writeByte(rotation != null ? rotation.ordinal() + 1 : 0);
+			out.writeZigZag(kills.getLootValue(row));
+			out.writeVarLong(kills.getHits(row));
+			out.writeVarLong(kills.getDamageDealt(row));
+			out.writeVarLong(kills.getDamageTaken(row));
+
+			int lootStart = kills.lootStart(row);
+			int lootEnd = kills.lootEnd(row);
+			out.writeVarLong(lootEnd - lootStart);
+			for (int j = lootStart; j < lootEnd; j++)
+			{
+				out.writeVarLong(kills.getLootItemId(j));
+				out.writeVarLong(kills.getLootQuantity(j));
+			}
+		}
+		return out.toBase64();
+	}
+
+	/**
+	 * @return the kills in an encoded block, or null if it is missing or malformed
+	 */
+	static KillHistory decodeBlock(String encoded)
+	{
+		Reader in = Reader.of(encoded);
+		if (in == null || in.readByte() != BLOCK_VERSION)
+		{
+			return null;
+		}
+
+		long count = in.readVarLong();
+		if (count < 0 || count > in.remaining())
+		{
+			return null;
+		}
+
+		KillHistory kills = new KillHistory();
+		long timestamp = 0;
+		for (long i = 0; i < count && !in.failed; i++)
+		{
+			timestamp += in.readZigZag();
+			long killTime = in.readVarLong();
+			int rotation = in.readByte();
+			long lootValue = in.readZigZag();
+			int hits = (int) in.readVarLong();
+			int dealt = (int) in.readVarLong();
+			int taken = (int) in.readVarLong();
+			long lootCount = in.readVarLong();
+			if (in.failed || rotation < 0 || rotation > ROTATIONS.length || lootCount > in.remaining())
+			{
+				in.failed = true;
+				break;
+			}
+
+			kills.append(timestamp, killTime, rotation > 0 ? ROTATIONS[rotation - 1] : null, lootValue, hits, dealt, taken);
+			for (long j = 0; j < lootCount; j++)
+			{
+				kills.addLoot((int) in.readVarLong(), in.readVarLong());
+			}
+		}
+		return in.failed ? null : kills;
+	}
+
+	static String encodeIndex(List<KillStore.PageInfo> pages)
+	{
+		Writer out = new Writer(8 + pages.size() * 24);
+		out.writeByte(INDEX_VERSION);
+		out.writeVarLong(pages.size());
+		for (KillStore.PageInfo page : pages)
+		{
+			out.writeVarLong(page.getPageNumber());
+			out.writeZigZag(page.getStartTimestamp());
+			out.writeZigZag(page.getEndTimestamp());
+			out.writeVarLong(page.getKillCount());
+			out.writeZigZag(page.getLootValue());
+		}
+		return out.toBase64();
+	}
+
+	/**
+	 * @return the decoded index, or null if it is missing or malformed
+	 */
+	static List<KillStore.PageInfo> decodeIndex(String encoded)
+	{
+		Reader in = Reader.of(encoded);
+		if (in == null || in.readByte() != INDEX_VERSION)
+		{
+			return null;
+		}
+
+		long count = in.readVarLong();
+		if (count < 0 || count > in.remaining())
+		{
+			return null;
+		}
+
+		List<KillStore.PageInfo> pages = new ArrayList<>((int) count);
+		for (long i = 0; i < count; i++)
+		{
+			pages.add(new KillStore.PageInfo((int) in.readVarLong(), in.readZigZag(), in.readZigZag(),
+				(int) in.readVarLong(), in.readZigZag()));
+		}
+		return in.failed ? null : pages;
+	}
+
+	private static final class Writer
+	{
+		private byte[] bytes;
+		private int size;
+
+		Writer(int capacity)
+		{
+			bytes = new byte[capacity];
+		}
+
+		void writeByte(int value)
+		{
+			if (size == bytes.length)
+			{
+				bytes = Arrays.copyOf(bytes, bytes.length * 2);
+			}
+			bytes[size++] = (byte) value;
+		}
+
+		void writeVarLong(long value)
+		{
+			while ((value & ~0x7FL) != 0)
+			{
+				writeByte((int) ((value & 0x7F) | 0x80));
+				value >>>= 7;
+			}
+			writeByte((int) value);
+		}
+
+		void writeZigZag(long value)
+		{
+			writeVarLong((value << 1) ^ (value >> 63));
+		}
+
+		String toBase64()
+		{
+			return Base64.getEncoder().encodeToString(size == bytes.length ? bytes : Arrays.copyOf(bytes, size));
+		}
+	}
+
+	/**
+	 * Bounds-checked reader; any overrun sets {@link #failed} and returns zeros from then on
+	 */
+	private static final class Reader
+	{
+		private final byte[] bytes;
+		private int position;
+		boolean failed;
+
+		private Reader(byte[] bytes)
+		{
+			this.bytes = bytes;
+		}
+
+		static Reader of(String encoded)
+		{
+			if (encoded == null || encoded.isEmpty())
+			{
+				return null;
+			}
+			try
+			{
+				return new Reader(Base64.getDecoder().decode(encoded));
+			}
+			catch (IllegalArgumentException e)
+			{
+				return null;
+			}
+		}
+
+		int remaining()
+		{
+			return bytes.length - position;
+		}
+
+		int readByte()
+		{
+			if (position >= bytes.length)
+			{
+				failed = true;
+				return 0;
+			}
+			return bytes[position++] & 0xFF;
+		}
+
+		long readVarLong()
+		{
+			long value = 0;
+			for (int shift = 0; shift < 64; shift += 7)
+			{
+				int b = readByte();
+				value |= (long) (b & 0x7F) << shift;
+				if ((b & 0x80) == 0)
+				{
+					return value;
+				}
+			}
+			failed = true;
+			return 0;
+		}
+
+		long readZigZag()
+		{
+			long value = readVarLong();
+			return (value >>> 1) ^ -(value & 1);
+		}
+	}
+}
@@ -0,0 +1,466 @@
+package com.araxxortracker;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * Struct-of-arrays store for kill records.
+ * Each kill is a row index into parallel primitive columns; loot for all kills lives in two
+ * packed arrays, with lootStart[i] marking where kill i's entries begin. Kills are kept in
+ * timestamp order so sessions and days are contiguous index ranges.
+ */
+class KillHistory
+{
+	private static final int INITIAL_CAPACITY = 64;
+	private static final byte NO_ROTATION = -1;
+	private static final AraxxorEggType[] ROTATIONS = AraxxorEggType.values();
+
+	private long[] timestamps = new long[INITIAL_CAPACITY];
+	private int[] killTimes = new int[INITIAL_CAPACITY];
+	private byte[] rotations = new byte[INITIAL_CAPACITY];
+	private long[] lootValues = new long[INITIAL_CAPACITY];
+	private int[] hits = new int[INITIAL_CAPACITY];
+	private int[] damageDealt = new int[INITIAL_CAPACITY];
+	private int[] damageTaken = new int[INITIAL_CAPACITY];
+	private int[] lootStart = new int[INITIAL_CAPACITY];
+
+	private int[] lootItemIds = new int[INITIAL_CAPACITY * 4];
+	private int[] lootQuantities = new int[INITIAL_CAPACITY * 4];
+
+	private int size;
+	private int lootSize;
+	private boolean sorted = true;
+
+	int size()
+	{
+		return size;
+	}
+
+	boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	void clear()
+	{
+		size = 0;
+		lootSize = 0;
+		sorted = true;
+	}
+
+	/**
+	 * Append a kill row; loot for it is added with {@link #addLoot} before the next append
+	 * @return the row index of the new kill
+	 */
+	int append(long timestamp, long killTime, AraxxorEggType rotation, long lootValue,
+		int hitCount, int dealt, int taken)
+	{
+		ensureRowCapacity(size + 1);
+
+		if (size > 0 && timestamp < timestamps[size - 1])
+		{
+			sorted = false;
+		}
+
+		timestamps[size] = timestamp;
+		killTimes[size] = (int) Math.min(killTime, Integer.MAX_VALUE);
+		rotations[size] = rotation != null ? (byte) rotation.ordinal() : NO_ROTATION;
+		lootValues[size] = lootValue;
+		hits[size] = hitCount;
+		damageDealt[size] = dealt;
+		damageTaken[size] = taken;
+		lootStart[size] = lootSize;
+		return size++;
+	}
+
+	/**
+	 * Add a loot entry to the most recently appended kill
+	 */
+	void addLoot(int itemId, long quantity)
+	{
+		ensureLootCapacity(lootSize + 1);
+		lootItemIds[lootSize] = itemId;
+		lootQuantities[lootSize] = (int) Math.min(quantity, Integer.MAX_VALUE);
+		lootSize++;
+	}
+
+	int append(AraxxorKillRecord kill)
+	{
+		int index = append(kill.getTimestamp(), kill.getKillTime(), kill.getRotation(), kill.getLootValue(),
+			kill.getHits(), kill.getDamageDealt(), kill.getDamageTaken());
+		if (kill.getLoot() != null)
+		{
+			for (Map.Entry<Integer, Long> entry : kill.getLoot().entrySet())
+			{
+				addLoot(entry.getKey(), entry.getValue());
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Copy one row, including its loot, from another history
+	 */
+	int appendRow(KillHistory source, int row)
+	{
+		int index = append(source.timestamps[row], source.killTimes[row], source.getRotation(row), source.lootValues[row],
+			source.hits[row], source.damageDealt[row], source.damageTaken[row]);
+		for (int j = source.lootStart(row), end = source.lootEnd(row); j < end; j++)
+		{
+			addLoot(source.lootItemIds[j], source.lootQuantities[j]);
+		}
+		return index;
+	}
+
+	/**
+	 * Independent copy with its own columns, sized to fit
+	 */
+	KillHistory copy()
+	{
+		int rows = Math.max(size, 1);
+		int entries = Math.max(lootSize, 1);
+		KillHistory copy = new KillHistory();
+		copy.timestamps = Arrays.copyOf(timestamps, rows);
+		copy.killTimes = Arrays.copyOf(killTimes, rows);
+		copy.rotations = Arrays.copyOf(rotations, rows);
+		copy.lootValues = Arrays.copyOf(lootValues, rows);
+		copy.hits = Arrays.copyOf(hits, rows);
+		copy.damageDealt = Arrays.copyOf(damageDealt, rows);
+		copy.damageTaken = Arrays.copyOf(damageTaken, rows);
+		copy.lootStart = Arrays.copyOf(lootStart, rows);
+		copy.lootItemIds = Arrays.copyOf(lootItemIds, entries);
+		copy.lootQuantities = Arrays.copyOf(lootQuantities, entries);
+		copy.size = size;
+		copy.lootSize = lootSize;
+		copy.sorted = sorted;
+		return copy;
+	}
+
+	/**
+	 * Drop the oldest {@code count} kills, shifting the remaining rows down
+	 */
+	void removeFirst(int count)
+	{
+		if (count <= 0)
+		{
+			return;
+		}
+		if (count >= size)
+		{
+			clear();
+			return;
+		}
+
+		int remaining = size - count;
+		int lootShift = lootStart[count];
+
+		System.arraycopy(timestamps, count, timestamps, 0, remaining);
+		System.arraycopy(killTimes, count, killTimes, 0, remaining);
+		System.arraycopy(rotations, count, rotations, 0, remaining);
+		System.arraycopy(lootValues, count, lootValues, 0, remaining);
+		System.arraycopy(hits, count, hits, 0, remaining);
+		System.arraycopy(damageDealt, count, damageDealt, 0, remaining);
+		System.arraycopy(damageTaken, count, damageTaken, 0, remaining);
+		for (int i = 0; i < remaining; i++)
+		{
+			lootStart[i] = lootStart[i + count] - lootShift;
+		}
+
+		System.arraycopy(lootItemIds, lootShift, lootItemIds, 0, lootSize - lootShift);
+		System.arraycopy(lootQuantities, lootShift, lootQuantities, 0, lootSize - lootShift);
+
+		size = remaining;
+		lootSize -= lootShift;
+	}
+
+	/**
+	 * Restore timestamp order after out-of-order appends. A no-op for the usual
+	 * append-in-order case.
+	 */
+	void sortByTimestamp()
+	{
+		if (sorted)
+		{
+			return;
+		}
+
+		int[] order = sortedRows();
+		KillHistory reordered = new KillHistory();
+		reordered.ensureRowCapacity(size);
+		reordered.ensureLootCapacity(lootSize);
+		for (int i = 0; i < size; i++)
+		{
+			reordered.appendRow(this, order[i]);
+		}
+
+		timestamps = reordered.timestamps;
+		killTimes = reordered.killTimes;
+		rotations = reordered.rotations;
+		lootValues = reordered.lootValues;
+		hits = reordered.hits;
+		damageDealt = reordered.damageDealt;
+		damageTaken = reordered.damageTaken;
+		lootStart = reordered.lootStart;
+		lootItemIds = reordered.lootItemIds;
+		lootQuantities = reordered.lootQuantities;
+		sorted = true;
+	}
+
+	/**
+	 * Row indices in timestamp order, ties kept in row order
+	 */
+	private int[] sortedRows()
+	{
+		long min = Long.MAX_VALUE;
+		long max = Long.MIN_VALUE;
+		for (int i = 0; i < size; i++)
+		{
+			min = Math.min(min, timestamps[i]);
+			max = Math.max(max, timestamps[i]);
+		}
+
+		// Pack (timestamp - min, row) so a primitive sort yields the permutation, when both fit in
+		// a non-negative long; a history spanning years needs about 41 bits for the timestamp
+		int rowBits = 32 - Integer.numberOfLeadingZeros(Math.max(size - 1, 1));
+		long span = max - min;
+		int[] rows = new int[size];
+		if (span >= 0 && 64 - Long.numberOfLeadingZeros(span) + rowBits <= 63)
+		{
+			long[] packed = new long[size];
+			for (int i = 0; i < size; i++)
+			{
+				packed[i] = ((timestamps[i] - min) << rowBits) | i;
+			}
+			Arrays.sort(packed);
+
+			long rowMask = (1L << rowBits) - 1;
+			for (int i = 0; i < size; i++)
+			{
+				rows[i] = (int) (packed[i] & rowMask);
+			}
+			return rows;
+		}
+
+		Integer[] boxed = new Integer[size];
+		for (int i = 0; i < size; i++)
+		{
+			boxed[i] = i;
+		}
+		Arrays.sort(boxed, Comparator.comparingLong(row -> timestamps[row]));
+		for (int i = 0; i < size; i++)
+		{
+			rows[i] = boxed[i];
+		}
+		return rows;
+	}
+
+	long getTimestamp(int row)
+	{
+		return timestamps[row];
+	}
+
+	long getKillTime(int row)
+	{
+		return killTimes[row];
+	}
+
+	AraxxorEggType getRotation(int row)
+	{
+		byte ordinal = rotations[row];
+		return ordinal >= 0 && ordinal < ROTATIONS.length ? ROTATIONS[ordinal] : null;
+	}
+
+	long getLootValue(int row)
+	{
+		return lootValues[row];
+	}
+
+	int getHits(int row)
+	{
+		return hits[row];
+	}
+
+	int getDamageDealt(int row)
+	{
+		return damageDealt[row];
+	}
+
+	int getDamageTaken(int row)
+	{
+		return damageTaken[row];
+	}
+
+	/**
+	 * First packed loot index belonging to the kill at {@code row}
+	 */
+	int lootStart(int row)
+	{
+		return lootStart[row];
+	}
+
+	/**
+	 * Packed loot index one past the last entry belonging to the kill at {@code row}
+	 */
+	int lootEnd(int row)
+	{
+		return row + 1 < size ? lootStart[row + 1] : lootSize;
+	}
+
+	int getLootItemId(int lootIndex)
+	{
+		return lootItemIds[lootIndex];
+	}
+
+	int getLootQuantity(int lootIndex)
+	{
+		return lootQuantities[lootIndex];
+	}
+
+	/**
+	 * Materialize a single row, for the few places that still need a standalone record
+	 */
+	AraxxorKillRecord toRecord(int row)
+	{
+		AraxxorKillRecord kill = new AraxxorKillRecord();
+		kill.setTimestamp(timestamps[row]);
+		kill.setKillTime(killTimes[row]);
+		kill.setRotation(getRotation(row));
+		kill.setLootValue(lootValues[row]);
+		kill.setHits(hits[row]);
+		kill.setDamageDealt(damageDealt[row]);
+		kill.setDamageTaken(damageTaken[row]);
+		for (int j = lootStart(row), end = lootEnd(row); j < end; j++)
+		{
+			kill.getLoot().merge(lootItemIds[j], (long) lootQuantities[j], Long::sum);
+		}
+		return kill;
+	}
+
+	Cursor cursor()
+	{
+		return new Cursor(this, 0, size);
+	}
+
+	Cursor cursor(int from, int to)
+	{
+		return new Cursor(this, from, to);
+	}
+
+	/**
+	 * Forward-only view over a row range; reusable via {@link #reset}
+	 */
+	static class Cursor
+	{
+		private final KillHistory history;
+		private int row;
+		private int end;
+
+		private Cursor(KillHistory history, int from, int to)
+		{
+			this.history = history;
+			reset(from, to);
+		}
+
+		void reset(int from, int to)
+		{
+			row = from - 1;
+			end = Math.min(to, history.size);
+		}
+
+		boolean next()
+		{
+			return ++row < end;
+		}
+
+		int row()
+		{
+			return row;
+		}
+
+		long timestamp()
+		{
+			return history.timestamps[row];
+		}
+
+		long killTime()
+		{
+			return history.killTimes[row];
+		}
+
+		AraxxorEggType rotation()
+		{
+			return history.getRotation(row);
+		}
+
+		long lootValue()
+		{
+			return history.lootValues[row];
+		}
+
+		int hits()
+		{
+			return history.hits[row];
+		}
+
+		int damageDealt()
+		{
+			return history.damageDealt[row];
+		}
+
+		int damageTaken()
+		{
+			return history.damageTaken[row];
+		}
+
+		int lootStart()
+		{
+			return history.lootStart(row);
+		}
+
+		int lootEnd()
+		{
+			return history.lootEnd(row);
+		}
+
+		int lootItemId(int lootIndex)
+		{
+			return history.lootItemIds[lootIndex];
+		}
+
+		int lootQuantity(int lootIndex)
+		{
+			return history.lootQuantities[lootIndex];
+		}
+	}
+
+	private void ensureRowCapacity(int required)
+	{
+		if (required <= timestamps.length)
+		{
+			return;
+		}
+
+		int capacity = Math.max(required, timestamps.length * 2);
+		timestamps = Arrays.copyOf(timestamps, capacity);
+		killTimes = Arrays.copyOf(killTimes, capacity);
+		rotations = Arrays.copyOf(rotations, capacity);
+		lootValues = Arrays.copyOf(lootValues, capacity);
+		hits = Arrays.copyOf(hits, capacity);
+		damageDealt = Arrays.copyOf(damageDealt, capacity);
+		damageTaken = Arrays.copyOf(damageTaken, capacity);
+		lootStart = Arrays.copyOf(lootStart, capacity);
+	}
+
+	private void ensureLootCapacity(int required)
+	{
+		if (required <= lootItemIds.length)
+		{
+			return;
+		}
+
+		int capacity = Math.max(required, lootItemIds.length * 2);
+		lootItemIds = Arrays.copyOf(lootItemIds, capacity);
+		lootQuantities = Arrays.copyOf(lootQuantities, capacity);
+	}
+}
@@ -0,0 +1,182 @@
+package com.araxxortracker;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The plugin's single parsed copy of detailed kill history.
+ * <p>
+ * It starts with the newest page and reaches back a page at a time when a view asks for more;
+ * new kills are appended here as they happen, so readers see them before the persistence queue
+ * flushes. Every load, append and reset bumps {@link #getVersion()}, so consumers can keep
+ * what they built from a snapshot until the version moves. Reaching back or releasing pages
+ * does not: it changes how much is held, not the kills a snapshot method returns.
+ */
+class KillHistoryCache
+{
+	private final KillStore killStore;
+	private final Function<KillHistory, int[]> sessionGrouper;
+
+	private KillHistory kills = new KillHistory();
+	/** Store index of the oldest page held */
+	private int firstPage;
+	/** Rows contributed by each held page, oldest first; kills appended since loading follow them */
+	private int[] pageRows = new int[0];
+	private volatile int version;
+
+	KillHistoryCache(KillStore killStore, Function<KillHistory, int[]> sessionGrouper)
+	{
+		this.killStore = killStore;
+		this.sessionGrouper = sessionGrouper;
+	}
+
+	int getVersion()
+	{
+		return version;
+	}
+
+	/**
+	 * Replace the contents with the newest page of the (already opened) store, keeping kills
+	 * appended in the meantime that the store does not hold yet
+	 */
+	synchronized void load() throws IOException
+	{
+		int pageCount = killStore.getPageCount();
+		int tailPage = Math.max(pageCount - 1, 0);
+		KillHistory tail = killStore.readTail(tailPage, 0);
+		int tailRows = tail.size();
+
+		Set<Long> stored = new HashSet<>();
+		for (int row = 0; row < tailRows; row++)
+		{
+			stored.add(tail.getTimestamp(row));
+		}
+		int paged = 0;
+		for (int rows : pageRows)
+		{
+			paged += rows;
+		}
+		for (int row = paged; row < kills.size(); row++)
+		{
+			if (!stored.contains(kills.getTimestamp(row)))
+			{
+				tail.appendRow(kills, row);
+			}
+		}
+		tail.sortByTimestamp();
+
+		firstPage = tailPage;
+		kills = tail;
+		pageRows = pageCount > 0 ? new int[]{tailRows} : new int[0];
+		version++;
+	}
+
+	synchronized void append(AraxxorKillRecord kill)
+	{
+		kills.append(kill);
+		version++;
+	}
+
+	/**
+	 * Drop everything held, e.g. on shutdown
+	 */
+	synchronized void reset()
+	{
+		kills = new KillHistory();
+		firstPage = 0;
+		pageRows = new int[0];
+		version++;
+	}
+
+	/**
+	 * Snapshot of every kill still held in pages
+	 */
+	synchronized KillHistory all() throws IOException
+	{
+		while (loadOlderPage())
+		{
+			// Pull in every remaining page
+		}
+		return kills.copy();
+	}
+
+	/**
+	 * Snapshot holding at least the newest {@code minKills} kills
+	 */
+	synchronized KillHistory recentKills(int minKills) throws IOException
+	{
+		while (kills.size() < minKills && loadOlderPage())
+		{
+			// Reach back until there are enough kills
+		}
+		evictBefore(kills.size() - minKills);
+		return kills.copy();
+	}
+
+	/**
+	 * Snapshot holding at least the newest {@code minSessions} complete sessions
+	 */
+	synchronized KillHistory recentSessions(int minSessions) throws IOException
+	{
+		// One extra session boundary guarantees the oldest wanted session isn't cut off at the page edge
+		int[] sessions = sessionGrouper.apply(kills);
+		while (sessions.length - 1 <= minSessions && loadOlderPage())
+		{
+			sessions = sessionGrouper.apply(kills);
+		}
+		if (sessions.length - 1 > minSessions)
+		{
+			evictBefore(sessions[sessions.length - 2 - minSessions]);
+		}
+		return kills.copy();
+	}
+
+	private boolean loadOlderPage() throws IOException
+	{
+		if (firstPage == 0)
+		{
+			return false;
+		}
+
+		firstPage--;
+		KillHistory page = killStore.getPage(firstPage);
+		KillHistory older = page.copy();
+		for (int row = 0; row < kills.size(); row++)
+		{
+			older.appendRow(kills, row);
+		}
+		older.sortByTimestamp();
+		kills = older;
+
+		int[] rows = new int[pageRows.length + 1];
+		rows[0] = page.size();
+		System.arraycopy(pageRows, 0, rows, 1, pageRows.length);
+		pageRows = rows;
+		return true;
+	}
+
+	/**
+	 * Release whole pages whose kills all come before {@code row}; the newest page is always kept
+	 */
+	private void evictBefore(int row)
+	{
+		int pages = 0;
+		int rows = 0;
+		while (pages < pageRows.length - 1 && rows + pageRows[pages] <= row)
+		{
+			rows += pageRows[pages];
+			pages++;
+		}
+		if (pages == 0)
+		{
+			return;
+		}
+
+		kills.removeFirst(rows);
+		firstPage += pages;
+		pageRows = Arrays.copyOfRange(pageRows, pages, pageRows.length);
+	}
+}
@@ -0,0 +1,214 @@
+package com.araxxortracker;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only binary journal of kill records stored under the RuneLite directory.
+ * Every record is length-prefixed so a torn write at the tail is detected and trimmed
+ * on the next load instead of corrupting the rest of the history.
+ */
+class KillJournal
+{
+	static final String FILE_NAME = "kills.journal";
+
+	private static final int LENGTH_PREFIX_BYTES = 4;
+
+	private final File file;
+	private final KillRecordCodec codec = new KillRecordCodec();
+	private ByteBuffer writeBuffer = ByteBuffer.allocate(256).order(ByteOrder.BIG_ENDIAN);
+
+	KillJournal(File file)
+	{
+		this.file = file;
+	}
+
+	File getFile()
+	{
+		return file;
+	}
+
+	boolean exists()
+	{
+		return file.isFile() && file.length() > 0;
+	}
+
+	/**
+	 * Number of records skipped as malformed by the last {@link #readAll}
+	 */
+	synchronized int getMalformedCount()
+	{
+		return codec.getMalformedCount();
+	}
+
+	/**
+	 * Append a single kill to the end of the journal
+	 */
+	synchronized void append(AraxxorKillRecord kill) throws IOException
+	{
+		writeBuffer.clear();
+		int payloadLength = KillRecordCodec.payloadLength(kill.getLoot() != null ? kill.getLoot().size() : 0);
+		ensureCapacity(LENGTH_PREFIX_BYTES + payloadLength);
+		writeBuffer.putInt(payloadLength);
+		KillRecordCodec.encode(kill, writeBuffer);
+		write();
+	}
+
+	/**
+	 * Append every row of a history in order with a single open/write of the journal file
+	 */
+	synchronized void appendAll(KillHistory kills) throws IOException
+	{
+		if (kills.isEmpty())
+		{
+			return;
+		}
+
+		writeBuffer.clear();
+		for (int row = 0; row < kills.size(); row++)
+		{
+			int payloadLength = KillRecordCodec.payloadLength(kills.lootEnd(row) - kills.lootStart(row));
+			ensureCapacity(LENGTH_PREFIX_BYTES + payloadLength);
+			writeBuffer.putInt(payloadLength);
+			KillRecordCodec.encode(kills, row, writeBuffer);
+		}
+		write();
+	}
+
+	private void write() throws IOException
+	{
+		File parent = file.getParentFile();
+		if (parent != null && !parent.isDirectory() && !parent.mkdirs())
+		{
+			throw new IOException("Unable to create " + parent);
+		}
+
+		writeBuffer.flip();
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+			FileChannel channel = raf.getChannel())
+		{
+			channel.position(channel.size());
+			while (writeBuffer.hasRemaining())
+			{
+				channel.write(writeBuffer);
+			}
+		}
+	}
+
+	/**
+	 * Read every kill at or after the cutoff timestamp into a columnar history, sorted by timestamp.
+	 * <p>
+	 * The file is read into a heap buffer and closed before anything is written back. A record
+	 * with a damaged length is skipped by scanning forward to the next intact record, so one bad
+	 * write costs only that kill. Only bytes after the last intact record, i.e. a torn write at
+	 * the tail, are cut from the file, so later appends start on a record boundary.
+	 */
+	synchronized KillHistory readAll(long cutoffTimestamp) throws IOException
+	{
+		KillHistory kills = new KillHistory();
+		if (!exists())
+		{
+			return kills;
+		}
+
+		ByteBuffer buffer = readFile();
+		codec.resetMalformedCount();
+		int position = 0;
+		int validEnd = 0;
+		while (buffer.limit() - position >= LENGTH_PREFIX_BYTES)
+		{
+			int length = buffer.getInt(position);
+			int payload = position + LENGTH_PREFIX_BYTES;
+			if (length < KillRecordCodec.FIXED_PAYLOAD_BYTES || length > KillRecordCodec.MAX_RECORD_BYTES
+				|| length > buffer.limit() - payload)
+			{
+				int next = findRecord(buffer, position + 1);
+				if (next < 0)
+				{
+					break;
+				}
+				codec.countMalformed();
+				position = next;
+				continue;
+			}
+
+			buffer.position(payload);
+			codec.decode(buffer, length, cutoffTimestamp, kills);
+			position = buffer.position();
+			validEnd = position;
+		}
+
+		if (validEnd < buffer.limit())
+		{
+			truncate(validEnd);
+		}
+
+		kills.sortByTimestamp();
+		return kills;
+	}
+
+	private ByteBuffer readFile() throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE)
+			{
+				throw new IOException("Kill journal too large: " + size);
+			}
+
+			ByteBuffer buffer = ByteBuffer.allocate((int) size).order(ByteOrder.BIG_ENDIAN);
+			while (buffer.hasRemaining())
+			{
+				if (channel.read(buffer) < 0)
+				{
+					break;
+				}
+			}
+			buffer.flip();
+			return buffer;
+		}
+	}
+
+	/**
+	 * Offset of the first intact record at or after {@code from}, or -1 if there is none
+	 */
+	private static int findRecord(ByteBuffer buffer, int from)
+	{
+		for (int position = from; buffer.limit() - position >= LENGTH_PREFIX_BYTES; position++)
+		{
+			if (KillRecordCodec.isPayload(buffer, position + LENGTH_PREFIX_BYTES, buffer.getInt(position)))
+			{
+				return position;
+			}
+		}
+		return -1;
+	}
+
+	private void truncate(long size) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE))
+		{
+			channel.truncate(size);
+		}
+	}
+
+	private void ensureCapacity(int bytes)
+	{
+		if (writeBuffer.remaining() >= bytes)
+		{
+			return;
+		}
+
+		int required = writeBuffer.position() + bytes;
+		ByteBuffer grown = ByteBuffer.allocate(Math.max(required, writeBuffer.capacity() * 2)).order(ByteOrder.BIG_ENDIAN);
+		writeBuffer.flip();
+		grown.put(writeBuffer);
+		writeBuffer = grown;
+	}
+}
@@ -0,0 +1,354 @@
+package com.araxxortracker;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * Encodes and decodes kill records for every storage format the plugin reads.
+ * <p>
+ * Binary records start with a format version byte so older plugins can skip records they
+ * don't understand. Legacy text records ("timestamp|killTime|ROTATION|lootValue|hits|dealt|taken|id:qty,...")
+ * predate versioning and are treated as {@link #LEGACY_TEXT_VERSION}.
+ * <p>
+ * Decoding appends straight into a {@link KillHistory} and walks the input by index, so no
+ * intermediate strings, arrays or exceptions are created. Records that fail validation are
+ * counted rather than thrown.
+ */
+class KillRecordCodec
+{
+	static final byte FORMAT_VERSION = 1;
+	static final byte LEGACY_TEXT_VERSION = 0;
+
+	// version + timestamp + killTime + rotation + lootValue + hits + dealt + taken + lootCount
+	static final int FIXED_PAYLOAD_BYTES = 1 + 8 + 4 + 1 + 8 + 4 + 4 + 4 + 2;
+	static final int LOOT_ENTRY_BYTES = 4 + 4;
+	static final int MAX_LOOT_ENTRIES = 100;
+	static final int MAX_RECORD_BYTES = FIXED_PAYLOAD_BYTES + MAX_LOOT_ENTRIES * LOOT_ENTRY_BYTES;
+
+	private static final int MAX_TEXT_LENGTH = 10000;
+	private static final int MAX_TEXT_LOOT_LENGTH = 5000;
+	private static final int MAX_TEXT_LOOT_ITEM_LENGTH = 50;
+	private static final long MAX_FUTURE_MS = 86400000L;
+	private static final long MAX_KILL_TIME_MS = 3600000L;
+	private static final int MAX_HITS = 10000;
+	private static final int MAX_DAMAGE = 1000000;
+	private static final long MAX_LOOT_QUANTITY = 1000000L;
+	private static final long INVALID = -1;
+
+	private static final AraxxorEggType[] ROTATIONS = AraxxorEggType.values();
+
+	private int malformedCount;
+
+	/**
+	 * Number of records rejected since construction or the last {@link #resetMalformedCount}
+	 */
+	int getMalformedCount()
+	{
+		return malformedCount;
+	}
+
+	void resetMalformedCount()
+	{
+		malformedCount = 0;
+	}
+
+	/**
+	 * Count a record the caller had to skip without decoding, e.g. one with a damaged length
+	 */
+	void countMalformed()
+	{
+		malformedCount++;
+	}
+
+	/**
+	 * Payload size of a binary record with the given number of loot entries
+	 */
+	static int payloadLength(int lootCount)
+	{
+		return FIXED_PAYLOAD_BYTES + Math.min(lootCount, MAX_LOOT_ENTRIES) * LOOT_ENTRY_BYTES;
+	}
+
+	/**
+	 * Whether an intact binary payload of {@code length} bytes starts at {@code offset}: it fits
+	 * the buffer, has the current version, and its loot count accounts for exactly its length
+	 */
+	static boolean isPayload(ByteBuffer in, int offset, int length)
+	{
+		return length >= FIXED_PAYLOAD_BYTES && length <= MAX_RECORD_BYTES && length <= in.limit() - offset
+			&& in.get(offset) == FORMAT_VERSION
+			&& FIXED_PAYLOAD_BYTES + in.getShort(offset + FIXED_PAYLOAD_BYTES - 2) * LOOT_ENTRY_BYTES == length;
+	}
+
+	/**
+	 * Write a binary record payload (without length prefix); the buffer must have
+	 * {@link #payloadLength} bytes remaining
+	 */
+	static void encode(AraxxorKillRecord kill, ByteBuffer out)
+	{
+		Map<Integer, Long> loot = kill.getLoot();
+		int lootCount = loot != null ? Math.min(loot.size(), MAX_LOOT_ENTRIES) : 0;
+		writeFixed(out, kill.getTimestamp(), kill.getKillTime(), kill.getRotation(), kill.getLootValue(),
+			kill.getHits(), kill.getDamageDealt(), kill.getDamageTaken(), lootCount);
+
+		if (lootCount > 0)
+		{
+			int written = 0;
+			for (Map.Entry<Integer, Long> entry : loot.entrySet())
+			{
+				if (written++ >= lootCount)
+				{
+					break;
+				}
+				out.putInt(entry.getKey());
+				out.putInt((int) Math.min(entry.getValue(), Integer.MAX_VALUE));
+			}
+		}
+	}
+
+	/**
+	 * Write a binary record payload for one history row
+	 */
+	static void encode(KillHistory kills, int row, ByteBuffer out)
+	{
+		int start = kills.lootStart(row);
+		int lootCount = Math.min(kills.lootEnd(row) - start, MAX_LOOT_ENTRIES);
+		writeFixed(out, kills.getTimestamp(row), kills.getKillTime(row), kills.getRotation(row), kills.getLootValue(row),
+			kills.getHits(row), kills.getDamageDealt(row), kills.getDamageTaken(row), lootCount);
+
+		for (int j = start, end = start + lootCount; j < end; j++)
+		{
+			out.putInt(kills.getLootItemId(j));
+			out.putInt(kills.getLootQuantity(j));
+		}
+	}
+
+	private static void writeFixed(ByteBuffer out, long timestamp, long killTime, AraxxorEggType rotation,
+		long lootValue, int hits, int damageDealt, int damageTaken, int lootCount)
+	{
+		out.put(FORMAT_VERSION);
+		out.putLong(timestamp);
+		out.putInt((int) Math.min(killTime, Integer.MAX_VALUE));
+		out.put(rotation != null ? (byte) rotation.ordinal() : (byte) -1);
+		out.putLong(lootValue);
+		out.putInt(hits);
+		out.putInt(damageDealt);
+		out.putInt(damageTaken);
+		out.putShort((short) lootCount);
+	}
+
+	/**
+	 * Decode a binary record payload of {@code length} bytes at the buffer's position.
+	 * The buffer is always left at the end of the payload.
+	 * @return true if a kill was appended; false if it was malformed or older than the cutoff
+	 */
+	boolean decode(ByteBuffer in, int length, long cutoffTimestamp, KillHistory into)
+	{
+		int recordEnd = in.position() + length;
+		if (length < FIXED_PAYLOAD_BYTES || length > MAX_RECORD_BYTES || in.get() != FORMAT_VERSION)
+		{
+			malformedCount++;
+			in.position(recordEnd);
+			return false;
+		}
+
+		long timestamp = in.getLong();
+		int killTime = in.getInt();
+		byte rotation = in.get();
+		long lootValue = in.getLong();
+		int hits = in.getInt();
+		int damageDealt = in.getInt();
+		int damageTaken = in.getInt();
+		int lootCount = in.getShort();
+
+		if (lootCount < 0 || FIXED_PAYLOAD_BYTES + lootCount * LOOT_ENTRY_BYTES != length)
+		{
+			malformedCount++;
+			in.position(recordEnd);
+			return false;
+		}
+
+		if (timestamp < cutoffTimestamp)
+		{
+			in.position(recordEnd);
+			return false;
+		}
+
+		into.append(timestamp, killTime, rotation >= 0 && rotation < ROTATIONS.length ? ROTATIONS[rotation] : null,
+			lootValue, hits, damageDealt, damageTaken);
+		for (int i = 0; i < lootCount; i++)
+		{
+			into.addLoot(in.getInt(), in.getInt());
+		}
+		return true;
+	}
+
+	/**
+	 * Parse a legacy text record, validating every field's range
+	 * @return true if a kill was appended; false if the record was malformed
+	 */
+	boolean decodeLegacy(String value, KillHistory into)
+	{
+		if (value == null || value.length() > MAX_TEXT_LENGTH)
+		{
+			malformedCount++;
+			return false;
+		}
+
+		int length = value.length();
+
+		int end = fieldEnd(value, 0, length);
+		long timestamp = parseLong(value, 0, end);
+		if (timestamp == INVALID || timestamp > System.currentTimeMillis() + MAX_FUTURE_MS)
+		{
+			malformedCount++;
+			return false;
+		}
+
+		int start = end + 1;
+		end = fieldEnd(value, start, length);
+		long killTime = parseLong(value, start, end);
+		if (killTime == INVALID || killTime > MAX_KILL_TIME_MS)
+		{
+			malformedCount++;
+			return false;
+		}
+
+		start = end + 1;
+		end = fieldEnd(value, start, length);
+		AraxxorEggType rotation = parseRotation(value, start, end);
+
+		start = end + 1;
+		end = fieldEnd(value, start, length);
+		long lootValue = parseLong(value, start, end);
+		if (lootValue == INVALID || lootValue > Long.MAX_VALUE / 2)
+		{
+			malformedCount++;
+			return false;
+		}
+
+		start = end + 1;
+		end = fieldEnd(value, start, length);
+		long hits = parseLong(value, start, end);
+
+		start = end + 1;
+		end = fieldEnd(value, start, length);
+		long damageDealt = parseLong(value, start, end);
+
+		// The seventh field runs to the next separator, or to the end when there is no loot section
+		start = end + 1;
+		end = fieldEnd(value, start, length);
+		long damageTaken = parseLong(value, start, end);
+
+		if (hits == INVALID || hits > MAX_HITS || damageDealt == INVALID || damageDealt > MAX_DAMAGE
+			|| damageTaken == INVALID || damageTaken > MAX_DAMAGE)
+		{
+			malformedCount++;
+			return false;
+		}
+
+		int lootStart = end + 1;
+		if (lootStart < length && length - lootStart > MAX_TEXT_LOOT_LENGTH)
+		{
+			malformedCount++;
+			return false;
+		}
+
+		// Validate the whole loot section before appending so a bad entry doesn't leave a partial row
+		if (lootStart < length && !forEachLootItem(value, lootStart, length, null))
+		{
+			malformedCount++;
+			return false;
+		}
+
+		into.append(timestamp, killTime, rotation, lootValue, (int) hits, (int) damageDealt, (int) damageTaken);
+		if (lootStart < length)
+		{
+			forEachLootItem(value, lootStart, length, into);
+		}
+		return true;
+	}
+
+	/**
+	 * Walk "id:qty,id:qty" entries, appending in-range ones when {@code into} is non-null.
+	 * Overlong or out-of-range entries are skipped; non-numeric entries reject the record.
+	 */
+	private static boolean forEachLootItem(String value, int start, int end, KillHistory into)
+	{
+		int items = 0;
+		while (start < end && items < MAX_LOOT_ENTRIES)
+		{
+			int itemEnd = value.indexOf(',', start);
+			if (itemEnd < 0 || itemEnd > end)
+			{
+				itemEnd = end;
+			}
+			items++;
+
+			int colon = value.indexOf(':', start);
+			if (itemEnd - start <= MAX_TEXT_LOOT_ITEM_LENGTH && colon >= 0 && colon < itemEnd)
+			{
+				long itemId = parseLong(value, start, colon);
+				long quantity = parseLong(value, colon + 1, itemEnd);
+				if (itemId == INVALID || quantity == INVALID)
+				{
+					return false;
+				}
+				if (itemId <= Integer.MAX_VALUE && quantity <= MAX_LOOT_QUANTITY && into != null)
+				{
+					into.addLoot((int) itemId, quantity);
+				}
+			}
+
+			start = itemEnd + 1;
+		}
+		return true;
+	}
+
+	private static int fieldEnd(String value, int start, int length)
+	{
+		if (start >= length)
+		{
+			return length;
+		}
+		int end = value.indexOf('|', start);
+		return end < 0 ? length : end;
+	}
+
+	/**
+	 * Parse a non-negative decimal in [start, end)
+	 * @return the value, or INVALID if the range is empty, non-numeric or would overflow
+	 */
+	private static long parseLong(String value, int start, int end)
+	{
+		if (start >= end || end - start > 18)
+		{
+			return INVALID;
+		}
+
+		long result = 0;
+		for (int i = start; i < end; i++)
+		{
+			char c = value.charAt(i);
+			if (c < '0' || c > '9')
+			{
+				return INVALID;
+			}
+			result = result * 10 + (c - '0');
+		}
+		return result;
+	}
+
+	private static AraxxorEggType parseRotation(String value, int start, int end)
+	{
+		int length = end - start;
+		for (AraxxorEggType rotation : ROTATIONS)
+		{
+			String name = rotation.name();
+			if (name.length() == length && value.regionMatches(start, name, 0, length))
+			{
+				return rotation;
+			}
+		}
+		return null;
+	}
+}
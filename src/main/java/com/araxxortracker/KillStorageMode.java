@@ -0,0 +1,20 @@
+package com.araxxortracker;
+
+public enum KillStorageMode
+{
+	LOCAL("This Computer"),
+	PROFILE("RuneLite Profile");
+	
+	private final String displayName;
+	
+	KillStorageMode(String displayName)
+	{
+		this.displayName = displayName;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return displayName;
+	}
+}
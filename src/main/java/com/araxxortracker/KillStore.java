@@ -0,0 +1,76 @@
+package com.araxxortracker;
+
+import java.io.IOException;
+import java.util.List;
+import lombok.Getter;
+import lombok.Value;
+
+/**
+ * Kill history kept as time-ordered pages plus an index of each page's time range,
+ * kill count and loot value. Appends always go to the newest page; older pages are
+ * never rewritten, only removed whole.
+ */
+interface KillStore
+{
+	@Value
+	class PageInfo
+	{
+		int pageNumber;
+		long startTimestamp;
+		long endTimestamp;
+		int killCount;
+		long lootValue;
+	}
+
+	/**
+	 * Thrown by {@link #append} when it fails after writing some of the kills; those kills are
+	 * stored and counted in the index, so only the rest should be appended again
+	 */
+	class PartialAppendException extends IOException
+	{
+		/** Number of leading kills that were written */
+		@Getter
+		private final int appended;
+
+		PartialAppendException(int appended, Throwable cause)
+		{
+			super("Only " + appended + " kills were appended", cause);
+			this.appended = appended;
+		}
+	}
+
+	/**
+	 * Read the page index, repairing it from the pages themselves if needed; safe to call more than once
+	 */
+	void open() throws IOException;
+
+	/**
+	 * Snapshot of the page index, oldest page first
+	 */
+	List<PageInfo> getPages();
+
+	int getPageCount();
+
+	int getTotalKills();
+
+	/**
+	 * Load one page by index; callers must not modify the result
+	 */
+	KillHistory getPage(int index) throws IOException;
+
+	/**
+	 * Concatenate pages {@code fromPage} to the newest page, dropping kills older than the cutoff
+	 */
+	KillHistory readTail(int fromPage, long cutoffTimestamp) throws IOException;
+
+	/**
+	 * Append kills to the newest page, starting new pages as each fills up
+	 * @throws PartialAppendException if it fails once some of the kills are written
+	 */
+	void append(KillHistory kills) throws IOException;
+
+	/**
+	 * Delete the oldest pages, never including the active newest page
+	 */
+	void removeOldestPages(int count) throws IOException;
+}
@@ -0,0 +1,88 @@
+package com.araxxortracker;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One-time migration of the legacy per-kill "kill_<timestamp>" config keys into the kill store
+ */
+class LegacyKillMigrator
+{
+	static final String MIGRATED_KEY = "killJournalMigrated";
+	/** Legacy values that could not be parsed are parked under this prefix rather than deleted */
+	static final String MALFORMED_KEY_PREFIX = "kill_malformed_";
+
+	private static final String LEGACY_KEY_PREFIX = "kill_";
+
+	private final ConfigKeys config;
+	private final KillStore killStore;
+
+	LegacyKillMigrator(ConfigKeys config, KillStore killStore)
+	{
+		this.config = config;
+		this.killStore = killStore;
+	}
+
+	boolean isMigrated()
+	{
+		return Boolean.parseBoolean(config.get(MIGRATED_KEY));
+	}
+
+	/**
+	 * Copy every valid legacy kill into the kill store, then remove the legacy keys.
+	 * The keys are only removed once the store write has succeeded, so a failed
+	 * migration is simply retried on the next startup. Kills already present in the
+	 * store from an earlier partial attempt are skipped. Values that fail to parse are
+	 * moved to a {@link #MALFORMED_KEY_PREFIX} key, so nothing is lost.
+	 * @return number of legacy records that were malformed and kept aside
+	 */
+	int migrate() throws IOException
+	{
+		Set<Long> journalled = new HashSet<>();
+		KillHistory existing = killStore.readTail(0, 0);
+		for (int i = 0; i < existing.size(); i++)
+		{
+			journalled.add(existing.getTimestamp(i));
+		}
+
+		List<String> legacyKeys = config.keys(LEGACY_KEY_PREFIX);
+		legacyKeys.removeIf(key -> key.startsWith(MALFORMED_KEY_PREFIX));
+		String[] malformed = new String[legacyKeys.size()];
+		KillHistory parsed = new KillHistory();
+		KillRecordCodec codec = new KillRecordCodec();
+
+		for (int i = 0; i < legacyKeys.size(); i++)
+		{
+			String value = config.get(legacyKeys.get(i));
+			if (!codec.decodeLegacy(value, parsed))
+			{
+				malformed[i] = value;
+			}
+		}
+
+		parsed.sortByTimestamp();
+		KillHistory kills = new KillHistory();
+		for (int row = 0; row < parsed.size(); row++)
+		{
+			if (!journalled.contains(parsed.getTimestamp(row)))
+			{
+				kills.appendRow(parsed, row);
+			}
+		}
+		killStore.append(kills);
+
+		for (int i = 0; i < legacyKeys.size(); i++)
+		{
+			String key = legacyKeys.get(i);
+			if (malformed[i] != null)
+			{
+				config.set(MALFORMED_KEY_PREFIX + key.substring(LEGACY_KEY_PREFIX.length()), malformed[i]);
+			}
+			config.unset(key);
+		}
+		config.set(MIGRATED_KEY, Boolean.TRUE.toString());
+		return codec.getMalformedCount();
+	}
+}
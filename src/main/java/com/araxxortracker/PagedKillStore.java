@@ -0,0 +1,426 @@
+package com.araxxortracker;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link KillStore} kept on disk as one file per page plus a small index file.
+ * <p>
+ * Each page is a {@link KillJournal} holding up to {@link #PAGE_SIZE} kills; appends always go
+ * to the newest page. Pages are only read when a caller asks for them and are cached through
+ * soft references, so the GC can drop older pages again under memory pressure.
+ */
+@Slf4j
+class PagedKillStore implements KillStore
+{
+	static final int PAGE_SIZE = 512;
+
+	private static final String INDEX_FILE_NAME = "kills.index";
+	private static final String PAGE_FILE_PREFIX = "kills-";
+	private static final String PAGE_FILE_SUFFIX = ".page";
+	private static final int INDEX_MAGIC = 0x41524958;
+	/** Version 2 adds the legacy journal marker; version 1 indexes are still read */
+	private static final int INDEX_VERSION = 2;
+
+	private final File directory;
+	private final List<PageInfo> pages = new ArrayList<>();
+	private final List<SoftReference<KillHistory>> cache = new ArrayList<>();
+	private boolean opened;
+	/** Set in the index once the legacy journal's kills are in pages, until the journal is deleted */
+	private boolean legacyJournalFolded;
+
+	PagedKillStore(File directory)
+	{
+		this.directory = directory;
+	}
+
+	/**
+	 * Read the page index, rebuilding it from the page files if it is missing or damaged,
+	 * and fold a single-file journal from older versions into pages
+	 */
+	@Override
+	public synchronized void open() throws IOException
+	{
+		if (opened)
+		{
+			return;
+		}
+		opened = true;
+
+		if (!readIndex())
+		{
+			rebuildIndex();
+		}
+		else
+		{
+			reconcileNewestPage();
+		}
+
+		KillJournal legacyJournal = new KillJournal(new File(directory, KillJournal.FILE_NAME));
+		if (legacyJournal.exists())
+		{
+			if (!legacyJournalFolded)
+			{
+				foldLegacyJournal(legacyJournal);
+			}
+			Files.delete(legacyJournal.getFile().toPath());
+		}
+		if (legacyJournalFolded)
+		{
+			legacyJournalFolded = false;
+			writeIndex();
+		}
+	}
+
+	/**
+	 * Copy the legacy journal's kills into pages, marking the index in the same write so a
+	 * crash before the journal is deleted does not fold it twice. Kills already in the pages,
+	 * from a fold interrupted before its index write, are skipped.
+	 */
+	private void foldLegacyJournal(KillJournal legacyJournal) throws IOException
+	{
+		Set<Long> stored = new HashSet<>();
+		KillHistory existing = readTail(0, 0);
+		for (int row = 0; row < existing.size(); row++)
+		{
+			stored.add(existing.getTimestamp(row));
+		}
+
+		KillHistory legacy = read(legacyJournal);
+		KillHistory kills = new KillHistory();
+		for (int row = 0; row < legacy.size(); row++)
+		{
+			if (!stored.contains(legacy.getTimestamp(row)))
+			{
+				kills.appendRow(legacy, row);
+			}
+		}
+
+		legacyJournalFolded = true;
+		append(kills);
+	}
+
+	@Override
+	public synchronized List<PageInfo> getPages()
+	{
+		return Collections.unmodifiableList(new ArrayList<>(pages));
+	}
+
+	@Override
+	public synchronized int getPageCount()
+	{
+		return pages.size();
+	}
+
+	@Override
+	public synchronized int getTotalKills()
+	{
+		int total = 0;
+		for (PageInfo page : pages)
+		{
+			total += page.getKillCount();
+		}
+		return total;
+	}
+
+	/**
+	 * Load one page, from the soft cache when it is still resident
+	 */
+	@Override
+	public synchronized KillHistory getPage(int index) throws IOException
+	{
+		KillHistory page = cache.get(index).get();
+		if (page == null)
+		{
+			page = readPage(pages.get(index).getPageNumber());
+			cache.set(index, new SoftReference<>(page));
+		}
+		return page;
+	}
+
+	@Override
+	public synchronized KillHistory readTail(int fromPage, long cutoffTimestamp) throws IOException
+	{
+		KillHistory tail = new KillHistory();
+		for (int i = Math.max(fromPage, 0); i < pages.size(); i++)
+		{
+			KillHistory page = getPage(i);
+			for (int row = 0; row < page.size(); row++)
+			{
+				if (page.getTimestamp(row) >= cutoffTimestamp)
+				{
+					tail.appendRow(page, row);
+				}
+			}
+		}
+		tail.sortByTimestamp();
+		return tail;
+	}
+
+	@Override
+	public synchronized void append(KillHistory kills) throws IOException
+	{
+		int row = 0;
+		try
+		{
+			while (row < kills.size())
+			{
+				if (pages.isEmpty() || pages.get(pages.size() - 1).getKillCount() >= PAGE_SIZE)
+				{
+					int pageNumber = pages.isEmpty() ? 0 : pages.get(pages.size() - 1).getPageNumber() + 1;
+					pages.add(new PageInfo(pageNumber, Long.MAX_VALUE, Long.MIN_VALUE, 0, 0));
+					cache.add(new SoftReference<>(new KillHistory()));
+				}
+
+				int active = pages.size() - 1;
+				PageInfo info = pages.get(active);
+				int count = Math.min(PAGE_SIZE - info.getKillCount(), kills.size() - row);
+
+				KillHistory batch = new KillHistory();
+				long start = info.getStartTimestamp();
+				long end = info.getEndTimestamp();
+				long value = info.getLootValue();
+				for (int i = row; i < row + count; i++)
+				{
+					batch.appendRow(kills, i);
+					start = Math.min(start, kills.getTimestamp(i));
+					end = Math.max(end, kills.getTimestamp(i));
+					value += kills.getLootValue(i);
+				}
+
+				pageJournal(info.getPageNumber()).appendAll(batch);
+				pages.set(active, new PageInfo(info.getPageNumber(), start, end, info.getKillCount() + count, value));
+
+				KillHistory cached = cache.get(active).get();
+				if (cached != null)
+				{
+					for (int i = 0; i < batch.size(); i++)
+					{
+						cached.appendRow(batch, i);
+					}
+				}
+
+				row += count;
+			}
+
+			writeIndex();
+		}
+		catch (IOException e)
+		{
+			// Pages written so far are already counted in memory; the next index write or startup picks them up
+			throw row > 0 ? new PartialAppendException(row, e) : e;
+		}
+	}
+
+	@Override
+	public synchronized void removeOldestPages(int count) throws IOException
+	{
+		count = Math.min(count, pages.size() - 1);
+		if (count <= 0)
+		{
+			return;
+		}
+
+		List<PageInfo> removed = new ArrayList<>(pages.subList(0, count));
+		pages.subList(0, count).clear();
+		cache.subList(0, count).clear();
+		writeIndex();
+
+		for (PageInfo page : removed)
+		{
+			Files.deleteIfExists(pageJournal(page.getPageNumber()).getFile().toPath());
+		}
+	}
+
+	private KillHistory readPage(int pageNumber) throws IOException
+	{
+		return read(pageJournal(pageNumber));
+	}
+
+	/**
+	 * Read a whole journal, reporting any records it had to skip
+	 */
+	private static KillHistory read(KillJournal journal) throws IOException
+	{
+		KillHistory kills = journal.readAll(0);
+		int malformed = journal.getMalformedCount();
+		if (malformed > 0)
+		{
+			log.warn("Skipped {} damaged kill records in {}", malformed, journal.getFile());
+		}
+		return kills;
+	}
+
+	private KillJournal pageJournal(int pageNumber)
+	{
+		return new KillJournal(new File(directory, PAGE_FILE_PREFIX + pageNumber + PAGE_FILE_SUFFIX));
+	}
+
+	private boolean readIndex()
+	{
+		File indexFile = new File(directory, INDEX_FILE_NAME);
+		if (!indexFile.isFile())
+		{
+			return false;
+		}
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile))))
+		{
+			if (in.readInt() != INDEX_MAGIC)
+			{
+				return false;
+			}
+			int version = in.readInt();
+			if (version < 1 || version > INDEX_VERSION)
+			{
+				return false;
+			}
+			boolean folded = version >= 2 && in.readBoolean();
+
+			int count = in.readInt();
+			List<PageInfo> loaded = new ArrayList<>(count);
+			for (int i = 0; i < count; i++)
+			{
+				loaded.add(new PageInfo(in.readInt(), in.readLong(), in.readLong(), in.readInt(), in.readLong()));
+			}
+
+			legacyJournalFolded = folded;
+			pages.clear();
+			cache.clear();
+			for (PageInfo page : loaded)
+			{
+				pages.add(page);
+				cache.add(new SoftReference<>(null));
+			}
+			return true;
+		}
+		catch (IOException e)
+		{
+			return false;
+		}
+	}
+
+	/**
+	 * The index is written after the page, so a crash in between leaves the newest page
+	 * ahead of its index entry; recount it (it is the page startup reads anyway)
+	 */
+	private void reconcileNewestPage() throws IOException
+	{
+		if (pages.isEmpty())
+		{
+			return;
+		}
+
+		int newest = pages.size() - 1;
+		PageInfo info = pages.get(newest);
+		KillHistory page = getPage(newest);
+		if (page.size() == info.getKillCount())
+		{
+			return;
+		}
+
+		long value = 0;
+		for (int row = 0; row < page.size(); row++)
+		{
+			value += page.getLootValue(row);
+		}
+		pages.set(newest, page.isEmpty()
+			? new PageInfo(info.getPageNumber(), Long.MAX_VALUE, Long.MIN_VALUE, 0, 0)
+			: new PageInfo(info.getPageNumber(), page.getTimestamp(0), page.getTimestamp(page.size() - 1), page.size(), value));
+		writeIndex();
+	}
+
+	/**
+	 * Recreate the index by scanning every page file; only needed when the index is lost
+	 */
+	private void rebuildIndex() throws IOException
+	{
+		pages.clear();
+		cache.clear();
+
+		File[] files = directory.listFiles((dir, name) -> name.startsWith(PAGE_FILE_PREFIX) && name.endsWith(PAGE_FILE_SUFFIX));
+		if (files == null || files.length == 0)
+		{
+			return;
+		}
+
+		List<Integer> pageNumbers = new ArrayList<>(files.length);
+		for (File file : files)
+		{
+			String name = file.getName();
+			try
+			{
+				pageNumbers.add(Integer.parseInt(name.substring(PAGE_FILE_PREFIX.length(), name.length() - PAGE_FILE_SUFFIX.length())));
+			}
+			catch (NumberFormatException e)
+			{
+				// Not one of ours
+			}
+		}
+		Collections.sort(pageNumbers);
+
+		for (int pageNumber : pageNumbers)
+		{
+			KillHistory page = readPage(pageNumber);
+			if (page.isEmpty())
+			{
+				continue;
+			}
+
+			long value = 0;
+			for (int row = 0; row < page.size(); row++)
+			{
+				value += page.getLootValue(row);
+			}
+			pages.add(new PageInfo(pageNumber, page.getTimestamp(0), page.getTimestamp(page.size() - 1), page.size(), value));
+			cache.add(new SoftReference<>(page));
+		}
+
+		writeIndex();
+	}
+
+	/**
+	 * Write the index to a temporary file and move it into place so a crash never leaves a partial index
+	 */
+	private void writeIndex() throws IOException
+	{
+		if (!directory.isDirectory() && !directory.mkdirs())
+		{
+			throw new IOException("Unable to create " + directory);
+		}
+
+		File indexFile = new File(directory, INDEX_FILE_NAME);
+		File tempFile = new File(directory, INDEX_FILE_NAME + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile))))
+		{
+			out.writeInt(INDEX_MAGIC);
+			out.writeInt(INDEX_VERSION);
+			out.writeBoolean(legacyJournalFolded);
+			out.writeInt(pages.size());
+			for (PageInfo page : pages)
+			{
+				out.writeInt(page.getPageNumber());
+				out.writeLong(page.getStartTimestamp());
+				out.writeLong(page.getEndTimestamp());
+				out.writeInt(page.getKillCount());
+				out.writeLong(page.getLootValue());
+			}
+		}
+		Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+}
@@ -0,0 +1,175 @@
+package com.araxxortracker;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind stage for stats and kill records.
+ * Callers on the client thread only record what changed; writes are coalesced per key and
+ * flushed in one batch on a background thread shortly after the first change, so the chat
+ * message, fight end and loot events of a single kill end up in the same flush.
+ * Kills that fail to write stay queued and are retried.
+ */
+@Slf4j
+class PersistenceQueue
+{
+	private static final long FLUSH_DELAY_MS = 2000;
+	private static final long RETRY_DELAY_MS = 30_000;
+
+	private final ConfigKeys config;
+	private final KillStore killStore;
+	private final ScheduledThreadPoolExecutor executor;
+	/** Held for a whole flush, so the final flush at shutdown cannot overlap a scheduled one */
+	private final Object flushLock = new Object();
+
+	private Map<String, Object> pendingStats = new LinkedHashMap<>();
+	private Map<String, Object> flushingStats = new LinkedHashMap<>();
+	private KillHistory pendingKills = new KillHistory();
+	private KillHistory flushingKills = new KillHistory();
+	private boolean flushScheduled;
+
+	PersistenceQueue(ConfigKeys config, KillStore killStore)
+	{
+		this.config = config;
+		this.killStore = killStore;
+		this.executor = new ScheduledThreadPoolExecutor(1, r -> {
+			Thread thread = new Thread(r, "AraxxorPersistence");
+			thread.setDaemon(true);
+			return thread;
+		});
+		// shutdown() flushes synchronously, so a not-yet-due flush can simply be dropped
+		executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+	}
+
+	/**
+	 * Queue a config value; a later value for the same key replaces an unflushed earlier one
+	 */
+	synchronized void setStat(String key, Object value)
+	{
+		pendingStats.put(key, value);
+		scheduleFlush(FLUSH_DELAY_MS);
+	}
+
+	/**
+	 * Queue a kill for appending to the kill store
+	 */
+	synchronized void addKill(AraxxorKillRecord kill)
+	{
+		pendingKills.append(kill);
+		scheduleFlush(FLUSH_DELAY_MS);
+	}
+
+	/**
+	 * Flush everything pending on the calling thread and stop the background executor
+	 */
+	void shutdown()
+	{
+		executor.shutdown();
+		try
+		{
+			executor.awaitTermination(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+		flush();
+
+		synchronized (this)
+		{
+			if (!pendingKills.isEmpty())
+			{
+				log.warn("{} kills could not be saved before shutdown", pendingKills.size());
+			}
+		}
+	}
+
+	private void scheduleFlush(long delayMs)
+	{
+		if (flushScheduled || executor.isShutdown())
+		{
+			return;
+		}
+
+		flushScheduled = true;
+		executor.schedule(this::flush, delayMs, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Swap out the pending batch under the lock, then write it without holding the lock so
+	 * the client thread can keep queueing
+	 */
+	void flush()
+	{
+		synchronized (flushLock)
+		{
+			Map<String, Object> stats;
+			KillHistory kills;
+			synchronized (this)
+			{
+				flushScheduled = false;
+				stats = pendingStats;
+				pendingStats = flushingStats;
+				flushingStats = stats;
+				kills = pendingKills;
+				pendingKills = flushingKills;
+				flushingKills = kills;
+			}
+
+			if (!kills.isEmpty() && killStore != null)
+			{
+				try
+				{
+					killStore.append(kills);
+					kills.clear();
+				}
+				catch (KillStore.PartialAppendException e)
+				{
+					log.warn("Unable to save {} of {} kills, will retry", kills.size() - e.getAppended(), kills.size(), e);
+					requeue(kills, e.getAppended());
+				}
+				catch (IOException e)
+				{
+					log.warn("Unable to save {} kills, will retry", kills.size(), e);
+					requeue(kills, 0);
+				}
+			}
+
+			if (config != null)
+			{
+				for (Map.Entry<String, Object> entry : stats.entrySet())
+				{
+					config.set(entry.getKey(), String.valueOf(entry.getValue()));
+				}
+			}
+			stats.clear();
+		}
+	}
+
+	/**
+	 * Put the unwritten rest of a failed batch back in front of any kills queued since, keeping
+	 * them in order, and schedule another attempt; the kills the store did write are dropped so
+	 * a retry never stores them twice
+	 */
+	private synchronized void requeue(KillHistory failed, int appended)
+	{
+		KillHistory retry = new KillHistory();
+		for (int row = appended; row < failed.size(); row++)
+		{
+			retry.appendRow(failed, row);
+		}
+		for (int row = 0; row < pendingKills.size(); row++)
+		{
+			retry.appendRow(pendingKills, row);
+		}
+		failed.clear();
+		pendingKills.clear();
+		flushingKills = failed;
+		pendingKills = retry;
+		scheduleFlush(RETRY_DELAY_MS);
+	}
+}
@@ -0,0 +1,115 @@
+package com.araxxortracker;
+
+import java.util.Arrays;
+import lombok.Getter;
+
+/**
+ * Render times for one overlay. Each frame's time is counted in a fixed bucket, 10µs wide up
+ * to 10ms, so recording one is an array increment. Every few seconds the frames so far are
+ * summarised and the buckets cleared; the debug overlay shows the last finished window.
+ * <p>
+ * Only used on the render thread.
+ */
+final class RenderTimer
+{
+	static final long BUCKET_NANOS = 10_000;
+	static final int BUCKETS = 1000;
+	static final long WINDOW_NANOS = 5_000_000_000L;
+
+	/** Frames per bucket; the last one counts every frame past the top bucket */
+	private final int[] counts = new int[BUCKETS + 1];
+	private long windowStart = Long.MIN_VALUE;
+	private int frames;
+	private long maxNanos;
+	private int rebuilds;
+	private long linesBuilt;
+
+	/** Number of windows summarised so far, so readers can tell when the figures change */
+	@Getter
+	private int window;
+	@Getter
+	private int windowFrames;
+	@Getter
+	private long p50Nanos;
+	@Getter
+	private long p99Nanos;
+	@Getter
+	private long windowMaxNanos;
+	@Getter
+	private double rebuildsPerFrame;
+	@Getter
+	private double linesPerFrame;
+
+	/**
+	 * Record a frame that began at {@code start}, a {@link System#nanoTime()} reading
+	 */
+	void stop(long start)
+	{
+		long now = System.nanoTime();
+		record(now - start, now);
+	}
+
+	/**
+	 * Note that the overlay rebuilt its content this frame, producing the given number of lines
+	 */
+	void rebuilt(int lines)
+	{
+		rebuilds++;
+		linesBuilt += lines;
+	}
+
+	void record(long nanos, long now)
+	{
+		if (windowStart == Long.MIN_VALUE)
+		{
+			windowStart = now;
+		}
+
+		long bucket = nanos / BUCKET_NANOS;
+		counts[bucket < BUCKETS ? (int) Math.max(bucket, 0) : BUCKETS]++;
+		frames++;
+		maxNanos = Math.max(maxNanos, nanos);
+
+		if (now - windowStart >= WINDOW_NANOS)
+		{
+			summarise();
+			windowStart = now;
+		}
+	}
+
+	private void summarise()
+	{
+		windowFrames = frames;
+		p50Nanos = percentile(0.50);
+		p99Nanos = percentile(0.99);
+		windowMaxNanos = maxNanos;
+		rebuildsPerFrame = (double) rebuilds / frames;
+		linesPerFrame = (double) linesBuilt / frames;
+		window++;
+
+		Arrays.fill(counts, 0);
+		frames = 0;
+		maxNanos = 0;
+		rebuilds = 0;
+		linesBuilt = 0;
+	}
+
+	/**
+	 * The upper edge of the bucket holding the given fraction of frames; past the top bucket,
+	 * the slowest frame seen
+	 */
+	private long percentile(double fraction)
+	{
+		long rank = Math.max(1, (long) Math.ceil(frames * fraction));
+		long seen = 0;
+		for (int bucket = 0; bucket < BUCKETS; bucket++)
+		{
+			seen += counts[bucket];
+			if (seen >= rank)
+			{
+				return Math.min((bucket + 1) * BUCKET_NANOS, maxNanos);
+			}
+		}
+		return maxNanos;
+	}
+}
@@ -0,0 +1,116 @@
+package com.araxxortracker;
+
+/**
+ * Primitive slots for every {@link AraxxorStat} with a dirty bit per slot,
+ * so persistence only writes stats whose value actually changed
+ */
+class StatRegistry
+{
+	private static final AraxxorStat[] STATS = AraxxorStat.values();
+
+	private final long[] values = new long[STATS.length];
+	private long dirty;
+
+	StatRegistry()
+	{
+		for (AraxxorStat stat : STATS)
+		{
+			values[stat.ordinal()] = stat.getDefaultValue();
+		}
+	}
+
+	long get(AraxxorStat stat)
+	{
+		return values[stat.ordinal()];
+	}
+
+	int getInt(AraxxorStat stat)
+	{
+		return (int) values[stat.ordinal()];
+	}
+
+	void set(AraxxorStat stat, long value)
+	{
+		int slot = stat.ordinal();
+		if (values[slot] != value)
+		{
+			values[slot] = value;
+			dirty |= 1L << slot;
+		}
+	}
+
+	void increment(AraxxorStat stat)
+	{
+		set(stat, values[stat.ordinal()] + 1);
+	}
+
+	boolean isDirty()
+	{
+		return dirty != 0;
+	}
+
+	/**
+	 * Restore every stat to its default, marking the changed ones dirty
+	 */
+	void reset()
+	{
+		for (AraxxorStat stat : STATS)
+		{
+			set(stat, stat.getDefaultValue());
+		}
+	}
+
+	/**
+	 * Load every stat from config, falling back to its default when unset or unreadable;
+	 * loaded values start clean
+	 */
+	void load(ConfigKeys config)
+	{
+		for (AraxxorStat stat : STATS)
+		{
+			values[stat.ordinal()] = parse(stat, config.get(stat.getKey()));
+		}
+		dirty = 0;
+	}
+
+	private static long parse(AraxxorStat stat, String value)
+	{
+		if (value == null)
+		{
+			return stat.getDefaultValue();
+		}
+
+		try
+		{
+			return stat.isIntValued() ? Integer.parseInt(value) : Long.parseLong(value);
+		}
+		catch (NumberFormatException e)
+		{
+			return stat.getDefaultValue();
+		}
+	}
+
+	/**
+	 * Queue only the dirty stats for writing and clear their dirty bits
+	 */
+	void flushDirty(PersistenceQueue queue)
+	{
+		long pending = dirty;
+		dirty = 0;
+		while (pending != 0)
+		{
+			int slot = Long.numberOfTrailingZeros(pending);
+			pending &= pending - 1;
+
+			AraxxorStat stat = STATS[slot];
+			if (stat.isIntValued())
+			{
+				queue.setStat(stat.getKey(), (int) values[slot]);
+			}
+			else
+			{
+				queue.setStat(stat.getKey(), values[slot]);
+			}
+		}
+	}
+}
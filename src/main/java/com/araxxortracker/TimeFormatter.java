@@ -0,0 +1,134 @@
+package com.araxxortracker;
+
+/**
+ * Formats fight durations for the overlays and the panel.
+ * <p>
+ * Every whole second below an hour maps to one shared string per style, created on first use
+ * and kept, so redrawing a running timer allocates nothing. Longer durations are written into
+ * a per-thread {@code char[]} and copied out once. Negative durations format as zero.
+ */
+final class TimeFormatter
+{
+	/** Whole seconds with a shared string; kills are capped at an hour */
+	static final int TABLE_SECONDS = 3600;
+
+	// Entries may be filled by the client thread and the Swing thread at once; both write the
+	// same text, and strings are safe to publish through a plain array
+	private static final String[] CLOCK = new String[TABLE_SECONDS];
+	private static final String[] SECONDS = new String[60];
+	private static final String[] ENRAGE_SECONDS = new String[60];
+
+	private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[24]);
+
+	private TimeFormatter()
+	{
+	}
+
+	/**
+	 * Minutes and seconds, e.g. "0:05" or "3:10"
+	 */
+	static String clock(long milliseconds)
+	{
+		long seconds = toSeconds(milliseconds);
+		if (seconds >= TABLE_SECONDS)
+		{
+			char[] buffer = BUFFER.get();
+			return copy(buffer, writeMinutesSeconds(seconds, buffer, 0));
+		}
+
+		String text = CLOCK[(int) seconds];
+		if (text == null)
+		{
+			char[] buffer = BUFFER.get();
+			text = copy(buffer, writeMinutesSeconds(seconds, buffer, 0));
+			CLOCK[(int) seconds] = text;
+		}
+		return text;
+	}
+
+	/**
+	 * Seconds alone under a minute ("45s"), otherwise the same as {@link #clock}
+	 */
+	static String compact(long milliseconds)
+	{
+		long seconds = toSeconds(milliseconds);
+		if (seconds >= 60)
+		{
+			return clock(milliseconds);
+		}
+
+		String text = SECONDS[(int) seconds];
+		if (text == null)
+		{
+			char[] buffer = BUFFER.get();
+			int end = writeNumber(seconds, buffer, 0);
+			buffer[end++] = 's';
+			text = copy(buffer, end);
+			SECONDS[(int) seconds] = text;
+		}
+		return text;
+	}
+
+	/**
+	 * The enrage split: ":45" under a minute, otherwise the same as {@link #clock}
+	 */
+	static String enrage(long milliseconds)
+	{
+		long seconds = toSeconds(milliseconds);
+		if (seconds >= 60)
+		{
+			return clock(milliseconds);
+		}
+
+		String text = ENRAGE_SECONDS[(int) seconds];
+		if (text == null)
+		{
+			char[] buffer = BUFFER.get();
+			buffer[0] = ':';
+			text = copy(buffer, writeTwoDigits(seconds, buffer, 1));
+			ENRAGE_SECONDS[(int) seconds] = text;
+		}
+		return text;
+	}
+
+	private static int writeMinutesSeconds(long seconds, char[] buffer, int offset)
+	{
+		int end = writeNumber(seconds / 60, buffer, offset);
+		buffer[end++] = ':';
+		return writeTwoDigits(seconds % 60, buffer, end);
+	}
+
+	private static int writeNumber(long value, char[] buffer, int offset)
+	{
+		int digits = 1;
+		for (long rest = value / 10; rest > 0; rest /= 10)
+		{
+			digits++;
+		}
+
+		int end = offset + digits;
+		for (int i = end - 1; i >= offset; i--)
+		{
+			buffer[i] = (char) ('0' + value % 10);
+			value /= 10;
+		}
+		return end;
+	}
+
+	private static int writeTwoDigits(long value, char[] buffer, int offset)
+	{
+		buffer[offset] = (char) ('0' + value / 10);
+		buffer[offset + 1] = (char) ('0' + value % 10);
+		return offset + 2;
+	}
+
+	private static long toSeconds(long milliseconds)
+	{
+		return milliseconds > 0 ? milliseconds / 1000 : 0;
+	}
+
+	private static String copy(char[] buffer, int length)
+	{
+		return new String(buffer, 0, length);
+	}
+}
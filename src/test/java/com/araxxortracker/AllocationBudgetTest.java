@@ -0,0 +1,188 @@
+package com.araxxortracker;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import net.runelite.api.Client;
+import net.runelite.api.Hitsplat;
+import net.runelite.api.HitsplatID;
+import net.runelite.api.NPC;
+import net.runelite.api.WorldView;
+import net.runelite.api.events.AnimationChanged;
+import net.runelite.api.events.HitsplatApplied;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Allocation budgets for the code the client runs every tick, event or frame during a fight.
+ * Each budget is bytes per call, averaged once warmed up; raise one only with a reason.
+ * The render budgets include RuneLite's own panel layout and text drawing.
+ */
+public class AllocationBudgetTest
+{
+	private static final double HITSPLAT_BUDGET = 0;
+	private static final double ANIMATION_BUDGET = 0;
+	/** The per-tick fight snapshot and its timer copy */
+	private static final double GAME_TICK_BUDGET = 384;
+	/** Lines are kept between frames, leaving only the panel's layout */
+	private static final double OVERLAY_RENDER_BUDGET = 4 * 1024;
+	private static final double STATS_OVERLAY_RENDER_BUDGET = 16 * 1024;
+	/** The cards are drawn into an image once per kill and reused */
+	private static final double WORLD_OVERLAY_RENDER_BUDGET = 0;
+
+	/** Past the game timer offset, so the kill has visibly ended */
+	private static final int POST_KILL_TICKS = FightTimer.GAME_TIMER_OFFSET_TICKS + 2;
+
+	private FightReplay replay;
+	private int[] fight;
+	private Graphics2D graphics;
+
+	@Before
+	public void setUp()
+	{
+		assumeTrue(AllocationMeter.isSupported());
+
+		Map<String, Object> config = new HashMap<>();
+		config.put("showLiveSplits", true);
+		replay = new FightReplay(config, new HashMap<>());
+
+		// Earlier kills give the splits personal bests to compare against
+		Random random = new Random(23);
+		for (int i = 0; i < 20; i++)
+		{
+			replay.play(SyntheticFight.generate(AraxxorEggType.values()[i % 3], random).toRows());
+		}
+		fight = SyntheticFight.generate(AraxxorEggType.RED, random).toRows();
+
+		graphics = new BufferedImage(400, 400, BufferedImage.TYPE_INT_ARGB).createGraphics();
+	}
+
+	@Test
+	public void hitsplatWithinBudget()
+	{
+		playMidFight();
+		HitsplatApplied dealt = new HitsplatApplied();
+		dealt.setActor(replay.getAraxxor());
+		dealt.setHitsplat(new Hitsplat(HitsplatID.DAMAGE_ME, 0, 0));
+		HitsplatApplied taken = new HitsplatApplied();
+		taken.setActor(replay.getPlayer());
+		taken.setHitsplat(new Hitsplat(HitsplatID.DAMAGE_ME, 0, 0));
+
+		assertWithinBudget("onHitsplatApplied", HITSPLAT_BUDGET, () ->
+		{
+			replay.getPlugin().onHitsplatApplied(dealt);
+			replay.getPlugin().onHitsplatApplied(taken);
+		});
+	}
+
+	@Test
+	public void animationWithinBudget()
+	{
+		playMidFight();
+		AnimationChanged event = new AnimationChanged();
+		event.setActor(replay.getAraxxor());
+
+		assertWithinBudget("onAnimationChanged", ANIMATION_BUDGET, () -> replay.getPlugin().onAnimationChanged(event));
+	}
+
+	@Test
+	public void gameTickWithinBudget()
+	{
+		playMidFight();
+		assertWithinBudget("onGameTick", GAME_TICK_BUDGET, () -> replay.getPlugin().onGameTick(null));
+	}
+
+	@Test
+	public void overlayRenderWithinBudget() throws ReflectiveOperationException
+	{
+		playMidFight();
+		AraxxorOverlay overlay = FightReplay.construct(AraxxorOverlay.class, replay.getPlugin());
+		assertNotNull(overlay.render(graphics));
+
+		assertWithinBudget("AraxxorOverlay.render", OVERLAY_RENDER_BUDGET, () -> overlay.render(graphics));
+	}
+
+	@Test
+	public void statsOverlayRenderWithinBudget() throws ReflectiveOperationException
+	{
+		playUntilDespawn();
+		AraxxorStatsOverlay overlay = FightReplay.construct(AraxxorStatsOverlay.class, replay.getPlugin());
+		assertNotNull(overlay.render(graphics));
+
+		assertWithinBudget("AraxxorStatsOverlay.render", STATS_OVERLAY_RENDER_BUDGET, () -> overlay.render(graphics));
+	}
+
+	@Test
+	public void worldOverlayRenderWithinBudget() throws ReflectiveOperationException
+	{
+		playUntilDespawn();
+		// The card image is built on the first frame; projecting it is left out, as the client is on another plane
+		Client client = offPlaneClient();
+		AraxxorWorldOverlay overlay = FightReplay.construct(AraxxorWorldOverlay.class, client, replay.getPlugin());
+
+		assertWithinBudget("AraxxorWorldOverlay.render", WORLD_OVERLAY_RENDER_BUDGET, () -> overlay.render(graphics));
+	}
+
+	/**
+	 * Stop part way into the fight, with Araxxor alive and the timer running
+	 */
+	private void playMidFight()
+	{
+		int end = fight.length / 2 / FightRecorder.ROW * FightRecorder.ROW;
+		int[] partial = new int[end];
+		System.arraycopy(fight, 0, partial, 0, end);
+		replay.play(partial);
+
+		NPC araxxor = replay.getAraxxor();
+		assertNotNull(araxxor);
+		assertTrue(replay.getPlugin().getFightSnapshot().isFightActive());
+	}
+
+	/**
+	 * Play the kill and loot, stopping before Araxxor's corpse despawns while the kill cards show
+	 */
+	private void playUntilDespawn()
+	{
+		int[] partial = new int[fight.length - FightRecorder.ROW];
+		System.arraycopy(fight, 0, partial, 0, partial.length);
+		replay.play(partial);
+		for (int i = 0; i < POST_KILL_TICKS; i++)
+		{
+			replay.getPlugin().onGameTick(null);
+		}
+
+		FightSnapshot snapshot = replay.getPlugin().getFightSnapshot();
+		assertTrue(snapshot.hasFightEnded());
+		assertTrue(snapshot.getTimeSinceEnd() > 0);
+	}
+
+	private static void assertWithinBudget(String name, double budget, Runnable call)
+	{
+		double bytes = AllocationMeter.bytesPerCall(call);
+		assertTrue(String.format("%s allocated %.1f bytes per call, budget %.0f", name, bytes, budget), bytes <= budget);
+	}
+
+	private static Client offPlaneClient()
+	{
+		WorldView worldView = FightReplay.fake(WorldView.class, (proxy, method, args) ->
+			method.getName().equals("getPlane") ? -1 : FightReplay.defaultValue(method.getReturnType()));
+		return FightReplay.fake(Client.class, (proxy, method, args) ->
+		{
+			switch (method.getName())
+			{
+				case "getPlane":
+					return -1;
+				case "getTopLevelWorldView":
+					return worldView;
+				default:
+					return FightReplay.defaultValue(method.getReturnType());
+			}
+		});
+	}
+}
@@ -0,0 +1,64 @@
+package com.araxxortracker;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures heap bytes allocated by the current thread per call of a piece of code, using the
+ * JVM's per-thread allocation counter. Calls are warmed up first so the JIT has compiled (and
+ * escape-analysed) the code under test, and the result is averaged over many calls so the
+ * counter's own overhead rounds away.
+ */
+final class AllocationMeter
+{
+	private static final int WARMUP_CALLS = 20_000;
+	private static final int MEASURED_CALLS = 20_000;
+
+	private AllocationMeter()
+	{
+	}
+
+	/**
+	 * Whether this JVM can count allocations per thread
+	 */
+	static boolean isSupported()
+	{
+		java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (!(threads instanceof ThreadMXBean))
+		{
+			return false;
+		}
+
+		ThreadMXBean counting = (ThreadMXBean) threads;
+		if (!counting.isThreadAllocatedMemorySupported())
+		{
+			return false;
+		}
+		if (!counting.isThreadAllocatedMemoryEnabled())
+		{
+			counting.setThreadAllocatedMemoryEnabled(true);
+		}
+		return true;
+	}
+
+	/**
+	 * Average bytes allocated by one call
+	 */
+	static double bytesPerCall(Runnable call)
+	{
+		for (int i = 0; i < WARMUP_CALLS; i++)
+		{
+			call.run();
+		}
+
+		ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+		long before = threads.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < MEASURED_CALLS; i++)
+		{
+			call.run();
+		}
+		long after = threads.getThreadAllocatedBytes(threadId);
+		return (double) (after - before) / MEASURED_CALLS;
+	}
+}
@@ -0,0 +1,55 @@
+package com.araxxortracker;
+
+import net.runelite.api.gameval.NpcID;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AraxxorNpcRoleTest
+{
+	@Test
+	public void classifiesAraxxor()
+	{
+		assertSame(AraxxorNpcRole.BOSS, AraxxorNpcRole.of(NpcID.ARAXXOR));
+		assertSame(AraxxorNpcRole.BOSS_DEAD, AraxxorNpcRole.of(NpcID.ARAXXOR_DEAD));
+		assertTrue(AraxxorNpcRole.of(NpcID.ARAXXOR_DEAD).isAraxxor());
+	}
+
+	@Test
+	public void classifiesEggsAndMinions()
+	{
+		for (AraxxorEggType type : AraxxorEggType.values())
+		{
+			AraxxorNpcRole egg = AraxxorNpcRole.of(type.getEggNpcId());
+			assertTrue(egg.isEgg());
+			assertSame(type, egg.getEggType());
+			assertSame(type, AraxxorEggType.fromEggId(type.getEggNpcId()));
+			assertNull(AraxxorEggType.fromMinionId(type.getEggNpcId()));
+
+			AraxxorNpcRole minion = AraxxorNpcRole.of(type.getMinionNpcId());
+			assertTrue(minion.isMinion());
+			assertSame(type, minion.getEggType());
+			assertSame(type, AraxxorEggType.fromMinionId(type.getMinionNpcId()));
+			assertNull(AraxxorEggType.fromEggId(type.getMinionNpcId()));
+		}
+	}
+
+	@Test
+	public void everythingElseIsOther()
+	{
+		int known = 0;
+		for (int id = -1000; id < 40_000; id++)
+		{
+			if (AraxxorNpcRole.of(id) != AraxxorNpcRole.OTHER)
+			{
+				known++;
+			}
+		}
+		assertEquals(AraxxorNpcRole.values().length - 1, known);
+		assertSame(AraxxorNpcRole.OTHER, AraxxorNpcRole.of(Integer.MIN_VALUE));
+		assertSame(AraxxorNpcRole.OTHER, AraxxorNpcRole.of(Integer.MAX_VALUE));
+	}
+}
@@ -0,0 +1,133 @@
+package com.araxxortracker;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import net.runelite.client.events.ConfigChanged;
+import net.runelite.client.ui.overlay.components.LayoutableRenderableEntity;
+import net.runelite.client.ui.overlay.components.LineComponent;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * The main overlay keeps its lines between frames and rebuilds them only when their inputs change
+ */
+public class AraxxorOverlayTest
+{
+	private final Map<String, Object> config = new HashMap<>();
+	private FightReplay replay;
+	private AraxxorOverlay overlay;
+	private Graphics2D graphics;
+
+	@Before
+	public void setUp() throws ReflectiveOperationException
+	{
+		config.put("showLiveSplits", true);
+		replay = new FightReplay(config, new HashMap<>());
+
+		Random random = new Random(29);
+		for (int i = 0; i < 5; i++)
+		{
+			replay.play(SyntheticFight.generate(AraxxorEggType.values()[i % 3], random).toRows());
+		}
+
+		overlay = FightReplay.construct(AraxxorOverlay.class, replay.getPlugin());
+		graphics = new BufferedImage(400, 400, BufferedImage.TYPE_INT_ARGB).createGraphics();
+	}
+
+	@Test
+	public void unchangedFramesReuseTheLines()
+	{
+		assertNotNull(overlay.render(graphics));
+		List<LayoutableRenderableEntity> first = new ArrayList<>(overlay.getPanelComponent().getChildren());
+
+		assertNotNull(overlay.render(graphics));
+		List<LayoutableRenderableEntity> second = overlay.getPanelComponent().getChildren();
+		assertEquals(first.size(), second.size());
+		for (int i = 0; i < first.size(); i++)
+		{
+			assertSame(first.get(i), second.get(i));
+		}
+	}
+
+	@Test
+	public void tickWithoutFightChangesKeepsTheLines()
+	{
+		assertNotNull(overlay.render(graphics));
+		LayoutableRenderableEntity first = overlay.getPanelComponent().getChildren().get(0);
+
+		replay.getPlugin().onGameTick(null);
+		replay.getPlugin().onGameTick(null);
+		assertNotNull(overlay.render(graphics));
+		assertSame(first, overlay.getPanelComponent().getChildren().get(0));
+	}
+
+	@Test
+	public void fightStateChangeRebuildsTheSameLines() throws ReflectiveOperationException
+	{
+		assertNotNull(overlay.render(graphics));
+		List<LayoutableRenderableEntity> before = new ArrayList<>(overlay.getPanelComponent().getChildren());
+
+		Method publish = AraxxorPlugin.class.getDeclaredMethod("publishFightSnapshot");
+		publish.setAccessible(true);
+		publish.invoke(replay.getPlugin());
+		assertNotNull(overlay.render(graphics));
+		List<LayoutableRenderableEntity> after = overlay.getPanelComponent().getChildren();
+		assertNotSame(before.get(0), after.get(0));
+
+		// A freshly constructed overlay draws exactly what the retained one holds
+		AraxxorOverlay fresh = FightReplay.construct(AraxxorOverlay.class, replay.getPlugin());
+		assertNotNull(fresh.render(graphics));
+		assertEquals(text(fresh.getPanelComponent().getChildren()), text(after));
+		assertEquals(text(before), text(after));
+	}
+
+	@Test
+	public void onlySettingChangesReplaceTheSettings()
+	{
+		AraxxorPlugin plugin = replay.getPlugin();
+		assertNotNull(overlay.render(graphics));
+		LayoutableRenderableEntity first = overlay.getPanelComponent().getChildren().get(0);
+		AraxxorSettings settings = plugin.getSettings();
+
+		plugin.onConfigChanged(configChanged(AraxxorStat.KILL_COUNT.getKey()));
+		assertSame(settings, plugin.getSettings());
+		assertNotNull(overlay.render(graphics));
+		assertSame(first, overlay.getPanelComponent().getChildren().get(0));
+
+		config.put("overlayMode", OverlayMode.MINIMAL);
+		plugin.onConfigChanged(configChanged("overlayMode"));
+		assertNotSame(settings, plugin.getSettings());
+		assertEquals(OverlayMode.MINIMAL, plugin.getSettings().getOverlayMode());
+		overlay.render(graphics);
+		assertNotSame(first, overlay.getPanelComponent().getChildren().get(0));
+	}
+
+	private static ConfigChanged configChanged(String key)
+	{
+		ConfigChanged event = new ConfigChanged();
+		event.setGroup(ConfigKeys.GROUP);
+		event.setKey(key);
+		return event;
+	}
+
+	private static List<String> text(List<LayoutableRenderableEntity> lines)
+	{
+		List<String> text = new ArrayList<>();
+		for (LayoutableRenderableEntity line : lines)
+		{
+			text.add(((LineComponent) line).getLeft() + "|" + ((LineComponent) line).getRight());
+		}
+		return text;
+	}
+}
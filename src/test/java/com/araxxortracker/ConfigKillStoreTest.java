@@ -0,0 +1,111 @@
+package com.araxxortracker;
+
+import java.io.IOException;
+import java.util.List;
+import org.junit.Test;
+
+import static com.araxxortracker.KillJournalTest.assertKill;
+import static com.araxxortracker.KillJournalTest.kill;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ConfigKillStoreTest
+{
+	private static final long TIMESTAMP = 1_700_000_000_000L;
+
+	private final MapConfigKeys config = new MapConfigKeys();
+
+	@Test
+	public void appendsFillBlocksAndSurviveReopening() throws IOException
+	{
+		ConfigKillStore store = open();
+		store.append(kills(0, ConfigKillStore.BLOCK_SIZE + 3));
+		store.append(kills(ConfigKillStore.BLOCK_SIZE + 3, 2));
+
+		ConfigKillStore reopened = open();
+		List<KillStore.PageInfo> pages = reopened.getPages();
+		assertEquals(2, pages.size());
+		assertEquals(ConfigKillStore.BLOCK_SIZE, pages.get(0).getKillCount());
+		assertEquals(5, pages.get(1).getKillCount());
+		assertEquals(ConfigKillStore.BLOCK_SIZE + 5, reopened.getTotalKills());
+
+		KillHistory tail = reopened.readTail(1, TIMESTAMP + ConfigKillStore.BLOCK_SIZE + 1);
+		assertEquals(4, tail.size());
+		assertKill(tail, 3, TIMESTAMP + ConfigKillStore.BLOCK_SIZE + 4, 1);
+	}
+
+	@Test
+	public void lostIndexIsRebuiltFromTheBlocks() throws IOException
+	{
+		ConfigKillStore store = open();
+		store.append(kills(0, ConfigKillStore.BLOCK_SIZE * 2 + 1));
+		store.removeOldestPages(1);
+		assertNull(config.get("killBlock_0"));
+		config.set("killBlockIndex", "damaged");
+
+		ConfigKillStore reopened = open();
+		assertEquals(2, reopened.getPageCount());
+		assertEquals(ConfigKillStore.BLOCK_SIZE + 1, reopened.getTotalKills());
+		assertEquals(1, reopened.getPages().get(0).getPageNumber());
+	}
+
+	@Test
+	public void damagedBlockReadsAsEmpty() throws IOException
+	{
+		ConfigKillStore store = open();
+		store.append(kills(0, ConfigKillStore.BLOCK_SIZE + 1));
+		config.set("killBlock_0", "damaged");
+
+		ConfigKillStore reopened = open();
+		assertTrue(reopened.getPage(0).isEmpty());
+		assertEquals(1, reopened.readTail(0, 0).size());
+	}
+
+	@Test
+	public void failedAppendReportsTheKillsAlreadyWritten() throws IOException
+	{
+		ConfigKillStore store = new ConfigKillStore(new MapConfigKeys()
+		{
+			@Override
+			public synchronized void set(String key, String value)
+			{
+				if (key.equals("killBlock_1"))
+				{
+					throw new IllegalStateException("profile unavailable");
+				}
+				super.set(key, value);
+			}
+		});
+		store.open();
+
+		try
+		{
+			store.append(kills(0, ConfigKillStore.BLOCK_SIZE + 3));
+			fail();
+		}
+		catch (KillStore.PartialAppendException e)
+		{
+			assertEquals(ConfigKillStore.BLOCK_SIZE, e.getAppended());
+		}
+		assertEquals(ConfigKillStore.BLOCK_SIZE, store.getTotalKills());
+	}
+
+	private ConfigKillStore open()
+	{
+		ConfigKillStore store = new ConfigKillStore(config);
+		store.open();
+		return store;
+	}
+
+	private static KillHistory kills(int from, int count)
+	{
+		KillHistory kills = new KillHistory();
+		for (int i = from; i < from + count; i++)
+		{
+			kills.append(kill(TIMESTAMP + i, 1));
+		}
+		return kills;
+	}
+}
@@ -0,0 +1,107 @@
+package com.araxxortracker;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DailyRollupTest
+{
+	private static final long TIMESTAMP = 1_700_000_000_000L;
+	private static final int UNIQUE_ITEM = 29790;
+	private static final int COMMON_ITEM = 995;
+
+	@Test
+	public void aggregatesKillsPerRotation()
+	{
+		DailyRollup rollup = sampleDay();
+
+		assertEquals(19_675, rollup.getEpochDay());
+		assertEquals(4, rollup.getKillCount());
+		assertEquals(5_300_000, rollup.getLootValue());
+		assertEquals(2, rollup.getKillCount(AraxxorEggType.WHITE));
+		assertEquals(90_000, rollup.getMinKillTime(AraxxorEggType.WHITE));
+		assertEquals(95_000, rollup.getAverageKillTime(AraxxorEggType.WHITE));
+		assertEquals(1, rollup.getKillCount(null));
+		assertEquals(0, rollup.getKillCount(AraxxorEggType.GREEN));
+		assertEquals(-1, rollup.getMinKillTime(AraxxorEggType.GREEN));
+		assertEquals(-1, rollup.getAverageKillTime(AraxxorEggType.GREEN));
+		assertEquals(Long.valueOf(80_000), rollup.getLoot().get(COMMON_ITEM));
+		assertEquals(Long.valueOf(2), rollup.getLoot().get(UNIQUE_ITEM));
+		assertEquals(Integer.valueOf(2), rollup.getUniqueDrops().get(UNIQUE_ITEM));
+		assertNull(rollup.getUniqueDrops().get(COMMON_ITEM));
+	}
+
+	@Test
+	public void roundTripsThroughItsBinaryForm() throws IOException
+	{
+		DailyRollup rollup = sampleDay();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		rollup.write(new DataOutputStream(bytes));
+
+		DailyRollup read = DailyRollup.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), true);
+
+		assertEquals(rollup.getEpochDay(), read.getEpochDay());
+		assertEquals(rollup.getKillCount(), read.getKillCount());
+		assertEquals(rollup.getLootValue(), read.getLootValue());
+		for (AraxxorEggType rotation : AraxxorEggType.values())
+		{
+			assertEquals(rollup.getKillCount(rotation), read.getKillCount(rotation));
+			assertEquals(rollup.getMinKillTime(rotation), read.getMinKillTime(rotation));
+			assertEquals(rollup.getAverageKillTime(rotation), read.getAverageKillTime(rotation));
+		}
+		assertEquals(rollup.getKillCount(null), read.getKillCount(null));
+		assertEquals(rollup.getLoot(), read.getLoot());
+		assertEquals(rollup.getUniqueDrops(), read.getUniqueDrops());
+		assertEquals(rollup.getTimestamps(), read.getTimestamps());
+		assertTrue(read.isTimestamped());
+	}
+
+	@Test
+	public void mergingAddsUpBothDays()
+	{
+		DailyRollup merged = sampleDay();
+		DailyRollup other = new DailyRollup(19_675);
+		KillHistory kills = new KillHistory();
+		kills.append(TIMESTAMP + 10, 80_000, AraxxorEggType.WHITE, 500_000, 30, 3_000, 90);
+		kills.addLoot(UNIQUE_ITEM, 1);
+		other.add(kills, 0);
+		merged.merge(other);
+
+		assertEquals(5, merged.getKillCount());
+		assertEquals(5_800_000, merged.getLootValue());
+		assertEquals(3, merged.getKillCount(AraxxorEggType.WHITE));
+		assertEquals(80_000, merged.getMinKillTime(AraxxorEggType.WHITE));
+		assertEquals(90_000, merged.getAverageKillTime(AraxxorEggType.WHITE));
+		assertEquals(Long.valueOf(3), merged.getLoot().get(UNIQUE_ITEM));
+		assertEquals(Integer.valueOf(3), merged.getUniqueDrops().get(UNIQUE_ITEM));
+		assertTrue(merged.isTimestamped());
+		assertTrue(merged.getTimestamps().contains(TIMESTAMP + 10));
+	}
+
+	private static DailyRollup sampleDay()
+	{
+		KillHistory kills = new KillHistory();
+		kills.append(TIMESTAMP, 100_000, AraxxorEggType.WHITE, 1_000_000, 40, 3_000, 100);
+		kills.addLoot(COMMON_ITEM, 30_000);
+		kills.append(TIMESTAMP + 1, 90_000, AraxxorEggType.WHITE, 1_200_000, 38, 3_000, 80);
+		kills.addLoot(COMMON_ITEM, 50_000);
+		kills.addLoot(UNIQUE_ITEM, 1);
+		kills.append(TIMESTAMP + 2, 110_000, AraxxorEggType.RED, 1_100_000, 44, 3_000, 140);
+		kills.append(TIMESTAMP + 3, 120_000, null, 2_000_000, 45, 3_000, 150);
+		kills.addLoot(UNIQUE_ITEM, 1);
+
+		DailyRollup rollup = new DailyRollup(19_675);
+		for (int row = 0; row < kills.size(); row++)
+		{
+			rollup.add(kills, row);
+		}
+		return rollup;
+	}
+}
@@ -0,0 +1,406 @@
+package com.araxxortracker;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.runelite.api.Actor;
+import net.runelite.api.ChatMessageType;
+import net.runelite.api.Client;
+import net.runelite.api.Hitsplat;
+import net.runelite.api.NPC;
+import net.runelite.api.NPCComposition;
+import net.runelite.api.Player;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.ActorDeath;
+import net.runelite.api.events.AnimationChanged;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.HitsplatApplied;
+import net.runelite.api.events.NpcDespawned;
+import net.runelite.api.events.NpcSpawned;
+import net.runelite.api.gameval.NpcID;
+import net.runelite.client.events.ServerNpcLoot;
+import net.runelite.client.game.ItemStack;
+
+/**
+ * Headless driver for the real {@link AraxxorPlugin} event handlers.
+ * <p>
+ * Fights are given as {@link FightRecorder} rows, either decoded from a recording or built by
+ * {@link SyntheticFight}. Each row becomes the RuneLite event the live client would post, with
+ * the game ticks in between replayed through {@code onGameTick}, so fight timing, the area
+ * check and rotation detection all run exactly as in game. The client, player, NPCs and
+ * config are {@link Proxy} fakes over a little mutable state; the plugin is never started, so
+ * nothing is persisted and no config manager is needed. Once warmed up the fakes answer
+ * without allocating, so allocation measured around a handler call is the plugin's own.
+ */
+class FightReplay
+{
+	static final int ARAXXOR_HITPOINTS = 1020;
+	static final int HEALTH_SCALE = 30;
+	static final WorldPoint PLAYER_LOCATION = new WorldPoint(3632, 9806, 0);
+
+	/** Zero values for primitive return types; anything else answers null */
+	private static final Map<Class<?>, Object> ZEROS = new HashMap<>();
+	static
+	{
+		ZEROS.put(boolean.class, false);
+		ZEROS.put(char.class, '\0');
+		ZEROS.put(byte.class, (byte) 0);
+		ZEROS.put(short.class, (short) 0);
+		ZEROS.put(int.class, 0);
+		ZEROS.put(long.class, 0L);
+		ZEROS.put(float.class, 0f);
+		ZEROS.put(double.class, 0d);
+	}
+
+	private final AraxxorPlugin plugin;
+	private final Map<Integer, Integer> itemPrices;
+	private final FakeActor playerActor;
+	private final Player player;
+	private final Map<Long, FakeActor> npcs = new HashMap<>();
+	private final NPCComposition araxxorComposition;
+	private final List<ItemStack> loot = new ArrayList<>();
+	private FakeActor araxxor;
+
+	FightReplay()
+	{
+		this(new HashMap<>(), new HashMap<>());
+	}
+
+	/**
+	 * @param configValues config values by key name, overriding the defaults
+	 * @param itemPrices prices used when valuing loot; unknown items are worth 1
+	 */
+	FightReplay(Map<String, Object> configValues, Map<Integer, Integer> itemPrices)
+	{
+		this.itemPrices = itemPrices;
+		this.playerActor = new FakeActor(-1, PLAYER_LOCATION);
+		this.player = playerActor.as(Player.class);
+		this.araxxorComposition = fake(NPCComposition.class, (proxy, method, args) ->
+			method.getName().equals("getId") ? NpcID.ARAXXOR_DEAD : defaultValue(method.getReturnType()));
+
+		this.plugin = new AraxxorPlugin()
+		{
+			@Override
+			int getLootItemPrice(int itemId)
+			{
+				return FightReplay.this.itemPrices.getOrDefault(itemId, 1);
+			}
+		};
+		inject("client", fake(Client.class, (proxy, method, args) ->
+		{
+			switch (method.getName())
+			{
+				case "getLocalPlayer":
+					return player;
+				case "isClientThread":
+					return true;
+				default:
+					return defaultValue(method.getReturnType());
+			}
+		}));
+		AraxxorConfig config = fakeConfig(configValues);
+		inject("config", config);
+		inject("settings", AraxxorSettings.from(config));
+	}
+
+	AraxxorPlugin getPlugin()
+	{
+		return plugin;
+	}
+
+	Player getPlayer()
+	{
+		return player;
+	}
+
+	/**
+	 * Move the player, e.g. out of the lair; the plugin notices on its next tick
+	 */
+	void movePlayer(WorldPoint location)
+	{
+		playerActor.location = location;
+	}
+
+	/**
+	 * The Araxxor NPC currently spawned, or null
+	 */
+	NPC getAraxxor()
+	{
+		return araxxor != null ? araxxor.as(NPC.class) : null;
+	}
+
+	/**
+	 * Replay one fight; row ticks count from the fight's first row
+	 */
+	void play(int[] rows)
+	{
+		int tick = rows.length > 0 ? rows[0] : 0;
+		for (int offset = 0; offset < rows.length; offset += FightRecorder.ROW)
+		{
+			for (; tick < rows[offset]; tick++)
+			{
+				// The handler ignores the event itself
+				plugin.onGameTick(null);
+			}
+
+			int type = rows[offset + 1];
+			int a = rows[offset + 2];
+			int b = rows[offset + 3];
+			int c = rows[offset + 4];
+			switch (type)
+			{
+				case FightRecorder.NPC_SPAWNED:
+					spawn(a, b, c);
+					break;
+				case FightRecorder.NPC_DESPAWNED:
+					despawn(a, b, c);
+					break;
+				case FightRecorder.HITSPLAT:
+					hitsplat(a, b, c);
+					break;
+				case FightRecorder.ANIMATION:
+					animate(a, b);
+					break;
+				case FightRecorder.ACTOR_DEATH:
+					if (araxxor != null)
+					{
+						plugin.onActorDeath(new ActorDeath(araxxor.as(NPC.class)));
+					}
+					break;
+				case FightRecorder.KILL_TIME:
+					ChatMessage message = new ChatMessage();
+					message.setType(ChatMessageType.GAMEMESSAGE);
+					message.setMessage("Fight duration: <col=ef1020>" + formatKillTime(a) + "</col>.");
+					plugin.onChatMessage(message);
+					break;
+				case FightRecorder.LOOT:
+					loot.add(new ItemStack(a, b));
+					boolean lastItem = offset + FightRecorder.ROW >= rows.length
+						|| rows[offset + FightRecorder.ROW + 1] != FightRecorder.LOOT
+						|| rows[offset + FightRecorder.ROW] != rows[offset];
+					if (lastItem)
+					{
+						plugin.onServerNpcLoot(new ServerNpcLoot(araxxorComposition, new ArrayList<>(loot)));
+						loot.clear();
+					}
+					break;
+				default:
+					break;
+			}
+		}
+	}
+
+	private void spawn(int npcId, int x, int y)
+	{
+		FakeActor npc = new FakeActor(npcId, new WorldPoint(x, y, PLAYER_LOCATION.getPlane()));
+		npcs.put(key(npcId, x, y), npc);
+		if (npcId == NpcID.ARAXXOR)
+		{
+			araxxor = npc;
+		}
+		plugin.onNpcSpawned(new NpcSpawned(npc.as(NPC.class)));
+	}
+
+	private void despawn(int npcId, int x, int y)
+	{
+		FakeActor npc = npcs.remove(key(npcId, x, y));
+		if (npc == null)
+		{
+			npc = new FakeActor(npcId, new WorldPoint(x, y, PLAYER_LOCATION.getPlane()));
+		}
+		if (npc == araxxor)
+		{
+			araxxor = null;
+		}
+		plugin.onNpcDespawned(new NpcDespawned(npc.as(NPC.class)));
+	}
+
+	private void hitsplat(int target, int amount, int flags)
+	{
+		Actor actor;
+		if (target == FightRecorder.TARGET_PLAYER)
+		{
+			actor = player;
+		}
+		else if (araxxor != null && araxxor.id == target)
+		{
+			araxxor.damage += amount;
+			actor = araxxor.as(NPC.class);
+		}
+		else
+		{
+			return;
+		}
+
+		HitsplatApplied event = new HitsplatApplied();
+		event.setActor(actor);
+		event.setHitsplat(new Hitsplat(flags >> 1, amount, 0));
+		plugin.onHitsplatApplied(event);
+	}
+
+	private void animate(int npcId, int animation)
+	{
+		if (araxxor == null || araxxor.id != npcId)
+		{
+			return;
+		}
+
+		araxxor.animation = animation;
+		AnimationChanged event = new AnimationChanged();
+		event.setActor(araxxor.as(NPC.class));
+		plugin.onAnimationChanged(event);
+	}
+
+	private void inject(String fieldName, Object value)
+	{
+		try
+		{
+			Field field = AraxxorPlugin.class.getDeclaredField(fieldName);
+			field.setAccessible(true);
+			field.set(plugin, value);
+		}
+		catch (ReflectiveOperationException e)
+		{
+			throw new IllegalStateException("Cannot inject " + fieldName, e);
+		}
+	}
+
+	/**
+	 * Call a private injection constructor, as Guice would for the overlays
+	 */
+	static <T> T construct(Class<T> type, Object... args) throws ReflectiveOperationException
+	{
+		for (Constructor<?> constructor : type.getDeclaredConstructors())
+		{
+			if (constructor.getParameterCount() == args.length)
+			{
+				constructor.setAccessible(true);
+				return type.cast(constructor.newInstance(args));
+			}
+		}
+		throw new NoSuchMethodException(type.getName());
+	}
+
+	static String formatKillTime(long ms)
+	{
+		return String.format("%d:%05.2f", ms / 60_000, (ms % 60_000) / 1000.0);
+	}
+
+	private static long key(int npcId, int x, int y)
+	{
+		return ((long) npcId << 32) | ((long) (x & 0xFFFF) << 16) | (y & 0xFFFF);
+	}
+
+	/**
+	 * Config proxy answering from {@code values} by key name, falling back to the interface
+	 * defaults; config getters take no arguments, so each default is computed once
+	 */
+	private static AraxxorConfig fakeConfig(Map<String, Object> values)
+	{
+		Map<Method, Object> defaults = new HashMap<>();
+		return fake(AraxxorConfig.class, (proxy, method, args) ->
+		{
+			if (values.containsKey(method.getName()))
+			{
+				return values.get(method.getName());
+			}
+			if (!method.isDefault())
+			{
+				return defaultValue(method.getReturnType());
+			}
+			if (!defaults.containsKey(method))
+			{
+				defaults.put(method, MethodHandles.privateLookupIn(AraxxorConfig.class, MethodHandles.lookup())
+					.unreflectSpecial(method, AraxxorConfig.class)
+					.bindTo(proxy)
+					.invokeWithArguments(args != null ? args : new Object[0]));
+			}
+			return defaults.get(method);
+		});
+	}
+
+	/**
+	 * A proxy with identity equality, delegating everything else to {@code handler}
+	 */
+	static <T> T fake(Class<T> type, InvocationHandler handler)
+	{
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) ->
+		{
+			// Identity semantics, so the plugin's == checks against the local player hold
+			switch (method.getName())
+			{
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "toString":
+					return type.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+				default:
+					return handler.invoke(proxy, method, args);
+			}
+		}));
+	}
+
+	static Object defaultValue(Class<?> type)
+	{
+		return ZEROS.get(type);
+	}
+
+	/**
+	 * State behind a fake NPC or player; each actor hands out one proxy so identity holds.
+	 * The id and animation are kept boxed so answering them does not allocate.
+	 */
+	private static final class FakeActor implements InvocationHandler
+	{
+		private final int id;
+		private final Integer boxedId;
+		private WorldPoint location;
+		private Integer animation = -1;
+		private int damage;
+		private Object proxy;
+
+		FakeActor(int id, WorldPoint location)
+		{
+			this.id = id;
+			this.boxedId = id;
+			this.location = location;
+		}
+
+		<T extends Actor> T as(Class<T> type)
+		{
+			if (proxy == null)
+			{
+				proxy = fake(type, this);
+			}
+			return type.cast(proxy);
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args)
+		{
+			switch (method.getName())
+			{
+				case "getId":
+					return boxedId;
+				case "getWorldLocation":
+					return location;
+				case "getAnimation":
+					return animation;
+				case "getHealthScale":
+					return HEALTH_SCALE;
+				case "getHealthRatio":
+					int remaining = Math.max(ARAXXOR_HITPOINTS - damage, 0);
+					return (remaining * HEALTH_SCALE + ARAXXOR_HITPOINTS - 1) / ARAXXOR_HITPOINTS;
+				default:
+					return defaultValue(method.getReturnType());
+			}
+		}
+	}
+}
@@ -0,0 +1,152 @@
+package com.araxxortracker;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import net.runelite.api.coords.WorldPoint;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Regression suite for the fight handlers, driven headlessly through {@link FightReplay}
+ */
+public class FightReplayTest
+{
+	private static final int FIGHTS_PER_ROTATION = 200;
+	private static final WorldPoint OUTSIDE_LAIR = new WorldPoint(3222, 3218, 0);
+
+	@Test
+	public void detectsStartRotationFromSouthEastEgg()
+	{
+		Random random = new Random(7);
+		for (AraxxorEggType start : AraxxorEggType.values())
+		{
+			FightReplay replay = new FightReplay();
+			for (int i = 0; i < FIGHTS_PER_ROTATION; i++)
+			{
+				SyntheticFight fight = SyntheticFight.generate(start, random);
+				replay.play(fight.toRows());
+
+				KillHistory kills = replay.getPlugin().getSessionKills();
+				assertEquals("fight " + i, start, kills.getRotation(kills.size() - 1));
+			}
+		}
+	}
+
+	@Test
+	public void killRecordMatchesEventStream()
+	{
+		Random random = new Random(11);
+		FightReplay replay = new FightReplay();
+		for (int i = 0; i < 100; i++)
+		{
+			SyntheticFight fight = SyntheticFight.generate(AraxxorEggType.values()[i % 3], random);
+			replay.play(fight.toRows());
+
+			KillHistory kills = replay.getPlugin().getSessionKills();
+			int row = kills.size() - 1;
+			assertEquals(fight.getKillTime(), kills.getKillTime(row));
+			assertEquals(fight.getHits(), kills.getHits(row));
+			assertEquals(fight.getDamageDealt(), kills.getDamageDealt(row));
+			assertEquals(fight.getDamageTaken(), kills.getDamageTaken(row));
+			assertEquals(fight.getLootValue(), kills.getLootValue(row));
+		}
+	}
+
+	@Test
+	public void enrageSplitsComeFromTicks()
+	{
+		Random random = new Random(13);
+		FightReplay replay = new FightReplay();
+		AraxxorPlugin plugin = replay.getPlugin();
+		for (int i = 0; i < 100; i++)
+		{
+			SyntheticFight fight = SyntheticFight.generate(AraxxorEggType.RED, random);
+			replay.play(fight.toRows());
+
+			assertTrue(fight.getNormalPhaseTime() > 0);
+			assertEquals(fight.getNormalPhaseTime(), plugin.getLastFightNormalTime());
+			assertEquals(0, plugin.getLastFightNormalTime() % FightTimer.TICK_MS);
+			assertEquals(0, plugin.getLastFightEnrageTime() % FightTimer.TICK_MS);
+		}
+	}
+
+	@Test
+	public void personalBestIsFastestKill()
+	{
+		Random random = new Random(17);
+		FightReplay replay = new FightReplay();
+		long fastest = Long.MAX_VALUE;
+		for (int i = 0; i < 50; i++)
+		{
+			SyntheticFight fight = SyntheticFight.generate(AraxxorEggType.GREEN, random);
+			replay.play(fight.toRows());
+			fastest = Math.min(fastest, fight.getKillTime());
+		}
+
+		assertEquals(fastest, replay.getPlugin().getBestKillTime());
+		assertEquals(fastest, replay.getPlugin().getRotationBestTime(AraxxorEggType.GREEN));
+		assertEquals(50, replay.getPlugin().getKillCount());
+	}
+
+	@Test
+	public void leavingTheLairAbandonsTheFight()
+	{
+		Random random = new Random(23);
+		FightReplay replay = new FightReplay();
+		AraxxorPlugin plugin = replay.getPlugin();
+		int[] rows = SyntheticFight.generate(AraxxorEggType.WHITE, random).toRows();
+		int half = rows.length / FightRecorder.ROW / 2 * FightRecorder.ROW;
+		replay.play(Arrays.copyOf(rows, half));
+		assertTrue(plugin.isFightActive());
+
+		replay.movePlayer(OUTSIDE_LAIR);
+		plugin.onGameTick(null);
+		assertFalse(plugin.isFightActive());
+		assertFalse(plugin.getFightSnapshot().hasFightStarted());
+		assertFalse(plugin.getFightSnapshot().isInAraxxorArea());
+
+		// Back in the lair the next fight is tracked from scratch
+		replay.movePlayer(FightReplay.PLAYER_LOCATION);
+		SyntheticFight fight = SyntheticFight.generate(AraxxorEggType.GREEN, random);
+		replay.play(fight.toRows());
+		assertEquals(1, plugin.getKillCount());
+		assertEquals(fight.getKillTime(), plugin.getSessionKills().getKillTime(0));
+	}
+
+	@Test
+	public void recordingRoundTripReplaysTheSameFight() throws IOException
+	{
+		Random random = new Random(19);
+		Map<Integer, Integer> prices = new HashMap<>();
+		prices.put(995, 1);
+		prices.put(29790, 60_000);
+
+		for (int i = 0; i < 50; i++)
+		{
+			SyntheticFight fight = SyntheticFight.generate(AraxxorEggType.values()[i % 3], random);
+			int[] rows = fight.toRows();
+			int[] decoded = FightRecorder.decode(FightRecorder.encode(1_700_000_000_000L + i, 0, rows));
+			assertNotNull(decoded);
+			assertArrayEquals(rows, decoded);
+
+			FightReplay direct = new FightReplay(new HashMap<>(), prices);
+			FightReplay recorded = new FightReplay(new HashMap<>(), prices);
+			direct.play(rows);
+			recorded.play(decoded);
+
+			KillHistory expected = direct.getPlugin().getSessionKills();
+			KillHistory actual = recorded.getPlugin().getSessionKills();
+			assertEquals(expected.getRotation(0), actual.getRotation(0));
+			assertEquals(expected.getKillTime(0), actual.getKillTime(0));
+			assertEquals(expected.getLootValue(0), actual.getLootValue(0));
+		}
+	}
+}
@@ -0,0 +1,255 @@
+package com.araxxortracker;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.araxxortracker.KillJournalTest.kill;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class HistoryCompactorTest
+{
+	private static final long TIMESTAMP = 1_700_000_000_000L;
+	private static final long HOUR = 3_600_000L;
+	private static final ZoneId ZONE = ZoneOffset.UTC;
+	private static final int PAGE = PagedKillStore.PAGE_SIZE;
+
+	private File directory;
+	private final MapConfigKeys config = new MapConfigKeys();
+
+	@Before
+	public void setUp() throws IOException
+	{
+		directory = TestFiles.createDirectory();
+	}
+
+	@After
+	public void tearDown()
+	{
+		TestFiles.delete(directory);
+	}
+
+	@Test
+	public void expiredPagesBecomeDailyRollups() throws IOException
+	{
+		PagedKillStore store = localStore();
+		store.append(kills(0, PAGE * 2 + 10));
+		HistoryCompactor compactor = localCompactor(store);
+		compactor.load();
+
+		assertEquals(2, compactor.compact(cutoffAfter(PAGE * 2), ZONE));
+		assertEquals(1, store.getPageCount());
+		assertEquals(PAGE * 2, rolledUp(compactor));
+		assertEquals(PAGE * 2 + 10, lifetime(store, compactor));
+		assertEquals(TIMESTAMP / (24 * HOUR), compactor.getRollups().get(0).getEpochDay());
+		assertEquals((TIMESTAMP + (PAGE * 2 - 1) * HOUR) / (24 * HOUR),
+			compactor.getRollups().get(compactor.getRollups().size() - 1).getEpochDay());
+
+		HistoryCompactor reloaded = localCompactor(store);
+		reloaded.load();
+		assertEquals(compactor.getCompactedThrough(), reloaded.getCompactedThrough());
+		assertEquals(PAGE * 2, rolledUp(reloaded));
+		assertEquals(0, reloaded.compact(cutoffAfter(PAGE * 2), ZONE));
+	}
+
+	@Test
+	public void pagesLeftByAnInterruptedCompactionAreNotCountedTwice() throws IOException
+	{
+		PagedKillStore store = localStore();
+		store.append(kills(0, PAGE * 2 + 10));
+		KillStore failingRemove = FightReplay.fake(KillStore.class, (proxy, method, args) ->
+		{
+			if (method.getName().equals("removeOldestPages"))
+			{
+				throw new IOException("interrupted");
+			}
+			try
+			{
+				return method.invoke(store, args);
+			}
+			catch (InvocationTargetException e)
+			{
+				throw e.getCause();
+			}
+		});
+
+		HistoryCompactor interrupted = localCompactor(failingRemove);
+		interrupted.load();
+		try
+		{
+			interrupted.compact(cutoffAfter(PAGE), ZONE);
+			fail();
+		}
+		catch (IOException e)
+		{
+			// Expected
+		}
+		assertEquals(3, store.getPageCount());
+
+		HistoryCompactor compactor = localCompactor(store);
+		compactor.load();
+		assertEquals(1, compactor.compact(cutoffAfter(PAGE * 2), ZONE));
+		assertEquals(PAGE * 2, rolledUp(compactor));
+		assertEquals(PAGE * 2 + 10, lifetime(store, compactor));
+	}
+
+	@Test
+	public void switchingStorageKeepsEveryKill() throws IOException
+	{
+		int total = PAGE * 2 + 300;
+		PagedKillStore local = localStore();
+		local.append(kills(0, total));
+		HistoryCompactor localCompactor = localCompactor(local);
+		localCompactor.load();
+		localCompactor.compact(cutoffAfter(PAGE * 2), ZONE);
+
+		// Switch to the profile: its blocks are numbered from 0, below the local page numbers
+		ConfigKillStore profile = profileStore();
+		HistoryCompactor profileCompactor = profileCompactor(profile);
+		profileCompactor.load();
+		assertEquals(total, profileCompactor.adopt(local, localCompactor.getRollups(), ZONE));
+		assertEquals(0, profileCompactor.compact(cutoffAfter(PAGE * 2), ZONE));
+		assertEquals(300, profile.getTotalKills());
+		assertEquals(total, lifetime(profile, profileCompactor));
+
+		assertEquals(1, profileCompactor.compact(cutoffAfter(PAGE * 2 + ConfigKillStore.BLOCK_SIZE), ZONE));
+		profile.append(kills(total, 20));
+		assertEquals(total + 20, lifetime(profile, profileCompactor));
+
+		// A second machine sharing the profile sees the same rollups and cursor
+		ConfigKillStore shared = profileStore();
+		HistoryCompactor sharedCompactor = profileCompactor(shared);
+		sharedCompactor.load();
+		assertEquals(0, sharedCompactor.compact(cutoffAfter(PAGE * 2 + ConfigKillStore.BLOCK_SIZE), ZONE));
+		assertEquals(total + 20, lifetime(shared, sharedCompactor));
+
+		// And back to local storage, which only lacks the kills recorded in the profile
+		HistoryCompactor backToLocal = localCompactor(local);
+		backToLocal.load();
+		assertEquals(20, backToLocal.adopt(shared, sharedCompactor.getRollups(), ZONE));
+		assertEquals(total + 20, lifetime(local, backToLocal));
+		assertEquals(0, backToLocal.adopt(shared, sharedCompactor.getRollups(), ZONE));
+		assertEquals(total + 20, lifetime(local, backToLocal));
+	}
+
+	@Test
+	public void adoptingIntoAnEmptyStoreCopiesRollupsAndKills() throws IOException
+	{
+		ConfigKillStore profile = profileStore();
+		profile.append(kills(0, ConfigKillStore.BLOCK_SIZE * 2 + 5));
+		HistoryCompactor profileCompactor = profileCompactor(profile);
+		profileCompactor.load();
+		profileCompactor.compact(cutoffAfter(ConfigKillStore.BLOCK_SIZE * 2), ZONE);
+
+		PagedKillStore local = localStore();
+		HistoryCompactor localCompactor = localCompactor(local);
+		localCompactor.load();
+		localCompactor.adopt(profile, profileCompactor.getRollups(), ZONE);
+
+		HistoryCompactor reloaded = localCompactor(local);
+		reloaded.load();
+		assertEquals(ConfigKillStore.BLOCK_SIZE * 2 + 5, lifetime(local, reloaded));
+		assertTrue(config.get(HistoryCompactor.CONFIG_KEY) != null);
+		assertTrue(new File(directory, HistoryCompactor.FILE_NAME).isFile());
+	}
+
+	@Test
+	public void adoptingBetweenStoresThatBothHoldHistoryKeepsEveryKill() throws IOException
+	{
+		int localKills = PAGE * 2 + 10;
+		PagedKillStore local = localStore();
+		local.append(kills(0, localKills));
+		HistoryCompactor localCompactor = localCompactor(local);
+		localCompactor.load();
+		localCompactor.compact(cutoffAfter(PAGE * 2), ZONE);
+
+		// Kills on the same days, half an hour after the local ones, and running on past them
+		int profileKills = ConfigKillStore.BLOCK_SIZE * 5;
+		ConfigKillStore profile = profileStore();
+		KillHistory halfHours = new KillHistory();
+		for (int i = 0; i < profileKills; i++)
+		{
+			halfHours.append(kill(TIMESTAMP + i * HOUR + HOUR / 2, 1));
+		}
+		profile.append(halfHours);
+		HistoryCompactor profileCompactor = profileCompactor(profile);
+		profileCompactor.load();
+		profileCompactor.compact(cutoffAfter(ConfigKillStore.BLOCK_SIZE * 2), ZONE);
+
+		// Rollups land on days with local rollups and kills; older kills go into rollups
+		assertEquals(profileKills, localCompactor.adopt(profile, profileCompactor.getRollups(), ZONE));
+		assertEquals(localKills + profileKills, lifetime(local, localCompactor));
+		assertEquals(localKills - PAGE * 2 + profileKills - (PAGE * 2 - 1), local.getTotalKills());
+
+		assertEquals(0, localCompactor.adopt(profile, profileCompactor.getRollups(), ZONE));
+		HistoryCompactor reloaded = localCompactor(local);
+		reloaded.load();
+		assertEquals(localKills + profileKills, lifetime(local, reloaded));
+		reloaded.compact(TIMESTAMP + profileKills * HOUR, ZONE);
+		assertEquals(localKills + profileKills, lifetime(local, reloaded));
+	}
+
+	private PagedKillStore localStore() throws IOException
+	{
+		PagedKillStore store = new PagedKillStore(directory);
+		store.open();
+		return store;
+	}
+
+	private HistoryCompactor localCompactor(KillStore store)
+	{
+		return new HistoryCompactor(store, HistoryCompactor.fileStorage(new File(directory, HistoryCompactor.FILE_NAME)));
+	}
+
+	private ConfigKillStore profileStore()
+	{
+		ConfigKillStore store = new ConfigKillStore(config);
+		store.open();
+		return store;
+	}
+
+	private HistoryCompactor profileCompactor(KillStore store)
+	{
+		return new HistoryCompactor(store, HistoryCompactor.configStorage(config));
+	}
+
+	/**
+	 * A cutoff just after the kill with the given index
+	 */
+	private static long cutoffAfter(int kills)
+	{
+		return TIMESTAMP + (kills - 1) * HOUR + 1;
+	}
+
+	private static KillHistory kills(int from, int count)
+	{
+		KillHistory kills = new KillHistory();
+		for (int i = from; i < from + count; i++)
+		{
+			kills.append(kill(TIMESTAMP + i * HOUR, 1));
+		}
+		return kills;
+	}
+
+	private static int rolledUp(HistoryCompactor compactor)
+	{
+		int kills = 0;
+		for (DailyRollup rollup : compactor.getRollups())
+		{
+			kills += rollup.getKillCount();
+		}
+		return kills;
+	}
+
+	private static int lifetime(KillStore store, HistoryCompactor compactor)
+	{
+		return store.getTotalKills() + rolledUp(compactor);
+	}
+}
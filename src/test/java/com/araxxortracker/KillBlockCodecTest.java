@@ -0,0 +1,80 @@
+package com.araxxortracker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import org.junit.Test;
+
+import static com.araxxortracker.KillJournalTest.assertKill;
+import static com.araxxortracker.KillJournalTest.kill;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class KillBlockCodecTest
+{
+	private static final long TIMESTAMP = 1_700_000_000_000L;
+
+	@Test
+	public void blockRoundTrip()
+	{
+		KillHistory kills = new KillHistory();
+		kills.append(kill(TIMESTAMP, 2));
+		kills.append(kill(TIMESTAMP - 5_000, 0));
+		kills.append(kill(TIMESTAMP + 90_000, 4));
+		kills.append(TIMESTAMP + 200_000, 100_000, null, -50, 0, 0, 0);
+
+		KillHistory decoded = KillBlockCodec.decodeBlock(KillBlockCodec.encodeBlock(kills, 1, 4));
+
+		assertEquals(3, decoded.size());
+		assertKill(decoded, 0, TIMESTAMP - 5_000, 0);
+		assertKill(decoded, 1, TIMESTAMP + 90_000, 4);
+		assertEquals(TIMESTAMP + 200_000, decoded.getTimestamp(2));
+		assertNull(decoded.getRotation(2));
+		assertEquals(-50, decoded.getLootValue(2));
+	}
+
+	@Test
+	public void indexRoundTrip()
+	{
+		List<KillStore.PageInfo> pages = new ArrayList<>();
+		pages.add(new KillStore.PageInfo(3, TIMESTAMP, TIMESTAMP + 1_000, 256, 40_000_000));
+		pages.add(new KillStore.PageInfo(4, Long.MAX_VALUE, Long.MIN_VALUE, 0, 0));
+
+		List<KillStore.PageInfo> decoded = KillBlockCodec.decodeIndex(KillBlockCodec.encodeIndex(pages));
+		assertEquals(pages.size(), decoded.size());
+		for (int i = 0; i < pages.size(); i++)
+		{
+			assertEquals(pages.get(i).getPageNumber(), decoded.get(i).getPageNumber());
+			assertEquals(pages.get(i).getStartTimestamp(), decoded.get(i).getStartTimestamp());
+			assertEquals(pages.get(i).getEndTimestamp(), decoded.get(i).getEndTimestamp());
+			assertEquals(pages.get(i).getKillCount(), decoded.get(i).getKillCount());
+			assertEquals(pages.get(i).getLootValue(), decoded.get(i).getLootValue());
+		}
+	}
+
+	@Test
+	public void missingTruncatedOrGarbageValuesDecodeAsNull()
+	{
+		KillHistory kills = new KillHistory();
+		kills.append(kill(TIMESTAMP, 3));
+		kills.append(kill(TIMESTAMP + 1, 3));
+		byte[] block = Base64.getDecoder().decode(KillBlockCodec.encodeBlock(kills, 0, 2));
+		for (int length = 0; length < block.length; length++)
+		{
+			assertNull(KillBlockCodec.decodeBlock(Base64.getEncoder().encodeToString(Arrays.copyOf(block, length))));
+		}
+
+		assertNull(KillBlockCodec.decodeBlock(null));
+		assertNull(KillBlockCodec.decodeBlock(""));
+		assertNull(KillBlockCodec.decodeBlock("not base64!"));
+		assertNull(KillBlockCodec.decodeBlock(Base64.getEncoder().encodeToString(new byte[]{9, 1, 2})));
+		// A count far beyond the bytes that follow
+		assertNull(KillBlockCodec.decodeBlock(Base64.getEncoder().encodeToString(new byte[]{KillBlockCodec.BLOCK_VERSION, (byte) 0xFF, 0x7F})));
+
+		byte[] index = Base64.getDecoder().decode(KillBlockCodec.encodeIndex(
+			Arrays.asList(new KillStore.PageInfo(0, TIMESTAMP, TIMESTAMP, 1, 1))));
+		assertNull(KillBlockCodec.decodeIndex(Base64.getEncoder().encodeToString(Arrays.copyOf(index, index.length - 1))));
+		assertNull(KillBlockCodec.decodeIndex(null));
+	}
+}
@@ -0,0 +1,123 @@
+package com.araxxortracker;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.araxxortracker.KillJournalTest.kill;
+import static org.junit.Assert.assertEquals;
+
+public class KillHistoryCacheTest
+{
+	private static final long TIMESTAMP = 1_700_000_000_000L;
+	private static final long SESSION_GAP = AraxxorPlugin.SESSION_TIMEOUT_MS + 1;
+
+	private File directory;
+	private PagedKillStore store;
+	private KillHistoryCache cache;
+
+	@Before
+	public void setUp() throws IOException
+	{
+		directory = TestFiles.createDirectory();
+		store = new PagedKillStore(directory);
+		store.open();
+		cache = new KillHistoryCache(store, KillHistoryCacheTest::groupSessions);
+	}
+
+	@After
+	public void tearDown()
+	{
+		TestFiles.delete(directory);
+	}
+
+	@Test
+	public void readingOlderPagesLeavesTheVersionAlone() throws IOException
+	{
+		KillHistory kills = new KillHistory();
+		for (int i = 0; i < PagedKillStore.PAGE_SIZE * 3; i++)
+		{
+			kills.append(kill(TIMESTAMP + i, 0));
+		}
+		store.append(kills);
+		cache.load();
+		int version = cache.getVersion();
+
+		assertEquals(PagedKillStore.PAGE_SIZE * 3, cache.all().size());
+		KillHistory recent = cache.recentKills(10);
+		assertEquals(TIMESTAMP + PagedKillStore.PAGE_SIZE * 3 - 1, recent.getTimestamp(recent.size() - 1));
+		assertEquals(version, cache.getVersion());
+
+		cache.append(kill(TIMESTAMP + PagedKillStore.PAGE_SIZE * 3, 0));
+		assertEquals(version + 1, cache.getVersion());
+	}
+
+	@Test
+	public void loadKeepsKillsAppendedBeforeIt() throws IOException
+	{
+		KillHistory stored = new KillHistory();
+		stored.append(kill(TIMESTAMP, 1));
+		stored.append(kill(TIMESTAMP + 1, 1));
+		store.append(stored);
+
+		// One kill already flushed to the store, one still only in memory
+		cache.append(kill(TIMESTAMP + 1, 1));
+		cache.append(kill(TIMESTAMP + 2, 1));
+		cache.load();
+
+		KillHistory all = cache.all();
+		assertEquals(3, all.size());
+		assertEquals(TIMESTAMP, all.getTimestamp(0));
+		assertEquals(TIMESTAMP + 2, all.getTimestamp(2));
+	}
+
+	@Test
+	public void recentSessionsReachBackToTheWholeSession() throws IOException
+	{
+		KillHistory kills = new KillHistory();
+		long timestamp = TIMESTAMP;
+		for (int session = 0; session < 3; session++)
+		{
+			for (int i = 0; i < PagedKillStore.PAGE_SIZE; i++)
+			{
+				kills.append(kill(timestamp++, 0));
+			}
+			timestamp += SESSION_GAP;
+		}
+		store.append(kills);
+		cache.load();
+
+		KillHistory recent = cache.recentSessions(2);
+		int[] sessions = groupSessions(recent);
+		assertEquals(3, sessions.length - 1);
+		assertEquals(PagedKillStore.PAGE_SIZE * 3, recent.size());
+
+		assertEquals(PagedKillStore.PAGE_SIZE * 2, cache.recentSessions(1).size());
+	}
+
+	/**
+	 * Session start rows plus the end, the shape the plugin's grouping returns
+	 */
+	private static int[] groupSessions(KillHistory kills)
+	{
+		if (kills.isEmpty())
+		{
+			return new int[0];
+		}
+
+		int[] starts = new int[kills.size() + 1];
+		int count = 0;
+		for (int row = 0; row < kills.size(); row++)
+		{
+			if (row == 0 || kills.getTimestamp(row) - kills.getTimestamp(row - 1) > AraxxorPlugin.SESSION_TIMEOUT_MS)
+			{
+				starts[count++] = row;
+			}
+		}
+		starts[count++] = kills.size();
+		return Arrays.copyOf(starts, count);
+	}
+}
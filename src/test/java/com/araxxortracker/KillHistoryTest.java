@@ -0,0 +1,121 @@
+package com.araxxortracker;
+
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class KillHistoryTest
+{
+	@Test
+	public void removeFirstShiftsRowsAndLoot()
+	{
+		KillHistory kills = new KillHistory();
+		for (int i = 0; i < 5; i++)
+		{
+			append(kills, 1_000 + i, i);
+		}
+
+		kills.removeFirst(2);
+		assertEquals(3, kills.size());
+		for (int row = 0; row < 3; row++)
+		{
+			assertRow(kills, row, 1_002 + row, 2 + row);
+		}
+
+		kills.append(1_005, 60_000, null, 1, 0, 0, 0);
+		assertNull(kills.getRotation(3));
+		assertEquals(0, kills.lootEnd(3) - kills.lootStart(3));
+
+		kills.removeFirst(10);
+		assertEquals(0, kills.size());
+	}
+
+	@Test
+	public void sortCarriesLootWithItsRow()
+	{
+		KillHistory kills = new KillHistory();
+		int[] order = {4, 1, 3, 0, 2};
+		for (int i : order)
+		{
+			append(kills, 1_000 + i, i);
+		}
+		// Equal timestamps keep their append order
+		kills.append(1_002, 7, AraxxorEggType.GREEN, 0, 0, 0, 0);
+
+		kills.sortByTimestamp();
+		for (int row = 0; row < 3; row++)
+		{
+			assertRow(kills, row, 1_000 + row, row);
+		}
+		assertEquals(1_002, kills.getTimestamp(3));
+		assertEquals(7, kills.getKillTime(3));
+		assertRow(kills, 4, 1_003, 3);
+		assertRow(kills, 5, 1_004, 4);
+	}
+
+	@Test
+	public void sortHandlesSpansTooWideToPack()
+	{
+		// A span that leaves no room for the row bits takes the comparator path
+		Random random = new Random(17);
+		KillHistory kills = new KillHistory();
+		for (int i = 0; i < 1000; i++)
+		{
+			append(kills, random.nextLong() >>> 1, i % 3);
+		}
+		kills.append(0, 0, null, 0, 0, 0, 0);
+		kills.append(Long.MAX_VALUE, 0, null, 0, 0, 0, 0);
+
+		kills.sortByTimestamp();
+		assertEquals(0, kills.getTimestamp(0));
+		assertEquals(Long.MAX_VALUE, kills.getTimestamp(kills.size() - 1));
+		for (int row = 1; row < kills.size(); row++)
+		{
+			assertTrue(kills.getTimestamp(row - 1) <= kills.getTimestamp(row));
+			if (kills.getKillTime(row) > 0)
+			{
+				int lootItems = (int) kills.getLootValue(row);
+				assertEquals(lootItems, kills.lootEnd(row) - kills.lootStart(row));
+			}
+		}
+	}
+
+	@Test
+	public void copyIsIndependent()
+	{
+		KillHistory kills = new KillHistory();
+		append(kills, 1_000, 2);
+		KillHistory copy = kills.copy();
+		append(copy, 2_000, 1);
+
+		assertEquals(1, kills.size());
+		assertEquals(2, copy.size());
+		assertRow(copy, 0, 1_000, 2);
+		assertRow(copy, 1, 2_000, 1);
+	}
+
+	private static void append(KillHistory kills, long timestamp, int lootItems)
+	{
+		kills.append(timestamp, 100_000 + lootItems, AraxxorEggType.RED, lootItems, lootItems, 0, 0);
+		for (int i = 0; i < lootItems; i++)
+		{
+			kills.addLoot(100 + lootItems, i + 1);
+		}
+	}
+
+	private static void assertRow(KillHistory kills, int row, long timestamp, int lootItems)
+	{
+		assertEquals(timestamp, kills.getTimestamp(row));
+		assertEquals(100_000 + lootItems, kills.getKillTime(row));
+		assertEquals(lootItems, kills.getHits(row));
+		assertEquals(lootItems, kills.lootEnd(row) - kills.lootStart(row));
+		for (int j = kills.lootStart(row), i = 0; j < kills.lootEnd(row); j++, i++)
+		{
+			assertEquals(100 + lootItems, kills.getLootItemId(j));
+			assertEquals(i + 1, kills.getLootQuantity(j));
+		}
+	}
+}
@@ -0,0 +1,145 @@
+package com.araxxortracker;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class KillJournalTest
+{
+	private File directory;
+	private KillJournal journal;
+
+	@Before
+	public void setUp() throws IOException
+	{
+		directory = TestFiles.createDirectory();
+		journal = new KillJournal(new File(directory, KillJournal.FILE_NAME));
+	}
+
+	@After
+	public void tearDown()
+	{
+		TestFiles.delete(directory);
+	}
+
+	@Test
+	public void appendedKillsReadBackInTimestampOrder() throws IOException
+	{
+		journal.append(kill(3_000, 2));
+		journal.append(kill(1_000, 0));
+		KillHistory batch = new KillHistory();
+		batch.append(kill(2_000, 1));
+		journal.appendAll(batch);
+
+		KillHistory read = journal.readAll(0);
+		assertEquals(3, read.size());
+		assertKill(read, 0, 1_000, 0);
+		assertKill(read, 1, 2_000, 1);
+		assertKill(read, 2, 3_000, 2);
+
+		assertEquals(2, journal.readAll(2_000).size());
+	}
+
+	@Test
+	public void tornTailIsTrimmedAndAppendsCarryOn() throws IOException
+	{
+		for (int i = 0; i < 3; i++)
+		{
+			journal.append(kill(1_000 + i, 1));
+		}
+		long intact = journal.getFile().length();
+
+		// Half of a fourth record, as if the client died mid-write
+		journal.append(kill(4_000, 3));
+		try (RandomAccessFile raf = new RandomAccessFile(journal.getFile(), "rw"))
+		{
+			raf.setLength(intact + (raf.length() - intact) / 2);
+		}
+
+		assertEquals(3, journal.readAll(0).size());
+		assertEquals(intact, journal.getFile().length());
+
+		journal.append(kill(5_000, 0));
+		KillHistory read = journal.readAll(0);
+		assertEquals(4, read.size());
+		assertKill(read, 3, 5_000, 0);
+		assertEquals(0, journal.getMalformedCount());
+	}
+
+	@Test
+	public void damagedLengthCostsOnlyThatKill() throws IOException
+	{
+		journal.append(kill(1_000, 1));
+		long second = journal.getFile().length();
+		journal.append(kill(2_000, 2));
+		journal.append(kill(3_000, 0));
+		long size = journal.getFile().length();
+
+		try (RandomAccessFile raf = new RandomAccessFile(journal.getFile(), "rw"))
+		{
+			raf.seek(second);
+			raf.writeInt(0x7FFF_FFFF);
+		}
+
+		KillHistory read = journal.readAll(0);
+		assertEquals(2, read.size());
+		assertKill(read, 0, 1_000, 1);
+		assertKill(read, 1, 3_000, 0);
+		assertEquals(1, journal.getMalformedCount());
+		assertEquals(size, journal.getFile().length());
+
+		// New kills land after the damaged record and are still found
+		journal.append(kill(4_000, 1));
+		assertEquals(3, journal.readAll(0).size());
+	}
+
+	@Test
+	public void garbageFileReadsEmpty() throws IOException
+	{
+		try (RandomAccessFile raf = new RandomAccessFile(journal.getFile(), "rw"))
+		{
+			for (int i = 0; i < 100; i++)
+			{
+				raf.writeInt(i * 0x01010101);
+			}
+		}
+
+		assertEquals(0, journal.readAll(0).size());
+		assertEquals(0, journal.getFile().length());
+	}
+
+	static AraxxorKillRecord kill(long timestamp, int lootItems)
+	{
+		Map<Integer, Long> loot = new HashMap<>();
+		for (int i = 0; i < lootItems; i++)
+		{
+			loot.put(29_782 + i, 10L + i);
+		}
+		return new AraxxorKillRecord(timestamp, 120_000 + timestamp % 1000, AraxxorEggType.WHITE, loot, 1_000_000 + lootItems,
+			40, 3_000, 120);
+	}
+
+	static void assertKill(KillHistory kills, int row, long timestamp, int lootItems)
+	{
+		assertEquals(timestamp, kills.getTimestamp(row));
+		assertEquals(120_000 + timestamp % 1000, kills.getKillTime(row));
+		assertEquals(AraxxorEggType.WHITE, kills.getRotation(row));
+		assertEquals(1_000_000 + lootItems, kills.getLootValue(row));
+		assertEquals(40, kills.getHits(row));
+		assertEquals(3_000, kills.getDamageDealt(row));
+		assertEquals(120, kills.getDamageTaken(row));
+		assertEquals(lootItems, kills.lootEnd(row) - kills.lootStart(row));
+		Map<Integer, Long> loot = kills.toRecord(row).getLoot();
+		for (int i = 0; i < lootItems; i++)
+		{
+			assertEquals(Long.valueOf(10L + i), loot.get(29_782 + i));
+		}
+	}
+}
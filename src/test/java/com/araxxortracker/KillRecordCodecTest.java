@@ -0,0 +1,179 @@
+package com.araxxortracker;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class KillRecordCodecTest
+{
+	private static final long TIMESTAMP = 1_700_000_000_000L;
+
+	private final KillRecordCodec codec = new KillRecordCodec();
+
+	@Test
+	public void binaryRoundTrip()
+	{
+		ByteBuffer buffer = encode(record(3));
+		KillHistory kills = new KillHistory();
+		assertTrue(codec.decode(buffer, buffer.remaining(), 0, kills));
+		assertEquals(0, buffer.remaining());
+
+		assertEquals(1, kills.size());
+		assertEquals(TIMESTAMP, kills.getTimestamp(0));
+		assertEquals(145_800, kills.getKillTime(0));
+		assertEquals(AraxxorEggType.GREEN, kills.getRotation(0));
+		assertEquals(2_500_000, kills.getLootValue(0));
+		assertEquals(52, kills.getHits(0));
+		assertEquals(4_120, kills.getDamageDealt(0));
+		assertEquals(87, kills.getDamageTaken(0));
+		assertEquals(record(3).getLoot(), kills.toRecord(0).getLoot());
+
+		// A history row encodes to the same bytes as the record it came from
+		ByteBuffer fromRow = ByteBuffer.allocate(KillRecordCodec.payloadLength(3));
+		KillRecordCodec.encode(kills, 0, fromRow);
+		assertArrayEquals(encode(record(3)).array(), fromRow.array());
+		assertEquals(0, codec.getMalformedCount());
+	}
+
+	@Test
+	public void lootBeyondTheLimitIsDropped()
+	{
+		ByteBuffer buffer = encode(record(KillRecordCodec.MAX_LOOT_ENTRIES + 20));
+		assertEquals(KillRecordCodec.MAX_RECORD_BYTES, buffer.remaining());
+		KillHistory kills = new KillHistory();
+		assertTrue(codec.decode(buffer, buffer.remaining(), 0, kills));
+		assertEquals(KillRecordCodec.MAX_LOOT_ENTRIES, kills.lootEnd(0) - kills.lootStart(0));
+	}
+
+	@Test
+	public void damagedBinaryRecordsAreCountedAndSkipped()
+	{
+		KillHistory kills = new KillHistory();
+
+		// Unknown version
+		ByteBuffer buffer = encode(record(1));
+		buffer.put(0, (byte) 9);
+		assertFalse(codec.decode(buffer, buffer.remaining(), 0, kills));
+		assertEquals(0, buffer.remaining());
+		assertFalse(KillRecordCodec.isPayload(buffer, 0, buffer.limit()));
+
+		// Loot count that disagrees with the length
+		buffer = encode(record(2));
+		buffer.putShort(KillRecordCodec.FIXED_PAYLOAD_BYTES - 2, (short) 5);
+		assertFalse(codec.decode(buffer, buffer.remaining(), 0, kills));
+		assertEquals(0, buffer.remaining());
+		assertFalse(KillRecordCodec.isPayload(buffer, 0, buffer.limit()));
+
+		// Lengths outside the record bounds
+		buffer = encode(record(0));
+		assertFalse(codec.decode(buffer, KillRecordCodec.FIXED_PAYLOAD_BYTES - 1, 0, kills));
+		assertFalse(KillRecordCodec.isPayload(buffer, 0, KillRecordCodec.MAX_RECORD_BYTES + 1));
+		assertFalse(KillRecordCodec.isPayload(encode(record(0)), 1, KillRecordCodec.FIXED_PAYLOAD_BYTES));
+
+		assertEquals(0, kills.size());
+		assertEquals(3, codec.getMalformedCount());
+		assertTrue(KillRecordCodec.isPayload(encode(record(4)), 0, KillRecordCodec.payloadLength(4)));
+	}
+
+	@Test
+	public void recordsBeforeTheCutoffAreSkippedQuietly()
+	{
+		ByteBuffer buffer = encode(record(2));
+		KillHistory kills = new KillHistory();
+		assertFalse(codec.decode(buffer, buffer.remaining(), TIMESTAMP + 1, kills));
+		assertEquals(0, buffer.remaining());
+		assertEquals(0, kills.size());
+		assertEquals(0, codec.getMalformedCount());
+	}
+
+	@Test
+	public void legacyTextRoundTrip()
+	{
+		KillHistory kills = new KillHistory();
+		assertTrue(codec.decodeLegacy(TIMESTAMP + "|145800|GREEN|2500000|52|4120|87|29790:1,995:25000", kills));
+		assertTrue(codec.decodeLegacy((TIMESTAMP + 1) + "|90000|PURPLE|0|30|2000|0", kills));
+
+		assertEquals(2, kills.size());
+		assertEquals(145_800, kills.getKillTime(0));
+		assertEquals(AraxxorEggType.GREEN, kills.getRotation(0));
+		Map<Integer, Long> loot = kills.toRecord(0).getLoot();
+		assertEquals(Long.valueOf(1), loot.get(29790));
+		assertEquals(Long.valueOf(25_000), loot.get(995));
+
+		// Unknown rotation names are kept as no rotation, and there is no loot section
+		assertNull(kills.getRotation(1));
+		assertEquals(0, kills.lootEnd(1) - kills.lootStart(1));
+		assertEquals(0, codec.getMalformedCount());
+	}
+
+	@Test
+	public void malformedLegacyTextIsRejectedWhole()
+	{
+		String[] values = {
+			null,
+			"",
+			"abc|145800|GREEN|0|1|1|1",
+			(System.currentTimeMillis() + 2 * 86_400_000L) + "|145800|GREEN|0|1|1|1",
+			TIMESTAMP + "|3600001|GREEN|0|1|1|1",
+			TIMESTAMP + "|145800|GREEN|-5|1|1|1",
+			TIMESTAMP + "|145800|GREEN|0|10001|1|1",
+			TIMESTAMP + "|145800|GREEN|0|1|1",
+			TIMESTAMP + "|145800|GREEN|0|1|1|1|995:x",
+			TIMESTAMP + "|145800|GREEN|0|1|1|1|" + repeat("995:1,", 1000),
+			"99999999999999999999|1|GREEN|0|1|1|1",
+			repeat("1", 10_001),
+		};
+
+		KillHistory kills = new KillHistory();
+		for (String value : values)
+		{
+			assertFalse(value, codec.decodeLegacy(value, kills));
+		}
+		assertEquals(0, kills.size());
+		assertEquals(values.length, codec.getMalformedCount());
+	}
+
+	@Test
+	public void outOfRangeLegacyLootIsSkipped()
+	{
+		KillHistory kills = new KillHistory();
+		assertTrue(codec.decodeLegacy(TIMESTAMP + "|145800|RED|0|1|1|1|995:2000000,29790:1,nocolon," + repeat("9", 60) + ":1", kills));
+		assertEquals(1, kills.lootEnd(0) - kills.lootStart(0));
+		assertEquals(29790, kills.getLootItemId(kills.lootStart(0)));
+	}
+
+	private static AraxxorKillRecord record(int lootItems)
+	{
+		Map<Integer, Long> loot = new HashMap<>();
+		for (int i = 0; i < lootItems; i++)
+		{
+			loot.put(1_000 + i, 1L + i);
+		}
+		return new AraxxorKillRecord(TIMESTAMP, 145_800, AraxxorEggType.GREEN, loot, 2_500_000, 52, 4_120, 87);
+	}
+
+	private static ByteBuffer encode(AraxxorKillRecord kill)
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(KillRecordCodec.payloadLength(kill.getLoot().size()));
+		KillRecordCodec.encode(kill, buffer);
+		buffer.flip();
+		return buffer;
+	}
+
+	private static String repeat(String text, int times)
+	{
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < times; i++)
+		{
+			sb.append(text);
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,118 @@
+package com.araxxortracker;
+
+import java.io.File;
+import java.io.IOException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LegacyKillMigratorTest
+{
+	private static final long TIMESTAMP = 1_700_000_000_000L;
+
+	private File directory;
+	private PagedKillStore store;
+	private MapConfigKeys config;
+
+	@Before
+	public void setUp() throws IOException
+	{
+		directory = TestFiles.createDirectory();
+		store = new PagedKillStore(directory);
+		store.open();
+		config = new MapConfigKeys();
+	}
+
+	@After
+	public void tearDown()
+	{
+		TestFiles.delete(directory);
+	}
+
+	@Test
+	public void validKillsMoveToTheStoreAndMalformedOnesAreKept() throws IOException
+	{
+		config.set("kill_" + (TIMESTAMP + 2), legacy(TIMESTAMP + 2));
+		config.set("kill_" + TIMESTAMP, legacy(TIMESTAMP));
+		config.set("kill_" + (TIMESTAMP + 1), "garbage");
+		config.set("kill_" + (TIMESTAMP + 3), TIMESTAMP + "|abc|WHITE|0");
+		config.set("killBlockIndex", "unrelated");
+
+		LegacyKillMigrator migrator = new LegacyKillMigrator(config, store);
+		assertFalse(migrator.isMigrated());
+		assertEquals(2, migrator.migrate());
+		assertTrue(migrator.isMigrated());
+
+		KillHistory kills = store.readTail(0, 0);
+		assertEquals(2, kills.size());
+		assertEquals(TIMESTAMP, kills.getTimestamp(0));
+		assertEquals(TIMESTAMP + 2, kills.getTimestamp(1));
+		assertEquals(2, kills.lootEnd(1) - kills.lootStart(1));
+
+		assertNull(config.get("kill_" + TIMESTAMP));
+		assertNull(config.get("kill_" + (TIMESTAMP + 1)));
+		assertEquals("garbage", config.get(LegacyKillMigrator.MALFORMED_KEY_PREFIX + (TIMESTAMP + 1)));
+		assertEquals(TIMESTAMP + "|abc|WHITE|0", config.get(LegacyKillMigrator.MALFORMED_KEY_PREFIX + (TIMESTAMP + 3)));
+		assertEquals("unrelated", config.get("killBlockIndex"));
+	}
+
+	@Test
+	public void rerunSkipsKillsAndMalformedKeysFromAnEarlierAttempt() throws IOException
+	{
+		config.set("kill_" + TIMESTAMP, legacy(TIMESTAMP));
+		config.set("kill_1", "garbage");
+		LegacyKillMigrator migrator = new LegacyKillMigrator(config, store);
+		migrator.migrate();
+
+		// As if the first attempt stopped after writing the store
+		config.set("kill_" + TIMESTAMP, legacy(TIMESTAMP));
+		config.set("kill_" + (TIMESTAMP + 1), legacy(TIMESTAMP + 1));
+		assertEquals(0, migrator.migrate());
+
+		assertEquals(2, store.getTotalKills());
+		assertEquals("garbage", config.get(LegacyKillMigrator.MALFORMED_KEY_PREFIX + "1"));
+		assertEquals(1, config.keys("kill_").size());
+	}
+
+	@Test
+	public void failedStoreWriteLeavesTheKeys()
+	{
+		KillStore failing = FightReplay.fake(KillStore.class, (proxy, method, args) ->
+		{
+			if (method.getName().equals("append"))
+			{
+				throw new IOException("disk full");
+			}
+			return method.getName().equals("readTail") ? new KillHistory() : FightReplay.defaultValue(method.getReturnType());
+		});
+		config.set("kill_" + TIMESTAMP, legacy(TIMESTAMP));
+		config.set("kill_1", "garbage");
+
+		LegacyKillMigrator migrator = new LegacyKillMigrator(config, failing);
+		try
+		{
+			migrator.migrate();
+			fail();
+		}
+		catch (IOException e)
+		{
+			// Expected
+		}
+
+		assertFalse(migrator.isMigrated());
+		assertEquals(legacy(TIMESTAMP), config.get("kill_" + TIMESTAMP));
+		assertEquals("garbage", config.get("kill_1"));
+		assertNull(config.get(LegacyKillMigrator.MALFORMED_KEY_PREFIX + "1"));
+	}
+
+	private static String legacy(long timestamp)
+	{
+		return timestamp + "|145800|RED|2500000|52|4120|87|29790:1,995:25000";
+	}
+}
@@ -0,0 +1,51 @@
+package com.araxxortracker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@link ConfigKeys} over a map, standing in for the client's config manager
+ */
+class MapConfigKeys implements ConfigKeys
+{
+	private final Map<String, String> values = new TreeMap<>();
+
+	Map<String, String> getValues()
+	{
+		return values;
+	}
+
+	@Override
+	public synchronized String get(String key)
+	{
+		return values.get(key);
+	}
+
+	@Override
+	public synchronized void set(String key, String value)
+	{
+		values.put(key, value);
+	}
+
+	@Override
+	public synchronized void unset(String key)
+	{
+		values.remove(key);
+	}
+
+	@Override
+	public synchronized List<String> keys(String prefix)
+	{
+		List<String> keys = new ArrayList<>();
+		for (String key : values.keySet())
+		{
+			if (key.startsWith(prefix))
+			{
+				keys.add(key);
+			}
+		}
+		return keys;
+	}
+}
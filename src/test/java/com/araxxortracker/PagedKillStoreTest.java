@@ -0,0 +1,116 @@
+package com.araxxortracker;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.araxxortracker.KillJournalTest.assertKill;
+import static com.araxxortracker.KillJournalTest.kill;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PagedKillStoreTest
+{
+	private static final long TIMESTAMP = 1_700_000_000_000L;
+
+	private File directory;
+
+	@Before
+	public void setUp() throws IOException
+	{
+		directory = TestFiles.createDirectory();
+	}
+
+	@After
+	public void tearDown()
+	{
+		TestFiles.delete(directory);
+	}
+
+	@Test
+	public void appendsFillPagesAndSurviveReopening() throws IOException
+	{
+		PagedKillStore store = new PagedKillStore(directory);
+		store.open();
+		store.append(kills(0, PagedKillStore.PAGE_SIZE + 10));
+		store.append(kills(PagedKillStore.PAGE_SIZE + 10, 5));
+
+		PagedKillStore reopened = new PagedKillStore(directory);
+		reopened.open();
+		List<KillStore.PageInfo> pages = reopened.getPages();
+		assertEquals(2, pages.size());
+		assertEquals(PagedKillStore.PAGE_SIZE, pages.get(0).getKillCount());
+		assertEquals(15, pages.get(1).getKillCount());
+		assertEquals(TIMESTAMP + PagedKillStore.PAGE_SIZE, pages.get(1).getStartTimestamp());
+		assertEquals(PagedKillStore.PAGE_SIZE + 15, reopened.getTotalKills());
+
+		KillHistory tail = reopened.readTail(1, 0);
+		assertEquals(15, tail.size());
+		assertKill(tail, 14, TIMESTAMP + PagedKillStore.PAGE_SIZE + 14, 1);
+	}
+
+	@Test
+	public void lostIndexIsRebuiltFromThePages() throws IOException
+	{
+		PagedKillStore store = new PagedKillStore(directory);
+		store.open();
+		store.append(kills(0, PagedKillStore.PAGE_SIZE * 2 + 1));
+		store.removeOldestPages(1);
+		Files.delete(new File(directory, "kills.index").toPath());
+
+		PagedKillStore reopened = new PagedKillStore(directory);
+		reopened.open();
+		assertEquals(2, reopened.getPageCount());
+		assertEquals(PagedKillStore.PAGE_SIZE + 1, reopened.getTotalKills());
+		assertEquals(TIMESTAMP + PagedKillStore.PAGE_SIZE, reopened.getPages().get(0).getStartTimestamp());
+	}
+
+	@Test
+	public void legacyJournalIsFoldedOnce() throws IOException
+	{
+		KillJournal legacy = new KillJournal(new File(directory, KillJournal.FILE_NAME));
+		legacy.appendAll(kills(0, 3));
+		byte[] legacyBytes = Files.readAllBytes(legacy.getFile().toPath());
+
+		PagedKillStore store = new PagedKillStore(directory);
+		store.open();
+		assertEquals(3, store.getTotalKills());
+		assertFalse(legacy.exists());
+
+		// As if the first fold stopped before deleting the journal
+		store.append(kills(3, 1));
+		Files.write(legacy.getFile().toPath(), legacyBytes);
+
+		PagedKillStore reopened = new PagedKillStore(directory);
+		reopened.open();
+		assertEquals(4, reopened.getTotalKills());
+		assertFalse(legacy.exists());
+		assertKill(reopened.readTail(0, 0), 3, TIMESTAMP + 3, 1);
+	}
+
+	@Test
+	public void openIsOnlyDoneOnce() throws IOException
+	{
+		PagedKillStore store = new PagedKillStore(directory);
+		store.open();
+		store.append(kills(0, 2));
+		store.open();
+		assertEquals(2, store.getTotalKills());
+		assertTrue(new File(directory, "kills.index").isFile());
+	}
+
+	private static KillHistory kills(int from, int count)
+	{
+		KillHistory kills = new KillHistory();
+		for (int i = from; i < from + count; i++)
+		{
+			kills.append(kill(TIMESTAMP + i, 1));
+		}
+		return kills;
+	}
+}
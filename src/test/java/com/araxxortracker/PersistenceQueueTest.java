@@ -0,0 +1,132 @@
+package com.araxxortracker;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.araxxortracker.KillJournalTest.kill;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PersistenceQueueTest
+{
+	private static final long TIMESTAMP = 1_700_000_000_000L;
+
+	private final List<Long> stored = new ArrayList<>();
+	private final MapConfigKeys config = new MapConfigKeys();
+	private volatile boolean failing;
+	/** Kills the failing store still writes before it throws */
+	private volatile int writtenBeforeFailure;
+	private PersistenceQueue queue;
+
+	@Before
+	public void setUp()
+	{
+		KillStore store = FightReplay.fake(KillStore.class, (proxy, method, args) ->
+		{
+			if (!method.getName().equals("append"))
+			{
+				return FightReplay.defaultValue(method.getReturnType());
+			}
+			KillHistory kills = (KillHistory) args[0];
+			int written = failing ? Math.min(writtenBeforeFailure, kills.size()) : kills.size();
+			for (int row = 0; row < written; row++)
+			{
+				stored.add(kills.getTimestamp(row));
+			}
+			if (!failing)
+			{
+				return null;
+			}
+			IOException cause = new IOException("disk full");
+			throw written > 0 ? new KillStore.PartialAppendException(written, cause) : cause;
+		});
+		queue = new PersistenceQueue(config, store);
+	}
+
+	@After
+	public void tearDown()
+	{
+		queue.shutdown();
+	}
+
+	@Test
+	public void writesQueuedStatsAsText()
+	{
+		queue.setStat("killCount", 4);
+		queue.setStat("killCount", 5);
+		queue.setStat("personalBest", 91_200L);
+		queue.setStat("recentKillTimes", "1,2");
+		queue.flush();
+
+		assertEquals("5", config.get("killCount"));
+		assertEquals("91200", config.get("personalBest"));
+		assertEquals("1,2", config.get("recentKillTimes"));
+	}
+
+	@Test
+	public void failedKillsAreRetriedAheadOfNewerOnes()
+	{
+		failing = true;
+		queue.addKill(kill(TIMESTAMP, 1));
+		queue.addKill(kill(TIMESTAMP + 1, 0));
+		queue.flush();
+		assertTrue(stored.isEmpty());
+
+		queue.addKill(kill(TIMESTAMP + 2, 2));
+		failing = false;
+		queue.flush();
+
+		List<Long> expected = new ArrayList<>();
+		expected.add(TIMESTAMP);
+		expected.add(TIMESTAMP + 1);
+		expected.add(TIMESTAMP + 2);
+		assertEquals(expected, stored);
+
+		queue.flush();
+		assertEquals(3, stored.size());
+	}
+
+	@Test
+	public void killsWrittenBeforeAFailureAreNotWrittenAgain()
+	{
+		failing = true;
+		writtenBeforeFailure = 2;
+		queue.addKill(kill(TIMESTAMP, 1));
+		queue.addKill(kill(TIMESTAMP + 1, 0));
+		queue.addKill(kill(TIMESTAMP + 2, 2));
+		queue.flush();
+		assertEquals(2, stored.size());
+
+		// Still failing on the retry, having written one more
+		writtenBeforeFailure = 1;
+		queue.addKill(kill(TIMESTAMP + 3, 0));
+		queue.flush();
+		assertEquals(3, stored.size());
+
+		failing = false;
+		queue.flush();
+		queue.flush();
+
+		List<Long> expected = new ArrayList<>();
+		for (int i = 0; i < 4; i++)
+		{
+			expected.add(TIMESTAMP + i);
+		}
+		assertEquals(expected, stored);
+	}
+
+	@Test
+	public void shutdownWritesWhatIsPending()
+	{
+		queue.addKill(kill(TIMESTAMP, 1));
+		queue.setStat("killCount", 1);
+		queue.shutdown();
+
+		assertEquals(1, stored.size());
+		assertEquals("1", config.get("killCount"));
+	}
+}
@@ -0,0 +1,49 @@
+package com.araxxortracker;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class RenderTimerTest
+{
+	@Test
+	public void summarisesEachWindow()
+	{
+		RenderTimer timer = new RenderTimer();
+		// 98 quick frames, one slow one, and one past the top bucket to close the window
+		for (int frame = 0; frame < 98; frame++)
+		{
+			timer.record(25_000, frame);
+			timer.rebuilt(4);
+		}
+		timer.record(2_345_000, 98);
+		assertEquals(0, timer.getWindow());
+		timer.record(40_000_000, RenderTimer.WINDOW_NANOS);
+
+		assertEquals(1, timer.getWindow());
+		assertEquals(100, timer.getWindowFrames());
+		assertEquals(30_000, timer.getP50Nanos());
+		assertEquals(2_350_000, timer.getP99Nanos());
+		assertEquals(40_000_000, timer.getWindowMaxNanos());
+		assertEquals(0.98, timer.getRebuildsPerFrame(), 1e-9);
+		assertEquals(3.92, timer.getLinesPerFrame(), 1e-9);
+	}
+
+	@Test
+	public void startsEachWindowAfresh()
+	{
+		RenderTimer timer = new RenderTimer();
+		timer.record(900_000, 0);
+		timer.record(900_000, RenderTimer.WINDOW_NANOS);
+
+		timer.record(15_000, RenderTimer.WINDOW_NANOS + 1);
+		timer.record(15_000, 2 * RenderTimer.WINDOW_NANOS);
+
+		assertEquals(2, timer.getWindow());
+		assertEquals(2, timer.getWindowFrames());
+		assertEquals(15_000, timer.getP50Nanos());
+		assertEquals(15_000, timer.getP99Nanos());
+		assertEquals(15_000, timer.getWindowMaxNanos());
+		assertEquals(0, timer.getRebuildsPerFrame(), 0);
+	}
+}
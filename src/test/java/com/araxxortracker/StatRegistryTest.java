@@ -0,0 +1,93 @@
+package com.araxxortracker;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class StatRegistryTest
+{
+	@Test
+	public void loadsSavedValuesAndFallsBackToDefaults()
+	{
+		MapConfigKeys config = new MapConfigKeys();
+		config.set(AraxxorStat.KILL_COUNT.getKey(), "412");
+		config.set(AraxxorStat.BEST_KILL_TIME.getKey(), "91200");
+		config.set(AraxxorStat.BEST_HIT_COUNT.getKey(), "not a number");
+		config.set(AraxxorStat.LAST_KILL_TIMESTAMP.getKey(), "1700000000000");
+
+		StatRegistry stats = new StatRegistry();
+		stats.set(AraxxorStat.LAST_FIGHT_HITS, 30);
+		stats.load(config);
+
+		assertEquals(412, stats.getInt(AraxxorStat.KILL_COUNT));
+		assertEquals(91_200, stats.get(AraxxorStat.BEST_KILL_TIME));
+		assertEquals(-1, stats.get(AraxxorStat.BEST_HIT_COUNT));
+		assertEquals(1_700_000_000_000L, stats.get(AraxxorStat.LAST_KILL_TIMESTAMP));
+		assertEquals(0, stats.get(AraxxorStat.LAST_FIGHT_HITS));
+		assertFalse(stats.isDirty());
+	}
+
+	@Test
+	public void pluginLoadsRecentKillTimesWithTheStats() throws ReflectiveOperationException
+	{
+		MapConfigKeys config = new MapConfigKeys();
+		config.set(AraxxorStat.KILL_COUNT.getKey(), "7");
+		config.set("recentKillTimes", "90000, 100000,broken");
+
+		AraxxorPlugin plugin = new AraxxorPlugin();
+		Field configKeys = AraxxorPlugin.class.getDeclaredField("configKeys");
+		configKeys.setAccessible(true);
+		configKeys.set(plugin, config);
+		Method loadStats = AraxxorPlugin.class.getDeclaredMethod("loadStats");
+		loadStats.setAccessible(true);
+		loadStats.invoke(plugin);
+
+		assertEquals(7, plugin.getKillCount());
+		assertEquals(95_000, plugin.getAverageKillTime());
+	}
+
+	@Test
+	public void flushesOnlyChangedStats()
+	{
+		MapConfigKeys config = new MapConfigKeys();
+		PersistenceQueue queue = new PersistenceQueue(config, null);
+		StatRegistry stats = new StatRegistry();
+
+		stats.set(AraxxorStat.BEST_KILL_TIME, -1);
+		assertFalse(stats.isDirty());
+		stats.increment(AraxxorStat.KILL_COUNT);
+		stats.set(AraxxorStat.LAST_KILL_TIMESTAMP, 1_700_000_000_000L);
+		assertTrue(stats.isDirty());
+
+		stats.flushDirty(queue);
+		queue.shutdown();
+
+		assertFalse(stats.isDirty());
+		assertEquals(2, config.getValues().size());
+		assertEquals("1", config.get(AraxxorStat.KILL_COUNT.getKey()));
+		assertEquals("1700000000000", config.get(AraxxorStat.LAST_KILL_TIMESTAMP.getKey()));
+		assertNull(config.get(AraxxorStat.BEST_KILL_TIME.getKey()));
+	}
+
+	@Test
+	public void resetMarksOnlyChangedStatsDirty()
+	{
+		MapConfigKeys config = new MapConfigKeys();
+		config.set(AraxxorStat.KILL_COUNT.getKey(), "3");
+		StatRegistry stats = new StatRegistry();
+		stats.load(config);
+
+		stats.reset();
+		PersistenceQueue queue = new PersistenceQueue(config, null);
+		stats.flushDirty(queue);
+		queue.shutdown();
+
+		assertEquals(1, config.getValues().size());
+		assertEquals("0", config.get(AraxxorStat.KILL_COUNT.getKey()));
+	}
+}
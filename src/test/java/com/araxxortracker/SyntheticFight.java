@@ -0,0 +1,219 @@
+package com.araxxortracker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import net.runelite.api.HitsplatID;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.gameval.NpcID;
+
+/**
+ * Builds plausible fights as {@link FightRecorder} rows for {@link FightReplay}.
+ * <p>
+ * A fight spawns Araxxor, then six eggs (two of each colour) scattered so that an egg of the
+ * requested start rotation is the most south-east one, which is what rotation detection keys
+ * on. The player and boss trade hits every four ticks with a special attack every twenty,
+ * until Araxxor's hitpoints run out; the start egg hatches part way through. The expected
+ * totals are kept alongside the rows for assertions.
+ */
+final class SyntheticFight
+{
+	static final int ANIM_ATTACK = 11480;
+	static final int ANIM_SPECIAL = 11476;
+
+	private static final WorldPoint LAIR = new WorldPoint(3630, 9810, 0);
+	private static final int EGG_AREA = 16;
+	private static final int EGG_SPAWN_TICK = 2;
+	private static final int HATCH_TICK = 30;
+	private static final int DESPAWN_DELAY = 3;
+
+	private final AraxxorEggType startRotation;
+	private final List<int[]> rows = new ArrayList<>();
+	private int hits;
+	private int damageDealt;
+	private int damageTaken;
+	private long killTime;
+	private long normalPhaseTime = -1;
+	private long lootValue;
+
+	private SyntheticFight(AraxxorEggType startRotation)
+	{
+		this.startRotation = startRotation;
+	}
+
+	static SyntheticFight generate(AraxxorEggType startRotation, Random random)
+	{
+		SyntheticFight fight = new SyntheticFight(startRotation);
+		fight.build(random);
+		return fight;
+	}
+
+	AraxxorEggType getStartRotation()
+	{
+		return startRotation;
+	}
+
+	int getHits()
+	{
+		return hits;
+	}
+
+	int getDamageDealt()
+	{
+		return damageDealt;
+	}
+
+	int getDamageTaken()
+	{
+		return damageTaken;
+	}
+
+	long getKillTime()
+	{
+		return killTime;
+	}
+
+	/**
+	 * Expected start-to-enrage time, as stored for the last fight
+	 */
+	long getNormalPhaseTime()
+	{
+		return normalPhaseTime;
+	}
+
+	long getLootValue()
+	{
+		return lootValue;
+	}
+
+	/**
+	 * The fight as a flat row array, in the layout {@link FightRecorder#decode} returns
+	 */
+	int[] toRows()
+	{
+		// Stable sort: rows on the same tick keep the order they were added in
+		List<int[]> ordered = new ArrayList<>(rows);
+		ordered.sort((x, y) -> Integer.compare(x[0], y[0]));
+
+		int[] flat = new int[ordered.size() * FightRecorder.ROW];
+		for (int i = 0; i < ordered.size(); i++)
+		{
+			System.arraycopy(ordered.get(i), 0, flat, i * FightRecorder.ROW, FightRecorder.ROW);
+		}
+		return flat;
+	}
+
+	private void build(Random random)
+	{
+		add(0, FightRecorder.NPC_SPAWNED, NpcID.ARAXXOR, LAIR.getX(), LAIR.getY());
+
+		WorldPoint[] eggs = scatterEggs(random);
+		List<AraxxorEggType> colours = new ArrayList<>();
+		for (AraxxorEggType type : AraxxorEggType.values())
+		{
+			colours.add(type);
+			colours.add(type);
+		}
+		colours.remove(startRotation);
+		Collections.shuffle(colours, random);
+		colours.add(0, startRotation);
+		for (int i = 0; i < eggs.length; i++)
+		{
+			add(EGG_SPAWN_TICK, FightRecorder.NPC_SPAWNED, colours.get(i).getEggNpcId(), eggs[i].getX(), eggs[i].getY());
+		}
+
+		int tick = EGG_SPAWN_TICK + 2;
+		int remaining = FightReplay.ARAXXOR_HITPOINTS;
+		boolean hatched = false;
+		boolean lowHpSpecial = false;
+		boolean special = false;
+		while (remaining > 0)
+		{
+			if (!hatched && tick >= HATCH_TICK)
+			{
+				hatched = true;
+				add(tick, FightRecorder.NPC_DESPAWNED, startRotation.getEggNpcId(), eggs[0].getX(), eggs[0].getY());
+				add(tick, FightRecorder.NPC_SPAWNED, startRotation.getMinionNpcId(), eggs[0].getX(), eggs[0].getY());
+			}
+
+			int hit = Math.min(random.nextInt(45), remaining);
+			add(tick, FightRecorder.HITSPLAT, NpcID.ARAXXOR, hit, HitsplatID.DAMAGE_ME << 1 | 1);
+			remaining -= hit;
+			if (hit > 0)
+			{
+				hits++;
+				damageDealt += hit;
+			}
+
+			// Force one special once below a fifth of its hitpoints; the attack after it is the enrage
+			boolean forceSpecial = !lowHpSpecial && remaining > 0 && remaining <= FightReplay.ARAXXOR_HITPOINTS / 5;
+			lowHpSpecial |= forceSpecial;
+			int animation = forceSpecial || tick % 20 == 0 ? ANIM_SPECIAL : ANIM_ATTACK;
+			add(tick + 1, FightRecorder.ANIMATION, NpcID.ARAXXOR, animation, 0);
+			if (special && animation == ANIM_ATTACK && isEnrageHealth(remaining) && normalPhaseTime == -1)
+			{
+				normalPhaseTime = FightTimer.toMs(tick + 1);
+			}
+			special = animation == ANIM_SPECIAL;
+			int taken = random.nextInt(20);
+			add(tick + 2, FightRecorder.HITSPLAT, FightRecorder.TARGET_PLAYER, taken, HitsplatID.DAMAGE_ME << 1);
+			damageTaken += taken;
+
+			tick += 4;
+		}
+
+		// The game's timer started a few ticks before Araxxor spawned
+		killTime = FightTimer.toMs(tick + FightTimer.GAME_TIMER_OFFSET_TICKS);
+		add(tick, FightRecorder.ACTOR_DEATH, NpcID.ARAXXOR, 0, 0);
+		add(tick, FightRecorder.KILL_TIME, (int) killTime, 0, 0);
+		addLoot(tick, 995, 20_000 + random.nextInt(30_000));
+		addLoot(tick, 29790, 1 + random.nextInt(3));
+		add(tick + DESPAWN_DELAY, FightRecorder.NPC_DESPAWNED, NpcID.ARAXXOR, LAIR.getX(), LAIR.getY());
+	}
+
+	/**
+	 * Six distinct egg positions, the strictly most south-east (highest x - y) first
+	 */
+	private static WorldPoint[] scatterEggs(Random random)
+	{
+		WorldPoint[] eggs = new WorldPoint[6];
+		do
+		{
+			for (int i = 0; i < eggs.length; i++)
+			{
+				eggs[i] = new WorldPoint(LAIR.getX() - EGG_AREA / 2 + random.nextInt(EGG_AREA),
+					LAIR.getY() - EGG_AREA / 2 + random.nextInt(EGG_AREA), LAIR.getPlane());
+			}
+			Arrays.sort(eggs, (a, b) -> Integer.compare(b.getX() - b.getY(), a.getX() - a.getY()));
+		}
+		while (score(eggs[0]) == score(eggs[1]));
+		return eggs;
+	}
+
+	/**
+	 * Whether the health bar the plugin sees is at or under its enrage threshold
+	 */
+	private static boolean isEnrageHealth(int remaining)
+	{
+		int ratio = (remaining * FightReplay.HEALTH_SCALE + FightReplay.ARAXXOR_HITPOINTS - 1) / FightReplay.ARAXXOR_HITPOINTS;
+		return ratio <= FightReplay.HEALTH_SCALE / 4;
+	}
+
+	private static int score(WorldPoint point)
+	{
+		return point.getX() - point.getY();
+	}
+
+	private void addLoot(int tick, int itemId, int quantity)
+	{
+		add(tick, FightRecorder.LOOT, itemId, quantity, 0);
+		lootValue += quantity;
+	}
+
+	private void add(int tick, int type, int a, int b, int c)
+	{
+		rows.add(new int[]{tick, type, a, b, c});
+	}
+}
@@ -0,0 +1,249 @@
+package com.araxxortracker;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic years-long kill histories for scale testing the panel and persistence.
+ * <p>
+ * Kill times are drawn per start rotation around typical times, on whole ticks. Kills come
+ * in sessions separated by breaks either side of {@link AraxxorPlugin#SESSION_TIMEOUT_MS}:
+ * short bank trips, occasional long breaks that stay just inside a session, and session gaps
+ * that range from just over the timeout to most of a day. Loot is rolled from Araxxor's drop
+ * table, with the uniques taken from {@link AraxxorLootBox#UNIQUE_DROP_IDS}; drop rates and
+ * prices are approximate. The expected session count is tracked so session grouping can be
+ * checked against it. The same seed always gives the same history, and 100k kills
+ * generate in a few milliseconds.
+ */
+final class SyntheticHistory
+{
+	/** 2019-01-01T00:00:00Z, so 100k kills end well before the present */
+	static final long START_TIMESTAMP = 1_546_300_800_000L;
+
+	private static final long MINUTE_MS = 60_000L;
+	private static final int ARAXXOR_HITPOINTS = FightReplay.ARAXXOR_HITPOINTS;
+
+	/** Mean and spread of the kill time in ticks, by {@link AraxxorEggType} ordinal */
+	private static final int[] KILL_TICKS_MEAN = {190, 175, 205};
+	private static final int[] KILL_TICKS_SPREAD = {25, 20, 30};
+	private static final int MIN_KILL_TICKS = 100;
+
+	private static final int MEAN_SESSION_KILLS = 20;
+	private static final int UNIQUE_ROLL = 150;
+	private static final int[] UNIQUE_IDS = AraxxorLootBox.UNIQUE_DROP_IDS.stream().mapToInt(Integer::intValue).sorted().toArray();
+	private static final int UNIQUE_PRICE = 10_000_000;
+
+	/** Common table rows: item id, min quantity, max quantity, price each */
+	private static final int[][] COMMON_DROPS = {
+		{560, 150, 400, 200},     // Death rune
+		{565, 100, 300, 350},     // Blood rune
+		{1392, 6, 12, 8_500},     // Battlestaff
+		{5300, 2, 5, 45_000},     // Snapdragon seed
+		{5304, 1, 3, 55_000},     // Torstol seed
+		{12934, 200, 600, 150},   // Zulrah's scales
+		{21820, 100, 300, 170},   // Revenant ether
+		{2364, 3, 8, 12_000},     // Runite bar
+		{1514, 60, 120, 1_100},   // Magic logs
+		{3025, 3, 6, 11_000},     // Super restore(4)
+	};
+	private static final int COINS = 995;
+
+	private final KillHistory kills = new KillHistory();
+	private int sessionCount;
+
+	private SyntheticHistory()
+	{
+	}
+
+	static SyntheticHistory generate(int killCount, long seed)
+	{
+		SyntheticHistory history = new SyntheticHistory();
+		history.build(killCount, new SplittableRandom(seed));
+		return history;
+	}
+
+	KillHistory getKills()
+	{
+		return kills;
+	}
+
+	/**
+	 * Number of sessions {@link AraxxorPlugin#groupKillsIntoSessions} should find
+	 */
+	int getSessionCount()
+	{
+		return sessionCount;
+	}
+
+	/**
+	 * Append every kill to a store, as the persistence queue would over time
+	 */
+	void writeTo(KillStore store) throws IOException
+	{
+		store.open();
+		store.append(kills);
+	}
+
+	/**
+	 * The kills as legacy {@code kill_<timestamp>} config values
+	 */
+	String[] toLegacyValues()
+	{
+		String[] values = new String[kills.size()];
+		StringBuilder sb = new StringBuilder(256);
+		for (int row = 0; row < kills.size(); row++)
+		{
+			sb.setLength(0);
+			sb.append(kills.getTimestamp(row)).append('|')
+				.append(kills.getKillTime(row)).append('|')
+				.append(kills.getRotation(row).name()).append('|')
+				.append(kills.getLootValue(row)).append('|')
+				.append(kills.getHits(row)).append('|')
+				.append(kills.getDamageDealt(row)).append('|')
+				.append(kills.getDamageTaken(row)).append('|');
+			for (int j = kills.lootStart(row), end = kills.lootEnd(row); j < end; j++)
+			{
+				if (j > kills.lootStart(row))
+				{
+					sb.append(',');
+				}
+				sb.append(kills.getLootItemId(j)).append(':').append(kills.getLootQuantity(j));
+			}
+			values[row] = sb.toString();
+		}
+		return values;
+	}
+
+	private void build(int killCount, SplittableRandom random)
+	{
+		AraxxorEggType[] rotations = AraxxorEggType.values();
+		int[] itemIds = new int[COMMON_DROPS.length + 2];
+		int[] quantities = new int[itemIds.length];
+		long timestamp = START_TIMESTAMP;
+
+		for (int i = 0; i < killCount; i++)
+		{
+			AraxxorEggType rotation = rotations[random.nextInt(rotations.length)];
+			int ticks = Math.max(MIN_KILL_TICKS, (int) Math.round(KILL_TICKS_MEAN[rotation.ordinal()]
+				+ roughGaussian(random) * KILL_TICKS_SPREAD[rotation.ordinal()]));
+			long killTime = FightTimer.toMs(ticks);
+
+			// Kills are logged when they end, so the gap between timestamps includes this kill
+			if (i == 0)
+			{
+				sessionCount++;
+			}
+			else if (random.nextInt(MEAN_SESSION_KILLS) == 0)
+			{
+				timestamp += sessionGap(random);
+				sessionCount++;
+			}
+			else
+			{
+				timestamp += killTime + breakWithinSession(random, killTime);
+			}
+
+			int hits = ticks / 4 - random.nextInt(ticks / 16 + 1);
+			int damageTaken = ticks / 4 * random.nextInt(12);
+
+			int lootCount = rollLoot(random, itemIds, quantities);
+			long lootValue = 0;
+			for (int j = 0; j < lootCount; j++)
+			{
+				lootValue += (long) quantities[j] * price(itemIds[j]);
+			}
+
+			kills.append(timestamp, killTime, rotation, lootValue, hits, ARAXXOR_HITPOINTS, damageTaken);
+			for (int j = 0; j < lootCount; j++)
+			{
+				kills.addLoot(itemIds[j], quantities[j]);
+			}
+		}
+	}
+
+	/**
+	 * Time from one kill ending to the next starting, short enough to stay in the session
+	 */
+	private static long breakWithinSession(SplittableRandom random, long killTime)
+	{
+		int roll = random.nextInt(100);
+		if (roll < 3)
+		{
+			// A long break that only just keeps the session going
+			return AraxxorPlugin.SESSION_TIMEOUT_MS - killTime - random.nextInt(15 * (int) MINUTE_MS);
+		}
+		if (roll < 20)
+		{
+			return 2 * MINUTE_MS + random.nextInt(4 * (int) MINUTE_MS);
+		}
+		return 20_000 + random.nextInt(70_000);
+	}
+
+	/**
+	 * Time between the last kill of a session and the first of the next, always over the timeout
+	 */
+	private static long sessionGap(SplittableRandom random)
+	{
+		if (random.nextInt(100) < 15)
+		{
+			return AraxxorPlugin.SESSION_TIMEOUT_MS + 1 + random.nextInt(45 * (int) MINUTE_MS);
+		}
+		return 2 * 60 * MINUTE_MS + (long) random.nextInt(18 * 60) * MINUTE_MS;
+	}
+
+	/**
+	 * Fill the arrays with one kill's drops, item ids distinct as a loot map would keep them
+	 * @return the number of drops
+	 */
+	private static int rollLoot(SplittableRandom random, int[] itemIds, int[] quantities)
+	{
+		int count = 0;
+		itemIds[count] = COINS;
+		quantities[count++] = 20_000 + random.nextInt(30_000);
+
+		int commonRolls = 1 + random.nextInt(3);
+		int first = random.nextInt(COMMON_DROPS.length);
+		for (int i = 0; i < commonRolls; i++)
+		{
+			int[] drop = COMMON_DROPS[(first + i) % COMMON_DROPS.length];
+			itemIds[count] = drop[0];
+			quantities[count++] = drop[1] + random.nextInt(drop[2] - drop[1] + 1);
+		}
+
+		if (random.nextInt(UNIQUE_ROLL) == 0)
+		{
+			itemIds[count] = UNIQUE_IDS[random.nextInt(UNIQUE_IDS.length)];
+			quantities[count++] = 1;
+		}
+		return count;
+	}
+
+	/**
+	 * Sum of three uniforms scaled to unit variance; close enough to normal and much cheaper
+	 */
+	private static double roughGaussian(SplittableRandom random)
+	{
+		return (random.nextDouble() + random.nextDouble() + random.nextDouble() - 1.5) * 2;
+	}
+
+	private static int price(int itemId)
+	{
+		if (itemId == COINS)
+		{
+			return 1;
+		}
+		if (Arrays.binarySearch(UNIQUE_IDS, itemId) >= 0)
+		{
+			return UNIQUE_PRICE;
+		}
+		for (int[] drop : COMMON_DROPS)
+		{
+			if (drop[0] == itemId)
+			{
+				return drop[3];
+			}
+		}
+		return 0;
+	}
+}
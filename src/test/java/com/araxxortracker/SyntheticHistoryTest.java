@@ -0,0 +1,129 @@
+package com.araxxortracker;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SyntheticHistoryTest
+{
+	private static final int KILLS = 100_000;
+
+	@Test
+	public void sameSeedGivesSameHistory()
+	{
+		String[] first = SyntheticHistory.generate(5_000, 3).toLegacyValues();
+		String[] second = SyntheticHistory.generate(5_000, 3).toLegacyValues();
+		assertArrayEquals(first, second);
+	}
+
+	@Test
+	public void sessionsSplitOnTheTimeout()
+	{
+		SyntheticHistory history = SyntheticHistory.generate(KILLS, 5);
+		KillHistory kills = history.getKills();
+		assertEquals(KILLS, kills.size());
+
+		int[] sessions = new AraxxorPlugin().groupKillsIntoSessions(kills);
+		assertEquals(history.getSessionCount() + 1, sessions.length);
+
+		// Gaps land on both sides of the timeout, not just far from it
+		int nearInside = 0;
+		int nearOutside = 0;
+		for (int row = 1; row < kills.size(); row++)
+		{
+			long gap = kills.getTimestamp(row) - kills.getTimestamp(row - 1);
+			assertTrue(gap > 0);
+			if (gap <= AraxxorPlugin.SESSION_TIMEOUT_MS && gap > AraxxorPlugin.SESSION_TIMEOUT_MS - 15 * 60_000L)
+			{
+				nearInside++;
+			}
+			else if (gap > AraxxorPlugin.SESSION_TIMEOUT_MS && gap < AraxxorPlugin.SESSION_TIMEOUT_MS + 15 * 60_000L)
+			{
+				nearOutside++;
+			}
+		}
+		assertTrue(nearInside > 0);
+		assertTrue(nearOutside > 0);
+	}
+
+	@Test
+	public void killTimesFollowRotation()
+	{
+		KillHistory kills = SyntheticHistory.generate(KILLS, 7).getKills();
+		long[] total = new long[AraxxorEggType.values().length];
+		int[] count = new int[total.length];
+		for (int row = 0; row < kills.size(); row++)
+		{
+			assertEquals(0, kills.getKillTime(row) % FightTimer.TICK_MS);
+			int rotation = kills.getRotation(row).ordinal();
+			total[rotation] += kills.getKillTime(row);
+			count[rotation]++;
+		}
+
+		long red = total[AraxxorEggType.RED.ordinal()] / count[AraxxorEggType.RED.ordinal()];
+		long white = total[AraxxorEggType.WHITE.ordinal()] / count[AraxxorEggType.WHITE.ordinal()];
+		long green = total[AraxxorEggType.GREEN.ordinal()] / count[AraxxorEggType.GREEN.ordinal()];
+		assertTrue(red < white);
+		assertTrue(white < green);
+	}
+
+	@Test
+	public void lootIncludesEveryUnique()
+	{
+		KillHistory kills = SyntheticHistory.generate(KILLS, 9).getKills();
+		Set<Integer> uniques = new HashSet<>();
+		for (int row = 0; row < kills.size(); row++)
+		{
+			assertTrue(kills.getLootValue(row) > 0);
+			for (int j = kills.lootStart(row), end = kills.lootEnd(row); j < end; j++)
+			{
+				if (AraxxorLootBox.isUniqueDrop(kills.getLootItemId(j)))
+				{
+					uniques.add(kills.getLootItemId(j));
+				}
+			}
+		}
+		assertEquals(AraxxorLootBox.UNIQUE_DROP_IDS, uniques);
+	}
+
+	@Test
+	public void writesToPagedStore() throws IOException
+	{
+		SyntheticHistory history = SyntheticHistory.generate(10_000, 11);
+		File directory = Files.createTempDirectory("araxxor-history").toFile();
+		try
+		{
+			history.writeTo(new PagedKillStore(directory));
+
+			PagedKillStore reopened = new PagedKillStore(directory);
+			reopened.open();
+			assertEquals(10_000, reopened.getTotalKills());
+			KillHistory read = reopened.readTail(0, 0);
+			KillHistory expected = history.getKills();
+			for (int row = 0; row < expected.size(); row += 997)
+			{
+				assertEquals(expected.getTimestamp(row), read.getTimestamp(row));
+				assertEquals(expected.getLootValue(row), read.getLootValue(row));
+			}
+		}
+		finally
+		{
+			File[] files = directory.listFiles();
+			if (files != null)
+			{
+				for (File file : files)
+				{
+					file.delete();
+				}
+			}
+			directory.delete();
+		}
+	}
+}
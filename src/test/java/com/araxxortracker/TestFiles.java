@@ -0,0 +1,33 @@
+package com.araxxortracker;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Scratch directories for the tests that write kill storage to disk
+ */
+final class TestFiles
+{
+	private TestFiles()
+	{
+	}
+
+	static File createDirectory() throws IOException
+	{
+		return Files.createTempDirectory("araxxor-test").toFile();
+	}
+
+	static void delete(File file)
+	{
+		File[] children = file.listFiles();
+		if (children != null)
+		{
+			for (File child : children)
+			{
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+}
@@ -0,0 +1,58 @@
+package com.araxxortracker;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class TimeFormatterTest
+{
+	@Test
+	public void formatsEachStyle()
+	{
+		assertEquals("0:00", TimeFormatter.clock(0));
+		assertEquals("0:05", TimeFormatter.clock(5_999));
+		assertEquals("3:10", TimeFormatter.clock(190_000));
+		assertEquals("59:59", TimeFormatter.clock(3_599_999));
+
+		assertEquals("0s", TimeFormatter.compact(0));
+		assertEquals("45s", TimeFormatter.compact(45_400));
+		assertEquals("1:00", TimeFormatter.compact(60_000));
+		assertEquals("2:07", TimeFormatter.compact(127_000));
+
+		assertEquals(":00", TimeFormatter.enrage(0));
+		assertEquals(":09", TimeFormatter.enrage(9_000));
+		assertEquals(":45", TimeFormatter.enrage(45_000));
+		assertEquals("1:30", TimeFormatter.enrage(90_000));
+	}
+
+	@Test
+	public void negativeTimesFormatAsZero()
+	{
+		assertEquals("0:00", TimeFormatter.clock(-1));
+		assertEquals("0s", TimeFormatter.compact(-600));
+		assertEquals(":00", TimeFormatter.enrage(-1));
+	}
+
+	@Test
+	public void formatsPastTheTable()
+	{
+		assertEquals("60:00", TimeFormatter.clock(3_600_000));
+		assertEquals("123:04", TimeFormatter.compact(7_384_000));
+		assertEquals("1666666:39", TimeFormatter.clock(99_999_999_999L));
+	}
+
+	@Test
+	public void everySecondUnderAnHourIsShared()
+	{
+		for (long ms = 0; ms < TimeFormatter.TABLE_SECONDS * 1000L; ms += 250)
+		{
+			long seconds = ms / 1000;
+			String expected = String.format("%d:%02d", seconds / 60, seconds % 60);
+			assertEquals(expected, TimeFormatter.clock(ms));
+			assertSame(TimeFormatter.clock(ms), TimeFormatter.clock(seconds * 1000 + 999));
+			assertSame(TimeFormatter.compact(ms), TimeFormatter.compact(seconds * 1000));
+			assertSame(TimeFormatter.enrage(ms), TimeFormatter.enrage(seconds * 1000));
+		}
+	}
+}